@@ -0,0 +1,453 @@
+package me.nulldoubt.netx.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@SupportedAnnotationTypes(CodecProcessor.ANNOTATION)
+public final class CodecProcessor extends AbstractProcessor {
+	
+	static final String ANNOTATION = "me.nulldoubt.netx.binaries.codecs.GenerateCodec";
+	
+	private static final String REQUEST;
+	private static final String RESPONSE;
+	private static final String CODECS;
+	
+	static {
+		REQUEST = "me.nulldoubt.netx.binaries.Request";
+		RESPONSE = "me.nulldoubt.netx.binaries.Response";
+		CODECS = "me.nulldoubt.netx.binaries.codecs";
+	}
+	
+	private final Map<Integer, String> typeIds;
+	
+	public CodecProcessor() {
+		typeIds = new HashMap<>();
+	}
+	
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+	
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment environment) {
+		final TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+		if (annotation == null)
+			return false;
+		for (final TypeElement type : ElementFilter.typesIn(environment.getElementsAnnotatedWith(annotation))) {
+			try {
+				generate(type);
+			} catch (ProcessingException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.getElement());
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write codec: " + e.getLocalizedMessage(), type);
+			}
+		}
+		return true;
+	}
+	
+	private void generate(final TypeElement type) throws IOException {
+		if (type.getModifiers().contains(Modifier.PRIVATE))
+			throw new ProcessingException("Codec type cannot be private", type);
+		if (type.getModifiers().contains(Modifier.ABSTRACT) || (type.getKind() == ElementKind.INTERFACE) || (type.getKind() == ElementKind.ENUM))
+			throw new ProcessingException("Codec type has to be a concrete class or record", type);
+		if ((type.getNestingKind() == NestingKind.MEMBER) && !(type.getModifiers().contains(Modifier.STATIC)) && (type.getKind() != ElementKind.RECORD))
+			throw new ProcessingException("Nested codec type has to be static", type);
+		
+		final List<Property> properties = properties(type);
+		final boolean header = (isSubtype(type.asType(), REQUEST) || isSubtype(type.asType(), RESPONSE));
+		constructor(type, properties, header);
+		
+		final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		final String codecName = codecName(type);
+		final String typeName = type.getQualifiedName().toString();
+		final int typeId = typeId(type);
+		if (typeId <= 0)
+			throw new ProcessingException("Codec type id has to be positive: " + typeId, type);
+		final String previous = typeIds.putIfAbsent(typeId, typeName);
+		if ((previous != null) && !(previous.equals(typeName)))
+			throw new ProcessingException("Codec type id " + typeId + " is already used by " + previous, type);
+		
+		final StringBuilder source = new StringBuilder();
+		if (!(packageName.isEmpty()))
+			source.append("package ").append(packageName).append(";\n\n");
+		source.append("import ").append(CODECS).append(".Codec;\n")
+				.append("import ").append(CODECS).append(".CodecInput;\n")
+				.append("import ").append(CODECS).append(".CodecOutput;\n")
+				.append("import ").append(CODECS).append(".CodecRegistry;\n\n")
+				.append("@javax.annotation.processing.Generated(\"").append(CodecProcessor.class.getName()).append("\")\n")
+				.append("public final class ").append(codecName).append(" implements Codec<").append(typeName).append("> {\n\t\n")
+				.append("\tpublic static final int TYPE_ID;\n")
+				.append("\tpublic static final ").append(codecName).append(" INSTANCE;\n\t\n")
+				.append("\tstatic {\n")
+				.append("\t\tTYPE_ID = ").append(typeId).append(";\n")
+				.append("\t\tINSTANCE = new ").append(codecName).append("();\n")
+				.append("\t}\n\t\n")
+				.append("\tpublic static void register(final CodecRegistry registry) {\n")
+				.append("\t\tregistry.register(TYPE_ID, ").append(typeName).append(".class, INSTANCE);\n")
+				.append("\t}\n\t\n")
+				.append("\t@Override\n")
+				.append("\tpublic void encode(final ").append(typeName).append(" value, final CodecOutput output) {\n");
+		final Variables variables = new Variables();
+		for (final Property property : properties)
+			encode(source, "\t\t", ("value." + property.access()), property.type(), property.element(), variables);
+		source.append("\t}\n\t\n")
+				.append("\t@Override\n")
+				.append("\tpublic ").append(typeName).append(" decode(final CodecInput input) {\n");
+		final List<String> arguments = new ArrayList<>();
+		if (header)
+			arguments.add("input.header()");
+		for (final Property property : properties) {
+			final String variable = variables.next(property.name());
+			decode(source, "\t\t", variable, property.type(), property.element(), variables);
+			arguments.add(variable);
+		}
+		source.append("\t\treturn new ").append(typeName).append("(").append(String.join(", ", arguments)).append(");\n")
+				.append("\t}\n\t\n")
+				.append("}\n");
+		
+		final String qualifiedName = (packageName.isEmpty() ? codecName : (packageName + "." + codecName));
+		try (final Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+			writer.write(source.toString());
+		}
+	}
+	
+	private List<Property> properties(final TypeElement type) {
+		final List<Property> properties = new ArrayList<>();
+		if (type.getKind() == ElementKind.RECORD) {
+			for (final RecordComponentElement component : type.getRecordComponents())
+				properties.add(new Property(component.getSimpleName().toString(), (component.getAccessor().getSimpleName() + "()"), component.asType(), component));
+			return properties;
+		}
+		final List<TypeElement> hierarchy = new ArrayList<>();
+		for (TypeElement current = type; (current != null) && !(isRoot(current)); current = superclass(current))
+			hierarchy.add(0, current);
+		final Set<String> names = new HashSet<>();
+		for (final TypeElement declaring : hierarchy) {
+			for (final VariableElement field : ElementFilter.fieldsIn(declaring.getEnclosedElements())) {
+				final Set<Modifier> modifiers = field.getModifiers();
+				if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT))
+					continue;
+				final String name = field.getSimpleName().toString();
+				if (!(names.add(name)))
+					throw new ProcessingException("Field '" + name + "' hides an inherited field and cannot be restored", field);
+				properties.add(new Property(name, (isAccessible(type, field) ? name : getter(type, field)), field.asType(), field));
+			}
+		}
+		return properties;
+	}
+	
+	private boolean isRoot(final TypeElement type) {
+		final String name = type.getQualifiedName().toString();
+		return (name.equals("java.lang.Object") || name.equals(REQUEST) || name.equals(RESPONSE));
+	}
+	
+	private TypeElement superclass(final TypeElement type) {
+		final TypeMirror superclass = type.getSuperclass();
+		return ((superclass.getKind() == TypeKind.DECLARED) ? (TypeElement) ((DeclaredType) superclass).asElement() : null);
+	}
+	
+	private boolean isAccessible(final TypeElement type, final VariableElement field) {
+		final Set<Modifier> modifiers = field.getModifiers();
+		if (modifiers.contains(Modifier.PRIVATE))
+			return false;
+		if (modifiers.contains(Modifier.PUBLIC))
+			return true;
+		return processingEnv.getElementUtils().getPackageOf(field).equals(processingEnv.getElementUtils().getPackageOf(type));
+	}
+	
+	private String getter(final TypeElement type, final VariableElement field) {
+		final String name = field.getSimpleName().toString();
+		final String capitalized = (Character.toUpperCase(name.charAt(0)) + name.substring(1));
+		final List<String> candidates = List.of(("get" + capitalized), ("is" + capitalized), name);
+		for (final ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+			if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC) || !(method.getParameters().isEmpty()))
+				continue;
+			if (candidates.contains(method.getSimpleName().toString()) && processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType()))
+				return (method.getSimpleName() + "()");
+		}
+		throw new ProcessingException("Field '" + name + "' isn't accessible from the codec and needs a non-private getter", field);
+	}
+	
+	private void constructor(final TypeElement type, final List<Property> properties, final boolean header) {
+		final TypeMirror request = type(REQUEST);
+		for (final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getModifiers().contains(Modifier.PRIVATE))
+				continue;
+			final List<? extends VariableElement> parameters = constructor.getParameters();
+			final int offset = (header ? 1 : 0);
+			if (parameters.size() != (properties.size() + offset))
+				continue;
+			if (header && !(processingEnv.getTypeUtils().isSameType(parameters.get(0).asType(), request)))
+				continue;
+			boolean matches = true;
+			for (int i = 0; (i < properties.size()) && matches; i++)
+				matches = processingEnv.getTypeUtils().isSameType(parameters.get(i + offset).asType(), properties.get(i).type());
+			if (matches)
+				return;
+		}
+		throw new ProcessingException("Codec type needs a non-private constructor taking " + (header ? "(Request header, " : "(") + "its inherited fields, then its own fields in declaration order)", type);
+	}
+	
+	private void encode(final StringBuilder source, final String indent, final String value, final TypeMirror type, final Element element, final Variables variables) {
+		final String primitive = primitive(type);
+		if (primitive != null) {
+			source.append(indent).append("output.write").append(primitive).append("(").append(value).append(");\n");
+			return;
+		}
+		if (is(type, "java.lang.String")) {
+			source.append(indent).append("output.writeString(").append(value).append(");\n");
+			return;
+		}
+		if (is(type, "java.util.UUID")) {
+			source.append(indent).append("output.writeUUID(").append(value).append(");\n");
+			return;
+		}
+		if ((type.getKind() == TypeKind.ARRAY) && (((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE)) {
+			source.append(indent).append("output.writeBytes(").append(value).append(");\n");
+			return;
+		}
+		final String boxed = boxed(type);
+		final String variable = variables.next("element");
+		source.append(indent).append("final ").append(typeName(type)).append(" ").append(variable).append(" = ").append(value).append(";\n");
+		if (boxed != null) {
+			source.append(indent).append("output.writeBoolean(").append(variable).append(" != null);\n")
+					.append(indent).append("if (").append(variable).append(" != null)\n")
+					.append(indent).append("\toutput.write").append(boxed).append("(").append(variable).append(");\n");
+			return;
+		}
+		if (isEnum(type)) {
+			source.append(indent).append("output.writeVarInt((").append(variable).append(" == null) ? 0 : (").append(variable).append(".ordinal() + 1));\n");
+			return;
+		}
+		if ((type.getKind() == TypeKind.ARRAY) || is(type, "java.util.List")) {
+			final boolean array = (type.getKind() == TypeKind.ARRAY);
+			final TypeMirror component = (array ? ((ArrayType) type).getComponentType() : argument(type, element));
+			final String index = variables.next("i");
+			final String size = (array ? (variable + ".length") : (variable + ".size()"));
+			source.append(indent).append("output.writeVarInt((").append(variable).append(" == null) ? 0 : (").append(size).append(" + 1));\n")
+					.append(indent).append("if (").append(variable).append(" != null) {\n")
+					.append(indent).append("\tfor (int ").append(index).append(" = 0; ").append(index).append(" < ").append(size).append("; ").append(index).append("++) {\n");
+			encode(source, (indent + "\t\t"), (array ? (variable + "[" + index + "]") : (variable + ".get(" + index + ")")), component, element, variables);
+			source.append(indent).append("\t}\n")
+					.append(indent).append("}\n");
+			return;
+		}
+		final String codec = nestedCodec(type, element);
+		source.append(indent).append("output.writeBoolean(").append(variable).append(" != null);\n")
+				.append(indent).append("if (").append(variable).append(" != null)\n")
+				.append(indent).append("\t").append(codec).append(".INSTANCE.encode(").append(variable).append(", output);\n");
+	}
+	
+	private void decode(final StringBuilder source, final String indent, final String variable, final TypeMirror type, final Element element, final Variables variables) {
+		final String declaration = (indent + "final " + typeName(type) + " " + variable + " = ");
+		final String primitive = primitive(type);
+		if (primitive != null) {
+			source.append(declaration).append("input.read").append(primitive).append("();\n");
+			return;
+		}
+		if (is(type, "java.lang.String")) {
+			source.append(declaration).append("input.readString();\n");
+			return;
+		}
+		if (is(type, "java.util.UUID")) {
+			source.append(declaration).append("input.readUUID();\n");
+			return;
+		}
+		if ((type.getKind() == TypeKind.ARRAY) && (((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE)) {
+			source.append(declaration).append("input.readBytes();\n");
+			return;
+		}
+		final String boxed = boxed(type);
+		if (boxed != null) {
+			source.append(declaration).append("(input.readBoolean() ? (").append(typeName(type)).append(") input.read").append(boxed).append("() : null);\n");
+			return;
+		}
+		if (isEnum(type)) {
+			final String ordinal = variables.next("ordinal");
+			final String constants = variables.next("constants");
+			source.append(indent).append("final ").append(typeName(type)).append("[] ").append(constants).append(" = ").append(typeName(type)).append(".values();\n")
+					.append(indent).append("final int ").append(ordinal).append(" = input.readOrdinal(").append(constants).append(".length);\n")
+					.append(declaration).append("((").append(ordinal).append(" < 0) ? null : ").append(constants).append("[").append(ordinal).append("]);\n");
+			return;
+		}
+		if ((type.getKind() == TypeKind.ARRAY) || is(type, "java.util.List")) {
+			final boolean array = (type.getKind() == TypeKind.ARRAY);
+			final TypeMirror component = (array ? ((ArrayType) type).getComponentType() : argument(type, element));
+			final String size = variables.next("size");
+			final String index = variables.next("i");
+			final String item = variables.next("item");
+			source.append(indent).append("final int ").append(size).append(" = input.readLength();\n");
+			if (array)
+				source.append(declaration).append("((").append(size).append(" < 0) ? null : ").append(newArray(type, size)).append(");\n");
+			else
+				source.append(declaration).append("((").append(size).append(" < 0) ? null : new java.util.ArrayList<>(").append(size).append("));\n");
+			source.append(indent).append("for (int ").append(index).append(" = 0; ").append(index).append(" < ").append(size).append("; ").append(index).append("++) {\n");
+			decode(source, (indent + "\t"), item, component, element, variables);
+			if (array)
+				source.append(indent).append("\t").append(variable).append("[").append(index).append("] = ").append(item).append(";\n");
+			else
+				source.append(indent).append("\t").append(variable).append(".add(").append(item).append(");\n");
+			source.append(indent).append("}\n");
+			return;
+		}
+		final String codec = nestedCodec(type, element);
+		source.append(declaration).append("(input.readBoolean() ? ").append(codec).append(".INSTANCE.decode(input) : null);\n");
+	}
+	
+	private String primitive(final TypeMirror type) {
+		return switch (type.getKind()) {
+			case BOOLEAN -> "Boolean";
+			case BYTE -> "Byte";
+			case SHORT -> "Short";
+			case CHAR -> "Char";
+			case INT -> "Int";
+			case LONG -> "Long";
+			case FLOAT -> "Float";
+			case DOUBLE -> "Double";
+			default -> null;
+		};
+	}
+	
+	private String boxed(final TypeMirror type) {
+		if (type.getKind() != TypeKind.DECLARED)
+			return null;
+		try {
+			return primitive(processingEnv.getTypeUtils().unboxedType(type));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+	
+	private boolean isEnum(final TypeMirror type) {
+		return ((type.getKind() == TypeKind.DECLARED) && (((DeclaredType) type).asElement().getKind() == ElementKind.ENUM));
+	}
+	
+	private TypeMirror argument(final TypeMirror type, final Element element) {
+		final List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+		if ((arguments.size() != 1) || (arguments.get(0).getKind() != TypeKind.DECLARED))
+			throw new ProcessingException("List fields need a concrete element type", element);
+		return arguments.get(0);
+	}
+	
+	private String nestedCodec(final TypeMirror type, final Element element) {
+		if (type.getKind() != TypeKind.DECLARED)
+			throw new ProcessingException("Unsupported field type: " + type, element);
+		final TypeElement nested = (TypeElement) ((DeclaredType) type).asElement();
+		if (nested.getAnnotationMirrors().stream().noneMatch((mirror) -> ANNOTATION.equals(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString())))
+			throw new ProcessingException("Unsupported field type: " + type + " (annotate it with @GenerateCodec)", element);
+		final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(nested);
+		return (packageElement.isUnnamed() ? codecName(nested) : (packageElement.getQualifiedName() + "." + codecName(nested)));
+	}
+	
+	private String newArray(final TypeMirror type, final String size) {
+		TypeMirror component = type;
+		final StringBuilder dimensions = new StringBuilder();
+		while (component.getKind() == TypeKind.ARRAY) {
+			component = ((ArrayType) component).getComponentType();
+			dimensions.append("[]");
+		}
+		return ("new " + typeName(component) + "[" + size + "]" + dimensions.substring(2));
+	}
+	
+	private String typeName(final TypeMirror type) {
+		if (type.getKind() == TypeKind.DECLARED)
+			return type.toString();
+		if (type.getKind() == TypeKind.ARRAY)
+			return (typeName(((ArrayType) type).getComponentType()) + "[]");
+		return type.toString();
+	}
+	
+	private boolean is(final TypeMirror type, final String name) {
+		return ((type.getKind() == TypeKind.DECLARED) && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(name));
+	}
+	
+	private boolean isSubtype(final TypeMirror type, final String name) {
+		final TypeMirror parent = type(name);
+		return ((parent != null) && processingEnv.getTypeUtils().isSubtype(type, parent));
+	}
+	
+	private TypeMirror type(final String name) {
+		final TypeElement element = processingEnv.getElementUtils().getTypeElement(name);
+		return ((element == null) ? null : element.asType());
+	}
+	
+	private int typeId(final TypeElement type) {
+		for (final AnnotationMirror mirror : type.getAnnotationMirrors()) {
+			if (!(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(ANNOTATION)))
+				continue;
+			for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet())
+				if (entry.getKey().getSimpleName().contentEquals("value"))
+					return (Integer) entry.getValue().getValue();
+		}
+		return 0;
+	}
+	
+	private static String codecName(final TypeElement type) {
+		final StringBuilder name = new StringBuilder(type.getSimpleName()).append("Codec");
+		Element enclosing = type.getEnclosingElement();
+		while ((enclosing instanceof TypeElement parent)) {
+			name.insert(0, (parent.getSimpleName() + "_"));
+			enclosing = parent.getEnclosingElement();
+		}
+		return name.toString();
+	}
+	
+	private record Property(String name, String access, TypeMirror type, Element element) {}
+	
+	private static final class Variables {
+		
+		private int counter;
+		
+		private String next(final String name) {
+			return ("$" + name + (counter++));
+		}
+		
+	}
+	
+	private static final class ProcessingException extends RuntimeException {
+		
+		@java.io.Serial
+		private static final long serialVersionUID = -2637412178409615432L;
+		
+		private final transient Element element;
+		
+		private ProcessingException(final String message, final Element element) {
+			super(message);
+			this.element = element;
+		}
+		
+		private Element getElement() {
+			return element;
+		}
+		
+	}
+	
+}
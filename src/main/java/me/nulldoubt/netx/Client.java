@@ -1,32 +1,64 @@
 package me.nulldoubt.netx;
 
 import me.nulldoubt.netx.binaries.*;
+import me.nulldoubt.netx.binaries.codecs.Codec;
+import me.nulldoubt.netx.binaries.codecs.CodecRegistry;
 import me.nulldoubt.netx.binaries.compilers.RequestCompiler;
 import me.nulldoubt.netx.binaries.compilers.ResponseCompiler;
 import me.nulldoubt.netx.binaries.configurations.Configuration;
+import me.nulldoubt.netx.binaries.connection.BufferPool;
+import me.nulldoubt.netx.binaries.connection.CipherPool;
+import me.nulldoubt.netx.binaries.connection.ConnectionChannel;
 import me.nulldoubt.netx.binaries.connection.ConnectionHandler;
 import me.nulldoubt.netx.binaries.connection.ConnectionThreadFactory;
+import me.nulldoubt.netx.binaries.connection.FlushPolicy;
+import me.nulldoubt.netx.binaries.connection.LocalServerChannel;
+import me.nulldoubt.netx.binaries.connection.SharedMemoryConnectionChannel;
+import me.nulldoubt.netx.binaries.connection.SocketConnectionChannel;
+import me.nulldoubt.netx.binaries.connection.StreamInput;
+import me.nulldoubt.netx.binaries.connection.StreamOutput;
+import me.nulldoubt.netx.binaries.connection.TimingWheel;
 import me.nulldoubt.netx.binaries.model.PacketReceivedListener;
 import me.nulldoubt.netx.binaries.model.PacketSentListener;
+import me.nulldoubt.netx.binaries.model.StreamReceivedListener;
 import me.nulldoubt.netx.exceptions.CompilationException;
+import me.nulldoubt.netx.exceptions.ConnectionException;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetAddress;
-import java.net.Socket;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
+import java.net.UnixDomainSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 public class Client<T> extends ErrorLogEntry {
@@ -34,11 +66,34 @@ public class Client<T> extends ErrorLogEntry {
 	private final Map<Long, PacketReceivedListener<T>> packetReceivedListeners;
 	private final Map<Long, PacketSentListener<T>> packetSentListeners;
 	
+	private final Map<Long, StreamReceivedListener> streamReceivedListeners;
+	
 	private final Map<Integer, RequestHandler> requestHandlers;
 	
 	private final Configuration<T> configuration;
 	
 	private final ConnectionThreadFactory threadFactory;
+	private NetX.ExecutionMode execution;
+	private int handlerThreads;
+	private int handlerQueue;
+	private ExecutorService executor;
+	private int writeBuffer;
+	private long linger;
+	private long heartbeat;
+	private long idleTimeout;
+	private ScheduledExecutorService scheduler;
+	private TimingWheel timer;
+	private ExecutorService inspector;
+	private ExecutorService streamExecutor;
+	private int maxFrameSize;
+	private int poolCapacity;
+	private BufferPool bufferPool;
+	private int outboundCapacity;
+	private int fragmentSize;
+	private int streamChunkSize;
+	private int streamWindow;
+	private NetX.OverflowPolicy overflowPolicy;
+	private NetX.TransportMode transport;
 	private ConnectionHandler handler;
 	private Thread networkThread;
 	private final Random random;
@@ -47,12 +102,16 @@ public class Client<T> extends ErrorLogEntry {
 	private NetX.CipherAlgorithm algorithm;
 	private InetAddress host;
 	private int port;
+	private Path socketPath;
+	private String localName;
 	
 	private long timeout;
 	private TimeUnit timeUnit;
 	
 	private final RequestCompiler requestCompiler;
 	private final ResponseCompiler responseCompiler;
+	private final CodecRegistry codecRegistry;
+	private final Map<Class<?>, Integer> channels;
 	
 	private boolean open;
 	
@@ -66,14 +125,37 @@ public class Client<T> extends ErrorLogEntry {
 		packetReceivedListeners = new HashMap<>();
 		packetSentListeners = new HashMap<>();
 		
+		streamReceivedListeners = new HashMap<>();
+		
 		requestHandlers = new HashMap<>();
 		
 		requestCompiler = new RequestCompiler();
 		responseCompiler = new ResponseCompiler();
+		codecRegistry = new CodecRegistry();
+		channels = new ConcurrentHashMap<>();
+		configuration.bind(codecRegistry);
+		requestCompiler.bind(codecRegistry);
+		responseCompiler.bind(codecRegistry);
 		
 		threadFactory = new ConnectionThreadFactory();
 		random = new Random();
 		open = false;
+		
+		execution = NetX.ExecutionMode.EXECUTION_INLINE;
+		handlerThreads = Runtime.getRuntime().availableProcessors();
+		handlerQueue = 1024;
+		writeBuffer = FlushPolicy.DEFAULT.getCapacity();
+		linger = FlushPolicy.DEFAULT.getLinger();
+		heartbeat = 0;
+		idleTimeout = 0;
+		maxFrameSize = NetX.NETWORK_MAX_FRAME_SIZE;
+		poolCapacity = BufferPool.DEFAULT.getCapacity();
+		outboundCapacity = NetX.NETWORK_OUTBOUND_CAPACITY;
+		fragmentSize = NetX.NETWORK_FRAGMENT_SIZE;
+		streamChunkSize = NetX.NETWORK_STREAM_CHUNK_SIZE;
+		streamWindow = NetX.NETWORK_STREAM_WINDOW;
+		overflowPolicy = NetX.OverflowPolicy.OVERFLOW_BLOCK;
+		transport = NetX.TransportMode.TRANSPORT_BLOCKING;
 	}
 	
 	public boolean isOpen() {
@@ -83,85 +165,216 @@ public class Client<T> extends ErrorLogEntry {
 	public void open() throws IOException {
 		if (open)
 			return;
-		open = true;
-		handler = new ConnectionHandler(algorithm, new Socket(host, port));
-		handler.openRaw();
-		uuid = UUID.fromString(new String(handler.protocol_read().getBuffer()));
 		try {
-			handler.open(new SecretKeySpec(uuid.toString().substring(4).getBytes(), algorithm.getAlgorithm()));
-			handler.write(NetX.SignalModifier.SIGNAL_TYPE, ByteBuffer.allocate(4).putInt(NetX.VERSION).array());
-		} catch (InvalidKeyException e) {
-			err().println("An error occurred while opening handler (Invalid Key): " + e.getLocalizedMessage());
-			return;
+			CipherPool.of(algorithm).warm(2);
 		} catch (NoSuchAlgorithmException e) {
-			err().println("An error occurred while opening handler (Invalid Algorithm): " + e.getLocalizedMessage());
-			return;
+			err().println("Unable to warm cipher pool (Invalid Algorithm): " + e.getLocalizedMessage());
 		} catch (NoSuchPaddingException e) {
-			err().println("An error occurred while opening handler (Invalid Padding): " + e.getLocalizedMessage());
-			return;
-		} catch (IllegalBlockSizeException e) {
-			err().println("An error occurred while writing to opened handler (Illegal Block Size): " + e.getLocalizedMessage());
-			return;
-		} catch (BadPaddingException e) {
-			err().println("An error occurred while writing to opened handler (Bad Padding): " + e.getLocalizedMessage());
-			return;
+			err().println("Unable to warm cipher pool (Invalid Padding): " + e.getLocalizedMessage());
 		}
+		if (linger > 0)
+			scheduler = Executors.newSingleThreadScheduledExecutor((runnable) -> threadFactory.create("Scheduler", runnable));
+		try {
+			connect();
+		} catch (IOException | RuntimeException e) {
+			disconnect();
+			throw e;
+		}
+		open = true;
+		timer = new TimingWheel(NetX.NETWORK_TIMER_TICK, TimeUnit.MILLISECONDS, NetX.NETWORK_TIMER_WHEEL, err());
+		timer.open(threadFactory);
+		inspector = Executors.newThreadPerTaskExecutor(new ConnectionThreadFactory(NetX.ThreadMode.THREAD_VIRTUAL));
+		streamExecutor = Executors.newThreadPerTaskExecutor(new ConnectionThreadFactory(NetX.ThreadMode.THREAD_VIRTUAL));
+		executor = threadFactory.createExecutor(execution, handlerThreads, handlerQueue);
+		handler.setExecutor(executor);
 		networkThread = threadFactory.create("Client", () -> {
 			while (open) {
 				try {
 					final NetX.SignalHolder holder = handler.read();
 					final byte signalModifier = holder.getSignalModifier();
 					final byte[] buffer = holder.getBuffer();
-					if (NetX.SignalModifier.isType(signalModifier))
-						handleType(configuration.compile(buffer));
-					else if (NetX.SignalModifier.isRequest(signalModifier))
-						handleRequest(requestCompiler.compile(buffer));
-					else if (NetX.SignalModifier.isResponse(signalModifier))
-						handleResponse(responseCompiler.compile(buffer));
-					else if (NetX.SignalModifier.isClose(signalModifier))
-						break;
-					else
-						err().println("Received Invalid Signal (Illegal State)");
-				} catch (SocketException _) {
+					final int length = holder.getLength();
+					try {
+						if (NetX.SignalModifier.isType(signalModifier))
+							handleType(((holder.getReference() != null) ? (T) holder.getReference() : configuration.compile(buffer, 0, length)));
+						else if (NetX.SignalModifier.isRequest(signalModifier))
+							handleRequest(requestCompiler.compile(buffer, 0, length), holder.getChannel());
+						else if (NetX.SignalModifier.isResponse(signalModifier))
+							handleResponse(responseCompiler.compile(buffer, 0, length));
+						else if (NetX.SignalModifier.isGroupKey(signalModifier))
+							handleGroupKey(buffer, length);
+						else if (NetX.SignalModifier.isStream(signalModifier))
+							handleStream(buffer, length, holder.getChannel());
+						else if (NetX.SignalModifier.isHeartbeat(signalModifier))
+							handler.answerHeartbeat(holder.getChannel());
+						else if (NetX.SignalModifier.isClose(signalModifier))
+							break;
+						else
+							err().println("Received Invalid Signal (Illegal State)");
+					} finally {
+						holder.release();
+					}
+				} catch (SocketException | ClosedChannelException | EOFException _) {
+					break;
 				} catch (IllegalBlockSizeException e) {
 					err().println("Unable to read (Illegal Block Size): " + e.getLocalizedMessage());
 				} catch (BadPaddingException e) {
 					err().println("Unable to read (Bad Padding): " + e.getLocalizedMessage());
 				} catch (IOException e) {
 					err().println("Unable to read (Internal): " + e.getLocalizedMessage());
+					break;
 				} catch (CompilationException e) {
 					err().println("Unable to compile type: " + e.getLocalizedMessage());
+				} catch (ConnectionException e) {
+					err().println("Unable to read (Connection): " + e.getLocalizedMessage());
+				} catch (RuntimeException e) {
+					err().println("An error occurred while handling signal: " + e.getLocalizedMessage());
 				}
 			}
 			handleClose();
 		}, Thread.MAX_PRIORITY);
 		handler.setNetworkThread(networkThread);
 		networkThread.start();
+		handler.watch(timer, inspector, heartbeat, idleTimeout, 0, this::expire);
+	}
+	
+	private void connect() throws IOException {
+		final ConnectionChannel channel;
+		if (localName != null)
+			channel = LocalServerChannel.connect(localName);
+		else if (transport == NetX.TransportMode.TRANSPORT_SHARED_MEMORY) {
+			if (socketPath == null)
+				throw new ConnectionException("Unable to open shared memory transport without a socket path");
+			channel = SharedMemoryConnectionChannel.connect(socketPath);
+		} else if (socketPath != null)
+			channel = new SocketConnectionChannel(SocketChannel.open(UnixDomainSocketAddress.of(socketPath)));
+		else
+			channel = new SocketConnectionChannel(SocketChannel.open(new InetSocketAddress(host, port)).socket());
+		handler = new ConnectionHandler(algorithm, channel);
+		try {
+			bufferPool = new BufferPool(Math.min(maxFrameSize, BufferPool.DEFAULT.getMaxPooledSize()), poolCapacity);
+			channel.setFlushPolicy(new FlushPolicy(writeBuffer, linger, TimeUnit.NANOSECONDS, scheduler));
+			channel.setBufferPool(bufferPool);
+			channel.setMaxFrameSize(maxFrameSize);
+			channel.setOutboundCapacity(outboundCapacity);
+			channel.setFragmentSize(fragmentSize);
+			channel.setOverflowPolicy(overflowPolicy);
+			channel.setThreadFactory(threadFactory);
+			handler.openRaw();
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		final NetX.SignalHolder uuidHolder = handler.protocol_read();
+		uuid = UUID.fromString(new String(uuidHolder.getBuffer(), 0, uuidHolder.getLength()));
+		uuidHolder.release();
+		try {
+			handler.open(new SecretKeySpec(uuid.toString().substring(4).getBytes(), algorithm.getKeyAlgorithm()), true);
+			handler.write(NetX.SignalModifier.SIGNAL_TYPE, ByteBuffer.allocate(4).putInt(NetX.VERSION).array());
+		} catch (InvalidKeyException e) {
+			throw new ConnectionException("An error occurred while opening handler (Invalid Key): " + e.getLocalizedMessage());
+		} catch (NoSuchAlgorithmException e) {
+			throw new ConnectionException("An error occurred while opening handler (Invalid Algorithm): " + e.getLocalizedMessage());
+		} catch (NoSuchPaddingException e) {
+			throw new ConnectionException("An error occurred while opening handler (Invalid Padding): " + e.getLocalizedMessage());
+		} catch (IllegalBlockSizeException e) {
+			throw new ConnectionException("An error occurred while writing to opened handler (Illegal Block Size): " + e.getLocalizedMessage());
+		} catch (BadPaddingException e) {
+			throw new ConnectionException("An error occurred while writing to opened handler (Bad Padding): " + e.getLocalizedMessage());
+		}
+	}
+	
+	private void disconnect() {
+		if (handler != null) {
+			try {
+				handler.close();
+			} catch (IOException | RuntimeException _) {}
+			handler = null;
+		}
+		if (scheduler != null)
+			scheduler.shutdown();
+		scheduler = null;
+	}
+	
+	private void handleGroupKey(final byte[] buffer, final int length) {
+		try {
+			handler.installGroupKey(buffer, length);
+		} catch (InvalidKeyException e) {
+			err().println("Unable to install group key (Invalid Key): " + e.getLocalizedMessage());
+		} catch (NoSuchAlgorithmException e) {
+			err().println("Unable to install group key (Invalid Algorithm): " + e.getLocalizedMessage());
+		} catch (NoSuchPaddingException e) {
+			err().println("Unable to install group key (Invalid Padding): " + e.getLocalizedMessage());
+		}
+	}
+	
+	private void handleStream(final byte[] buffer, final int length, final int channel) throws IOException {
+		final StreamInput stream = handler.receiveStream(buffer, length, channel, streamWindow);
+		if (stream == null)
+			return;
+		if (streamReceivedListeners.isEmpty()) {
+			err().println("No stream listener registered, cancelling stream '" + stream.getName() + "'");
+			stream.close();
+			return;
+		}
+		try {
+			streamExecutor.execute(() -> {
+				try {
+					for (final StreamReceivedListener listener : streamReceivedListeners.values())
+						listener.onStreamReceived(stream, handler.getUUID());
+				} catch (Exception e) {
+					err().println("An error occurred while handling stream '" + stream.getName() + "': " + e.getLocalizedMessage());
+				} finally {
+					stream.close();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			stream.close();
+		}
 	}
 	
 	private void handleType(final T t) {
+		final Consumer<T> consumer = (Consumer<T>) handler.popAwaitConsumer();
+		if (consumer != null)
+			consumer.accept(t);
 		for (final PacketReceivedListener<T> listener : packetReceivedListeners.values())
 			listener.onPacketReceived(t, handler.getUUID());
 	}
 	
-	private void handleRequest(final Request request) throws IllegalBlockSizeException, BadPaddingException, IOException {
+	private void handleRequest(final Request request, final int channel) {
 		final int requestId = request.getRequestId();
-		if (!(requestHandlers.containsKey(requestId))) {
+		final RequestHandler requestHandler = requestHandlers.get(requestId);
+		if (requestHandler == null) {
 			err().println("No request handler registered for request id " + requestId);
 			return;
 		}
-		final RequestHandler requestHandler = requestHandlers.get(request.getRequestId());
-		final Response response = requestHandler.handle(request);
-		final byte[] buffer = responseCompiler.decompile(response);
-		handler.write(NetX.SignalModifier.SIGNAL_RESPONSE, buffer);
+		handler.execute(() -> respond(requestHandler, request, channel));
+	}
+	
+	private void respond(final RequestHandler requestHandler, final Request request, final int channel) {
+		try {
+			final Response response = requestHandler.handle(request);
+			final byte[] buffer = responseCompiler.decompile(response);
+			handler.write(NetX.SignalModifier.SIGNAL_RESPONSE, channel, buffer);
+		} catch (IllegalBlockSizeException e) {
+			err().println("Unable to write to handler (Illegal Block Size): " + e.getLocalizedMessage());
+		} catch (BadPaddingException e) {
+			err().println("Unable to write to handler (Bad Padding): " + e.getLocalizedMessage());
+		} catch (IOException e) {
+			err().println("Unable to write to handler (Internal): " + e.getLocalizedMessage());
+		} catch (Exception e) {
+			err().println("An error occurred while handling request with id " + request.getRequestId() + ": " + e.getLocalizedMessage());
+		}
 	}
 	
 	private void handleResponse(final Response response) {
-		if (!(handler.hasAwaitConsumers())) {
+		if (!(handler.completePendingRequest(response)))
 			err().println("Unable to handle response without a registered and awaiting consumer");
-			return;
-		}
-		((Consumer<Response>) handler.popAwaitConsumer()).accept(response);
+	}
+	
+	private void expire() {
+		err().println("Connection timed out after " + TimeUnit.NANOSECONDS.toMillis(idleTimeout) + " ms without traffic");
+		handleClose();
 	}
 	
 	private void handleClose() {
@@ -177,7 +390,20 @@ public class Client<T> extends ErrorLogEntry {
 		if (!(open))
 			return;
 		open = false;
-		handler.close();
+		if (handler != null)
+			handler.close();
+		if (executor != null)
+			executor.shutdown();
+		if (scheduler != null)
+			scheduler.shutdown();
+		if (timer != null)
+			timer.close();
+		if (inspector != null)
+			inspector.shutdown();
+		if (streamExecutor != null)
+			streamExecutor.shutdown();
+		if (networkThread == null)
+			return;
 		try {
 			networkThread.join(5);
 		} catch (Exception e) {
@@ -197,6 +423,12 @@ public class Client<T> extends ErrorLogEntry {
 		return key;
 	}
 	
+	public long onStreamReceived(final StreamReceivedListener listener) {
+		final long key = random.nextLong();
+		streamReceivedListeners.put(key, listener);
+		return key;
+	}
+	
 	public int getPacketSentListeners() {
 		return packetSentListeners.size();
 	}
@@ -205,6 +437,10 @@ public class Client<T> extends ErrorLogEntry {
 		return packetReceivedListeners.size();
 	}
 	
+	public int getStreamReceivedListeners() {
+		return streamReceivedListeners.size();
+	}
+	
 	public boolean removePacketSentListener(final long key) {
 		if (!(packetSentListeners.containsKey(key)))
 			return false;
@@ -219,6 +455,13 @@ public class Client<T> extends ErrorLogEntry {
 		return true;
 	}
 	
+	public boolean removeStreamReceivedListener(final long key) {
+		if (!(streamReceivedListeners.containsKey(key)))
+			return false;
+		streamReceivedListeners.remove(key);
+		return true;
+	}
+	
 	public void registerRequestHandler(final RequestHandler handler) {
 		requestHandlers.put(handler.getRequestId(), handler);
 	}
@@ -227,6 +470,40 @@ public class Client<T> extends ErrorLogEntry {
 		requestHandlers.remove(handler.getRequestId());
 	}
 	
+	public <C> void registerCodec(final int typeId, final Class<C> type, final Codec<C> codec) {
+		codecRegistry.register(typeId, type, codec);
+	}
+	
+	public boolean unregisterCodec(final Class<?> type) {
+		return codecRegistry.unregister(type);
+	}
+	
+	public CodecRegistry getCodecRegistry() {
+		return codecRegistry;
+	}
+	
+	public void assignChannel(final Class<?> type, final int channel) {
+		channels.put(type, channel);
+	}
+	
+	public boolean unassignChannel(final Class<?> type) {
+		return (channels.remove(type) != null);
+	}
+	
+	public int getChannel(final Class<?> type) {
+		return channels.getOrDefault(type, 0);
+	}
+	
+	public Map<Class<?>, Integer> getChannels() {
+		return Collections.unmodifiableMap(channels);
+	}
+	
+	private int channelOf(final Object value) {
+		if (channels.isEmpty() || (value == null))
+			return 0;
+		return channels.getOrDefault(value.getClass(), 0);
+	}
+	
 	public int[] getRegisteredRequestHandlers() {
 		return requestHandlers.keySet().stream().mapToInt(Integer::intValue).toArray();
 	}
@@ -240,35 +517,36 @@ public class Client<T> extends ErrorLogEntry {
 	}
 	
 	protected T await(final long timeout, final TimeUnit timeUnit) throws InterruptedException {
-		final CountDownLatch latch = new CountDownLatch(1);
-		final Object[] type = new Object[1];
-		final Consumer<T> consumer = ((t) -> {
-			type[0] = t;
-			latch.countDown();
-		});
-		handler.pushAwaitConsumer(consumer);
-		latch.await(timeout, timeUnit);
-		return ((T) type[0]);
+		return resolve(awaitAsync(timeout, timeUnit));
 	}
 	
-	protected T awaitAfter(final Runnable runnable, final long timeout, final TimeUnit timeUnit) throws InterruptedException 	{
-		final CountDownLatch latch = new CountDownLatch(1);
-		final Object[] type = new Object[1];
-		final Consumer<T> consumer = ((t) -> {
-			type[0] = t;
-			latch.countDown();
-		});
+	protected T awaitAfter(final Runnable runnable, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+		final CompletableFuture<T> future = awaitAsync(timeout, timeUnit);
 		runnable.run();
+		return resolve(future);
+	}
+	
+	public CompletableFuture<T> awaitAsync() {
+		return awaitAsync(timeout, timeUnit);
+	}
+	
+	public CompletableFuture<T> awaitAsync(final long timeout, final TimeUnit timeUnit) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		final Consumer<T> consumer = future::complete;
 		handler.pushAwaitConsumer(consumer);
-		latch.await(timeout, timeUnit);
-		return ((T) type[0]);
+		final TimingWheel.Timeout expiry = timer.schedule(() -> future.completeExceptionally(new TimeoutException()), timeout, timeUnit);
+		future.whenComplete((t, throwable) -> {
+			handler.removeAwaitConsumer(consumer);
+			expiry.cancel();
+		});
+		return future;
 	}
 	
 	public void send(final T t) {
 		byte[] buffer;
-		buffer = configuration.decompile(t);
+		buffer = decompile(t);
 		try {
-			handler.write(NetX.SignalModifier.SIGNAL_TYPE, buffer);
+			write(t, buffer);
 		} catch (IllegalBlockSizeException e) {
 			err().println("Unable to write to handler (Illegal Block Size): " + e.getLocalizedMessage());
 		} catch (BadPaddingException e) {
@@ -278,17 +556,78 @@ public class Client<T> extends ErrorLogEntry {
 		}
 	}
 	
+	private byte[] decompile(final T t) throws CompilationException {
+		return (handler.isByReference() ? null : configuration.decompile(t));
+	}
+	
+	private void write(final T t, final byte[] buffer) throws IOException, IllegalBlockSizeException, BadPaddingException {
+		if (buffer == null)
+			handler.writeReference(NetX.SignalModifier.SIGNAL_TYPE, channelOf(t), t);
+		else
+			handler.write(NetX.SignalModifier.SIGNAL_TYPE, channelOf(t), buffer);
+	}
+	
+	public StreamOutput openStream(final String name) throws IOException {
+		return openStream(name, -1);
+	}
+	
+	public StreamOutput openStream(final String name, final long size) throws IOException {
+		return handler.openStream(name, size, getChannel(StreamOutput.class), streamChunkSize);
+	}
+	
+	public long stream(final String name, final InputStream input) throws IOException {
+		final StreamOutput output = openStream(name, -1);
+		try {
+			output.transferFrom(input);
+			output.close();
+		} catch (IOException e) {
+			output.abort();
+			throw e;
+		}
+		return output.getWritten();
+	}
+	
+	public long stream(final String name, final ReadableByteChannel input) throws IOException {
+		final StreamOutput output = openStream(name, ((input instanceof SeekableByteChannel seekable) ? (seekable.size() - seekable.position()) : -1));
+		try {
+			output.transferFrom(input);
+			output.close();
+		} catch (IOException e) {
+			output.abort();
+			throw e;
+		}
+		return output.getWritten();
+	}
+	
+	public long sendFile(final Path path) throws IOException {
+		return sendFile(path.getFileName().toString(), path);
+	}
+	
+	public long sendFile(final String name, final Path path) throws IOException {
+		try (final FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+			final StreamOutput output = openStream(name, file.size());
+			try {
+				output.transferFrom(file);
+				output.close();
+			} catch (IOException e) {
+				output.abort();
+				throw e;
+			}
+			return output.getWritten();
+		}
+	}
+	
 	public void sendAfter(final Runnable runnable, final T t) {
 		byte[] buffer;
 		try {
-			buffer = configuration.decompile(t);
+			buffer = decompile(t);
 		} catch (Exception e) {
 			err().println("Unable to decompile type: " + e.getLocalizedMessage());
 			return;
 		}
 		runnable.run();
 		try {
-			handler.write(NetX.SignalModifier.SIGNAL_TYPE, buffer);
+			write(t, buffer);
 		} catch (IllegalBlockSizeException e) {
 			err().println("Unable to write to handler (Illegal Block Size): " + e.getLocalizedMessage());
 		} catch (BadPaddingException e) {
@@ -307,13 +646,37 @@ public class Client<T> extends ErrorLogEntry {
 	}
 	
 	public T sendAndAwait(final T t, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
-		send(t);
-		return await(timeout, timeUnit);
+		return resolve(sendAsync(t, timeout, timeUnit));
 	}
 	
 	public T sendAndAwaitAfter(final Runnable runnable, final T t, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+		final CompletableFuture<T> future = awaitAsync(timeout, timeUnit);
 		sendAfter(runnable, t);
-		return await(timeout, timeUnit);
+		return resolve(future);
+	}
+	
+	public CompletableFuture<T> sendAsync(final T t) {
+		return sendAsync(t, timeout, timeUnit);
+	}
+	
+	public CompletableFuture<T> sendAsync(final T t, final long timeout, final TimeUnit timeUnit) {
+		final CompletableFuture<T> future = awaitAsync(timeout, timeUnit);
+		try {
+			write(t, decompile(t));
+		} catch (CompilationException e) {
+			err().println("Unable to decompile type: " + e.getLocalizedMessage());
+			future.completeExceptionally(e);
+		} catch (IllegalBlockSizeException e) {
+			err().println("Unable to write to handler (Illegal Block Size): " + e.getLocalizedMessage());
+			future.completeExceptionally(e);
+		} catch (BadPaddingException e) {
+			err().println("Unable to write to handler (Bad Padding): " + e.getLocalizedMessage());
+			future.completeExceptionally(e);
+		} catch (IOException e) {
+			err().println("Unable to write to handler (Internal): " + e.getLocalizedMessage());
+			future.completeExceptionally(e);
+		}
+		return future;
 	}
 	
 	public Response request(final Request request) throws InterruptedException {
@@ -333,102 +696,103 @@ public class Client<T> extends ErrorLogEntry {
 	}
 	
 	public Response request(final Request request, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
-		byte[] buffer;
+		return resolve(requestAsync(request, timeout, timeUnit), request);
+	}
+	
+	public Response requestAfter(final Runnable runnable, final Request request, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+		return resolve(exchange(request, runnable, timeout, timeUnit), request);
+	}
+	
+	public Response request(final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
 		try {
-			buffer = requestCompiler.decompile(request);
-		} catch (CompilationException e) {
-			err().println("Unable to decompile type: " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to decompile type: " + e.getLocalizedMessage(), request);
+			final Response response = request(request, timeout, timeUnit);
+			if (response instanceof ErrorResponse error)
+				return errorCallback.onError(error);
+			return response;
+		} catch (Exception e) {
+			return errorCallback.onError(new ErrorResponse(e.getLocalizedMessage(), request));
 		}
+	}
+	
+	public Response requestAfter(final Runnable runnable, final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
 		try {
-			handler.write(NetX.SignalModifier.SIGNAL_REQUEST, buffer);
-		} catch (IllegalBlockSizeException e) {
-			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage(), request);
-		} catch (BadPaddingException e) {
-			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage(), request);
-		} catch (IOException e) {
-			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage(), request);
+			final Response response = requestAfter(runnable, request, timeout, timeUnit);
+			if (response instanceof ErrorResponse error)
+				return errorCallback.onError(error);
+			return response;
+		} catch (Exception e) {
+			return errorCallback.onError(new ErrorResponse(e.getMessage(), request));
 		}
-		final CountDownLatch latch = new CountDownLatch(1);
-		final Response[] response = new Response[1];
-		final Consumer<Response> consumer = ((r) -> {
-			response[0] = r;
-			latch.countDown();
-		});
-		handler.pushAwaitConsumer(consumer);
-		latch.await(timeout, timeUnit);
-		return response[0];
 	}
 	
-	public Response requestAfter(final Runnable runnable, final Request request, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+	public CompletableFuture<Response> requestAsync(final Request request) {
+		return requestAsync(request, timeout, timeUnit);
+	}
+	
+	public CompletableFuture<Response> requestAsync(final Request request, final long timeout, final TimeUnit timeUnit) {
+		return exchange(request, null, timeout, timeUnit);
+	}
+	
+	private CompletableFuture<Response> exchange(final Request request, final Runnable runnable, final long timeout, final TimeUnit timeUnit) {
+		final CompletableFuture<Response> future = new CompletableFuture<>();
 		byte[] buffer;
 		try {
 			buffer = requestCompiler.decompile(request);
 		} catch (CompilationException e) {
 			err().println("Unable to decompile type: " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to decompile type: " + e.getLocalizedMessage(), request);
+			future.complete(new ErrorResponse("Unable to decompile type: " + e.getLocalizedMessage(), request));
+			return future;
 		}
-		runnable.run();
+		final UUID uuid = request.getUUID();
+		try {
+			handler.registerPendingRequest(uuid, future::complete);
+		} catch (ConnectionException e) {
+			future.completeExceptionally(e);
+			return future;
+		}
+		final TimingWheel.Timeout expiry = timer.schedule(() -> future.complete(new ErrorResponse("Request timed out after " + timeout + " " + timeUnit, request)), timeout, timeUnit);
+		future.whenComplete((response, throwable) -> {
+			handler.removePendingRequest(uuid);
+			expiry.cancel();
+		});
 		try {
-			handler.write(NetX.SignalModifier.SIGNAL_REQUEST, buffer);
+			if (runnable != null)
+				runnable.run();
+			handler.write(NetX.SignalModifier.SIGNAL_REQUEST, channelOf(request), buffer);
 		} catch (IllegalBlockSizeException e) {
 			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage(), request);
+			future.complete(new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage(), request));
 		} catch (BadPaddingException e) {
 			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage(), request);
+			future.complete(new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage(), request));
 		} catch (IOException e) {
 			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage(), request);
+			future.complete(new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage(), request));
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
 		}
-		final CountDownLatch latch = new CountDownLatch(1);
-		final Response[] response = new Response[1];
-		final Consumer<Response> consumer = ((r) -> {
-			response[0] = r;
-			latch.countDown();
-		});
-		handler.pushAwaitConsumer(consumer);
-		latch.await(timeout, timeUnit);
-		return response[0];
+		return future;
 	}
 	
-	public Response request(final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
+	private T resolve(final CompletableFuture<T> future) throws InterruptedException {
 		try {
-			final byte[] buffer = requestCompiler.decompile(request);
-			handler.write(NetX.SignalModifier.SIGNAL_REQUEST, buffer);
-			final CountDownLatch latch = new CountDownLatch(1);
-			final Response[] response = new Response[1];
-			final Consumer<Response> consumer = ((r) -> {
-				response[0] = r;
-				latch.countDown();
-			});
-			handler.pushAwaitConsumer(consumer);
-			latch.await(timeout, timeUnit);
-			return response[0];
-		} catch (Exception e) {
-			return errorCallback.onError(new ErrorResponse(e.getLocalizedMessage(), request));
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(false);
+			throw e;
+		} catch (ExecutionException e) {
+			return null;
 		}
 	}
 	
-	public Response requestAfter(final Runnable runnable, final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
+	private Response resolve(final CompletableFuture<Response> future, final Request request) throws InterruptedException {
 		try {
-			final byte[] buffer = requestCompiler.decompile(request);
-			runnable.run();
-			handler.write(NetX.SignalModifier.SIGNAL_REQUEST, buffer);
-			final CountDownLatch latch = new CountDownLatch(1);
-			final Response[] response = new Response[1];
-			final Consumer<Response> consumer = ((r) -> {
-				response[0] = r;
-				latch.countDown();
-			});
-			handler.pushAwaitConsumer(consumer);
-			latch.await(timeout, timeUnit);
-			return response[0];
-		} catch (Exception e) {
-			return errorCallback.onError(new ErrorResponse(e.getMessage(), request));
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(false);
+			throw e;
+		} catch (ExecutionException e) {
+			return new ErrorResponse(e.getCause().getLocalizedMessage(), request);
 		}
 	}
 	
@@ -440,6 +804,186 @@ public class Client<T> extends ErrorLogEntry {
 		this.algorithm = algorithm;
 	}
 	
+	public NetX.ThreadMode getThreadMode() {
+		return threadFactory.getMode();
+	}
+	
+	public void setThreadMode(final NetX.ThreadMode threadMode) {
+		if (open)
+			throw new RuntimeException("Unable to change thread mode while opened");
+		threadFactory.setMode(threadMode);
+	}
+	
+	public NetX.TransportMode getTransport() {
+		return transport;
+	}
+	
+	public void setTransport(final NetX.TransportMode transport) {
+		if (open)
+			throw new RuntimeException("Unable to change transport while opened");
+		this.transport = transport;
+	}
+	
+	public NetX.ExecutionMode getExecution() {
+		return execution;
+	}
+	
+	public void setExecution(final NetX.ExecutionMode execution) {
+		if (open)
+			throw new RuntimeException("Unable to change execution while opened");
+		this.execution = execution;
+	}
+	
+	public int getHandlerThreads() {
+		return handlerThreads;
+	}
+	
+	public void setHandlerThreads(final int handlerThreads) {
+		if (open)
+			throw new RuntimeException("Unable to change handler threads while opened");
+		this.handlerThreads = handlerThreads;
+	}
+	
+	public int getHandlerQueue() {
+		return handlerQueue;
+	}
+	
+	public void setHandlerQueue(final int handlerQueue) {
+		if (open)
+			throw new RuntimeException("Unable to change handler queue while opened");
+		this.handlerQueue = handlerQueue;
+	}
+	
+	public int getWriteBuffer() {
+		return writeBuffer;
+	}
+	
+	public void setWriteBuffer(final int writeBuffer) {
+		if (open)
+			throw new RuntimeException("Unable to change write buffer while opened");
+		this.writeBuffer = writeBuffer;
+	}
+	
+	public long getLinger() {
+		return linger;
+	}
+	
+	public void setLinger(final long linger, final TimeUnit timeUnit) {
+		if (open)
+			throw new RuntimeException("Unable to change linger while opened");
+		this.linger = timeUnit.toNanos(linger);
+	}
+	
+	public long getHeartbeat() {
+		return heartbeat;
+	}
+	
+	public void setHeartbeat(final long heartbeat, final TimeUnit timeUnit) {
+		if (open)
+			throw new RuntimeException("Unable to change heartbeat while opened");
+		this.heartbeat = timeUnit.toNanos(heartbeat);
+	}
+	
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+	
+	public void setIdleTimeout(final long idleTimeout, final TimeUnit timeUnit) {
+		if (open)
+			throw new RuntimeException("Unable to change idle timeout while opened");
+		this.idleTimeout = timeUnit.toNanos(idleTimeout);
+	}
+	
+	public int getMaxFrameSize() {
+		return maxFrameSize;
+	}
+	
+	public void setMaxFrameSize(final int maxFrameSize) {
+		if (open)
+			throw new RuntimeException("Unable to change max frame size while opened");
+		this.maxFrameSize = maxFrameSize;
+	}
+	
+	public int getPoolCapacity() {
+		return poolCapacity;
+	}
+	
+	public void setPoolCapacity(final int poolCapacity) {
+		if (open)
+			throw new RuntimeException("Unable to change pool capacity while opened");
+		this.poolCapacity = poolCapacity;
+	}
+	
+	public BufferPool getBufferPool() {
+		return bufferPool;
+	}
+	
+	public int getOutboundCapacity() {
+		return outboundCapacity;
+	}
+	
+	public void setOutboundCapacity(final int outboundCapacity) {
+		if (open)
+			throw new RuntimeException("Unable to change outbound capacity while opened");
+		this.outboundCapacity = outboundCapacity;
+	}
+	
+	public int getFragmentSize() {
+		return fragmentSize;
+	}
+	
+	public void setFragmentSize(final int fragmentSize) {
+		if (open)
+			throw new RuntimeException("Unable to change fragment size while opened");
+		this.fragmentSize = fragmentSize;
+	}
+	
+	public int getStreamChunkSize() {
+		return streamChunkSize;
+	}
+	
+	public void setStreamChunkSize(final int streamChunkSize) {
+		if (open)
+			throw new RuntimeException("Unable to change stream chunk size while opened");
+		this.streamChunkSize = streamChunkSize;
+	}
+	
+	public int getStreamWindow() {
+		return streamWindow;
+	}
+	
+	public void setStreamWindow(final int streamWindow) {
+		if (open)
+			throw new RuntimeException("Unable to change stream window while opened");
+		this.streamWindow = streamWindow;
+	}
+	
+	public NetX.OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+	
+	public void setOverflowPolicy(final NetX.OverflowPolicy overflowPolicy) {
+		if (open)
+			throw new RuntimeException("Unable to change overflow policy while opened");
+		this.overflowPolicy = overflowPolicy;
+	}
+	
+	public int getQueueDepth() {
+		return ((handler == null) ? 0 : handler.getQueueDepth());
+	}
+	
+	public long getDroppedFrames() {
+		return ((handler == null) ? 0 : handler.getDroppedFrames());
+	}
+	
+	public int getPendingRequests() {
+		return ((handler == null) ? 0 : handler.getPendingRequests());
+	}
+	
+	public int getPendingTimeouts() {
+		return ((timer == null) ? 0 : timer.size());
+	}
+	
 	public long getDefaultTimeout() {
 		return timeout;
 	}
@@ -469,6 +1013,22 @@ public class Client<T> extends ErrorLogEntry {
 		this.port = port;
 	}
 	
+	public Path getSocketPath() {
+		return socketPath;
+	}
+	
+	public void setSocketPath(final Path socketPath) {
+		this.socketPath = socketPath;
+	}
+	
+	public String getLocalName() {
+		return localName;
+	}
+	
+	public void setLocalName(final String localName) {
+		this.localName = localName;
+	}
+	
 	public UUID getUUID() {
 		return uuid;
 	}
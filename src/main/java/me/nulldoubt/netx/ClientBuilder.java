@@ -1,16 +1,20 @@
 package me.nulldoubt.netx;
 
 import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.codecs.Codec;
 import me.nulldoubt.netx.binaries.configurations.BufferConfiguration;
+import me.nulldoubt.netx.binaries.configurations.CodecConfiguration;
 import me.nulldoubt.netx.binaries.configurations.SerialConfiguration;
 import me.nulldoubt.netx.binaries.configurations.StringConfiguration;
 import me.nulldoubt.netx.binaries.model.PacketReceivedListener;
 import me.nulldoubt.netx.binaries.model.PacketSentListener;
 import me.nulldoubt.netx.binaries.model.SerialObject;
+import me.nulldoubt.netx.binaries.model.StreamReceivedListener;
 import me.nulldoubt.netx.exceptions.BuilderException;
 
 import java.io.PrintStream;
 import java.net.InetAddress;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
 public final class ClientBuilder<T> {
@@ -20,16 +24,20 @@ public final class ClientBuilder<T> {
 	private boolean algorithm;
 	private boolean host;
 	private boolean port;
+	private boolean socketPath;
+	private boolean localName;
 	
 	private ClientBuilder(final Client<T> client) {
 		this.client = client;
 		algorithm = false;
 		host = false;
 		port = false;
+		socketPath = false;
+		localName = false;
 	}
 	
 	public boolean isReady() {
-		return (algorithm && host && port);
+		return (algorithm && (localName || socketPath || (host && port)));
 	}
 	
 	public PrintStream err() {
@@ -85,6 +93,216 @@ public final class ClientBuilder<T> {
 		return this;
 	}
 	
+	public Path socketPath() {
+		if (!(socketPath))
+			throw new NullPointerException("SocketPath hasn't been set yet");
+		return client.getSocketPath();
+	}
+	
+	public ClientBuilder<T> socketPath(final Path socketPath) {
+		if (socketPath == null)
+			throw new NullPointerException("SocketPath cannot be null");
+		client.setSocketPath(socketPath);
+		this.socketPath = true;
+		return this;
+	}
+	
+	public String localName() {
+		if (!(localName))
+			throw new NullPointerException("LocalName hasn't been set yet");
+		return client.getLocalName();
+	}
+	
+	public ClientBuilder<T> localName(final String localName) {
+		if (localName == null)
+			throw new NullPointerException("LocalName cannot be null");
+		client.setLocalName(localName);
+		this.localName = true;
+		return this;
+	}
+	
+	public NetX.TransportMode transport() {
+		return client.getTransport();
+	}
+	
+	public ClientBuilder<T> transport(final NetX.TransportMode transport) {
+		if (transport == null)
+			throw new NullPointerException("Transport cannot be null");
+		client.setTransport(transport);
+		return this;
+	}
+	
+	public NetX.ThreadMode threadMode() {
+		return client.getThreadMode();
+	}
+	
+	public ClientBuilder<T> threadMode(final NetX.ThreadMode threadMode) {
+		if (threadMode == null)
+			throw new NullPointerException("ThreadMode cannot be null");
+		client.setThreadMode(threadMode);
+		return this;
+	}
+	
+	public NetX.ExecutionMode execution() {
+		return client.getExecution();
+	}
+	
+	public ClientBuilder<T> execution(final NetX.ExecutionMode execution) {
+		if (execution == null)
+			throw new NullPointerException("Execution cannot be null");
+		client.setExecution(execution);
+		return this;
+	}
+	
+	public int handlerThreads() {
+		return client.getHandlerThreads();
+	}
+	
+	public ClientBuilder<T> handlerThreads(final int handlerThreads) {
+		if (handlerThreads < 1)
+			throw new BuilderException("HandlerThreads has to be at least 1");
+		client.setHandlerThreads(handlerThreads);
+		return this;
+	}
+	
+	public int handlerQueue() {
+		return client.getHandlerQueue();
+	}
+	
+	public ClientBuilder<T> handlerQueue(final int handlerQueue) {
+		if (handlerQueue < 1)
+			throw new BuilderException("HandlerQueue has to be at least 1");
+		client.setHandlerQueue(handlerQueue);
+		return this;
+	}
+	
+	public int writeBuffer() {
+		return client.getWriteBuffer();
+	}
+	
+	public ClientBuilder<T> writeBuffer(final int writeBuffer) {
+		if (writeBuffer < 1)
+			throw new BuilderException("WriteBuffer has to be at least 1");
+		client.setWriteBuffer(writeBuffer);
+		return this;
+	}
+	
+	public long linger() {
+		return client.getLinger();
+	}
+	
+	public ClientBuilder<T> linger(final long linger, final TimeUnit timeUnit) {
+		if (linger < 0)
+			throw new BuilderException("Linger cannot be negative");
+		if (timeUnit == null)
+			throw new NullPointerException("TimeUnit cannot be null");
+		client.setLinger(linger, timeUnit);
+		return this;
+	}
+	
+	public long heartbeat() {
+		return client.getHeartbeat();
+	}
+	
+	public ClientBuilder<T> heartbeat(final long heartbeat, final TimeUnit timeUnit) {
+		if (heartbeat < 0)
+			throw new BuilderException("Heartbeat cannot be negative");
+		if (timeUnit == null)
+			throw new NullPointerException("TimeUnit cannot be null");
+		client.setHeartbeat(heartbeat, timeUnit);
+		return this;
+	}
+	
+	public long idleTimeout() {
+		return client.getIdleTimeout();
+	}
+	
+	public ClientBuilder<T> idleTimeout(final long idleTimeout, final TimeUnit timeUnit) {
+		if (idleTimeout < 0)
+			throw new BuilderException("IdleTimeout cannot be negative");
+		if (timeUnit == null)
+			throw new NullPointerException("TimeUnit cannot be null");
+		client.setIdleTimeout(idleTimeout, timeUnit);
+		return this;
+	}
+	
+	public int maxFrameSize() {
+		return client.getMaxFrameSize();
+	}
+	
+	public ClientBuilder<T> maxFrameSize(final int maxFrameSize) {
+		if (maxFrameSize < 1)
+			throw new BuilderException("MaxFrameSize has to be at least 1");
+		client.setMaxFrameSize(maxFrameSize);
+		return this;
+	}
+	
+	public int poolCapacity() {
+		return client.getPoolCapacity();
+	}
+	
+	public ClientBuilder<T> poolCapacity(final int poolCapacity) {
+		if (poolCapacity < 0)
+			throw new BuilderException("PoolCapacity cannot be negative");
+		client.setPoolCapacity(poolCapacity);
+		return this;
+	}
+	
+	public int fragmentSize() {
+		return client.getFragmentSize();
+	}
+	
+	public ClientBuilder<T> fragmentSize(final int fragmentSize) {
+		if (fragmentSize < 1)
+			throw new BuilderException("FragmentSize has to be at least 1");
+		client.setFragmentSize(fragmentSize);
+		return this;
+	}
+	
+	public int streamChunkSize() {
+		return client.getStreamChunkSize();
+	}
+	
+	public ClientBuilder<T> streamChunkSize(final int streamChunkSize) {
+		if (streamChunkSize < 1)
+			throw new BuilderException("StreamChunkSize has to be at least 1");
+		client.setStreamChunkSize(streamChunkSize);
+		return this;
+	}
+	
+	public int streamWindow() {
+		return client.getStreamWindow();
+	}
+	
+	public ClientBuilder<T> streamWindow(final int streamWindow) {
+		if (streamWindow < 1)
+			throw new BuilderException("StreamWindow has to be at least 1");
+		client.setStreamWindow(streamWindow);
+		return this;
+	}
+	
+	public int outboundCapacity() {
+		return client.getOutboundCapacity();
+	}
+	
+	public ClientBuilder<T> outboundCapacity(final int outboundCapacity) {
+		if (outboundCapacity < 0)
+			throw new BuilderException("OutboundCapacity cannot be negative");
+		client.setOutboundCapacity(outboundCapacity);
+		return this;
+	}
+	
+	public NetX.OverflowPolicy overflowPolicy() {
+		return client.getOverflowPolicy();
+	}
+	
+	public ClientBuilder<T> overflowPolicy(final NetX.OverflowPolicy overflowPolicy) {
+		if (overflowPolicy == null)
+			throw new NullPointerException("OverflowPolicy cannot be null");
+		client.setOverflowPolicy(overflowPolicy);
+		return this;
+	}
+	
 	public long timeout() {
 		return client.getDefaultTimeout();
 	}
@@ -115,6 +333,26 @@ public final class ClientBuilder<T> {
 		return this;
 	}
 	
+	public <C> ClientBuilder<T> codec(final int typeId, final Class<C> type, final Codec<C> codec) {
+		if (type == null)
+			throw new NullPointerException("Type cannot be null");
+		if (codec == null)
+			throw new NullPointerException("Codec cannot be null");
+		if (typeId < 1)
+			throw new BuilderException("Codec type id has to be at least 1");
+		client.registerCodec(typeId, type, codec);
+		return this;
+	}
+	
+	public ClientBuilder<T> channel(final Class<?> type, final int channel) {
+		if (type == null)
+			throw new NullPointerException("Type cannot be null");
+		if ((channel < 0) || (channel > NetX.NETWORK_MAX_CHANNEL))
+			throw new BuilderException("Channel has to be between 0 and " + NetX.NETWORK_MAX_CHANNEL);
+		client.assignChannel(type, channel);
+		return this;
+	}
+	
 	public ClientBuilder<T> onPacketReceived(final PacketReceivedListener<T> listener) {
 		if (listener == null)
 			throw new NullPointerException("Listener cannot be null");
@@ -185,6 +423,40 @@ public final class ClientBuilder<T> {
 		return this;
 	}
 	
+	public ClientBuilder<T> onStreamReceived(final StreamReceivedListener listener) {
+		if (listener == null)
+			throw new NullPointerException("Listener cannot be null");
+		client.onStreamReceived(listener);
+		return this;
+	}
+	
+	public ClientBuilder<T> onStreamReceived(final long[] key, final StreamReceivedListener listener) {
+		if (listener == null)
+			throw new NullPointerException("Listener cannot be null");
+		if (key == null)
+			throw new NullPointerException("Key cannot be null");
+		if (key.length != 1)
+			throw new BuilderException("Key has to have a length of 1");
+		key[0] = client.onStreamReceived(listener);
+		return this;
+	}
+	
+	public ClientBuilder<T> onStreamReceived(final StreamReceivedListener... listeners) {
+		for (final StreamReceivedListener listener : listeners)
+			onStreamReceived(listener);
+		return this;
+	}
+	
+	public ClientBuilder<T> onStreamReceived(final long[] keys, final StreamReceivedListener... listeners) {
+		int i = 0;
+		for (final StreamReceivedListener listener : listeners) {
+			final long[] key = new long[1];
+			onStreamReceived(key, listener);
+			keys[i++] = key[0];
+		}
+		return this;
+	}
+	
 	public Client<T> build() {
 		if (!(isReady()))
 			throw new BuilderException("Builder isn't ready: " + this.toString());
@@ -195,8 +467,23 @@ public final class ClientBuilder<T> {
 	public String toString() {
 		final StringBuilder builder = new StringBuilder("ClientBuilder { ")
 				.append("Algorithm: ").append(algorithm().getAlgorithm())
-				.append("; Host: ").append(host().getHostAddress())
-				.append("; Port: ").append(port())
+				.append(localName ? ("; LocalName: " + localName()) : (socketPath ? ("; SocketPath: " + socketPath()) : ("; Host: " + host().getHostAddress() + "; Port: " + port())))
+				.append("; Transport: ").append(transport())
+				.append("; ThreadMode: ").append(threadMode())
+				.append("; Execution: ").append(execution())
+				.append("; WriteBuffer: ").append(writeBuffer())
+				.append("; Linger: ").append(linger())
+				.append("; Heartbeat: ").append(heartbeat())
+				.append("; IdleTimeout: ").append(idleTimeout())
+				.append("; MaxFrameSize: ").append(maxFrameSize())
+				.append("; PoolCapacity: ").append(poolCapacity())
+				.append("; FragmentSize: ").append(fragmentSize())
+				.append("; StreamChunkSize: ").append(streamChunkSize())
+				.append("; StreamWindow: ").append(streamWindow())
+				.append("; OutboundCapacity: ").append(outboundCapacity())
+				.append("; OverflowPolicy: ").append(overflowPolicy())
+				.append("; Codecs: ").append(client.getCodecRegistry().getRegisteredCodecs())
+				.append("; Channels: ").append(client.getChannels())
 				.append("; Timeout: ").append(timeout())
 				.append("; TimeUnit: ").append(timeUnit())
 				.append("; RRHs: <");
@@ -225,4 +512,10 @@ public final class ClientBuilder<T> {
 		return new ClientBuilder<>(new Client<>(new SerialConfiguration()));
 	}
 	
+	public static <T> ClientBuilder<T> binary(final Codec<T> codec) {
+		if (codec == null)
+			throw new NullPointerException("Codec cannot be null");
+		return new ClientBuilder<>(new Client<>(new CodecConfiguration<>(codec)));
+	}
+	
 }
@@ -1,5 +1,11 @@
 package me.nulldoubt.netx;
 
+import me.nulldoubt.netx.binaries.connection.BufferPool;
+import me.nulldoubt.netx.binaries.connection.FileRegion;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 public final class NetX {
 	
 	public static final String PREFIX;
@@ -7,33 +13,127 @@ public final class NetX {
 	
 	public static final int NETWORK_MIN_PORT;
 	public static final int NETWORK_MAX_PORT;
+	public static final int NETWORK_MAX_FRAME_SIZE;
+	public static final int NETWORK_OUTBOUND_CAPACITY;
+	public static final int NETWORK_DISPATCH_BACKLOG;
+	public static final int NETWORK_FRAGMENT_SIZE;
+	public static final int NETWORK_MAX_CHANNEL;
+	public static final int NETWORK_MAX_PARTIALS;
+	public static final int NETWORK_MAX_REASSEMBLY_SIZE;
+	public static final int NETWORK_STREAM_CHUNK_SIZE;
+	public static final int NETWORK_STREAM_WINDOW;
+	public static final int NETWORK_MAX_STREAMS;
+	public static final int NETWORK_RING_CAPACITY;
+	public static final long NETWORK_HANDSHAKE_TIMEOUT;
+	public static final int NETWORK_HANDSHAKE_CONCURRENCY;
+	public static final int NETWORK_ACCEPT_BACKLOG;
+	public static final int NETWORK_CIPHER_POOL_CAPACITY;
+	public static final long NETWORK_TIMER_TICK;
+	public static final int NETWORK_TIMER_WHEEL;
 	
 	static {
 		PREFIX = "[NetX] ";
-		VERSION = 1;
+		VERSION = 4;
 		
 		NETWORK_MIN_PORT = 1024;
 		NETWORK_MAX_PORT = 65535;
+		NETWORK_MAX_FRAME_SIZE = 16777216;
+		NETWORK_OUTBOUND_CAPACITY = 1024;
+		NETWORK_DISPATCH_BACKLOG = 256;
+		NETWORK_FRAGMENT_SIZE = 16384;
+		NETWORK_MAX_CHANNEL = 65535;
+		NETWORK_MAX_PARTIALS = 64;
+		NETWORK_MAX_REASSEMBLY_SIZE = 33554432;
+		NETWORK_STREAM_CHUNK_SIZE = 65536;
+		NETWORK_STREAM_WINDOW = 1048576;
+		NETWORK_MAX_STREAMS = 64;
+		NETWORK_RING_CAPACITY = 1048576;
+		NETWORK_HANDSHAKE_TIMEOUT = 5000;
+		NETWORK_HANDSHAKE_CONCURRENCY = 256;
+		NETWORK_ACCEPT_BACKLOG = 1024;
+		NETWORK_CIPHER_POOL_CAPACITY = 512;
+		NETWORK_TIMER_TICK = 10;
+		NETWORK_TIMER_WHEEL = 512;
 	}
 	
 	public static enum CipherAlgorithm {
 		
 		CIPHER_AES("AES"),
+		CIPHER_AES_GCM("AES/GCM/NoPadding", "AES", true),
 		CIPHER_Blowfish("Blowfish"),
 		CIPHER_ARCFOUR("ARCFOUR"),
 		CIPHER_RC2("RC2"),
-		CIPHER_RC4("RC4");
+		CIPHER_RC4("RC4"),
+		CIPHER_NONE("NONE", "NONE", false, false);
 		
 		private final String algorithm;
+		private final String keyAlgorithm;
+		private final boolean authenticated;
+		private final boolean encrypted;
 		
 		CipherAlgorithm(final String algorithm) {
+			this(algorithm, algorithm, false);
+		}
+		
+		CipherAlgorithm(final String algorithm, final String keyAlgorithm, final boolean authenticated) {
+			this(algorithm, keyAlgorithm, authenticated, true);
+		}
+		
+		CipherAlgorithm(final String algorithm, final String keyAlgorithm, final boolean authenticated, final boolean encrypted) {
 			this.algorithm = algorithm;
+			this.keyAlgorithm = keyAlgorithm;
+			this.authenticated = authenticated;
+			this.encrypted = encrypted;
 		}
 		
 		public String getAlgorithm() {
 			return algorithm;
 		}
 		
+		public String getKeyAlgorithm() {
+			return keyAlgorithm;
+		}
+		
+		public boolean isAuthenticated() {
+			return authenticated;
+		}
+		
+		public boolean isEncrypted() {
+			return encrypted;
+		}
+		
+	}
+	
+	public static enum TransportMode {
+		
+		TRANSPORT_BLOCKING,
+		TRANSPORT_SELECTOR,
+		TRANSPORT_SHARED_MEMORY;
+		
+	}
+	
+	public static enum ThreadMode {
+		
+		THREAD_PLATFORM,
+		THREAD_VIRTUAL;
+		
+	}
+	
+	public static enum ExecutionMode {
+		
+		EXECUTION_INLINE,
+		EXECUTION_POOL,
+		EXECUTION_VIRTUAL;
+		
+	}
+	
+	public static enum OverflowPolicy {
+		
+		OVERFLOW_BLOCK,
+		OVERFLOW_DROP_OLDEST,
+		OVERFLOW_DROP_NEWEST,
+		OVERFLOW_DISCONNECT;
+		
 	}
 	
 	public static enum SignalModifier {
@@ -41,7 +141,11 @@ public final class NetX {
 		SIGNAL_TYPE((byte) 1),
 		SIGNAL_REQUEST((byte) 2),
 		SIGNAL_RESPONSE((byte) 4),
-		SIGNAL_CLOSE((byte) 8);
+		SIGNAL_CLOSE((byte) 8),
+		SIGNAL_GROUP_KEY((byte) 16),
+		SIGNAL_GROUP((byte) 32),
+		SIGNAL_STREAM((byte) 64),
+		SIGNAL_HEARTBEAT((byte) 128);
 		
 		private final byte modifier;
 		
@@ -69,26 +173,118 @@ public final class NetX {
 			return (modifier == SIGNAL_CLOSE.getModifier());
 		}
 		
+		public static boolean isGroupKey(final byte modifier) {
+			return (modifier == SIGNAL_GROUP_KEY.getModifier());
+		}
+		
+		public static boolean isGroup(final byte modifier) {
+			return (modifier == SIGNAL_GROUP.getModifier());
+		}
+		
+		public static boolean isStream(final byte modifier) {
+			return (modifier == SIGNAL_STREAM.getModifier());
+		}
+		
+		public static boolean isHeartbeat(final byte modifier) {
+			return (modifier == SIGNAL_HEARTBEAT.getModifier());
+		}
+		
 	}
 	
 	public static final class SignalHolder {
 		
+		private static final VarHandle POOL;
+		
+		static {
+			try {
+				POOL = MethodHandles.lookup().findVarHandle(SignalHolder.class, "pool", BufferPool.class);
+			} catch (ReflectiveOperationException e) {
+				throw new ExceptionInInitializerError(e);
+			}
+		}
+		
 		private final byte signalModifier;
+		private final int channel;
 		private final byte[] buffer;
+		private final int length;
+		private final FileRegion region;
+		private final Object reference;
+		private volatile BufferPool pool;
 		
 		public SignalHolder(final byte signalModifier, final byte[] buffer) {
+			this(signalModifier, 0, buffer, buffer.length, null);
+		}
+		
+		public SignalHolder(final byte signalModifier, final byte[] buffer, final int length, final BufferPool pool) {
+			this(signalModifier, 0, buffer, length, pool);
+		}
+		
+		public SignalHolder(final byte signalModifier, final int channel, final byte[] buffer, final int length, final BufferPool pool) {
 			this.signalModifier = signalModifier;
+			this.channel = channel;
 			this.buffer = buffer;
+			this.length = length;
+			this.pool = pool;
+			region = null;
+			reference = null;
+		}
+		
+		public SignalHolder(final byte signalModifier, final int channel, final byte[] prefix, final FileRegion region) {
+			this.signalModifier = signalModifier;
+			this.channel = channel;
+			this.buffer = prefix;
+			this.length = (prefix.length + region.getCount());
+			this.region = region;
+			reference = null;
+			pool = null;
+		}
+		
+		public SignalHolder(final byte signalModifier, final int channel, final Object reference) {
+			this.signalModifier = signalModifier;
+			this.channel = channel;
+			this.buffer = new byte[0];
+			this.length = 0;
+			this.reference = reference;
+			region = null;
+			pool = null;
 		}
 		
 		public byte getSignalModifier() {
 			return signalModifier;
 		}
 		
+		public int getChannel() {
+			return channel;
+		}
+		
 		public byte[] getBuffer() {
 			return buffer;
 		}
 		
+		public int getLength() {
+			return length;
+		}
+		
+		public FileRegion getRegion() {
+			return region;
+		}
+		
+		public Object getReference() {
+			return reference;
+		}
+		
+		public boolean isPooled() {
+			return (pool != null);
+		}
+		
+		public void release() {
+			if (region != null)
+				region.release();
+			final BufferPool pool = (BufferPool) POOL.getAndSet(this, (BufferPool) null);
+			if (pool != null)
+				pool.release(buffer);
+		}
+		
 	}
 	
 }
@@ -1,69 +1,180 @@
 package me.nulldoubt.netx;
 
 import me.nulldoubt.netx.NetX.CipherAlgorithm;
+import me.nulldoubt.netx.NetX.ExecutionMode;
+import me.nulldoubt.netx.NetX.OverflowPolicy;
 import me.nulldoubt.netx.NetX.SignalHolder;
 import me.nulldoubt.netx.NetX.SignalModifier;
+import me.nulldoubt.netx.NetX.ThreadMode;
+import me.nulldoubt.netx.NetX.TransportMode;
 import me.nulldoubt.netx.binaries.*;
+import me.nulldoubt.netx.binaries.codecs.Codec;
+import me.nulldoubt.netx.binaries.codecs.CodecRegistry;
 import me.nulldoubt.netx.binaries.compilers.RequestCompiler;
 import me.nulldoubt.netx.binaries.compilers.ResponseCompiler;
 import me.nulldoubt.netx.binaries.configurations.Configuration;
+import me.nulldoubt.netx.binaries.connection.BufferPool;
+import me.nulldoubt.netx.binaries.connection.CipherPool;
+import me.nulldoubt.netx.binaries.connection.ConnectionChannel;
 import me.nulldoubt.netx.binaries.connection.ConnectionHandler;
 import me.nulldoubt.netx.binaries.connection.ConnectionThreadFactory;
+import me.nulldoubt.netx.binaries.connection.EventLoopGroup;
+import me.nulldoubt.netx.binaries.connection.FlushPolicy;
+import me.nulldoubt.netx.binaries.connection.GroupCipher;
+import me.nulldoubt.netx.binaries.connection.LocalServerChannel;
+import me.nulldoubt.netx.binaries.connection.SelectorConnectionChannel;
+import me.nulldoubt.netx.binaries.connection.SharedMemoryServerChannel;
+import me.nulldoubt.netx.binaries.connection.SharedFrame;
+import me.nulldoubt.netx.binaries.connection.SignalListener;
+import me.nulldoubt.netx.binaries.connection.SocketConnectionChannel;
+import me.nulldoubt.netx.binaries.connection.StreamInput;
+import me.nulldoubt.netx.binaries.connection.StreamOutput;
+import me.nulldoubt.netx.binaries.connection.TimingWheel;
 import me.nulldoubt.netx.binaries.model.PacketReceivedListener;
 import me.nulldoubt.netx.binaries.model.PacketSentListener;
 import me.nulldoubt.netx.binaries.model.ServerClientConnectListener;
 import me.nulldoubt.netx.binaries.model.ServerClientDisconnectListener;
+import me.nulldoubt.netx.binaries.model.StreamReceivedListener;
 import me.nulldoubt.netx.exceptions.CompilationException;
+import me.nulldoubt.netx.exceptions.ConnectionException;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
-import java.net.Socket;
 import java.net.SocketException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 public class Server<T> extends ErrorLogEntry {
 	
+	private static final int BROADCAST_CHUNK;
+	
+	static {
+		BROADCAST_CHUNK = 64;
+	}
+	
 	private final Map<Long, PacketReceivedListener<T>> packetReceivedListeners;
 	private final Map<Long, PacketSentListener<T>> packetSentListeners;
 	
 	private final Map<Long, ServerClientConnectListener> clientConnectListeners;
 	private final Map<Long, ServerClientDisconnectListener> clientDisconnectListeners;
 	
+	private final Map<Long, StreamReceivedListener> streamReceivedListeners;
+	
 	private final Map<Integer, RequestHandler> requestHandlers;
 	
 	private final Map<UUID, ConnectionHandler> clients;
+	private final Map<Integer, BroadcastGroup> groups;
+	private final AtomicInteger groupIds;
+	private final SecureRandom secureRandom;
 	private final Configuration<T> configuration;
 	
 	private final ConnectionThreadFactory threadFactory;
+	private ExecutionMode execution;
+	private int handlerThreads;
+	private int handlerQueue;
+	private int broadcastThreads;
+	private ExecutorService broadcastExecutor;
+	private ExecutorService executor;
+	private long handshakeTimeout;
+	private int handshakeConcurrency;
+	private ExecutorService handshakeExecutor;
+	private Semaphore handshakes;
+	private final Set<ConnectionHandler> handshaking;
+	private int writeBuffer;
+	private long linger;
+	private long heartbeat;
+	private long idleTimeout;
+	private long hibernation;
+	private ScheduledExecutorService scheduler;
+	private TimingWheel timer;
+	private ExecutorService inspector;
+	private ExecutorService streamExecutor;
+	private FlushPolicy flushPolicy;
+	private int maxFrameSize;
+	private int poolCapacity;
+	private BufferPool bufferPool;
+	private int outboundCapacity;
+	private int fragmentSize;
+	private int streamChunkSize;
+	private int streamWindow;
+	private int ringCapacity;
+	private OverflowPolicy overflowPolicy;
 	private CipherAlgorithm algorithm;
+	private TransportMode transport;
+	private int eventLoops;
+	private int acceptors;
+	private boolean reusePort;
 	
 	private int port;
+	private Path socketPath;
+	private String localName;
+	private boolean byReference;
 	private boolean open;
+	private boolean offload;
 	
 	private ServerSocket serverSocket;
-	private Thread networkThread;
+	private ServerSocketChannel serverChannel;
+	private ServerSocketChannel[] listeners;
+	private LocalServerChannel localChannel;
+	private SharedMemoryServerChannel sharedChannel;
+	private EventLoopGroup eventLoopGroup;
+	private final SignalListener signalListener;
+	private Thread[] acceptorThreads;
 	private final Random random;
-	private UUID lastUUID;
 	
 	private long timeout;
 	private TimeUnit timeUnit;
 	
 	private final RequestCompiler requestCompiler;
 	private final ResponseCompiler responseCompiler;
+	private final CodecRegistry codecRegistry;
+	private final Map<Class<?>, Integer> channels;
 	
 	protected Server(final Configuration<T> configuration) {
 		super(System.err);
@@ -80,13 +191,66 @@ public class Server<T> extends ErrorLogEntry {
 		clientConnectListeners = new HashMap<>();
 		clientDisconnectListeners = new HashMap<>();
 		
+		streamReceivedListeners = new HashMap<>();
+		
 		requestCompiler = new RequestCompiler();
 		responseCompiler = new ResponseCompiler();
+		codecRegistry = new CodecRegistry();
+		channels = new ConcurrentHashMap<>();
+		configuration.bind(codecRegistry);
+		requestCompiler.bind(codecRegistry);
+		responseCompiler.bind(codecRegistry);
 		
 		threadFactory = new ConnectionThreadFactory();
-		clients = new HashMap<>();
+		clients = new ConcurrentHashMap<>();
+		handshaking = ConcurrentHashMap.newKeySet();
+		groups = new ConcurrentHashMap<>();
+		groupIds = new AtomicInteger();
+		secureRandom = new SecureRandom();
 		random = new Random();
 		open = false;
+		
+		transport = TransportMode.TRANSPORT_BLOCKING;
+		eventLoops = Runtime.getRuntime().availableProcessors();
+		acceptors = 1;
+		reusePort = false;
+		execution = ExecutionMode.EXECUTION_INLINE;
+		handlerThreads = Runtime.getRuntime().availableProcessors();
+		handlerQueue = 1024;
+		broadcastThreads = Runtime.getRuntime().availableProcessors();
+		handshakeTimeout = TimeUnit.MILLISECONDS.toNanos(NetX.NETWORK_HANDSHAKE_TIMEOUT);
+		handshakeConcurrency = NetX.NETWORK_HANDSHAKE_CONCURRENCY;
+		writeBuffer = FlushPolicy.DEFAULT.getCapacity();
+		linger = FlushPolicy.DEFAULT.getLinger();
+		heartbeat = 0;
+		idleTimeout = 0;
+		hibernation = 0;
+		maxFrameSize = NetX.NETWORK_MAX_FRAME_SIZE;
+		poolCapacity = BufferPool.DEFAULT.getCapacity();
+		outboundCapacity = NetX.NETWORK_OUTBOUND_CAPACITY;
+		fragmentSize = NetX.NETWORK_FRAGMENT_SIZE;
+		streamChunkSize = NetX.NETWORK_STREAM_CHUNK_SIZE;
+		streamWindow = NetX.NETWORK_STREAM_WINDOW;
+		ringCapacity = NetX.NETWORK_RING_CAPACITY;
+		overflowPolicy = OverflowPolicy.OVERFLOW_BLOCK;
+		signalListener = new SignalListener() {
+			
+			@Override
+			public void onSignal(final ConnectionHandler handler, final SignalHolder holder) {
+				if (offload)
+					handler.dispatch(() -> receive(handler, holder));
+				else
+					receive(handler, holder);
+			}
+			
+			@Override
+			public void onClose(final ConnectionHandler handler) {
+				try {
+					kick(handler);
+				} catch (IOException _) {}
+			}
+			
+		};
 	}
 	
 	public boolean isOpen() {
@@ -96,32 +260,142 @@ public class Server<T> extends ErrorLogEntry {
 	public void open() throws IOException {
 		if (open)
 			return;
+		try {
+			bind();
+		} catch (IOException | RuntimeException e) {
+			unbind();
+			throw e;
+		}
 		open = true;
-		lastUUID = generateUUID();
-		serverSocket = new ServerSocket(port);
-		networkThread = threadFactory.create("Server", () -> {
+		offload = ((eventLoopGroup != null) && (execution == ExecutionMode.EXECUTION_INLINE) && (overflowPolicy == OverflowPolicy.OVERFLOW_BLOCK));
+		executor = threadFactory.createExecutor((offload ? ExecutionMode.EXECUTION_VIRTUAL : execution), handlerThreads, handlerQueue);
+		if (broadcastThreads > 1)
+			broadcastExecutor = threadFactory.createExecutor(ExecutionMode.EXECUTION_POOL, broadcastThreads, handlerQueue);
+		handshakeExecutor = Executors.newThreadPerTaskExecutor((runnable) -> threadFactory.create("Handshake", runnable));
+		handshakes = new Semaphore(handshakeConcurrency);
+		warmCiphers(handshakeConcurrency << 1);
+		scheduler = Executors.newSingleThreadScheduledExecutor((runnable) -> threadFactory.create("Scheduler", runnable));
+		flushPolicy = new FlushPolicy(writeBuffer, linger, TimeUnit.NANOSECONDS, scheduler);
+		timer = new TimingWheel(NetX.NETWORK_TIMER_TICK, TimeUnit.MILLISECONDS, NetX.NETWORK_TIMER_WHEEL, err());
+		timer.open(threadFactory);
+		inspector = Executors.newThreadPerTaskExecutor(new ConnectionThreadFactory(ThreadMode.THREAD_VIRTUAL));
+		streamExecutor = Executors.newThreadPerTaskExecutor(new ConnectionThreadFactory(ThreadMode.THREAD_VIRTUAL));
+		bufferPool = new BufferPool(Math.min(maxFrameSize, BufferPool.DEFAULT.getMaxPooledSize()), poolCapacity);
+		acceptorThreads = new Thread[acceptors];
+		for (int i = 0; i < acceptors; i++) {
+			final ServerSocketChannel listener = listeners[i];
+			acceptorThreads[i] = threadFactory.create("Server", () -> acceptLoop(listener), Thread.MAX_PRIORITY);
+			acceptorThreads[i].start();
+		}
+	}
+	
+	private void bind() throws IOException {
+		localChannel = null;
+		sharedChannel = null;
+		serverChannel = null;
+		serverSocket = null;
+		listeners = null;
+		eventLoopGroup = null;
+		if (localName != null)
+			localChannel = LocalServerChannel.bind(localName, byReference);
+		else if (transport == TransportMode.TRANSPORT_SHARED_MEMORY) {
+			if (socketPath == null)
+				throw new ConnectionException("Unable to open shared memory transport without a socket path");
+			sharedChannel = SharedMemoryServerChannel.bind(socketPath, ringCapacity);
+		} else if (socketPath != null) {
+			Files.deleteIfExists(socketPath);
+			serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+			serverChannel.bind(UnixDomainSocketAddress.of(socketPath), backlog());
+		} else {
+			serverChannel = ServerSocketChannel.open();
+			if (isReusable(serverChannel))
+				serverChannel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+			serverChannel.bind(new InetSocketAddress(port), backlog());
+			serverSocket = serverChannel.socket();
+		}
+		listeners = new ServerSocketChannel[acceptors];
+		for (int i = 0; i < acceptors; i++)
+			listeners[i] = (((i > 0) && (serverSocket != null) && isReusable(serverChannel)) ? openReusable(serverSocket.getLocalPort()) : serverChannel);
+		if ((transport == TransportMode.TRANSPORT_SELECTOR) && (serverChannel != null)) {
+			eventLoopGroup = new EventLoopGroup(eventLoops, err());
+			eventLoopGroup.open();
+		}
+	}
+	
+	private void unbind() {
+		if (eventLoopGroup != null)
+			eventLoopGroup.close();
+		final List<Closeable> channels = new ArrayList<>();
+		if (listeners != null)
+			channels.addAll(Arrays.asList(listeners));
+		channels.add(serverChannel);
+		channels.add(localChannel);
+		channels.add(sharedChannel);
+		for (final Closeable channel : channels) {
 			try {
-				while (open) {
-					final Socket socket = serverSocket.accept();
-					final ConnectionHandler handler = new ConnectionHandler(algorithm, socket);
-					registerHandler(handler);
+				if (channel != null)
+					channel.close();
+			} catch (IOException _) {}
+		}
+		try {
+			if ((serverChannel != null) && (socketPath != null))
+				Files.deleteIfExists(socketPath);
+		} catch (IOException _) {}
+		eventLoopGroup = null;
+		listeners = null;
+		serverChannel = null;
+		serverSocket = null;
+		localChannel = null;
+		sharedChannel = null;
+	}
+	
+	private int backlog() {
+		return Math.max(NetX.NETWORK_ACCEPT_BACKLOG, handshakeConcurrency);
+	}
+	
+	private boolean isReusable(final ServerSocketChannel channel) {
+		return (reusePort && (acceptors > 1) && channel.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT));
+	}
+	
+	private ServerSocketChannel openReusable(final int port) throws IOException {
+		final ServerSocketChannel channel = ServerSocketChannel.open();
+		try {
+			channel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+			channel.bind(new InetSocketAddress(port), backlog());
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		return channel;
+	}
+	
+	private void acceptLoop(final ServerSocketChannel listener) {
+		UUID next = generateUUID();
+		try {
+			while (open) {
+				handshakes.acquire();
+				final ConnectionHandler handler;
+				try {
+					handler = accept(listener);
+				} catch (IOException e) {
+					handshakes.release();
+					throw e;
+				}
+				handler.setConnectionUUID(next);
+				next = generateUUID();
+				handshaking.add(handler);
+				try {
+					handshakeExecutor.execute(() -> handshake(handler));
+				} catch (RejectedExecutionException e) {
+					handshaking.remove(handler);
+					handshakes.release();
+					handler.close();
 				}
-			} catch (SocketException _) {
-			} catch (IOException e) {
-				err().println("An error occurred while accepting socket (Internal): " + e.getLocalizedMessage());
-			} catch (InvalidKeyException e) {
-				err().println("An error occurred while accepting socket (Invalid Key): " + e.getLocalizedMessage());
-			} catch (NoSuchAlgorithmException e) {
-				err().println("An error occurred while accepting socket (Invalid Algorithm): " + e.getLocalizedMessage());
-			} catch (NoSuchPaddingException e) {
-				err().println("An error occurred while accepting socket (Invalid Padding): " + e.getLocalizedMessage());
-			} catch (IllegalBlockSizeException e) {
-				err().println("An error occurred while writing to accepted socket (Illegal Block Size): " + e.getLocalizedMessage());
-			} catch (BadPaddingException e) {
-				err().println("An error occurred while writing to accepted socket (Bad Padding): " + e.getLocalizedMessage());
 			}
-		}, Thread.MAX_PRIORITY);
-		networkThread.start();
+		} catch (SocketException | ClosedChannelException | InterruptedException _) {
+		} catch (IOException e) {
+			err().println("An error occurred while accepting socket (Internal): " + e.getLocalizedMessage());
+		}
 	}
 	
 	public void close() throws IOException {
@@ -130,11 +404,39 @@ public class Server<T> extends ErrorLogEntry {
 		open = false;
 		for (final ConnectionHandler handler : clients.values())
 			handler.close();
-		serverSocket.close();
-		try {
-			networkThread.join(5);
-		} catch (Exception e) {
-			networkThread.interrupt();
+		for (final ConnectionHandler handler : handshaking)
+			close(handler);
+		if (localChannel != null)
+			localChannel.close();
+		else if (sharedChannel != null)
+			sharedChannel.close();
+		else
+			for (final ServerSocketChannel listener : listeners)
+				listener.close();
+		if ((serverChannel != null) && (socketPath != null))
+			Files.deleteIfExists(socketPath);
+		if (eventLoopGroup != null)
+			eventLoopGroup.close();
+		if (executor != null)
+			executor.shutdown();
+		if (handshakeExecutor != null)
+			handshakeExecutor.shutdownNow();
+		if (broadcastExecutor != null)
+			broadcastExecutor.shutdown();
+		if (scheduler != null)
+			scheduler.shutdown();
+		if (timer != null)
+			timer.close();
+		if (inspector != null)
+			inspector.shutdown();
+		if (streamExecutor != null)
+			streamExecutor.shutdown();
+		for (final Thread acceptor : acceptorThreads) {
+			try {
+				acceptor.join(5);
+			} catch (Exception e) {
+				acceptor.interrupt();
+			}
 		}
 	}
 	
@@ -162,6 +464,12 @@ public class Server<T> extends ErrorLogEntry {
 		return key;
 	}
 	
+	public long onStreamReceived(final StreamReceivedListener listener) {
+		final long key = random.nextLong();
+		streamReceivedListeners.put(key, listener);
+		return key;
+	}
+	
 	public int getPacketSentListeners() {
 		return packetSentListeners.size();
 	}
@@ -178,6 +486,10 @@ public class Server<T> extends ErrorLogEntry {
 		return clientDisconnectListeners.size();
 	}
 	
+	public int getStreamReceivedListeners() {
+		return streamReceivedListeners.size();
+	}
+	
 	public boolean removePacketSentListener(final long key) {
 		if (!(packetSentListeners.containsKey(key)))
 			return false;
@@ -206,6 +518,13 @@ public class Server<T> extends ErrorLogEntry {
 		return true;
 	}
 	
+	public boolean removeStreamReceivedListener(final long key) {
+		if (!(streamReceivedListeners.containsKey(key)))
+			return false;
+		streamReceivedListeners.remove(key);
+		return true;
+	}
+	
 	public void registerRequestHandler(final RequestHandler handler) {
 		requestHandlers.put(handler.getRequestId(), handler);
 	}
@@ -214,52 +533,179 @@ public class Server<T> extends ErrorLogEntry {
 		requestHandlers.remove(handler.getRequestId());
 	}
 	
+	public <C> void registerCodec(final int typeId, final Class<C> type, final Codec<C> codec) {
+		codecRegistry.register(typeId, type, codec);
+	}
+	
+	public boolean unregisterCodec(final Class<?> type) {
+		return codecRegistry.unregister(type);
+	}
+	
+	public CodecRegistry getCodecRegistry() {
+		return codecRegistry;
+	}
+	
+	public void assignChannel(final Class<?> type, final int channel) {
+		channels.put(type, channel);
+	}
+	
+	public boolean unassignChannel(final Class<?> type) {
+		return (channels.remove(type) != null);
+	}
+	
+	public int getChannel(final Class<?> type) {
+		return channels.getOrDefault(type, 0);
+	}
+	
+	public Map<Class<?>, Integer> getChannels() {
+		return Collections.unmodifiableMap(channels);
+	}
+	
+	private int channelOf(final Object value) {
+		if (channels.isEmpty() || (value == null))
+			return 0;
+		return channels.getOrDefault(value.getClass(), 0);
+	}
+	
 	public int[] getRegisteredRequestHandlers() {
 		return requestHandlers.keySet().stream().mapToInt(Integer::intValue).toArray();
 	}
 	
-	private void registerHandler(final ConnectionHandler handler) throws InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException, IOException, IllegalBlockSizeException, BadPaddingException {
-		handler.setConnectionUUID(lastUUID);
-		lastUUID = generateUUID();
-		handler.openRaw();
-		clients.put(handler.getUUID(), handler);
-		handler.protocol_write(SignalModifier.SIGNAL_TYPE, handler.getUUID().toString().getBytes());
-		handler.open(new SecretKeySpec(String.valueOf(handler.getUUID().toString().substring(4)).getBytes(), algorithm.getAlgorithm()));
-		final int version = ByteBuffer.wrap(handler.read().getBuffer()).getInt();
-		if (version != NetX.VERSION) {
-			kick(handler);
+	private void warmCiphers(final int count) {
+		try {
+			CipherPool.of(algorithm).warm(count);
+		} catch (NoSuchAlgorithmException e) {
+			err().println("Unable to warm cipher pool (Invalid Algorithm): " + e.getLocalizedMessage());
+		} catch (NoSuchPaddingException e) {
+			err().println("Unable to warm cipher pool (Invalid Padding): " + e.getLocalizedMessage());
+		}
+	}
+	
+	private ConnectionHandler accept(final ServerSocketChannel listener) throws IOException {
+		final ConnectionChannel channel;
+		if (localChannel != null)
+			channel = localChannel.accept();
+		else if (sharedChannel != null)
+			channel = sharedChannel.accept();
+		else {
+			final SocketChannel accepted = listener.accept();
+			if (transport == TransportMode.TRANSPORT_SELECTOR)
+				channel = new SelectorConnectionChannel(accepted);
+			else
+				channel = ((socketPath != null) ? new SocketConnectionChannel(accepted) : new SocketConnectionChannel(accepted.socket()));
+		}
+		channel.setFlushPolicy(flushPolicy);
+		channel.setBufferPool(bufferPool);
+		channel.setMaxFrameSize(maxFrameSize);
+		channel.setOutboundCapacity(outboundCapacity);
+		channel.setFragmentSize(fragmentSize);
+		channel.setOverflowPolicy(overflowPolicy);
+		channel.setThreadFactory(threadFactory);
+		return new ConnectionHandler(algorithm, channel);
+	}
+	
+	private void handshake(final ConnectionHandler handler) {
+		final AtomicBoolean pending = new AtomicBoolean(true);
+		ScheduledFuture<?> timeout = null;
+		boolean accepted = false;
+		try {
+			timeout = scheduler.schedule(() -> {
+				if (!(pending.compareAndSet(true, false)))
+					return;
+				try {
+					handler.close();
+				} catch (IOException _) {}
+			}, handshakeTimeout, TimeUnit.NANOSECONDS);
+			accepted = handshake(handler, pending);
+			if (!(accepted))
+				handler.close();
+		} catch (IOException e) {
+			if (pending.get())
+				err().println("An error occurred during handshake (Internal): " + e.getLocalizedMessage());
+			else
+				err().println("Handshake with " + handler.getHost() + " timed out after " + TimeUnit.NANOSECONDS.toMillis(handshakeTimeout) + " ms");
+			close(handler);
+		} catch (InvalidKeyException e) {
+			err().println("An error occurred during handshake (Invalid Key): " + e.getLocalizedMessage());
+			close(handler);
+		} catch (NoSuchAlgorithmException e) {
+			err().println("An error occurred during handshake (Invalid Algorithm): " + e.getLocalizedMessage());
+			close(handler);
+		} catch (NoSuchPaddingException e) {
+			err().println("An error occurred during handshake (Invalid Padding): " + e.getLocalizedMessage());
+			close(handler);
+		} catch (IllegalBlockSizeException e) {
+			err().println("An error occurred during handshake (Illegal Block Size): " + e.getLocalizedMessage());
+			close(handler);
+		} catch (BadPaddingException e) {
+			err().println("An error occurred during handshake (Bad Padding): " + e.getLocalizedMessage());
+			close(handler);
+		} catch (RejectedExecutionException e) {
+			close(handler);
+		} finally {
+			if (timeout != null)
+				timeout.cancel(false);
+			handshaking.remove(handler);
+			handshakes.release();
+		}
+		if (!(accepted))
 			return;
+		try {
+			registerHandler(handler);
+		} catch (IOException e) {
+			err().println("An error occurred while registering handler (Internal): " + e.getLocalizedMessage());
+			try {
+				kick(handler);
+			} catch (IOException _) {}
 		}
-		handler.setNetworkThread(openHandlerThread(handler));
+	}
+	
+	private boolean handshake(final ConnectionHandler handler, final AtomicBoolean pending) throws InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException, IOException, IllegalBlockSizeException, BadPaddingException {
+		handler.openRaw();
+		if (!(pending.get()))
+			return false;
+		handler.protocol_write(SignalModifier.SIGNAL_TYPE, handler.getUUID().toString().getBytes());
+		handler.open(new SecretKeySpec(String.valueOf(handler.getUUID().toString().substring(4)).getBytes(), algorithm.getKeyAlgorithm()), false);
+		final SignalHolder versionHolder = handler.read();
+		final int version = ByteBuffer.wrap(versionHolder.getBuffer(), 0, versionHolder.getLength()).getInt();
+		versionHolder.release();
+		return ((version == NetX.VERSION) && pending.compareAndSet(true, false));
+	}
+	
+	private void close(final ConnectionHandler handler) {
+		try {
+			handler.close();
+		} catch (IOException _) {}
+	}
+	
+	private void registerHandler(final ConnectionHandler handler) throws IOException {
+		clients.put(handler.getUUID(), handler);
+		handler.setExecutor(executor);
+		if (eventLoopGroup != null)
+			handler.register(eventLoopGroup.next(), signalListener);
+		else
+			handler.setNetworkThread(openHandlerThread(handler));
+		handler.watch(timer, inspector, heartbeat, idleTimeout, hibernation, () -> expire(handler));
 		for (final ServerClientConnectListener listener : clientConnectListeners.values())
 			listener.onClientConnect(handler.getUUID());
 	}
 	
+	private void expire(final ConnectionHandler handler) {
+		err().println("Handler with UUID '" + handler.getUUID() + "' timed out after " + TimeUnit.NANOSECONDS.toMillis(idleTimeout) + " ms without traffic");
+		try {
+			kick(handler);
+		} catch (IOException _) {}
+	}
+	
 	private Thread openHandlerThread(final ConnectionHandler handler) {
 		final Thread thread = threadFactory.create("Handler", () -> {
 			while (handler.isOpen()) {
 				try {
-					final SignalHolder holder = handler.read();
-					final byte signalModifier = holder.getSignalModifier();
-					final byte[] buffer = holder.getBuffer();
-					if (SignalModifier.isType(signalModifier))
-						handleType(handler, configuration.compile(buffer));
-					else if (SignalModifier.isRequest(signalModifier))
-						handleRequest(handler, requestCompiler.compile(buffer));
-					else if (SignalModifier.isResponse(signalModifier))
-						handleResponse(handler, responseCompiler.compile(buffer));
-					else
-						err().println("Received Invalid Signal (Illegal State)");
-				} catch (IllegalBlockSizeException e) {
-					err().println("An error occurred while deciphering buffer (Illegal Block Size): " + e.getLocalizedMessage());
-				} catch (BadPaddingException e) {
-					err().println("An error occurred while deciphering buffer (Bad Padding): " + e.getLocalizedMessage());
+					receive(handler, handler.protocol_read());
 				} catch (IOException e) {
 					try {
 						kick(handler);
 					} catch (IOException _) {}
-				} catch (Exception e) {
-					err().println("An error occurred while compiling type: " + e.getLocalizedMessage());
 				}
 			}
 		});
@@ -267,29 +713,117 @@ public class Server<T> extends ErrorLogEntry {
 		return thread;
 	}
 	
+	private void receive(final ConnectionHandler handler, final SignalHolder signal) {
+		try {
+			final SignalHolder holder = handler.decode(signal);
+			final byte signalModifier = holder.getSignalModifier();
+			final byte[] buffer = holder.getBuffer();
+			final int length = holder.getLength();
+			try {
+				if (SignalModifier.isType(signalModifier))
+					handleType(handler, ((holder.getReference() != null) ? (T) holder.getReference() : configuration.compile(buffer, 0, length)));
+				else if (SignalModifier.isRequest(signalModifier))
+					handleRequest(handler, requestCompiler.compile(buffer, 0, length), holder.getChannel());
+				else if (SignalModifier.isResponse(signalModifier))
+					handleResponse(handler, responseCompiler.compile(buffer, 0, length));
+				else if (SignalModifier.isStream(signalModifier))
+					handleStream(handler, buffer, length, holder.getChannel());
+				else if (SignalModifier.isHeartbeat(signalModifier))
+					handleHeartbeat(handler, holder.getChannel());
+				else
+					err().println("Received Invalid Signal (Illegal State)");
+			} finally {
+				holder.release();
+			}
+		} catch (IllegalBlockSizeException e) {
+			err().println("An error occurred while deciphering buffer (Illegal Block Size): " + e.getLocalizedMessage());
+		} catch (BadPaddingException e) {
+			err().println("An error occurred while deciphering buffer (Bad Padding): " + e.getLocalizedMessage());
+		} catch (Exception e) {
+			err().println("An error occurred while compiling type: " + e.getLocalizedMessage());
+		}
+	}
+	
 	private void handleType(final ConnectionHandler handler, final T t) {
-		if (handler.hasAwaitConsumers())
-			((Consumer<T>) handler.popAwaitConsumer()).accept(t);
+		final Consumer<T> consumer = (Consumer<T>) handler.popAwaitConsumer();
+		if (consumer != null)
+			consumer.accept(t);
 		for (final PacketReceivedListener<T> listener : packetReceivedListeners.values())
 			listener.onPacketReceived(t, handler.getUUID());
 	}
 	
-	private void handleRequest(final ConnectionHandler handler, final Request request) throws IllegalBlockSizeException, BadPaddingException, IOException {
+	private void handleRequest(final ConnectionHandler handler, final Request request, final int channel) {
 		final int requestId = request.getRequestId();
-		if (!(requestHandlers.containsKey(requestId))) {
+		final RequestHandler requestHandler = requestHandlers.get(requestId);
+		if (requestHandler == null) {
 			err().println("No request handler registered for request id " + requestId);
 			return;
 		}
-		final RequestHandler requestHandler = requestHandlers.get(request.getRequestId());
-		final Response response = requestHandler.handle(request);
-		final byte[] buffer = responseCompiler.decompile(response);
-		handler.write(SignalModifier.SIGNAL_RESPONSE, buffer);
+		handler.execute(() -> respond(handler, requestHandler, request, channel));
+	}
+	
+	private void respond(final ConnectionHandler handler, final RequestHandler requestHandler, final Request request, final int channel) {
+		try {
+			final Response response = requestHandler.handle(request);
+			final byte[] buffer = responseCompiler.decompile(response);
+			handler.write(SignalModifier.SIGNAL_RESPONSE, channel, buffer);
+		} catch (IllegalBlockSizeException e) {
+			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage());
+		} catch (BadPaddingException e) {
+			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage());
+		} catch (IOException e) {
+			try {
+				kick(handler);
+			} catch (IOException _) {}
+		} catch (Exception e) {
+			err().println("An error occurred while handling request with id " + request.getRequestId() + ": " + e.getLocalizedMessage());
+		}
 	}
 	
 	private void handleResponse(final ConnectionHandler handler, final Response response) {
-		if (!(handler.hasAwaitConsumers()))
+		if (!(handler.completePendingRequest(response)))
 			err().println("Unable to handle response without a registered and awaiting consumer");
-		((Consumer<Response>) handler.popAwaitConsumer()).accept(response);
+	}
+	
+	private void handleHeartbeat(final ConnectionHandler handler, final int channel) {
+		try {
+			handler.answerHeartbeat(channel);
+		} catch (IOException e) {
+			try {
+				kick(handler);
+			} catch (IOException _) {}
+		}
+	}
+	
+	private void handleStream(final ConnectionHandler handler, final byte[] buffer, final int length, final int channel) {
+		final StreamInput stream;
+		try {
+			stream = handler.receiveStream(buffer, length, channel, streamWindow);
+		} catch (IOException e) {
+			err().println("Unable to handle stream from handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage());
+			return;
+		}
+		if (stream == null)
+			return;
+		if (streamReceivedListeners.isEmpty()) {
+			err().println("No stream listener registered, cancelling stream '" + stream.getName() + "'");
+			stream.close();
+			return;
+		}
+		try {
+			streamExecutor.execute(() -> {
+				try {
+					for (final StreamReceivedListener listener : streamReceivedListeners.values())
+						listener.onStreamReceived(stream, handler.getUUID());
+				} catch (Exception e) {
+					err().println("An error occurred while handling stream '" + stream.getName() + "': " + e.getLocalizedMessage());
+				} finally {
+					stream.close();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			stream.close();
+		}
 	}
 	
 	private UUID generateUUID() {
@@ -305,11 +839,43 @@ public class Server<T> extends ErrorLogEntry {
 	
 	protected void kick(final ConnectionHandler handler) throws IOException {
 		handler.close();
-		clients.remove(handler.getUUID());
+		if (clients.remove(handler.getUUID()) == null)
+			return;
+		for (final BroadcastGroup group : groups.values())
+			if (group.remove(handler.getUUID()))
+				group.setStale(true);
 		for (final ServerClientDisconnectListener listener : clientDisconnectListeners.values())
 			listener.onClientDisconnect(handler.getUUID());
 	}
 	
+	public int getQueueDepth(final UUID handler) {
+		return clients.get(handler).getQueueDepth();
+	}
+	
+	public long getDroppedFrames(final UUID handler) {
+		return clients.get(handler).getDroppedFrames();
+	}
+	
+	public int getPendingRequests(final UUID handler) {
+		return clients.get(handler).getPendingRequests();
+	}
+	
+	public int getHibernatingClients() {
+		int hibernating = 0;
+		for (final ConnectionHandler handler : clients.values())
+			if (handler.isHibernating())
+				hibernating++;
+		return hibernating;
+	}
+	
+	public boolean isHibernating(final UUID handler) {
+		return clients.get(handler).isHibernating();
+	}
+	
+	public int getPendingTimeouts() {
+		return ((timer == null) ? 0 : timer.size());
+	}
+	
 	public InetAddress getHostOf(final UUID handler) {
 		return getHostOf(clients.get(handler));
 	}
@@ -318,27 +884,194 @@ public class Server<T> extends ErrorLogEntry {
 		return handler.getHost();
 	}
 	
-	public void broadcast(final T t) {
+	public Broadcast broadcast(final T t) {
+		final List<ConnectionHandler> recipients = new ArrayList<>(clients.values());
+		final Broadcast broadcast = new Broadcast(recipients.size());
 		byte[] buffer;
 		try {
 			buffer = configuration.decompile(t);
 		} catch (CompilationException e) {
 			err().println("Unable to decompile type: " + e.getLocalizedMessage());
-			return;
+			return fail(recipients, broadcast, e);
+		}
+		return fanOut(recipients, channelOf(t), buffer, null, broadcast);
+	}
+	
+	public Broadcast broadcast(final BroadcastGroup group, final T t) {
+		final List<ConnectionHandler> recipients = new ArrayList<>(group.size());
+		for (final UUID member : group.getMembers()) {
+			final ConnectionHandler handler = clients.get(member);
+			if (handler != null)
+				recipients.add(handler);
 		}
-		for (final ConnectionHandler handler : clients.values()) {
+		final Broadcast broadcast = new Broadcast(recipients.size());
+		SharedFrame frame;
+		try {
+			final byte[] buffer = configuration.decompile(t);
+			synchronized (group) {
+				if (group.isStale() && !(rotate(group)))
+					return fail(recipients, broadcast, new ConnectionException("Unable to rotate key of group " + group.getId()));
+				frame = group.getCipher().encode(buffer, channelOf(t));
+			}
+		} catch (CompilationException e) {
+			err().println("Unable to decompile type: " + e.getLocalizedMessage());
+			return fail(recipients, broadcast, e);
+		} catch (IllegalBlockSizeException e) {
+			err().println("Unable to encrypt for group " + group.getId() + ", (Illegal Block Size): " + e.getLocalizedMessage());
+			return fail(recipients, broadcast, e);
+		} catch (BadPaddingException e) {
+			err().println("Unable to encrypt for group " + group.getId() + ", (Bad Padding): " + e.getLocalizedMessage());
+			return fail(recipients, broadcast, e);
+		}
+		return fanOut(recipients, frame.getChannel(), null, frame, broadcast);
+	}
+	
+	private Broadcast fail(final List<ConnectionHandler> recipients, final Broadcast broadcast, final Throwable throwable) {
+		for (final ConnectionHandler handler : recipients)
+			broadcast.failed(handler.getUUID(), throwable);
+		return broadcast;
+	}
+	
+	private Broadcast fanOut(final List<ConnectionHandler> recipients, final int channel, final byte[] buffer, final SharedFrame frame, final Broadcast broadcast) {
+		final int size = recipients.size();
+		final int tasks = ((broadcastExecutor == null) ? 1 : Math.min(broadcastThreads, ((size + BROADCAST_CHUNK - 1) / BROADCAST_CHUNK)));
+		if (tasks <= 1) {
+			deliver(recipients, 0, size, channel, buffer, frame, broadcast);
+			return broadcast;
+		}
+		final int chunk = ((size + tasks - 1) / tasks);
+		for (int from = 0; from < size; from += chunk) {
+			final int start = from;
+			final int end = Math.min(size, (from + chunk));
 			try {
-				handler.write(SignalModifier.SIGNAL_TYPE, buffer);
+				broadcastExecutor.execute(() -> deliver(recipients, start, end, channel, buffer, frame, broadcast));
+			} catch (RejectedExecutionException e) {
+				deliver(recipients, start, end, channel, buffer, frame, broadcast);
+			}
+		}
+		return broadcast;
+	}
+	
+	private void deliver(final List<ConnectionHandler> recipients, final int from, final int to, final int channel, final byte[] buffer, final SharedFrame frame, final Broadcast broadcast) {
+		for (int i = from; i < to; i++) {
+			final ConnectionHandler handler = recipients.get(i);
+			try {
+				if (frame != null)
+					handler.write(frame);
+				else
+					handler.write(SignalModifier.SIGNAL_TYPE, channel, buffer);
+				broadcast.delivered(handler.getUUID());
 			} catch (IllegalBlockSizeException e) {
 				err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage());
+				broadcast.failed(handler.getUUID(), e);
 			} catch (BadPaddingException e) {
 				err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage());
-			} catch (IOException e) {
+				broadcast.failed(handler.getUUID(), e);
+			} catch (IOException | RuntimeException e) {
 				err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage());
+				broadcast.failed(handler.getUUID(), e);
 			}
 		}
 	}
 	
+	public BroadcastGroup createGroup() throws InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException {
+		final int id = groupIds.incrementAndGet();
+		final BroadcastGroup group = new BroadcastGroup(GroupCipher.generate(algorithm, id, 0, secureRandom));
+		groups.put(id, group);
+		return group;
+	}
+	
+	public BroadcastGroup getGroup(final int id) {
+		return groups.get(id);
+	}
+	
+	public Collection<BroadcastGroup> getGroups() {
+		return Collections.unmodifiableCollection(groups.values());
+	}
+	
+	public boolean removeGroup(final BroadcastGroup group) {
+		if (!(groups.remove(group.getId(), group)))
+			return false;
+		synchronized (group) {
+			final byte[] revoke = group.getCipher().getRevokeFrame();
+			for (final UUID member : group.getMembers()) {
+				final ConnectionHandler handler = clients.get(member);
+				if (handler != null)
+					distribute(group, handler, revoke);
+			}
+			group.clear();
+			group.getCipher().close();
+		}
+		return true;
+	}
+	
+	public boolean join(final BroadcastGroup group, final UUID member) {
+		final ConnectionHandler handler = clients.get(member);
+		if (handler == null)
+			return false;
+		synchronized (group) {
+			if (group.contains(member) || !(distribute(group, handler, group.getCipher().getKeyFrame())))
+				return false;
+			return group.add(member);
+		}
+	}
+	
+	public boolean leave(final BroadcastGroup group, final UUID member) {
+		synchronized (group) {
+			if (!(group.remove(member)))
+				return false;
+			final ConnectionHandler handler = clients.get(member);
+			if (handler != null)
+				distribute(group, handler, group.getCipher().getRevokeFrame());
+			group.setStale(true);
+			return true;
+		}
+	}
+	
+	public boolean rotate(final BroadcastGroup group) {
+		synchronized (group) {
+			final GroupCipher cipher;
+			try {
+				cipher = GroupCipher.generate(algorithm, group.getId(), (group.getEpoch() + 1), secureRandom);
+			} catch (InvalidKeyException e) {
+				err().println("Unable to rotate key of group " + group.getId() + " (Invalid Key): " + e.getLocalizedMessage());
+				return false;
+			} catch (NoSuchAlgorithmException e) {
+				err().println("Unable to rotate key of group " + group.getId() + " (Invalid Algorithm): " + e.getLocalizedMessage());
+				return false;
+			} catch (NoSuchPaddingException e) {
+				err().println("Unable to rotate key of group " + group.getId() + " (Invalid Padding): " + e.getLocalizedMessage());
+				return false;
+			}
+			final byte[] key = cipher.getKeyFrame();
+			for (final UUID member : group.getMembers()) {
+				final ConnectionHandler handler = clients.get(member);
+				if (handler != null)
+					distribute(group, handler, key);
+			}
+			final GroupCipher expired = group.getCipher();
+			group.setCipher(cipher);
+			expired.close();
+			return true;
+		}
+	}
+	
+	private boolean distribute(final BroadcastGroup group, final ConnectionHandler handler, final byte[] frame) {
+		if (!(handler.isOpen()))
+			return false;
+		try {
+			handler.write(SignalModifier.SIGNAL_GROUP_KEY, frame);
+			return true;
+		} catch (IllegalBlockSizeException e) {
+			err().println("Unable to distribute key of group " + group.getId() + " to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage());
+		} catch (BadPaddingException e) {
+			err().println("Unable to distribute key of group " + group.getId() + " to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage());
+		} catch (IOException | RuntimeException e) {
+			err().println("Unable to distribute key of group " + group.getId() + " to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage());
+		}
+		return false;
+	}
+	
 	public T await(final UUID handler) throws InterruptedException {
 		return await(clients.get(handler));
 	}
@@ -360,15 +1093,7 @@ public class Server<T> extends ErrorLogEntry {
 	}
 	
 	protected T await(final ConnectionHandler handler, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
-		final CountDownLatch latch = new CountDownLatch(1);
-		final Object[] type = new Object[1];
-		final Consumer<T> consumer = ((t) -> {
-			type[0] = t;
-			latch.countDown();
-		});
-		handler.pushAwaitConsumer(consumer);
-		latch.await(timeout, timeUnit);
-		return ((T) type[0]);
+		return resolve(awaitAsync(handler, timeout, timeUnit));
 	}
 	
 	public T awaitAfter(final Runnable runnable, final UUID handler, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
@@ -376,16 +1101,33 @@ public class Server<T> extends ErrorLogEntry {
 	}
 	
 	protected T awaitAfter(final Runnable runnable, final ConnectionHandler handler, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
-		final CountDownLatch latch = new CountDownLatch(1);
-		final Object[] type = new Object[1];
-		final Consumer<T> consumer = ((t) -> {
-			type[0] = t;
-			latch.countDown();
-		});
+		final CompletableFuture<T> future = awaitAsync(handler, timeout, timeUnit);
 		runnable.run();
+		return resolve(future);
+	}
+	
+	public CompletableFuture<T> awaitAsync(final UUID handler) {
+		return awaitAsync(clients.get(handler));
+	}
+	
+	protected CompletableFuture<T> awaitAsync(final ConnectionHandler handler) {
+		return awaitAsync(handler, timeout, timeUnit);
+	}
+	
+	public CompletableFuture<T> awaitAsync(final UUID handler, final long timeout, final TimeUnit timeUnit) {
+		return awaitAsync(clients.get(handler), timeout, timeUnit);
+	}
+	
+	protected CompletableFuture<T> awaitAsync(final ConnectionHandler handler, final long timeout, final TimeUnit timeUnit) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		final Consumer<T> consumer = future::complete;
 		handler.pushAwaitConsumer(consumer);
-		latch.await(timeout, timeUnit);
-		return ((T) type[0]);
+		final TimingWheel.Timeout expiry = timer.schedule(() -> future.completeExceptionally(new TimeoutException()), timeout, timeUnit);
+		future.whenComplete((t, throwable) -> {
+			handler.removeAwaitConsumer(consumer);
+			expiry.cancel();
+		});
+		return future;
 	}
 	
 	public void send(final UUID handler, final T t) {
@@ -395,13 +1137,13 @@ public class Server<T> extends ErrorLogEntry {
 	protected void send(final ConnectionHandler handler, final T t) {
 		byte[] buffer;
 		try {
-			buffer = configuration.decompile(t);
+			buffer = decompile(handler, t);
 		} catch (CompilationException e) {
 			err().println("Unable to decompile type: " + e.getLocalizedMessage());
 			return;
 		}
 		try {
-			handler.write(SignalModifier.SIGNAL_TYPE, buffer);
+			write(handler, t, buffer);
 		} catch (IllegalBlockSizeException e) {
 			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage());
 		} catch (BadPaddingException e) {
@@ -411,6 +1153,83 @@ public class Server<T> extends ErrorLogEntry {
 		}
 	}
 	
+	private byte[] decompile(final ConnectionHandler handler, final T t) throws CompilationException {
+		return (handler.isByReference() ? null : configuration.decompile(t));
+	}
+	
+	private void write(final ConnectionHandler handler, final T t, final byte[] buffer) throws IOException, IllegalBlockSizeException, BadPaddingException {
+		if (buffer == null)
+			handler.writeReference(SignalModifier.SIGNAL_TYPE, channelOf(t), t);
+		else
+			handler.write(SignalModifier.SIGNAL_TYPE, channelOf(t), buffer);
+	}
+	
+	public StreamOutput openStream(final UUID handler, final String name) throws IOException {
+		return openStream(clients.get(handler), name, -1);
+	}
+	
+	public StreamOutput openStream(final UUID handler, final String name, final long size) throws IOException {
+		return openStream(clients.get(handler), name, size);
+	}
+	
+	protected StreamOutput openStream(final ConnectionHandler handler, final String name, final long size) throws IOException {
+		return handler.openStream(name, size, getChannel(StreamOutput.class), streamChunkSize);
+	}
+	
+	public long stream(final UUID handler, final String name, final InputStream input) throws IOException {
+		return stream(clients.get(handler), name, input);
+	}
+	
+	public long stream(final UUID handler, final String name, final ReadableByteChannel input) throws IOException {
+		return stream(clients.get(handler), name, input);
+	}
+	
+	protected long stream(final ConnectionHandler handler, final String name, final InputStream input) throws IOException {
+		final StreamOutput output = openStream(handler, name, -1);
+		try {
+			output.transferFrom(input);
+			output.close();
+		} catch (IOException e) {
+			output.abort();
+			throw e;
+		}
+		return output.getWritten();
+	}
+	
+	protected long stream(final ConnectionHandler handler, final String name, final ReadableByteChannel input) throws IOException {
+		final StreamOutput output = openStream(handler, name, ((input instanceof SeekableByteChannel seekable) ? (seekable.size() - seekable.position()) : -1));
+		try {
+			output.transferFrom(input);
+			output.close();
+		} catch (IOException e) {
+			output.abort();
+			throw e;
+		}
+		return output.getWritten();
+	}
+	
+	public long sendFile(final UUID handler, final Path path) throws IOException {
+		return sendFile(clients.get(handler), path.getFileName().toString(), path);
+	}
+	
+	public long sendFile(final UUID handler, final String name, final Path path) throws IOException {
+		return sendFile(clients.get(handler), name, path);
+	}
+	
+	protected long sendFile(final ConnectionHandler handler, final String name, final Path path) throws IOException {
+		try (final FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+			final StreamOutput output = openStream(handler, name, file.size());
+			try {
+				output.transferFrom(file);
+				output.close();
+			} catch (IOException e) {
+				output.abort();
+				throw e;
+			}
+			return output.getWritten();
+		}
+	}
+	
 	public void sendAfter(final Runnable runnable, final UUID handler, final T t) {
 		sendAfter(runnable, clients.get(handler), t);
 	}
@@ -418,14 +1237,14 @@ public class Server<T> extends ErrorLogEntry {
 	protected void sendAfter(final Runnable runnable, final ConnectionHandler handler, final T t) {
 		byte[] buffer;
 		try {
-			buffer = configuration.decompile(t);
+			buffer = decompile(handler, t);
 		} catch (CompilationException e) {
 			err().println("Unable to decompile type: " + e.getLocalizedMessage());
 			return;
 		}
 		runnable.run();
 		try {
-			handler.write(SignalModifier.SIGNAL_TYPE, buffer);
+			write(handler, t, buffer);
 		} catch (IllegalBlockSizeException e) {
 			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage());
 		} catch (BadPaddingException e) {
@@ -456,8 +1275,7 @@ public class Server<T> extends ErrorLogEntry {
 	}
 	
 	protected T sendAndAwait(final ConnectionHandler handler, final T t, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
-		send(handler, t);
-		return await(handler, timeout, timeUnit);
+		return resolve(sendAsync(handler, t, timeout, timeUnit));
 	}
 	
 	public T sendAndAwaitAfter(final Runnable runnable, final UUID handler, final T t, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
@@ -465,8 +1283,41 @@ public class Server<T> extends ErrorLogEntry {
 	}
 	
 	protected T sendAndAwaitAfter(final Runnable runnable, final ConnectionHandler handler, final T t, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+		final CompletableFuture<T> future = awaitAsync(handler, timeout, timeUnit);
 		sendAfter(runnable, handler, t);
-		return await(handler, timeout, timeUnit);
+		return resolve(future);
+	}
+	
+	public CompletableFuture<T> sendAsync(final UUID handler, final T t) {
+		return sendAsync(clients.get(handler), t);
+	}
+	
+	protected CompletableFuture<T> sendAsync(final ConnectionHandler handler, final T t) {
+		return sendAsync(handler, t, timeout, timeUnit);
+	}
+	
+	public CompletableFuture<T> sendAsync(final UUID handler, final T t, final long timeout, final TimeUnit timeUnit) {
+		return sendAsync(clients.get(handler), t, timeout, timeUnit);
+	}
+	
+	protected CompletableFuture<T> sendAsync(final ConnectionHandler handler, final T t, final long timeout, final TimeUnit timeUnit) {
+		final CompletableFuture<T> future = awaitAsync(handler, timeout, timeUnit);
+		try {
+			write(handler, t, decompile(handler, t));
+		} catch (CompilationException e) {
+			err().println("Unable to decompile type: " + e.getLocalizedMessage());
+			future.completeExceptionally(e);
+		} catch (IllegalBlockSizeException e) {
+			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage());
+			future.completeExceptionally(e);
+		} catch (BadPaddingException e) {
+			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage());
+			future.completeExceptionally(e);
+		} catch (IOException e) {
+			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage());
+			future.completeExceptionally(e);
+		}
+		return future;
 	}
 	
 	public Response request(final UUID handler, final Request request) throws InterruptedException {
@@ -506,114 +1357,123 @@ public class Server<T> extends ErrorLogEntry {
 	}
 	
 	protected Response request(final ConnectionHandler handler, final Request request, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
-		byte[] buffer;
+		return resolve(requestAsync(handler, request, timeout, timeUnit), request);
+	}
+	
+	public Response requestAfter(final Runnable runnable, final UUID handler, final Request request, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+		return requestAfter(runnable, clients.get(handler), request, timeout, timeUnit);
+	}
+	
+	protected Response requestAfter(final Runnable runnable, final ConnectionHandler handler, final Request request, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+		return resolve(exchange(handler, request, runnable, timeout, timeUnit), request);
+	}
+	
+	public Response request(final UUID handler, final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
+		return request(clients.get(handler), request, timeout, timeUnit, errorCallback);
+	}
+	
+	protected Response request(final ConnectionHandler handler, final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
 		try {
-			buffer = requestCompiler.decompile(request);
-		} catch (CompilationException e) {
-			err().println("Unable to decompile type: " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to decompile type: " + e.getLocalizedMessage(), request);
+			final Response response = request(handler, request, timeout, timeUnit);
+			if (response instanceof ErrorResponse error)
+				return errorCallback.onError(error);
+			return response;
+		} catch (Exception e) {
+			return errorCallback.onError(new ErrorResponse(e.getLocalizedMessage(), request));
 		}
+	}
+	
+	public Response requestAfter(final Runnable runnable, final UUID handler, final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
+		return requestAfter(runnable, clients.get(handler), request, timeout, timeUnit, errorCallback);
+	}
+	
+	protected Response requestAfter(final Runnable runnable, final ConnectionHandler handler, final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
 		try {
-			handler.write(SignalModifier.SIGNAL_REQUEST, buffer);
-		} catch (IllegalBlockSizeException e) {
-			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage(), request);
-		} catch (BadPaddingException e) {
-			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage(), request);
-		} catch (IOException e) {
-			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage(), request);
+			final Response response = requestAfter(runnable, handler, request, timeout, timeUnit);
+			if (response instanceof ErrorResponse error)
+				return errorCallback.onError(error);
+			return response;
+		} catch (Exception e) {
+			return errorCallback.onError(new ErrorResponse(e.getMessage(), request));
 		}
-		final CountDownLatch latch = new CountDownLatch(1);
-		final Response[] response = new Response[1];
-		final Consumer<Response> consumer = ((r) -> {
-			response[0] = r;
-			latch.countDown();
-		});
-		handler.pushAwaitConsumer(consumer);
-		latch.await(timeout, timeUnit);
-		return response[0];
 	}
 	
-	public Response requestAfter(final Runnable runnable, final UUID handler, final Request request, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
-		return requestAfter(runnable, clients.get(handler), request, timeout, timeUnit);
+	public CompletableFuture<Response> requestAsync(final UUID handler, final Request request) {
+		return requestAsync(clients.get(handler), request);
 	}
 	
-	protected Response requestAfter(final Runnable runnable, final ConnectionHandler handler, final Request request, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+	protected CompletableFuture<Response> requestAsync(final ConnectionHandler handler, final Request request) {
+		return requestAsync(handler, request, timeout, timeUnit);
+	}
+	
+	public CompletableFuture<Response> requestAsync(final UUID handler, final Request request, final long timeout, final TimeUnit timeUnit) {
+		return requestAsync(clients.get(handler), request, timeout, timeUnit);
+	}
+	
+	protected CompletableFuture<Response> requestAsync(final ConnectionHandler handler, final Request request, final long timeout, final TimeUnit timeUnit) {
+		return exchange(handler, request, null, timeout, timeUnit);
+	}
+	
+	private CompletableFuture<Response> exchange(final ConnectionHandler handler, final Request request, final Runnable runnable, final long timeout, final TimeUnit timeUnit) {
+		final CompletableFuture<Response> future = new CompletableFuture<>();
 		byte[] buffer;
 		try {
 			buffer = requestCompiler.decompile(request);
 		} catch (CompilationException e) {
 			err().println("Unable to decompile type: " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to decompile type: " + e.getLocalizedMessage(), request);
+			future.complete(new ErrorResponse("Unable to decompile type: " + e.getLocalizedMessage(), request));
+			return future;
 		}
-		runnable.run();
+		final UUID uuid = request.getUUID();
 		try {
-			handler.write(SignalModifier.SIGNAL_REQUEST, buffer);
+			handler.registerPendingRequest(uuid, future::complete);
+		} catch (ConnectionException e) {
+			future.completeExceptionally(e);
+			return future;
+		}
+		final TimingWheel.Timeout expiry = timer.schedule(() -> future.complete(new ErrorResponse("Request timed out after " + timeout + " " + timeUnit, request)), timeout, timeUnit);
+		future.whenComplete((response, throwable) -> {
+			handler.removePendingRequest(uuid);
+			expiry.cancel();
+		});
+		try {
+			if (runnable != null)
+				runnable.run();
+			handler.write(SignalModifier.SIGNAL_REQUEST, channelOf(request), buffer);
 		} catch (IllegalBlockSizeException e) {
 			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage(), request);
+			future.complete(new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Illegal Block Size): " + e.getLocalizedMessage(), request));
 		} catch (BadPaddingException e) {
 			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage(), request);
+			future.complete(new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Bad Padding): " + e.getLocalizedMessage(), request));
 		} catch (IOException e) {
 			err().println("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage());
-			return new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage(), request);
+			future.complete(new ErrorResponse("Unable to write to handler with UUID '" + handler.getUUID() + "', (Internal): " + e.getLocalizedMessage(), request));
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
 		}
-		final CountDownLatch latch = new CountDownLatch(1);
-		final Response[] response = new Response[1];
-		final Consumer<Response> consumer = ((r) -> {
-			response[0] = r;
-			latch.countDown();
-		});
-		handler.pushAwaitConsumer(consumer);
-		latch.await(timeout, timeUnit);
-		return response[0];
+		return future;
 	}
 	
-	public Response request(final UUID handler, final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
-		return request(clients.get(handler), request, timeout, timeUnit, errorCallback);
-	}
-	
-	protected Response request(final ConnectionHandler handler, final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
+	private T resolve(final CompletableFuture<T> future) throws InterruptedException {
 		try {
-			final byte[] buffer = requestCompiler.decompile(request);
-			handler.write(SignalModifier.SIGNAL_REQUEST, buffer);
-			final CountDownLatch latch = new CountDownLatch(1);
-			final Response[] response = new Response[1];
-			final Consumer<Response> consumer = ((r) -> {
-				response[0] = r;
-				latch.countDown();
-			});
-			handler.pushAwaitConsumer(consumer);
-			latch.await(timeout, timeUnit);
-			return response[0];
-		} catch (Exception e) {
-			return errorCallback.onError(new ErrorResponse(e.getLocalizedMessage(), request));
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(false);
+			throw e;
+		} catch (ExecutionException e) {
+			return null;
 		}
 	}
 	
-	public Response requestAfter(final Runnable runnable, final UUID handler, final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
-		return requestAfter(runnable, clients.get(handler), request, timeout, timeUnit, errorCallback);
-	}
-	
-	protected Response requestAfter(final Runnable runnable, final ConnectionHandler handler, final Request request, final long timeout, final TimeUnit timeUnit, final RequestErrorCallback errorCallback) {
+	private Response resolve(final CompletableFuture<Response> future, final Request request) throws InterruptedException {
 		try {
-			final byte[] buffer = requestCompiler.decompile(request);
-			runnable.run();
-			handler.write(SignalModifier.SIGNAL_REQUEST, buffer);
-			final CountDownLatch latch = new CountDownLatch(1);
-			final Response[] response = new Response[1];
-			final Consumer<Response> consumer = ((r) -> {
-				response[0] = r;
-				latch.countDown();
-			});
-			handler.pushAwaitConsumer(consumer);
-			latch.await(timeout, timeUnit);
-			return response[0];
-		} catch (Exception e) {
-			return errorCallback.onError(new ErrorResponse(e.getMessage(), request));
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(false);
+			throw e;
+		} catch (ExecutionException e) {
+			return new ErrorResponse(e.getCause().getLocalizedMessage(), request);
 		}
 	}
 	
@@ -625,6 +1485,254 @@ public class Server<T> extends ErrorLogEntry {
 		this.algorithm = algorithm;
 	}
 	
+	public TransportMode getTransport() {
+		return transport;
+	}
+	
+	public void setTransport(final TransportMode transport) {
+		if (open)
+			throw new RuntimeException("Unable to change transport while opened");
+		this.transport = transport;
+	}
+	
+	public int getEventLoops() {
+		return eventLoops;
+	}
+	
+	public void setEventLoops(final int eventLoops) {
+		if (open)
+			throw new RuntimeException("Unable to change event loops while opened");
+		this.eventLoops = eventLoops;
+	}
+	
+	public int getAcceptors() {
+		return acceptors;
+	}
+	
+	public void setAcceptors(final int acceptors) {
+		if (open)
+			throw new RuntimeException("Unable to change acceptors while opened");
+		this.acceptors = acceptors;
+	}
+	
+	public boolean isReusePort() {
+		return reusePort;
+	}
+	
+	public void setReusePort(final boolean reusePort) {
+		if (open)
+			throw new RuntimeException("Unable to change reuse port while opened");
+		this.reusePort = reusePort;
+	}
+	
+	public ThreadMode getThreadMode() {
+		return threadFactory.getMode();
+	}
+	
+	public void setThreadMode(final ThreadMode threadMode) {
+		if (open)
+			throw new RuntimeException("Unable to change thread mode while opened");
+		threadFactory.setMode(threadMode);
+	}
+	
+	public ExecutionMode getExecution() {
+		return execution;
+	}
+	
+	public void setExecution(final ExecutionMode execution) {
+		if (open)
+			throw new RuntimeException("Unable to change execution while opened");
+		this.execution = execution;
+	}
+	
+	public int getHandlerThreads() {
+		return handlerThreads;
+	}
+	
+	public void setHandlerThreads(final int handlerThreads) {
+		if (open)
+			throw new RuntimeException("Unable to change handler threads while opened");
+		this.handlerThreads = handlerThreads;
+	}
+	
+	public int getHandlerQueue() {
+		return handlerQueue;
+	}
+	
+	public void setHandlerQueue(final int handlerQueue) {
+		if (open)
+			throw new RuntimeException("Unable to change handler queue while opened");
+		this.handlerQueue = handlerQueue;
+	}
+	
+	public int getBroadcastThreads() {
+		return broadcastThreads;
+	}
+	
+	public void setBroadcastThreads(final int broadcastThreads) {
+		if (open)
+			throw new RuntimeException("Unable to change broadcast threads while opened");
+		this.broadcastThreads = broadcastThreads;
+	}
+	
+	public long getHandshakeTimeout() {
+		return handshakeTimeout;
+	}
+	
+	public void setHandshakeTimeout(final long handshakeTimeout, final TimeUnit timeUnit) {
+		if (open)
+			throw new RuntimeException("Unable to change handshake timeout while opened");
+		this.handshakeTimeout = timeUnit.toNanos(handshakeTimeout);
+	}
+	
+	public int getHandshakeConcurrency() {
+		return handshakeConcurrency;
+	}
+	
+	public void setHandshakeConcurrency(final int handshakeConcurrency) {
+		if (open)
+			throw new RuntimeException("Unable to change handshake concurrency while opened");
+		this.handshakeConcurrency = handshakeConcurrency;
+	}
+	
+	public int getPendingHandshakes() {
+		return handshaking.size();
+	}
+	
+	public int getWriteBuffer() {
+		return writeBuffer;
+	}
+	
+	public void setWriteBuffer(final int writeBuffer) {
+		if (open)
+			throw new RuntimeException("Unable to change write buffer while opened");
+		this.writeBuffer = writeBuffer;
+	}
+	
+	public long getLinger() {
+		return linger;
+	}
+	
+	public void setLinger(final long linger, final TimeUnit timeUnit) {
+		if (open)
+			throw new RuntimeException("Unable to change linger while opened");
+		this.linger = timeUnit.toNanos(linger);
+	}
+	
+	public long getHeartbeat() {
+		return heartbeat;
+	}
+	
+	public void setHeartbeat(final long heartbeat, final TimeUnit timeUnit) {
+		if (open)
+			throw new RuntimeException("Unable to change heartbeat while opened");
+		this.heartbeat = timeUnit.toNanos(heartbeat);
+	}
+	
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+	
+	public void setIdleTimeout(final long idleTimeout, final TimeUnit timeUnit) {
+		if (open)
+			throw new RuntimeException("Unable to change idle timeout while opened");
+		this.idleTimeout = timeUnit.toNanos(idleTimeout);
+	}
+	
+	public long getHibernation() {
+		return hibernation;
+	}
+	
+	public void setHibernation(final long hibernation, final TimeUnit timeUnit) {
+		if (open)
+			throw new RuntimeException("Unable to change hibernation while opened");
+		this.hibernation = timeUnit.toNanos(hibernation);
+	}
+	
+	public int getMaxFrameSize() {
+		return maxFrameSize;
+	}
+	
+	public void setMaxFrameSize(final int maxFrameSize) {
+		if (open)
+			throw new RuntimeException("Unable to change max frame size while opened");
+		this.maxFrameSize = maxFrameSize;
+	}
+	
+	public int getPoolCapacity() {
+		return poolCapacity;
+	}
+	
+	public void setPoolCapacity(final int poolCapacity) {
+		if (open)
+			throw new RuntimeException("Unable to change pool capacity while opened");
+		this.poolCapacity = poolCapacity;
+	}
+	
+	public BufferPool getBufferPool() {
+		return bufferPool;
+	}
+	
+	public int getOutboundCapacity() {
+		return outboundCapacity;
+	}
+	
+	public void setOutboundCapacity(final int outboundCapacity) {
+		if (open)
+			throw new RuntimeException("Unable to change outbound capacity while opened");
+		this.outboundCapacity = outboundCapacity;
+	}
+	
+	public int getFragmentSize() {
+		return fragmentSize;
+	}
+	
+	public void setFragmentSize(final int fragmentSize) {
+		if (open)
+			throw new RuntimeException("Unable to change fragment size while opened");
+		this.fragmentSize = fragmentSize;
+	}
+	
+	public int getStreamChunkSize() {
+		return streamChunkSize;
+	}
+	
+	public void setStreamChunkSize(final int streamChunkSize) {
+		if (open)
+			throw new RuntimeException("Unable to change stream chunk size while opened");
+		this.streamChunkSize = streamChunkSize;
+	}
+	
+	public int getStreamWindow() {
+		return streamWindow;
+	}
+	
+	public void setStreamWindow(final int streamWindow) {
+		if (open)
+			throw new RuntimeException("Unable to change stream window while opened");
+		this.streamWindow = streamWindow;
+	}
+	
+	public int getRingCapacity() {
+		return ringCapacity;
+	}
+	
+	public void setRingCapacity(final int ringCapacity) {
+		if (open)
+			throw new RuntimeException("Unable to change ring capacity while opened");
+		this.ringCapacity = ringCapacity;
+	}
+	
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+	
+	public void setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+		if (open)
+			throw new RuntimeException("Unable to change overflow policy while opened");
+		this.overflowPolicy = overflowPolicy;
+	}
+	
 	public int getConnectedClients() {
 		return clients.size();
 	}
@@ -643,11 +1751,11 @@ public class Server<T> extends ErrorLogEntry {
 	}
 	
 	public InetAddress getHost() {
-		return serverSocket.getInetAddress();
+		return ((serverSocket != null) ? serverSocket.getInetAddress() : InetAddress.getLoopbackAddress());
 	}
 	
 	public int getLocalPort() {
-		return serverSocket.getLocalPort();
+		return ((serverSocket != null) ? serverSocket.getLocalPort() : 0);
 	}
 	
 	public void setPort(final int port) {
@@ -660,4 +1768,34 @@ public class Server<T> extends ErrorLogEntry {
 		return port;
 	}
 	
+	public void setSocketPath(final Path socketPath) {
+		if (open)
+			throw new RuntimeException("Unable to change socket path while opened");
+		this.socketPath = socketPath;
+	}
+	
+	public Path getSocketPath() {
+		return socketPath;
+	}
+	
+	public void setLocalName(final String localName) {
+		if (open)
+			throw new RuntimeException("Unable to change local name while opened");
+		this.localName = localName;
+	}
+	
+	public String getLocalName() {
+		return localName;
+	}
+	
+	public void setByReference(final boolean byReference) {
+		if (open)
+			throw new RuntimeException("Unable to change by-reference while opened");
+		this.byReference = byReference;
+	}
+	
+	public boolean isByReference() {
+		return byReference;
+	}
+	
 }
@@ -1,11 +1,18 @@
 package me.nulldoubt.netx;
 
 import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
 import me.nulldoubt.netx.NetX.CipherAlgorithm;
+import me.nulldoubt.netx.NetX.ExecutionMode;
+import me.nulldoubt.netx.NetX.OverflowPolicy;
+import me.nulldoubt.netx.NetX.ThreadMode;
+import me.nulldoubt.netx.NetX.TransportMode;
 import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.codecs.Codec;
 import me.nulldoubt.netx.binaries.configurations.BufferConfiguration;
+import me.nulldoubt.netx.binaries.configurations.CodecConfiguration;
 import me.nulldoubt.netx.binaries.configurations.SerialConfiguration;
 import me.nulldoubt.netx.binaries.configurations.StringConfiguration;
 import me.nulldoubt.netx.binaries.model.PacketReceivedListener;
@@ -13,23 +20,28 @@ import me.nulldoubt.netx.binaries.model.PacketSentListener;
 import me.nulldoubt.netx.binaries.model.SerialObject;
 import me.nulldoubt.netx.binaries.model.ServerClientConnectListener;
 import me.nulldoubt.netx.binaries.model.ServerClientDisconnectListener;
+import me.nulldoubt.netx.binaries.model.StreamReceivedListener;
 import me.nulldoubt.netx.exceptions.BuilderException;
 
 public final class ServerBuilder<T> {
-
+	
 	private final Server<T> server;
 	
 	private boolean algorithm;
 	private boolean port;
+	private boolean socketPath;
+	private boolean localName;
 	
 	private ServerBuilder(final Server<T> server) {
 		this.server = server;
 		algorithm = false;
 		port = false;
+		socketPath = false;
+		localName = false;
 	}
 	
 	public boolean isReady() {
-		return (algorithm && port);
+		return (algorithm && (port || socketPath || localName));
 	}
 	
 	public PrintStream err() {
@@ -64,13 +76,322 @@ public final class ServerBuilder<T> {
 	}
 	
 	public ServerBuilder<T> port(final int port) {
-		if ((port < NetX.NETWORK_MIN_PORT) || (port > NetX.NETWORK_MAX_PORT))
-			throw new NullPointerException("Port has to be in range between %d and %d".formatted(NetX.NETWORK_MIN_PORT, NetX.NETWORK_MAX_PORT));
+		if ((port != 0) && ((port < NetX.NETWORK_MIN_PORT) || (port > NetX.NETWORK_MAX_PORT)))
+			throw new IllegalArgumentException("Port has to be 0 or in range between %d and %d".formatted(NetX.NETWORK_MIN_PORT, NetX.NETWORK_MAX_PORT));
 		server.setPort(port);
 		this.port = true;
 		return this;
 	}
 	
+	public Path socketPath() {
+		if (!(socketPath))
+			throw new NullPointerException("SocketPath hasn't been set yet");
+		return server.getSocketPath();
+	}
+	
+	public ServerBuilder<T> socketPath(final Path socketPath) {
+		if (socketPath == null)
+			throw new NullPointerException("SocketPath cannot be null");
+		server.setSocketPath(socketPath);
+		this.socketPath = true;
+		return this;
+	}
+	
+	public String localName() {
+		if (!(localName))
+			throw new NullPointerException("LocalName hasn't been set yet");
+		return server.getLocalName();
+	}
+	
+	public ServerBuilder<T> localName(final String localName) {
+		if (localName == null)
+			throw new NullPointerException("LocalName cannot be null");
+		server.setLocalName(localName);
+		this.localName = true;
+		return this;
+	}
+	
+	public boolean byReference() {
+		return server.isByReference();
+	}
+	
+	public ServerBuilder<T> byReference(final boolean byReference) {
+		server.setByReference(byReference);
+		return this;
+	}
+	
+	public TransportMode transport() {
+		return server.getTransport();
+	}
+	
+	public ServerBuilder<T> transport(final TransportMode transport) {
+		if (transport == null)
+			throw new NullPointerException("Transport cannot be null");
+		server.setTransport(transport);
+		return this;
+	}
+	
+	public int eventLoops() {
+		return server.getEventLoops();
+	}
+	
+	public ServerBuilder<T> eventLoops(final int eventLoops) {
+		if (eventLoops < 1)
+			throw new BuilderException("EventLoops has to be at least 1");
+		server.setEventLoops(eventLoops);
+		return this;
+	}
+	
+	public int acceptors() {
+		return server.getAcceptors();
+	}
+	
+	public ServerBuilder<T> acceptors(final int acceptors) {
+		if (acceptors < 1)
+			throw new BuilderException("Acceptors has to be at least 1");
+		server.setAcceptors(acceptors);
+		return this;
+	}
+	
+	public boolean reusePort() {
+		return server.isReusePort();
+	}
+	
+	public ServerBuilder<T> reusePort(final boolean reusePort) {
+		server.setReusePort(reusePort);
+		return this;
+	}
+	
+	public ThreadMode threadMode() {
+		return server.getThreadMode();
+	}
+	
+	public ServerBuilder<T> threadMode(final ThreadMode threadMode) {
+		if (threadMode == null)
+			throw new NullPointerException("ThreadMode cannot be null");
+		server.setThreadMode(threadMode);
+		return this;
+	}
+	
+	public ExecutionMode execution() {
+		return server.getExecution();
+	}
+	
+	public ServerBuilder<T> execution(final ExecutionMode execution) {
+		if (execution == null)
+			throw new NullPointerException("Execution cannot be null");
+		server.setExecution(execution);
+		return this;
+	}
+	
+	public int handlerThreads() {
+		return server.getHandlerThreads();
+	}
+	
+	public ServerBuilder<T> handlerThreads(final int handlerThreads) {
+		if (handlerThreads < 1)
+			throw new BuilderException("HandlerThreads has to be at least 1");
+		server.setHandlerThreads(handlerThreads);
+		return this;
+	}
+	
+	public int handlerQueue() {
+		return server.getHandlerQueue();
+	}
+	
+	public ServerBuilder<T> handlerQueue(final int handlerQueue) {
+		if (handlerQueue < 1)
+			throw new BuilderException("HandlerQueue has to be at least 1");
+		server.setHandlerQueue(handlerQueue);
+		return this;
+	}
+	
+	public int broadcastThreads() {
+		return server.getBroadcastThreads();
+	}
+	
+	public ServerBuilder<T> broadcastThreads(final int broadcastThreads) {
+		if (broadcastThreads < 1)
+			throw new BuilderException("BroadcastThreads has to be at least 1");
+		server.setBroadcastThreads(broadcastThreads);
+		return this;
+	}
+	
+	public long handshakeTimeout() {
+		return server.getHandshakeTimeout();
+	}
+	
+	public ServerBuilder<T> handshakeTimeout(final long handshakeTimeout, final TimeUnit timeUnit) {
+		if (handshakeTimeout < 1)
+			throw new BuilderException("HandshakeTimeout has to be at least 1");
+		if (timeUnit == null)
+			throw new NullPointerException("TimeUnit cannot be null");
+		server.setHandshakeTimeout(handshakeTimeout, timeUnit);
+		return this;
+	}
+	
+	public int handshakeConcurrency() {
+		return server.getHandshakeConcurrency();
+	}
+	
+	public ServerBuilder<T> handshakeConcurrency(final int handshakeConcurrency) {
+		if (handshakeConcurrency < 1)
+			throw new BuilderException("HandshakeConcurrency has to be at least 1");
+		server.setHandshakeConcurrency(handshakeConcurrency);
+		return this;
+	}
+	
+	public int writeBuffer() {
+		return server.getWriteBuffer();
+	}
+	
+	public ServerBuilder<T> writeBuffer(final int writeBuffer) {
+		if (writeBuffer < 1)
+			throw new BuilderException("WriteBuffer has to be at least 1");
+		server.setWriteBuffer(writeBuffer);
+		return this;
+	}
+	
+	public long linger() {
+		return server.getLinger();
+	}
+	
+	public ServerBuilder<T> linger(final long linger, final TimeUnit timeUnit) {
+		if (linger < 0)
+			throw new BuilderException("Linger cannot be negative");
+		if (timeUnit == null)
+			throw new NullPointerException("TimeUnit cannot be null");
+		server.setLinger(linger, timeUnit);
+		return this;
+	}
+	
+	public long heartbeat() {
+		return server.getHeartbeat();
+	}
+	
+	public ServerBuilder<T> heartbeat(final long heartbeat, final TimeUnit timeUnit) {
+		if (heartbeat < 0)
+			throw new BuilderException("Heartbeat cannot be negative");
+		if (timeUnit == null)
+			throw new NullPointerException("TimeUnit cannot be null");
+		server.setHeartbeat(heartbeat, timeUnit);
+		return this;
+	}
+	
+	public long idleTimeout() {
+		return server.getIdleTimeout();
+	}
+	
+	public ServerBuilder<T> idleTimeout(final long idleTimeout, final TimeUnit timeUnit) {
+		if (idleTimeout < 0)
+			throw new BuilderException("IdleTimeout cannot be negative");
+		if (timeUnit == null)
+			throw new NullPointerException("TimeUnit cannot be null");
+		server.setIdleTimeout(idleTimeout, timeUnit);
+		return this;
+	}
+	
+	public long hibernation() {
+		return server.getHibernation();
+	}
+	
+	public ServerBuilder<T> hibernation(final long hibernation, final TimeUnit timeUnit) {
+		if (hibernation < 0)
+			throw new BuilderException("Hibernation cannot be negative");
+		if (timeUnit == null)
+			throw new NullPointerException("TimeUnit cannot be null");
+		server.setHibernation(hibernation, timeUnit);
+		return this;
+	}
+	
+	public int maxFrameSize() {
+		return server.getMaxFrameSize();
+	}
+	
+	public ServerBuilder<T> maxFrameSize(final int maxFrameSize) {
+		if (maxFrameSize < 1)
+			throw new BuilderException("MaxFrameSize has to be at least 1");
+		server.setMaxFrameSize(maxFrameSize);
+		return this;
+	}
+	
+	public int poolCapacity() {
+		return server.getPoolCapacity();
+	}
+	
+	public ServerBuilder<T> poolCapacity(final int poolCapacity) {
+		if (poolCapacity < 0)
+			throw new BuilderException("PoolCapacity cannot be negative");
+		server.setPoolCapacity(poolCapacity);
+		return this;
+	}
+	
+	public int fragmentSize() {
+		return server.getFragmentSize();
+	}
+	
+	public ServerBuilder<T> fragmentSize(final int fragmentSize) {
+		if (fragmentSize < 1)
+			throw new BuilderException("FragmentSize has to be at least 1");
+		server.setFragmentSize(fragmentSize);
+		return this;
+	}
+	
+	public int streamChunkSize() {
+		return server.getStreamChunkSize();
+	}
+	
+	public ServerBuilder<T> streamChunkSize(final int streamChunkSize) {
+		if (streamChunkSize < 1)
+			throw new BuilderException("StreamChunkSize has to be at least 1");
+		server.setStreamChunkSize(streamChunkSize);
+		return this;
+	}
+	
+	public int streamWindow() {
+		return server.getStreamWindow();
+	}
+	
+	public ServerBuilder<T> streamWindow(final int streamWindow) {
+		if (streamWindow < 1)
+			throw new BuilderException("StreamWindow has to be at least 1");
+		server.setStreamWindow(streamWindow);
+		return this;
+	}
+	
+	public int ringCapacity() {
+		return server.getRingCapacity();
+	}
+	
+	public ServerBuilder<T> ringCapacity(final int ringCapacity) {
+		if (ringCapacity < 1)
+			throw new BuilderException("RingCapacity has to be at least 1");
+		server.setRingCapacity(ringCapacity);
+		return this;
+	}
+	
+	public int outboundCapacity() {
+		return server.getOutboundCapacity();
+	}
+	
+	public ServerBuilder<T> outboundCapacity(final int outboundCapacity) {
+		if (outboundCapacity < 0)
+			throw new BuilderException("OutboundCapacity cannot be negative");
+		server.setOutboundCapacity(outboundCapacity);
+		return this;
+	}
+	
+	public OverflowPolicy overflowPolicy() {
+		return server.getOverflowPolicy();
+	}
+	
+	public ServerBuilder<T> overflowPolicy(final OverflowPolicy overflowPolicy) {
+		if (overflowPolicy == null)
+			throw new NullPointerException("OverflowPolicy cannot be null");
+		server.setOverflowPolicy(overflowPolicy);
+		return this;
+	}
+	
 	public long timeout() {
 		return server.getDefaultTimeout();
 	}
@@ -101,6 +422,26 @@ public final class ServerBuilder<T> {
 		return this;
 	}
 	
+	public <C> ServerBuilder<T> codec(final int typeId, final Class<C> type, final Codec<C> codec) {
+		if (type == null)
+			throw new NullPointerException("Type cannot be null");
+		if (codec == null)
+			throw new NullPointerException("Codec cannot be null");
+		if (typeId < 1)
+			throw new BuilderException("Codec type id has to be at least 1");
+		server.registerCodec(typeId, type, codec);
+		return this;
+	}
+	
+	public ServerBuilder<T> channel(final Class<?> type, final int channel) {
+		if (type == null)
+			throw new NullPointerException("Type cannot be null");
+		if ((channel < 0) || (channel > NetX.NETWORK_MAX_CHANNEL))
+			throw new BuilderException("Channel has to be between 0 and " + NetX.NETWORK_MAX_CHANNEL);
+		server.assignChannel(type, channel);
+		return this;
+	}
+	
 	public ServerBuilder<T> onPacketReceived(final PacketReceivedListener<T> listener) {
 		if (listener == null)
 			throw new NullPointerException("Listener cannot be null");
@@ -237,6 +578,40 @@ public final class ServerBuilder<T> {
 		return this;
 	}
 	
+	public ServerBuilder<T> onStreamReceived(final StreamReceivedListener listener) {
+		if (listener == null)
+			throw new NullPointerException("Listener cannot be null");
+		server.onStreamReceived(listener);
+		return this;
+	}
+	
+	public ServerBuilder<T> onStreamReceived(final long[] key, final StreamReceivedListener listener) {
+		if (listener == null)
+			throw new NullPointerException("Listener cannot be null");
+		if (key == null)
+			throw new NullPointerException("Key cannot be null");
+		if (key.length != 1)
+			throw new BuilderException("Key has to have a length of 1");
+		key[0] = server.onStreamReceived(listener);
+		return this;
+	}
+	
+	public ServerBuilder<T> onStreamReceived(final StreamReceivedListener... listeners) {
+		for (final StreamReceivedListener listener : listeners)
+			onStreamReceived(listener);
+		return this;
+	}
+	
+	public ServerBuilder<T> onStreamReceived(final long[] keys, final StreamReceivedListener... listeners) {
+		int i = 0;
+		for (final StreamReceivedListener listener : listeners) {
+			final long[] key = new long[1];
+			onStreamReceived(key, listener);
+			keys[i++] = key[0];
+		}
+		return this;
+	}
+	
 	public Server<T> build() {
 		if (!(isReady()))
 			throw new BuilderException("Builder isn't ready: " + this.toString());
@@ -247,7 +622,31 @@ public final class ServerBuilder<T> {
 	public String toString() {
 		final StringBuilder builder = new StringBuilder("ServerBuilder { ")
 				.append("Algorithm: ").append(algorithm().getAlgorithm())
-				.append("; Port: ").append(port())
+				.append(localName ? ("; LocalName: " + localName() + "; ByReference: " + byReference()) : (socketPath ? ("; SocketPath: " + socketPath()) : ("; Port: " + port())))
+				.append("; Transport: ").append(transport())
+				.append("; EventLoops: ").append(eventLoops())
+				.append("; Acceptors: ").append(acceptors())
+				.append("; ReusePort: ").append(reusePort())
+				.append("; ThreadMode: ").append(threadMode())
+				.append("; Execution: ").append(execution())
+				.append("; BroadcastThreads: ").append(broadcastThreads())
+				.append("; HandshakeTimeout: ").append(handshakeTimeout())
+				.append("; HandshakeConcurrency: ").append(handshakeConcurrency())
+				.append("; WriteBuffer: ").append(writeBuffer())
+				.append("; Linger: ").append(linger())
+				.append("; Heartbeat: ").append(heartbeat())
+				.append("; IdleTimeout: ").append(idleTimeout())
+				.append("; Hibernation: ").append(hibernation())
+				.append("; MaxFrameSize: ").append(maxFrameSize())
+				.append("; PoolCapacity: ").append(poolCapacity())
+				.append("; FragmentSize: ").append(fragmentSize())
+				.append("; StreamChunkSize: ").append(streamChunkSize())
+				.append("; StreamWindow: ").append(streamWindow())
+				.append("; RingCapacity: ").append(ringCapacity())
+				.append("; OutboundCapacity: ").append(outboundCapacity())
+				.append("; OverflowPolicy: ").append(overflowPolicy())
+				.append("; Codecs: ").append(server.getCodecRegistry().getRegisteredCodecs())
+				.append("; Channels: ").append(server.getChannels())
 				.append("; Timeout: ").append(timeout())
 				.append("; TimeUnit: ").append(timeUnit())
 				.append("; RRHs: <");
@@ -278,4 +677,10 @@ public final class ServerBuilder<T> {
 		return new ServerBuilder<>(new Server<>(new SerialConfiguration()));
 	}
 	
+	public static <T> ServerBuilder<T> binary(final Codec<T> codec) {
+		if (codec == null)
+			throw new NullPointerException("Codec cannot be null");
+		return new ServerBuilder<>(new Server<>(new CodecConfiguration<>(codec)));
+	}
+	
 }
@@ -0,0 +1,99 @@
+package me.nulldoubt.netx.binaries;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class Broadcast {
+	
+	private final int recipients;
+	private final Set<UUID> delivered;
+	private final Map<UUID, Throwable> failures;
+	private final AtomicInteger remaining;
+	private final CompletableFuture<Broadcast> future;
+	
+	public Broadcast(final int recipients) {
+		this.recipients = recipients;
+		delivered = ConcurrentHashMap.newKeySet(recipients);
+		failures = new ConcurrentHashMap<>();
+		remaining = new AtomicInteger(recipients);
+		future = new CompletableFuture<>();
+		if (recipients == 0)
+			future.complete(this);
+	}
+	
+	public void delivered(final UUID recipient) {
+		delivered.add(recipient);
+		complete();
+	}
+	
+	public void failed(final UUID recipient, final Throwable throwable) {
+		failures.put(recipient, throwable);
+		complete();
+	}
+	
+	private void complete() {
+		if (remaining.decrementAndGet() == 0)
+			future.complete(this);
+	}
+	
+	public Broadcast join() {
+		return future.join();
+	}
+	
+	public Broadcast join(final long timeout, final TimeUnit timeUnit) throws TimeoutException {
+		try {
+			return future.get(timeout, timeUnit);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return this;
+		} catch (ExecutionException e) {
+			return this;
+		}
+	}
+	
+	public CompletableFuture<Broadcast> future() {
+		return future;
+	}
+	
+	public boolean isDone() {
+		return future.isDone();
+	}
+	
+	public boolean isDelivered(final UUID recipient) {
+		return delivered.contains(recipient);
+	}
+	
+	public Throwable getFailure(final UUID recipient) {
+		return failures.get(recipient);
+	}
+	
+	public int getRecipients() {
+		return recipients;
+	}
+	
+	public int getPending() {
+		return remaining.get();
+	}
+	
+	public Set<UUID> getDelivered() {
+		return Collections.unmodifiableSet(delivered);
+	}
+	
+	public Map<UUID, Throwable> getFailures() {
+		return Collections.unmodifiableMap(failures);
+	}
+	
+	@Override
+	public String toString() {
+		return new StringBuilder("Broadcast(").append(delivered.size()).append('/').append(recipients).append(" delivered, ").append(failures.size()).append(" failed)").toString();
+	}
+	
+}
@@ -0,0 +1,78 @@
+package me.nulldoubt.netx.binaries;
+
+import me.nulldoubt.netx.binaries.connection.GroupCipher;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class BroadcastGroup {
+	
+	private final int id;
+	private final Set<UUID> members;
+	private volatile GroupCipher cipher;
+	private volatile boolean stale;
+	
+	public BroadcastGroup(final GroupCipher cipher) {
+		this.id = cipher.getGroup();
+		this.cipher = cipher;
+		members = ConcurrentHashMap.newKeySet();
+		stale = false;
+	}
+	
+	public boolean add(final UUID member) {
+		return members.add(member);
+	}
+	
+	public boolean remove(final UUID member) {
+		return members.remove(member);
+	}
+	
+	public boolean contains(final UUID member) {
+		return members.contains(member);
+	}
+	
+	public void clear() {
+		members.clear();
+	}
+	
+	public int getId() {
+		return id;
+	}
+	
+	public int getEpoch() {
+		return cipher.getEpoch();
+	}
+	
+	public GroupCipher getCipher() {
+		return cipher;
+	}
+	
+	public void setCipher(final GroupCipher cipher) {
+		this.cipher = cipher;
+		stale = false;
+	}
+	
+	public boolean isStale() {
+		return stale;
+	}
+	
+	public void setStale(final boolean stale) {
+		this.stale = stale;
+	}
+	
+	public Set<UUID> getMembers() {
+		return Collections.unmodifiableSet(members);
+	}
+	
+	public int size() {
+		return members.size();
+	}
+	
+	@Override
+	public String toString() {
+		return new StringBuilder("BroadcastGroup(").append(id).append(", epoch ").append(getEpoch()).append(", ").append(members.size()).append(" members)").toString();
+	}
+	
+}
@@ -17,6 +17,16 @@ public abstract class Request implements Serializable {
 		this.requestId = requestId;
 	}
 	
+	protected Request(final Request header) {
+		this(header.getRequestId(), header.getUUID(), header.getSender());
+	}
+	
+	protected Request(final int requestId, final UUID uuid, final UUID sender) {
+		this.uuid = uuid;
+		this.requestId = requestId;
+		this.sender = sender;
+	}
+	
 	public final void setSender(final UUID sender) {
 		if (this.sender != null)
 			return;
@@ -0,0 +1,11 @@
+package me.nulldoubt.netx.binaries.codecs;
+
+import me.nulldoubt.netx.exceptions.CompilationException;
+
+public interface Codec<T> {
+	
+	void encode(final T t, final CodecOutput output) throws CompilationException;
+	
+	T decode(final CodecInput input) throws CompilationException;
+	
+}
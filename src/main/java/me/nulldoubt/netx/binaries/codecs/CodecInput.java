@@ -0,0 +1,158 @@
+package me.nulldoubt.netx.binaries.codecs;
+
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.exceptions.CompilationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+public final class CodecInput {
+	
+	private final byte[] buffer;
+	private final int limit;
+	private int position;
+	
+	private Request header;
+	
+	public CodecInput(final byte[] buffer) {
+		this(buffer, 0, buffer.length);
+	}
+	
+	public CodecInput(final byte[] buffer, final int offset, final int length) {
+		Objects.checkFromIndexSize(offset, length, buffer.length);
+		this.buffer = buffer;
+		this.limit = (offset + length);
+		this.position = offset;
+	}
+	
+	public boolean readBoolean() throws CompilationException {
+		return (readByte() != 0);
+	}
+	
+	public byte readByte() throws CompilationException {
+		require(1);
+		return buffer[position++];
+	}
+	
+	public short readShort() throws CompilationException {
+		require(Short.BYTES);
+		return (short) (((buffer[position++] & 0xFF) << 8) | (buffer[position++] & 0xFF));
+	}
+	
+	public char readChar() throws CompilationException {
+		return (char) readShort();
+	}
+	
+	public int readInt() throws CompilationException {
+		require(Integer.BYTES);
+		return (((buffer[position++] & 0xFF) << 24) | ((buffer[position++] & 0xFF) << 16) | ((buffer[position++] & 0xFF) << 8) | (buffer[position++] & 0xFF));
+	}
+	
+	public long readLong() throws CompilationException {
+		require(Long.BYTES);
+		long value = 0;
+		for (int i = 0; i < Long.BYTES; i++)
+			value = ((value << 8) | (buffer[position++] & 0xFF));
+		return value;
+	}
+	
+	public float readFloat() throws CompilationException {
+		return Float.intBitsToFloat(readInt());
+	}
+	
+	public double readDouble() throws CompilationException {
+		return Double.longBitsToDouble(readLong());
+	}
+	
+	public int readVarInt() throws CompilationException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			final byte b = readByte();
+			value |= ((b & 0x7F) << shift);
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new CompilationException("Malformed variable-length int");
+	}
+	
+	public long readVarLong() throws CompilationException {
+		long value = 0;
+		for (int shift = 0; shift < 70; shift += 7) {
+			final byte b = readByte();
+			value |= ((long) (b & 0x7F) << shift);
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new CompilationException("Malformed variable-length long");
+	}
+	
+	public String readString() throws CompilationException {
+		final int length = (readVarInt() - 1);
+		if (length == -1)
+			return null;
+		require(length);
+		final String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+		position += length;
+		return value;
+	}
+	
+	public byte[] readBytes() throws CompilationException {
+		final int length = (readVarInt() - 1);
+		if (length == -1)
+			return null;
+		require(length);
+		final byte[] value = Arrays.copyOfRange(buffer, position, (position + length));
+		position += length;
+		return value;
+	}
+	
+	public int readLength() throws CompilationException {
+		final int length = (readVarInt() - 1);
+		if (length == -1)
+			return -1;
+		if ((length < 0) || (length > (limit - position)))
+			throw new CompilationException("Invalid element count " + length + " for " + (limit - position) + " remaining bytes");
+		return length;
+	}
+	
+	public int readOrdinal(final int constants) throws CompilationException {
+		final int ordinal = (readVarInt() - 1);
+		if ((ordinal < -1) || (ordinal >= constants))
+			throw new CompilationException("Invalid ordinal " + ordinal + " for " + constants + " constants");
+		return ordinal;
+	}
+	
+	public UUID readUUID() throws CompilationException {
+		if (!(readBoolean()))
+			return null;
+		return new UUID(readLong(), readLong());
+	}
+	
+	public Request header() {
+		return header;
+	}
+	
+	public void header(final Request header) {
+		this.header = header;
+	}
+	
+	public byte[] getBuffer() {
+		return buffer;
+	}
+	
+	public int position() {
+		return position;
+	}
+	
+	public int remaining() {
+		return (limit - position);
+	}
+	
+	private void require(final int length) throws CompilationException {
+		if ((length < 0) || (length > (limit - position)))
+			throw new CompilationException("Unexpected end of buffer, required " + length + " of " + (limit - position) + " remaining bytes");
+	}
+	
+}
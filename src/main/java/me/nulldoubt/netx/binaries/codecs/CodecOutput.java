@@ -0,0 +1,149 @@
+package me.nulldoubt.netx.binaries.codecs;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+public final class CodecOutput extends OutputStream {
+	
+	private byte[] buffer;
+	private int position;
+	
+	public CodecOutput() {
+		this(64);
+	}
+	
+	public CodecOutput(final int capacity) {
+		buffer = new byte[Math.max(capacity, 16)];
+		position = 0;
+	}
+	
+	@Override
+	public void write(final int b) {
+		ensure(1);
+		buffer[position++] = (byte) b;
+	}
+	
+	@Override
+	public void write(final byte[] bytes, final int offset, final int length) {
+		ensure(length);
+		System.arraycopy(bytes, offset, buffer, position, length);
+		position += length;
+	}
+	
+	public CodecOutput writeBoolean(final boolean value) {
+		write(value ? 1 : 0);
+		return this;
+	}
+	
+	public CodecOutput writeByte(final byte value) {
+		write(value);
+		return this;
+	}
+	
+	public CodecOutput writeShort(final short value) {
+		ensure(Short.BYTES);
+		buffer[position++] = (byte) (value >>> 8);
+		buffer[position++] = (byte) value;
+		return this;
+	}
+	
+	public CodecOutput writeChar(final char value) {
+		return writeShort((short) value);
+	}
+	
+	public CodecOutput writeInt(final int value) {
+		ensure(Integer.BYTES);
+		buffer[position++] = (byte) (value >>> 24);
+		buffer[position++] = (byte) (value >>> 16);
+		buffer[position++] = (byte) (value >>> 8);
+		buffer[position++] = (byte) value;
+		return this;
+	}
+	
+	public CodecOutput writeLong(final long value) {
+		ensure(Long.BYTES);
+		for (int shift = 56; shift >= 0; shift -= 8)
+			buffer[position++] = (byte) (value >>> shift);
+		return this;
+	}
+	
+	public CodecOutput writeFloat(final float value) {
+		return writeInt(Float.floatToIntBits(value));
+	}
+	
+	public CodecOutput writeDouble(final double value) {
+		return writeLong(Double.doubleToLongBits(value));
+	}
+	
+	public CodecOutput writeVarInt(final int value) {
+		ensure(5);
+		int remaining = value;
+		while ((remaining & ~0x7F) != 0) {
+			buffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		buffer[position++] = (byte) remaining;
+		return this;
+	}
+	
+	public CodecOutput writeVarLong(final long value) {
+		ensure(10);
+		long remaining = value;
+		while ((remaining & ~0x7FL) != 0) {
+			buffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		buffer[position++] = (byte) remaining;
+		return this;
+	}
+	
+	public CodecOutput writeString(final String value) {
+		if (value == null)
+			return writeVarInt(0);
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length + 1);
+		write(bytes, 0, bytes.length);
+		return this;
+	}
+	
+	public CodecOutput writeBytes(final byte[] value) {
+		if (value == null)
+			return writeVarInt(0);
+		writeVarInt(value.length + 1);
+		write(value, 0, value.length);
+		return this;
+	}
+	
+	public CodecOutput writeUUID(final UUID value) {
+		if (value == null)
+			return writeBoolean(false);
+		writeBoolean(true);
+		writeLong(value.getMostSignificantBits());
+		return writeLong(value.getLeastSignificantBits());
+	}
+	
+	public byte[] toByteArray() {
+		return Arrays.copyOf(buffer, position);
+	}
+	
+	public byte[] getBuffer() {
+		return buffer;
+	}
+	
+	public int size() {
+		return position;
+	}
+	
+	public void reset() {
+		position = 0;
+	}
+	
+	private void ensure(final int length) {
+		if (length <= (buffer.length - position))
+			return;
+		buffer = Arrays.copyOf(buffer, Math.max((buffer.length << 1), (position + length)));
+	}
+	
+}
@@ -0,0 +1,108 @@
+package me.nulldoubt.netx.binaries.codecs;
+
+import me.nulldoubt.netx.binaries.ErrorResponse;
+import me.nulldoubt.netx.exceptions.CompilationException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class CodecRegistry {
+	
+	public static final int TYPE_SERIAL;
+	public static final int TYPE_ERROR_RESPONSE;
+	
+	static {
+		TYPE_SERIAL = 0;
+		TYPE_ERROR_RESPONSE = -1;
+	}
+	
+	private final Map<Class<?>, Registration<?>> types;
+	private final Map<Integer, Registration<?>> ids;
+	
+	public CodecRegistry() {
+		types = new ConcurrentHashMap<>();
+		ids = new ConcurrentHashMap<>();
+		put(new Registration<>(TYPE_ERROR_RESPONSE, ErrorResponse.class, new Codec<>() {
+			
+			@Override
+			public void encode(final ErrorResponse response, final CodecOutput output) {
+				output.writeString(response.getError());
+			}
+			
+			@Override
+			public ErrorResponse decode(final CodecInput input) {
+				return new ErrorResponse(input.readString(), input.header());
+			}
+			
+		}));
+	}
+	
+	public <T> void register(final int typeId, final Class<T> type, final Codec<T> codec) {
+		if (typeId <= TYPE_SERIAL)
+			throw new CompilationException("Codec type id has to be positive: " + typeId);
+		put(new Registration<>(typeId, type, codec));
+	}
+	
+	private synchronized void put(final Registration<?> registration) {
+		if (ids.containsKey(registration.getTypeId()))
+			throw new CompilationException("Codec type id " + registration.getTypeId() + " is already registered for " + ids.get(registration.getTypeId()).getType().getName());
+		if (types.containsKey(registration.getType()))
+			throw new CompilationException("Codec for " + registration.getType().getName() + " is already registered");
+		ids.put(registration.getTypeId(), registration);
+		types.put(registration.getType(), registration);
+	}
+	
+	public synchronized boolean unregister(final Class<?> type) {
+		final Registration<?> registration = types.get(type);
+		if ((registration == null) || (registration.getTypeId() <= TYPE_SERIAL))
+			return false;
+		types.remove(type);
+		ids.remove(registration.getTypeId());
+		return true;
+	}
+	
+	@SuppressWarnings("unchecked")
+	public <T> Registration<T> getRegistration(final Class<T> type) {
+		return (Registration<T>) types.get(type);
+	}
+	
+	public Registration<?> getRegistration(final int typeId) {
+		return ids.get(typeId);
+	}
+	
+	public int getRegisteredCodecs() {
+		return (ids.size() - 1);
+	}
+	
+	public static final class Registration<T> {
+		
+		private final int typeId;
+		private final Class<T> type;
+		private final Codec<T> codec;
+		
+		private Registration(final int typeId, final Class<T> type, final Codec<T> codec) {
+			this.typeId = typeId;
+			this.type = type;
+			this.codec = codec;
+		}
+		
+		public int getTypeId() {
+			return typeId;
+		}
+		
+		public Class<T> getType() {
+			return type;
+		}
+		
+		public Codec<T> getCodec() {
+			return codec;
+		}
+		
+		@SuppressWarnings("unchecked")
+		public void encode(final Object value, final CodecOutput output) throws CompilationException {
+			codec.encode((T) value, output);
+		}
+		
+	}
+	
+}
@@ -1,45 +1,28 @@
 package me.nulldoubt.netx.binaries.compilers;
 
 import me.nulldoubt.netx.binaries.Request;
-import me.nulldoubt.netx.binaries.configurations.Configuration;
+import me.nulldoubt.netx.binaries.codecs.CodecInput;
+import me.nulldoubt.netx.binaries.codecs.CodecOutput;
+import me.nulldoubt.netx.binaries.configurations.RegistryConfiguration;
 import me.nulldoubt.netx.exceptions.CompilationException;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-
-public final class RequestCompiler extends Configuration<Request> {
+public final class RequestCompiler extends RegistryConfiguration<Request> {
+	
+	public RequestCompiler() {
+		super(Request.class);
+	}
 	
 	@Override
-	public Request compile(final byte[] buffer) throws CompilationException {
-		try {
-			final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(buffer);
-			final ObjectInputStream objectInputStream = new ObjectInputStream(byteArrayInputStream);
-			final Object object = objectInputStream.readObject();
-			if (!(object instanceof Request request))
-				throw new CompilationException("Compiled object isn't an instance of Request: " + object.toString());
-			objectInputStream.close();
-			byteArrayInputStream.close();
-			return request;
-		} catch (Exception e) {
-			throw new CompilationException(e);
-		}
+	protected void compileHeader(final CodecInput input) throws CompilationException {
+		final int requestId = input.readInt();
+		input.header(new RequestHeader(requestId, input.readUUID(), input.readUUID()));
 	}
 	
 	@Override
-	public byte[] decompile(final Request request) throws CompilationException {
-		try {
-			final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-			final ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
-			objectOutputStream.writeObject(request);
-			final byte[] buffer = byteArrayOutputStream.toByteArray();
-			objectOutputStream.close();
-			byteArrayOutputStream.close();
-			return buffer;
-		} catch (Exception e) {
-			throw new CompilationException(e);
-		}
+	protected void decompileHeader(final Request request, final CodecOutput output) throws CompilationException {
+		output.writeInt(request.getRequestId());
+		output.writeUUID(request.getUUID());
+		output.writeUUID(request.getSender());
 	}
 	
 }
@@ -0,0 +1,16 @@
+package me.nulldoubt.netx.binaries.compilers;
+
+import me.nulldoubt.netx.binaries.Request;
+
+import java.util.UUID;
+
+final class RequestHeader extends Request {
+	
+	@java.io.Serial
+	private static final long serialVersionUID = 7281947465010483162L;
+	
+	RequestHeader(final int requestId, final UUID uuid, final UUID sender) {
+		super(requestId, uuid, sender);
+	}
+	
+}
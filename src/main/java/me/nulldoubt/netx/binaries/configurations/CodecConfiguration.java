@@ -0,0 +1,37 @@
+package me.nulldoubt.netx.binaries.configurations;
+
+import me.nulldoubt.netx.binaries.codecs.Codec;
+import me.nulldoubt.netx.binaries.codecs.CodecInput;
+import me.nulldoubt.netx.binaries.codecs.CodecOutput;
+import me.nulldoubt.netx.exceptions.CompilationException;
+
+public final class CodecConfiguration<T> extends Configuration<T> {
+	
+	private final Codec<T> codec;
+	
+	public CodecConfiguration(final Codec<T> codec) {
+		this.codec = codec;
+	}
+	
+	@Override
+	public T compile(final byte[] buffer) throws CompilationException {
+		return codec.decode(new CodecInput(buffer));
+	}
+	
+	@Override
+	public T compile(final byte[] buffer, final int offset, final int length) throws CompilationException {
+		return codec.decode(new CodecInput(buffer, offset, length));
+	}
+	
+	@Override
+	public byte[] decompile(final T t) throws CompilationException {
+		final CodecOutput output = new CodecOutput();
+		codec.encode(t, output);
+		return output.toByteArray();
+	}
+	
+	public Codec<T> getCodec() {
+		return codec;
+	}
+	
+}
@@ -1,11 +1,20 @@
 package me.nulldoubt.netx.binaries.configurations;
 
+import me.nulldoubt.netx.binaries.codecs.CodecRegistry;
 import me.nulldoubt.netx.exceptions.CompilationException;
 
+import java.util.Arrays;
+
 public abstract class Configuration<T> {
 	
 	public abstract T compile(final byte[] buffer) throws CompilationException;
 	
+	public T compile(final byte[] buffer, final int offset, final int length) throws CompilationException {
+		return compile(Arrays.copyOfRange(buffer, offset, (offset + length)));
+	}
+	
 	public abstract byte[] decompile(final T t) throws CompilationException;
 	
+	public void bind(final CodecRegistry registry) {}
+	
 }
@@ -0,0 +1,90 @@
+package me.nulldoubt.netx.binaries.configurations;
+
+import me.nulldoubt.netx.binaries.codecs.CodecInput;
+import me.nulldoubt.netx.binaries.codecs.CodecOutput;
+import me.nulldoubt.netx.binaries.codecs.CodecRegistry;
+import me.nulldoubt.netx.exceptions.CompilationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+public abstract class RegistryConfiguration<T> extends Configuration<T> {
+	
+	private final Class<T> type;
+	private CodecRegistry registry;
+	
+	protected RegistryConfiguration(final Class<T> type) {
+		this.type = type;
+		registry = new CodecRegistry();
+	}
+	
+	@Override
+	public void bind(final CodecRegistry registry) {
+		this.registry = registry;
+	}
+	
+	public CodecRegistry getRegistry() {
+		return registry;
+	}
+	
+	@Override
+	public T compile(final byte[] buffer) throws CompilationException {
+		return compile(buffer, 0, buffer.length);
+	}
+	
+	@Override
+	public T compile(final byte[] buffer, final int offset, final int length) throws CompilationException {
+		final CodecInput input = new CodecInput(buffer, offset, length);
+		final int typeId = input.readVarInt();
+		final Object object;
+		if (typeId == CodecRegistry.TYPE_SERIAL)
+			object = deserialize(buffer, input.position(), input.remaining());
+		else {
+			final CodecRegistry.Registration<?> registration = registry.getRegistration(typeId);
+			if (registration == null)
+				throw new CompilationException("No codec registered for type id " + typeId);
+			compileHeader(input);
+			object = registration.getCodec().decode(input);
+		}
+		if (!(type.isInstance(object)))
+			throw new CompilationException("Compiled object isn't an instance of " + type.getSimpleName() + ": " + object);
+		return type.cast(object);
+	}
+	
+	@Override
+	public byte[] decompile(final T t) throws CompilationException {
+		final CodecRegistry.Registration<?> registration = registry.getRegistration(t.getClass());
+		final CodecOutput output = new CodecOutput();
+		if (registration == null) {
+			output.writeVarInt(CodecRegistry.TYPE_SERIAL);
+			serialize(t, output);
+			return output.toByteArray();
+		}
+		output.writeVarInt(registration.getTypeId());
+		decompileHeader(t, output);
+		registration.encode(t, output);
+		return output.toByteArray();
+	}
+	
+	protected void compileHeader(final CodecInput input) throws CompilationException {}
+	
+	protected void decompileHeader(final T t, final CodecOutput output) throws CompilationException {}
+	
+	private Object deserialize(final byte[] buffer, final int offset, final int length) throws CompilationException {
+		try (final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(buffer, offset, length))) {
+			return objectInputStream.readObject();
+		} catch (Exception e) {
+			throw new CompilationException(e);
+		}
+	}
+	
+	private void serialize(final T t, final CodecOutput output) throws CompilationException {
+		try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(output)) {
+			objectOutputStream.writeObject(t);
+		} catch (Exception e) {
+			throw new CompilationException(e);
+		}
+	}
+	
+}
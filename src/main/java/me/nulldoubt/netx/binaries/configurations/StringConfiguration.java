@@ -9,6 +9,11 @@ public final class StringConfiguration extends Configuration<String> {
 		return new String(buffer);
 	}
 	
+	@Override
+	public String compile(final byte[] buffer, final int offset, final int length) throws CompilationException {
+		return new String(buffer, offset, length);
+	}
+	
 	@Override
 	public byte[] decompile(final String string) throws CompilationException {
 		return string.getBytes();
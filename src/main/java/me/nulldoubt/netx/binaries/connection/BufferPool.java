@@ -0,0 +1,86 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public final class BufferPool {
+	
+	public static final BufferPool DEFAULT;
+	
+	private static final int MIN_SHIFT;
+	private static final byte[] EMPTY;
+	
+	static {
+		MIN_SHIFT = 6;
+		EMPTY = new byte[0];
+		DEFAULT = new BufferPool(65536, 64);
+	}
+	
+	private final Queue<byte[]>[] classes;
+	private final AtomicIntegerArray sizes;
+	private final int capacity;
+	
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public BufferPool(final int maxPooledSize, final int capacity) {
+		final int shift = Math.max(MIN_SHIFT, (32 - Integer.numberOfLeadingZeros(Math.max(1, maxPooledSize) - 1)));
+		classes = new Queue[(shift - MIN_SHIFT) + 1];
+		for (int i = 0; i < classes.length; i++)
+			classes[i] = new ConcurrentLinkedQueue<>();
+		sizes = new AtomicIntegerArray(classes.length);
+		this.capacity = capacity;
+	}
+	
+	public byte[] acquire(final int length) {
+		if (length == 0)
+			return EMPTY;
+		final int index = index(length);
+		if (index >= classes.length)
+			return new byte[length];
+		final byte[] buffer = classes[index].poll();
+		if (buffer == null)
+			return new byte[1 << (index + MIN_SHIFT)];
+		sizes.decrementAndGet(index);
+		return buffer;
+	}
+	
+	public void release(final byte[] buffer) {
+		if ((buffer == null) || (buffer.length == 0))
+			return;
+		final int index = index(buffer.length);
+		if ((index >= classes.length) || ((1 << (index + MIN_SHIFT)) != buffer.length))
+			return;
+		if (sizes.incrementAndGet(index) > capacity) {
+			sizes.decrementAndGet(index);
+			return;
+		}
+		classes[index].offer(buffer);
+	}
+	
+	public int getPooledBuffers() {
+		int pooled = 0;
+		for (int i = 0; i < classes.length; i++)
+			pooled += sizes.get(i);
+		return pooled;
+	}
+	
+	public long getPooledBytes() {
+		long pooled = 0;
+		for (int i = 0; i < classes.length; i++)
+			pooled += ((long) sizes.get(i) << (i + MIN_SHIFT));
+		return pooled;
+	}
+	
+	public int getMaxPooledSize() {
+		return (1 << ((classes.length - 1) + MIN_SHIFT));
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	private static int index(final int length) {
+		return Math.max(0, ((32 - Integer.numberOfLeadingZeros(length - 1)) - MIN_SHIFT));
+	}
+	
+}
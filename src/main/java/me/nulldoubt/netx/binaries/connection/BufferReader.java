@@ -9,16 +9,44 @@ import java.io.InputStream;
 public final class BufferReader {
 	
 	private final DataInputStream inputStream;
+	private final BufferPool pool;
+	private final int maxFrameSize;
+	private final ChannelAssembler assembler;
 	
 	public BufferReader(final InputStream inputStream) {
+		this(inputStream, BufferPool.DEFAULT, NetX.NETWORK_MAX_FRAME_SIZE);
+	}
+	
+	public BufferReader(final InputStream inputStream, final BufferPool pool, final int maxFrameSize) {
 		this.inputStream = new DataInputStream(inputStream);
+		this.pool = pool;
+		this.maxFrameSize = maxFrameSize;
+		assembler = new ChannelAssembler(pool, maxFrameSize);
 	}
 	
 	public NetX.SignalHolder read() throws IOException {
-		final byte[] buffer = new byte[inputStream.readInt()];
-		final byte signalModifier = inputStream.readByte();
-		inputStream.readFully(buffer);
-		return new NetX.SignalHolder(signalModifier, buffer);
+		try {
+			while (true) {
+				final int length = inputStream.readInt();
+				FrameDecoder.checkLength(length, maxFrameSize);
+				final byte signalModifier = inputStream.readByte();
+				final byte flags = inputStream.readByte();
+				final int channel = inputStream.readUnsignedShort();
+				final byte[] buffer = pool.acquire(length);
+				try {
+					inputStream.readFully(buffer, 0, length);
+				} catch (IOException e) {
+					pool.release(buffer);
+					throw e;
+				}
+				final NetX.SignalHolder holder = assembler.accept(signalModifier, flags, channel, buffer, length);
+				if (holder != null)
+					return holder;
+			}
+		} catch (IOException e) {
+			assembler.release();
+			throw e;
+		}
 	}
 	
 	public void close() throws IOException {
@@ -2,30 +2,242 @@ package me.nulldoubt.netx.binaries.connection;
 
 import me.nulldoubt.netx.NetX;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 public final class BufferWriter {
 	
-	private final DataOutputStream outputStream;
+	private static final int HEADER_LENGTH;
+	
+	static {
+		HEADER_LENGTH = FrameDecoder.HEADER_LENGTH;
+	}
+	
+	private final OutputStream outputStream;
+	private final WritableByteChannel channel;
+	private final FlushPolicy policy;
+	private final int fragmentSize;
+	private final AtomicInteger waiting;
+	private final ReentrantLock lock;
+	private final int capacity;
+	
+	private byte[] buffer;
+	private int position;
+	
+	private boolean scheduled;
+	private IOException failure;
 	
 	public BufferWriter(final OutputStream outputStream) {
-		this.outputStream = new DataOutputStream(outputStream);
+		this(outputStream, FlushPolicy.DEFAULT);
+	}
+	
+	public BufferWriter(final OutputStream outputStream, final FlushPolicy policy) {
+		this(outputStream, policy, NetX.NETWORK_FRAGMENT_SIZE);
+	}
+	
+	public BufferWriter(final OutputStream outputStream, final FlushPolicy policy, final int fragmentSize) {
+		this(outputStream, null, policy, fragmentSize);
+	}
+	
+	public BufferWriter(final OutputStream outputStream, final WritableByteChannel channel, final FlushPolicy policy, final int fragmentSize) {
+		this.outputStream = outputStream;
+		this.channel = ((channel == null) ? Channels.newChannel(outputStream) : channel);
+		this.policy = policy;
+		this.fragmentSize = Math.max(1, fragmentSize);
+		waiting = new AtomicInteger();
+		lock = new ReentrantLock();
+		capacity = Math.max(policy.getCapacity(), HEADER_LENGTH);
+		buffer = new byte[capacity];
+		position = 0;
+		scheduled = false;
 	}
 	
 	public void write(final NetX.SignalModifier modifier, final byte[] buffer) throws IOException {
-		outputStream.writeInt(buffer.length);
-		outputStream.writeByte(modifier.getModifier());
-		outputStream.write(buffer, 0, buffer.length);
+		write(modifier, buffer, 0, buffer.length);
+	}
+	
+	public void write(final NetX.SignalModifier modifier, final byte[] buffer, final int offset, final int length) throws IOException {
+		write(modifier, 0, buffer, offset, length);
+	}
+	
+	public void write(final NetX.SignalModifier modifier, final int channel, final byte[] buffer, final int offset, final int length) throws IOException {
+		waiting.incrementAndGet();
+		lock.lock();
+		try {
+			waiting.decrementAndGet();
+			if (failure != null)
+				throw failure;
+			int written = 0;
+			do {
+				final int count = Math.min(fragmentSize, (length - written));
+				final boolean last = ((written + count) >= length);
+				append(modifier.getModifier(), (last ? 0 : FrameDecoder.FLAG_MORE), channel, buffer, (offset + written), count);
+				written += count;
+			} while (written < length);
+			if (waiting.get() > 0)
+				return;
+			if (policy.isLingering())
+				schedule();
+			else
+				flush();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public void write(final List<Fragment> fragments) throws IOException {
+		lock.lock();
+		try {
+			if (failure != null)
+				throw failure;
+			for (final Fragment fragment : fragments) {
+				final NetX.SignalHolder holder = fragment.getHolder();
+				if (fragment.isRegion())
+					transfer(fragment);
+				else
+					append(holder.getSignalModifier(), fragment.getFlags(), holder.getChannel(), holder.getBuffer(), fragment.getOffset(), fragment.getLength());
+			}
+			if (policy.isLingering())
+				schedule();
+			else
+				flush();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public void write(final NetX.SignalHolder holder) throws IOException {
+		final List<Fragment> fragments = new ArrayList<>();
+		int written = 0;
+		do {
+			final int count = Math.min(fragmentSize, (holder.getLength() - written));
+			fragments.add(new Fragment(holder, written, count, ((written + count) >= holder.getLength())));
+			written += count;
+		} while (written < holder.getLength());
+		write(fragments);
+	}
+	
+	private void transfer(final Fragment fragment) throws IOException {
+		restore();
+		final ByteBuffer header = fragment.getHeader();
+		final ByteBuffer payload = fragment.getPayload();
+		final int inline = payload.remaining();
+		if ((HEADER_LENGTH + inline) > (buffer.length - position))
+			drain();
+		if ((HEADER_LENGTH + inline) <= (buffer.length - position)) {
+			header.get(buffer, position, HEADER_LENGTH);
+			position += HEADER_LENGTH;
+			payload.get(buffer, position, inline);
+			position += inline;
+			drain();
+		} else {
+			outputStream.write(header.array(), 0, HEADER_LENGTH);
+			outputStream.write(payload.array(), payload.position(), inline);
+			header.position(HEADER_LENGTH);
+			payload.position(payload.limit());
+		}
 		outputStream.flush();
+		while (!(fragment.isWritten()))
+			fragment.transfer(channel);
+	}
+	
+	private void append(final byte modifier, final byte flags, final int channel, final byte[] payload, final int offset, final int length) throws IOException {
+		restore();
+		if ((HEADER_LENGTH + length) > (buffer.length - position))
+			drain();
+		buffer[position++] = (byte) (length >>> 24);
+		buffer[position++] = (byte) (length >>> 16);
+		buffer[position++] = (byte) (length >>> 8);
+		buffer[position++] = (byte) length;
+		buffer[position++] = modifier;
+		buffer[position++] = flags;
+		buffer[position++] = (byte) (channel >>> 8);
+		buffer[position++] = (byte) channel;
+		if (length <= (buffer.length - position)) {
+			System.arraycopy(payload, offset, buffer, position, length);
+			position += length;
+			return;
+		}
+		drain();
+		outputStream.write(payload, offset, length);
+	}
+	
+	private void restore() {
+		if (buffer == null)
+			buffer = new byte[capacity];
+	}
+	
+	public boolean release() {
+		lock.lock();
+		try {
+			if ((position != 0) || scheduled)
+				return false;
+			buffer = null;
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	private void schedule() throws IOException {
+		if (scheduled)
+			return;
+		try {
+			policy.getScheduler().schedule(this::linger, policy.getLinger(), TimeUnit.NANOSECONDS);
+			scheduled = true;
+		} catch (RejectedExecutionException e) {
+			flush();
+		}
+	}
+	
+	private void linger() {
+		lock.lock();
+		try {
+			scheduled = false;
+			flush();
+		} catch (IOException e) {
+			failure = e;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	private void drain() throws IOException {
+		if (position == 0)
+			return;
+		outputStream.write(buffer, 0, position);
+		position = 0;
+	}
+	
+	public void flush() throws IOException {
+		lock.lock();
+		try {
+			drain();
+			outputStream.flush();
+		} finally {
+			lock.unlock();
+		}
 	}
 	
 	public void close() throws IOException {
-		outputStream.close();
+		try {
+			flush();
+		} catch (IOException _) {
+		} finally {
+			outputStream.close();
+		}
 	}
 	
-	public DataOutputStream getOutputStream() {
+	public OutputStream getOutputStream() {
 		return outputStream;
 	}
 	
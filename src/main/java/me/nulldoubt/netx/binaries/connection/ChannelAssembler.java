@@ -0,0 +1,110 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class ChannelAssembler {
+	
+	private final BufferPool pool;
+	private final int maxFrameSize;
+	private final int maxPartials;
+	private final long maxReassemblySize;
+	private final Map<Integer, Partial> partials;
+	
+	private long reassembling;
+	
+	public ChannelAssembler(final BufferPool pool, final int maxFrameSize) {
+		this(pool, maxFrameSize, NetX.NETWORK_MAX_PARTIALS, Math.max(maxFrameSize, NetX.NETWORK_MAX_REASSEMBLY_SIZE));
+	}
+	
+	public ChannelAssembler(final BufferPool pool, final int maxFrameSize, final int maxPartials, final long maxReassemblySize) {
+		this.pool = pool;
+		this.maxFrameSize = maxFrameSize;
+		this.maxPartials = maxPartials;
+		this.maxReassemblySize = maxReassemblySize;
+		partials = new HashMap<>();
+		reassembling = 0;
+	}
+	
+	public NetX.SignalHolder accept(final byte signalModifier, final byte flags, final int channel, final byte[] buffer, final int length) throws IOException {
+		final boolean more = ((flags & FrameDecoder.FLAG_MORE) != 0);
+		Partial partial = partials.get(channel);
+		if ((partial == null) && !(more))
+			return new NetX.SignalHolder(signalModifier, channel, buffer, length, pool);
+		try {
+			if (partial == null) {
+				if (partials.size() >= maxPartials) {
+					release();
+					throw new IOException("Received fragment opening more than " + maxPartials + " partial messages");
+				}
+				partial = new Partial(signalModifier, pool.acquire((int) Math.max(length, Math.min(maxFrameSize, ((long) length << 1)))));
+				partials.put(channel, partial);
+			} else if (partial.signalModifier != signalModifier) {
+				release();
+				throw new IOException("Received fragment on channel " + channel + " with mismatched signal modifier");
+			}
+			append(partial, buffer, length);
+		} finally {
+			pool.release(buffer);
+		}
+		if (more)
+			return null;
+		partials.remove(channel);
+		reassembling -= partial.length;
+		return new NetX.SignalHolder(signalModifier, channel, partial.buffer, partial.length, pool);
+	}
+	
+	private void append(final Partial partial, final byte[] buffer, final int length) throws IOException {
+		final int required = (partial.length + length);
+		if ((required < 0) || (required > maxFrameSize)) {
+			release();
+			throw new IOException("Received fragmented frame exceeding maximum size: " + ((long) partial.length + length) + " > " + maxFrameSize);
+		}
+		if ((reassembling + length) > maxReassemblySize) {
+			release();
+			throw new IOException("Received fragments exceeding maximum reassembly size: " + (reassembling + length) + " > " + maxReassemblySize);
+		}
+		if (required > partial.buffer.length) {
+			final byte[] grown = pool.acquire((int) Math.min(maxFrameSize, Math.max(required, ((long) partial.buffer.length << 1))));
+			System.arraycopy(partial.buffer, 0, grown, 0, partial.length);
+			pool.release(partial.buffer);
+			partial.buffer = grown;
+		}
+		System.arraycopy(buffer, 0, partial.buffer, partial.length, length);
+		partial.length = required;
+		reassembling += length;
+	}
+	
+	public int getPartials() {
+		return partials.size();
+	}
+	
+	public long getReassemblySize() {
+		return reassembling;
+	}
+	
+	public void release() {
+		for (final Partial partial : partials.values())
+			pool.release(partial.buffer);
+		partials.clear();
+		reassembling = 0;
+	}
+	
+	private static final class Partial {
+		
+		private final byte signalModifier;
+		private byte[] buffer;
+		private int length;
+		
+		private Partial(final byte signalModifier, final byte[] buffer) {
+			this.signalModifier = signalModifier;
+			this.buffer = buffer;
+			length = 0;
+		}
+		
+	}
+	
+}
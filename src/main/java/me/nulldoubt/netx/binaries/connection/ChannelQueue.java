@@ -0,0 +1,133 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public final class ChannelQueue {
+	
+	static final int BATCH_FRAGMENTS;
+	
+	static {
+		BATCH_FRAGMENTS = 4;
+	}
+	
+	private final Map<Integer, Lane> lanes;
+	private final ArrayDeque<Lane> ring;
+	private int size;
+	
+	public ChannelQueue() {
+		lanes = new HashMap<>();
+		ring = new ArrayDeque<>();
+		size = 0;
+	}
+	
+	public void add(final NetX.SignalHolder message) {
+		Lane lane = lanes.get(message.getChannel());
+		if (lane == null) {
+			lane = new Lane();
+			lanes.put(message.getChannel(), lane);
+			ring.add(lane);
+		}
+		lane.messages.add(message);
+		size++;
+	}
+	
+	public Fragment next(final int fragmentSize) {
+		final Lane lane = ring.poll();
+		if (lane == null)
+			return null;
+		final NetX.SignalHolder message = lane.messages.peek();
+		final int offset = lane.offset;
+		final int length = Math.min(fragmentSize, (message.getLength() - offset));
+		final boolean last = ((offset + length) >= message.getLength());
+		if (last) {
+			lane.messages.poll();
+			lane.offset = 0;
+			size--;
+		} else
+			lane.offset += length;
+		if (lane.messages.isEmpty())
+			lanes.remove(message.getChannel());
+		else
+			ring.add(lane);
+		return new Fragment(message, offset, length, last);
+	}
+	
+	public NetX.SignalHolder dropOldest() {
+		for (final Lane lane : ring) {
+			final Iterator<NetX.SignalHolder> iterator = lane.messages.iterator();
+			if ((lane.offset > 0) && iterator.hasNext())
+				iterator.next();
+			if (!(iterator.hasNext()))
+				continue;
+			final NetX.SignalHolder message = iterator.next();
+			iterator.remove();
+			size--;
+			if (lane.messages.isEmpty()) {
+				lanes.remove(message.getChannel());
+				ring.remove(lane);
+			}
+			return message;
+		}
+		return null;
+	}
+	
+	public void clear() {
+		for (final Lane lane : ring)
+			for (final NetX.SignalHolder message : lane.messages)
+				message.release();
+		lanes.clear();
+		ring.clear();
+		size = 0;
+	}
+	
+	public void clearPending() {
+		final ArrayDeque<Lane> sending = new ArrayDeque<>();
+		for (final Lane lane : ring) {
+			final NetX.SignalHolder head = ((lane.offset > 0) ? lane.messages.poll() : null);
+			for (final NetX.SignalHolder message : lane.messages)
+				message.release();
+			lane.messages.clear();
+			if (head != null) {
+				lane.messages.add(head);
+				sending.add(lane);
+			}
+		}
+		lanes.clear();
+		ring.clear();
+		for (final Lane lane : sending) {
+			lanes.put(lane.messages.getFirst().getChannel(), lane);
+			ring.add(lane);
+		}
+		size = sending.size();
+	}
+	
+	public boolean isEmpty() {
+		return (size == 0);
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public int getChannels() {
+		return lanes.size();
+	}
+	
+	private static final class Lane {
+		
+		private final ArrayDeque<NetX.SignalHolder> messages;
+		private int offset;
+		
+		private Lane() {
+			messages = new ArrayDeque<>();
+			offset = 0;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,94 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class CipherPool {
+	
+	private static final Map<NetX.CipherAlgorithm, CipherPool> POOLS;
+	
+	static {
+		POOLS = new EnumMap<>(NetX.CipherAlgorithm.class);
+		for (final NetX.CipherAlgorithm algorithm : NetX.CipherAlgorithm.values())
+			POOLS.put(algorithm, new CipherPool(algorithm, NetX.NETWORK_CIPHER_POOL_CAPACITY));
+	}
+	
+	public static CipherPool of(final NetX.CipherAlgorithm algorithm) {
+		return POOLS.get(algorithm);
+	}
+	
+	private final NetX.CipherAlgorithm algorithm;
+	private final Queue<Cipher> ciphers;
+	private final AtomicInteger size;
+	private final AtomicLong created;
+	private final int capacity;
+	
+	public CipherPool(final NetX.CipherAlgorithm algorithm, final int capacity) {
+		this.algorithm = algorithm;
+		this.capacity = capacity;
+		ciphers = new ConcurrentLinkedQueue<>();
+		size = new AtomicInteger();
+		created = new AtomicLong();
+	}
+	
+	public Cipher acquire() throws NoSuchAlgorithmException, NoSuchPaddingException {
+		final Cipher cipher = ciphers.poll();
+		if (cipher == null)
+			return create();
+		size.decrementAndGet();
+		return cipher;
+	}
+	
+	public void release(final Cipher cipher) {
+		if (cipher == null)
+			return;
+		if (size.incrementAndGet() > capacity) {
+			size.decrementAndGet();
+			return;
+		}
+		ciphers.offer(cipher);
+	}
+	
+	public int warm(final int count) throws NoSuchAlgorithmException, NoSuchPaddingException {
+		if (!(algorithm.isEncrypted()))
+			return 0;
+		final int target = Math.min(count, capacity);
+		int warmed = 0;
+		while (size.get() < target) {
+			release(create());
+			warmed++;
+		}
+		return warmed;
+	}
+	
+	private Cipher create() throws NoSuchAlgorithmException, NoSuchPaddingException {
+		created.incrementAndGet();
+		return Cipher.getInstance(algorithm.getAlgorithm());
+	}
+	
+	public NetX.CipherAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+	
+	public int getPooledCiphers() {
+		return size.get();
+	}
+	
+	public long getCreatedCiphers() {
+		return created.get();
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+}
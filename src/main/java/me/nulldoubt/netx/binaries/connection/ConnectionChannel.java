@@ -0,0 +1,170 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import me.nulldoubt.netx.exceptions.ConnectionException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ThreadFactory;
+
+public abstract class ConnectionChannel {
+	
+	private FlushPolicy flushPolicy;
+	private BufferPool bufferPool;
+	private int maxFrameSize;
+	private int outboundCapacity;
+	private int fragmentSize;
+	private NetX.OverflowPolicy overflowPolicy;
+	private ThreadFactory threadFactory;
+	
+	public ConnectionChannel() {
+		flushPolicy = FlushPolicy.DEFAULT;
+		bufferPool = BufferPool.DEFAULT;
+		maxFrameSize = NetX.NETWORK_MAX_FRAME_SIZE;
+		outboundCapacity = NetX.NETWORK_OUTBOUND_CAPACITY;
+		fragmentSize = NetX.NETWORK_FRAGMENT_SIZE;
+		overflowPolicy = NetX.OverflowPolicy.OVERFLOW_BLOCK;
+		threadFactory = new ConnectionThreadFactory();
+	}
+	
+	public abstract void open() throws IOException;
+	
+	public void write(final NetX.SignalModifier modifier, final byte[] buffer) throws IOException {
+		write(modifier, buffer, 0, buffer.length);
+	}
+	
+	public void write(final NetX.SignalModifier modifier, final byte[] buffer, final int offset, final int length) throws IOException {
+		write(modifier, 0, buffer, offset, length);
+	}
+	
+	public abstract void write(final NetX.SignalModifier modifier, final int channel, final byte[] buffer, final int offset, final int length) throws IOException;
+	
+	public void write(final SharedFrame frame) throws IOException {
+		write(frame.getSignalModifier(), frame.getChannel(), frame.getBuffer(), 0, frame.getLength());
+	}
+	
+	public void write(final NetX.SignalModifier modifier, final int channel, final byte[] prefix, final FileRegion region) throws IOException {
+		final int length = (prefix.length + region.getCount());
+		final byte[] buffer = bufferPool.acquire(length);
+		try {
+			System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+			region.read(buffer, prefix.length);
+			write(modifier, channel, buffer, 0, length);
+		} finally {
+			bufferPool.release(buffer);
+			region.release();
+		}
+	}
+	
+	public void writeReference(final NetX.SignalModifier modifier, final int channel, final Object reference) throws IOException {
+		throw new ConnectionException("Unable to write reference, channel only carries serialized frames");
+	}
+	
+	public boolean isByReference() {
+		return false;
+	}
+	
+	public void hibernate() {}
+	
+	public void pauseReading() {}
+	
+	public void resumeReading() {}
+	
+	public boolean isHibernating() {
+		return false;
+	}
+	
+	public abstract NetX.SignalHolder read() throws IOException;
+	
+	public abstract void close() throws IOException;
+	
+	public void register(final EventLoop loop, final ConnectionHandler handler, final SignalListener listener) throws IOException {
+		throw new ConnectionException("Unable to register channel, it can't be driven by an event loop");
+	}
+	
+	public FlushPolicy getFlushPolicy() {
+		return flushPolicy;
+	}
+	
+	public void setFlushPolicy(final FlushPolicy flushPolicy) {
+		this.flushPolicy = flushPolicy;
+	}
+	
+	public BufferPool getBufferPool() {
+		return bufferPool;
+	}
+	
+	public void setBufferPool(final BufferPool bufferPool) {
+		this.bufferPool = bufferPool;
+	}
+	
+	public int getMaxFrameSize() {
+		return maxFrameSize;
+	}
+	
+	public void setMaxFrameSize(final int maxFrameSize) {
+		this.maxFrameSize = maxFrameSize;
+	}
+	
+	public int getOutboundCapacity() {
+		return outboundCapacity;
+	}
+	
+	public void setOutboundCapacity(final int outboundCapacity) {
+		this.outboundCapacity = outboundCapacity;
+	}
+	
+	public int getFragmentSize() {
+		return fragmentSize;
+	}
+	
+	public void setFragmentSize(final int fragmentSize) {
+		this.fragmentSize = fragmentSize;
+	}
+	
+	public NetX.OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+	
+	public void setOverflowPolicy(final NetX.OverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
+	}
+	
+	public ThreadFactory getThreadFactory() {
+		return threadFactory;
+	}
+	
+	public void setThreadFactory(final ThreadFactory threadFactory) {
+		this.threadFactory = threadFactory;
+	}
+	
+	public abstract int getQueueDepth();
+	
+	public abstract long getDroppedFrames();
+	
+	public abstract InetAddress getHost();
+	
+	public abstract int getPort();
+	
+	protected static InetAddress hostOf(final SocketChannel channel) {
+		final SocketAddress address = remoteOf(channel);
+		return ((address instanceof InetSocketAddress inet) ? inet.getAddress() : InetAddress.getLoopbackAddress());
+	}
+	
+	protected static int portOf(final SocketChannel channel) {
+		final SocketAddress address = remoteOf(channel);
+		return ((address instanceof InetSocketAddress inet) ? inet.getPort() : 0);
+	}
+	
+	private static SocketAddress remoteOf(final SocketChannel channel) {
+		try {
+			return channel.getRemoteAddress();
+		} catch (IOException _) {
+			return null;
+		}
+	}
+	
+}
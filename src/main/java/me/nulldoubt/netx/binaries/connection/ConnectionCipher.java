@@ -1,26 +1,59 @@
 package me.nulldoubt.netx.binaries.connection;
 
 import me.nulldoubt.netx.NetX;
+import me.nulldoubt.netx.exceptions.ConnectionException;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 
 public final class ConnectionCipher {
 	
+	private static final int NONCE_LENGTH;
+	private static final int COUNTER_LENGTH;
+	private static final int TAG_LENGTH;
+	private static final int REPLAY_WINDOW;
+	
+	static {
+		NONCE_LENGTH = 12;
+		COUNTER_LENGTH = Long.BYTES;
+		TAG_LENGTH = 16;
+		REPLAY_WINDOW = 1024;
+	}
+	
 	private final NetX.CipherAlgorithm algorithm;
+	private final CipherPool pool;
+	private final Object decodeLock;
 	
 	private Cipher encoder;
 	private Cipher decoder;
 	
-	private boolean open;
+	private Key key;
+	private byte[] encodeNonce;
+	private byte[] decodeNonce;
+	private long counter;
+	private long received;
+	private long[] replay;
+	
+	private volatile boolean open;
 	
 	public ConnectionCipher(final NetX.CipherAlgorithm algorithm) {
+		this(algorithm, CipherPool.of(algorithm));
+	}
+	
+	public ConnectionCipher(final NetX.CipherAlgorithm algorithm, final CipherPool pool) {
 		this.algorithm = algorithm;
+		this.pool = pool;
+		decodeLock = new Object();
 		open = false;
 	}
 	
@@ -28,29 +61,326 @@ public final class ConnectionCipher {
 		return open;
 	}
 	
-	public void open(final Key key) throws InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException {
+	public synchronized void open(final Key key, final boolean initiator) throws InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException {
 		if (open)
 			return;
+		if (!(algorithm.isEncrypted())) {
+			open = true;
+			return;
+		}
 		
-		encoder = Cipher.getInstance(algorithm.getAlgorithm());
-		encoder.init(Cipher.ENCRYPT_MODE, key);
+		encoder = pool.acquire();
+		decoder = pool.acquire();
+		this.key = key;
 		
-		decoder = Cipher.getInstance(algorithm.getAlgorithm());
-		decoder.init(Cipher.DECRYPT_MODE, key);
+		if (algorithm.isAuthenticated()) {
+			encodeNonce = new byte[NONCE_LENGTH];
+			decodeNonce = new byte[NONCE_LENGTH];
+			encodeNonce[0] = (byte) (initiator ? 1 : 2);
+			decodeNonce[0] = (byte) (initiator ? 2 : 1);
+			counter = 0;
+			received = -1;
+			replay = new long[REPLAY_WINDOW / Long.SIZE];
+		} else {
+			try {
+				encoder.init(Cipher.ENCRYPT_MODE, key);
+				decoder.init(Cipher.DECRYPT_MODE, key);
+			} catch (InvalidKeyException e) {
+				pool.release(encoder);
+				pool.release(decoder);
+				encoder = null;
+				decoder = null;
+				throw e;
+			}
+		}
 		
 		open = true;
 	}
 	
+	public void close() {
+		final Cipher encoder;
+		final Cipher decoder;
+		synchronized (this) {
+			if (!(open))
+				return;
+			open = false;
+			encoder = this.encoder;
+			this.encoder = null;
+		}
+		synchronized (decodeLock) {
+			decoder = this.decoder;
+			this.decoder = null;
+		}
+		pool.release(encoder);
+		pool.release(decoder);
+	}
+	
+	public void hibernate() {
+		if (!(algorithm.isEncrypted()))
+			return;
+		final Cipher encoder;
+		final Cipher decoder;
+		synchronized (this) {
+			if (!(open))
+				return;
+			encoder = this.encoder;
+			this.encoder = null;
+		}
+		synchronized (decodeLock) {
+			decoder = this.decoder;
+			this.decoder = null;
+		}
+		pool.release(encoder);
+		pool.release(decoder);
+	}
+	
+	public boolean isHibernating() {
+		return (open && (encoder == null) && (decoder == null) && algorithm.isEncrypted());
+	}
+	
+	private Cipher encoder() throws GeneralSecurityException {
+		if (encoder == null)
+			encoder = restore(Cipher.ENCRYPT_MODE);
+		return encoder;
+	}
+	
+	private Cipher decoder() throws GeneralSecurityException {
+		if (decoder == null)
+			decoder = restore(Cipher.DECRYPT_MODE);
+		return decoder;
+	}
+	
+	private Cipher restore(final int mode) throws GeneralSecurityException {
+		final Cipher cipher = pool.acquire();
+		try {
+			if (!(algorithm.isAuthenticated()))
+				cipher.init(mode, key);
+		} catch (GeneralSecurityException e) {
+			pool.release(cipher);
+			throw e;
+		}
+		return cipher;
+	}
+	
 	public byte[] encode(final byte[] buffer) throws IllegalBlockSizeException, BadPaddingException {
-		return encoder.doFinal(buffer);
+		final byte[] output = new byte[getEncodeSize(buffer.length)];
+		return Arrays.copyOf(output, encode(buffer, 0, buffer.length, output));
 	}
 	
 	public byte[] decode(final byte[] buffer) throws IllegalBlockSizeException, BadPaddingException {
-		return decoder.doFinal(buffer);
+		final byte[] output = new byte[getDecodeSize(buffer.length)];
+		return Arrays.copyOf(output, decode(buffer, 0, buffer.length, output));
+	}
+	
+	public int encode(final byte[] buffer, final int offset, final int length, final byte[] output) throws IllegalBlockSizeException, BadPaddingException {
+		return encode(buffer, offset, length, output, 0);
+	}
+	
+	public synchronized int encode(final byte[] buffer, final int offset, final int length, final byte[] output, final int outputOffset) throws IllegalBlockSizeException, BadPaddingException {
+		if (!(open))
+			throw closed();
+		return encodeFrame(buffer, offset, length, output, outputOffset);
+	}
+	
+	private int encodeFrame(final byte[] buffer, final int offset, final int length, final byte[] output, final int outputOffset) throws IllegalBlockSizeException, BadPaddingException {
+		if (!(algorithm.isEncrypted())) {
+			System.arraycopy(buffer, offset, output, outputOffset, length);
+			return length;
+		}
+		try {
+			final Cipher encoder = encoder();
+			if (!(algorithm.isAuthenticated()))
+				return encoder.doFinal(buffer, offset, length, output, outputOffset);
+			final long frame = counter++;
+			writeCounter(encodeNonce, frame);
+			System.arraycopy(encodeNonce, (NONCE_LENGTH - COUNTER_LENGTH), output, outputOffset, COUNTER_LENGTH);
+			encoder.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec((TAG_LENGTH * Byte.SIZE), encodeNonce));
+			return (COUNTER_LENGTH + encoder.doFinal(buffer, offset, length, output, (outputOffset + COUNTER_LENGTH)));
+		} catch (ShortBufferException e) {
+			throw new IllegalBlockSizeException(e.getLocalizedMessage());
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to initialize cipher for frame: " + e.getLocalizedMessage(), e);
+		}
+	}
+	
+	public int decode(final byte[] buffer, final int offset, final int length, final byte[] output) throws IllegalBlockSizeException, BadPaddingException {
+		synchronized (decodeLock) {
+			if (!(open))
+				throw closed();
+			return decodeFrame(buffer, offset, length, output);
+		}
+	}
+	
+	private int decodeFrame(final byte[] buffer, final int offset, final int length, final byte[] output) throws IllegalBlockSizeException, BadPaddingException {
+		if (!(algorithm.isEncrypted())) {
+			System.arraycopy(buffer, offset, output, 0, length);
+			return length;
+		}
+		try {
+			final Cipher decoder = decoder();
+			if (!(algorithm.isAuthenticated()))
+				return decoder.doFinal(buffer, offset, length, output, 0);
+			if (length < (COUNTER_LENGTH + TAG_LENGTH))
+				throw new IllegalBlockSizeException("Frame too short to hold nonce and tag: " + length);
+			System.arraycopy(buffer, offset, decodeNonce, (NONCE_LENGTH - COUNTER_LENGTH), COUNTER_LENGTH);
+			final long frame = checkCounter(decodeNonce);
+			decoder.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec((TAG_LENGTH * Byte.SIZE), decodeNonce));
+			final int decoded = decoder.doFinal(buffer, (offset + COUNTER_LENGTH), (length - COUNTER_LENGTH), output, 0);
+			acceptCounter(frame);
+			return decoded;
+		} catch (ShortBufferException e) {
+			throw new IllegalBlockSizeException(e.getLocalizedMessage());
+		} catch (IllegalBlockSizeException | BadPaddingException e) {
+			throw e;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to initialize cipher for frame: " + e.getLocalizedMessage(), e);
+		}
+	}
+	
+	public synchronized int encode(final ByteBuffer input, final ByteBuffer output) throws IllegalBlockSizeException, BadPaddingException {
+		if (!(open))
+			throw closed();
+		return encodeFrame(input, output);
+	}
+	
+	private int encodeFrame(final ByteBuffer input, final ByteBuffer output) throws IllegalBlockSizeException, BadPaddingException {
+		if (!(algorithm.isEncrypted())) {
+			final int length = input.remaining();
+			output.put(input);
+			return length;
+		}
+		try {
+			final Cipher encoder = encoder();
+			if (!(algorithm.isAuthenticated()))
+				return encoder.doFinal(input, output);
+			final long frame = counter++;
+			writeCounter(encodeNonce, frame);
+			output.putLong(frame);
+			encoder.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec((TAG_LENGTH * Byte.SIZE), encodeNonce));
+			return (COUNTER_LENGTH + encoder.doFinal(input, output));
+		} catch (ShortBufferException e) {
+			throw new IllegalBlockSizeException(e.getLocalizedMessage());
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to initialize cipher for frame: " + e.getLocalizedMessage(), e);
+		}
+	}
+	
+	public int decode(final ByteBuffer input, final ByteBuffer output) throws IllegalBlockSizeException, BadPaddingException {
+		synchronized (decodeLock) {
+			if (!(open))
+				throw closed();
+			return decodeFrame(input, output);
+		}
+	}
+	
+	private int decodeFrame(final ByteBuffer input, final ByteBuffer output) throws IllegalBlockSizeException, BadPaddingException {
+		if (!(algorithm.isEncrypted())) {
+			final int length = input.remaining();
+			output.put(input);
+			return length;
+		}
+		try {
+			final Cipher decoder = decoder();
+			if (!(algorithm.isAuthenticated()))
+				return decoder.doFinal(input, output);
+			if (input.remaining() < (COUNTER_LENGTH + TAG_LENGTH))
+				throw new IllegalBlockSizeException("Frame too short to hold nonce and tag: " + input.remaining());
+			input.get(decodeNonce, (NONCE_LENGTH - COUNTER_LENGTH), COUNTER_LENGTH);
+			final long frame = checkCounter(decodeNonce);
+			decoder.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec((TAG_LENGTH * Byte.SIZE), decodeNonce));
+			final int decoded = decoder.doFinal(input, output);
+			acceptCounter(frame);
+			return decoded;
+		} catch (ShortBufferException e) {
+			throw new IllegalBlockSizeException(e.getLocalizedMessage());
+		} catch (IllegalBlockSizeException | BadPaddingException e) {
+			throw e;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to initialize cipher for frame: " + e.getLocalizedMessage(), e);
+		}
+	}
+	
+	public int getEncodeSize(final int length) {
+		if (!(algorithm.isEncrypted()))
+			return length;
+		if (algorithm.isAuthenticated())
+			return (COUNTER_LENGTH + length + TAG_LENGTH);
+		synchronized (this) {
+			if (!(open))
+				throw closed();
+			try {
+				return encoder().getOutputSize(length);
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException("Unable to restore cipher: " + e.getLocalizedMessage(), e);
+			}
+		}
+	}
+	
+	public int getDecodeSize(final int length) {
+		if (!(algorithm.isEncrypted()))
+			return length;
+		if (algorithm.isAuthenticated())
+			return Math.max(0, (length - COUNTER_LENGTH - TAG_LENGTH));
+		synchronized (decodeLock) {
+			if (!(open))
+				throw closed();
+			try {
+				return decoder().getOutputSize(length);
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException("Unable to restore cipher: " + e.getLocalizedMessage(), e);
+			}
+		}
+	}
+	
+	private static ConnectionException closed() {
+		return new ConnectionException("Unable to use cipher, it has been closed");
 	}
 	
 	public NetX.CipherAlgorithm getAlgorithm() {
 		return algorithm;
 	}
 	
+	private static void writeCounter(final byte[] nonce, final long counter) {
+		for (int i = 0; i < COUNTER_LENGTH; i++)
+			nonce[(NONCE_LENGTH - 1) - i] = (byte) (counter >>> (i * Byte.SIZE));
+	}
+	
+	private static long readCounter(final byte[] nonce) {
+		long counter = 0;
+		for (int i = (NONCE_LENGTH - COUNTER_LENGTH); i < NONCE_LENGTH; i++)
+			counter = ((counter << Byte.SIZE) | (nonce[i] & 0xFF));
+		return counter;
+	}
+	
+	private long checkCounter(final byte[] nonce) throws BadPaddingException {
+		final long frame = readCounter(nonce);
+		if (frame < 0)
+			throw new BadPaddingException("Frame counter out of range: " + Long.toUnsignedString(frame));
+		if (frame > received)
+			return frame;
+		if (((received - frame) >= REPLAY_WINDOW) || ((replay[replayIndex(frame)] & replayBit(frame)) != 0))
+			throw new BadPaddingException("Replayed frame counter: " + frame);
+		return frame;
+	}
+	
+	private void acceptCounter(final long frame) {
+		if (frame > received) {
+			if ((frame - received) >= REPLAY_WINDOW)
+				Arrays.fill(replay, 0L);
+			else
+				for (long skipped = (received + 1); skipped < frame; skipped++)
+					replay[replayIndex(skipped)] &= ~(replayBit(skipped));
+			received = frame;
+		}
+		replay[replayIndex(frame)] |= replayBit(frame);
+	}
+	
+	private static int replayIndex(final long frame) {
+		return (int) ((frame % REPLAY_WINDOW) / Long.SIZE);
+	}
+	
+	private static long replayBit(final long frame) {
+		return (1L << (frame % Long.SIZE));
+	}
+	
 }
@@ -3,11 +3,20 @@ package me.nulldoubt.netx.binaries.connection;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
-import java.util.Stack;
+import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import javax.crypto.BadPaddingException;
@@ -15,34 +24,79 @@ import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 
 import me.nulldoubt.netx.NetX;
+import me.nulldoubt.netx.binaries.Response;
 import me.nulldoubt.netx.exceptions.ConnectionException;
 
 public final class ConnectionHandler {
 	
-	private BufferReader reader;
-	private BufferWriter writer;
-	private Socket socket;
+	private static final int HEARTBEAT_PING;
+	private static final int HEARTBEAT_PONG;
+	private static final byte[] EMPTY;
+	
+	static {
+		HEARTBEAT_PING = 0;
+		HEARTBEAT_PONG = 1;
+		EMPTY = new byte[0];
+	}
+	
+	private final ConnectionChannel channel;
 	private UUID uuid;
 	
+	private final NetX.CipherAlgorithm algorithm;
 	private final ConnectionCipher cipher;
+	private final Map<Integer, GroupCipher> groups;
 	private final InetAddress host;
 	private final int port;
 	
-	private boolean open;
+	private volatile boolean open;
 	private boolean raw;
 	
 	private Thread networkThread;
+	private SerialExecutor executor;
+	
+	private final Queue<Consumer<?>> awaitConsumers;
+	private final Map<UUID, Consumer<Response>> pendingRequests;
+	
+	private final AtomicInteger streamIds;
+	private final Map<Integer, StreamOutput> outputStreams;
+	private final Map<Integer, StreamInput> inputStreams;
 	
-	private Stack<Consumer<?>> awaitConsumers;
+	private volatile long lastRead;
+	private volatile long lastWrite;
+	private volatile long lastActive;
+	private volatile long hibernatedSince;
+	private volatile boolean hibernating;
+	private volatile boolean paused;
+	private TimingWheel timer;
+	private Executor inspector;
+	private volatile TimingWheel.Timeout watchdog;
+	private long heartbeat;
+	private long idleTimeout;
+	private long hibernation;
+	private Runnable idleListener;
 	
 	public ConnectionHandler(final NetX.CipherAlgorithm algorithm, final Socket socket) {
+		this(algorithm, new SocketConnectionChannel(socket));
+	}
+	
+	public ConnectionHandler(final NetX.CipherAlgorithm algorithm, final ConnectionChannel channel) {
+		this.algorithm = algorithm;
 		cipher = new ConnectionCipher(algorithm);
-		this.host = socket.getInetAddress();
-		this.port = socket.getPort();
-		this.socket = socket;
-		awaitConsumers = new Stack<>();
+		groups = new ConcurrentHashMap<>();
+		this.host = channel.getHost();
+		this.port = channel.getPort();
+		this.channel = channel;
+		awaitConsumers = new ConcurrentLinkedQueue<>();
+		pendingRequests = new ConcurrentHashMap<>();
+		streamIds = new AtomicInteger();
+		outputStreams = new ConcurrentHashMap<>();
+		inputStreams = new ConcurrentHashMap<>();
 		open = false;
 		raw = false;
+		lastRead = System.nanoTime();
+		lastWrite = lastRead;
+		lastActive = lastRead;
+		hibernating = false;
 	}
 	
 	public boolean isOpen() {
@@ -50,70 +104,438 @@ public final class ConnectionHandler {
 	}
 	
 	public void openRaw() throws IOException {
-		writer = new BufferWriter(socket.getOutputStream());
-		writer.getOutputStream().flush();
-		reader = new BufferReader(socket.getInputStream());
+		channel.open();
 		open = true;
 		raw = true;
 	}
 	
-	public void open(final Key key) throws IOException, InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException {
+	public void open(final Key key, final boolean initiator) throws IOException, InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException {
 		if (open && !raw)
 			return;
 		if (raw) {
-			cipher.open(key);
+			cipher.open(key, initiator);
 			raw = false;
 			return;
 		}
-		writer = new BufferWriter(socket.getOutputStream());
-		writer.getOutputStream().flush();
-		reader = new BufferReader(socket.getInputStream());
-		cipher.open(key);
+		channel.open();
+		cipher.open(key, initiator);
 		open = true;
 	}
 	
+	public void register(final EventLoop loop, final SignalListener listener) throws IOException {
+		if (!(open))
+			throw new ConnectionException("Unable to register, handler closed");
+		channel.register(loop, this, listener);
+	}
+	
 	public void close() throws IOException {
 		if (!(open))
 			return;
-		reader.close();
-		writer.close();
-		socket.close();
+		open = false;
+		if (watchdog != null)
+			watchdog.cancel();
+		channel.close();
 		try {
 			if (networkThread != null)
 				networkThread.join(5);
 		} catch (InterruptedException e) {
 			throw new ConnectionException("Handler termination interrupted: " + e.getLocalizedMessage());
+		} finally {
+			cipher.close();
+			for (final GroupCipher groupCipher : groups.values())
+				groupCipher.close();
+			groups.clear();
+			closeStreams("Connection closed");
 		}
-		open = false;
+	}
+	
+	public void watch(final TimingWheel timer, final Executor inspector, final long heartbeat, final long idleTimeout, final long hibernation, final Runnable idleListener) {
+		if ((heartbeat <= 0) && (idleTimeout <= 0) && (hibernation <= 0))
+			return;
+		this.timer = timer;
+		this.inspector = inspector;
+		this.heartbeat = heartbeat;
+		this.idleTimeout = idleTimeout;
+		this.hibernation = hibernation;
+		this.idleListener = idleListener;
+		lastRead = System.nanoTime();
+		inspect();
+	}
+	
+	private void inspect() {
+		if (!(open))
+			return;
+		final long now = System.nanoTime();
+		long delay = Long.MAX_VALUE;
+		if (idleTimeout > 0) {
+			final long idle = (now - lastRead);
+			if (idle >= idleTimeout) {
+				idleListener.run();
+				return;
+			}
+			delay = (idleTimeout - idle);
+		}
+		if (heartbeat > 0) {
+			long quiet = (now - lastWrite);
+			if ((quiet >= heartbeat) && (channel.getQueueDepth() == 0)) {
+				try {
+					protocol_write(NetX.SignalModifier.SIGNAL_HEARTBEAT, HEARTBEAT_PING, EMPTY, 0, 0);
+				} catch (IOException | ConnectionException e) {
+					idleListener.run();
+					return;
+				}
+				quiet = 0;
+			}
+			delay = Math.min(delay, Math.max(0, (heartbeat - quiet)));
+		}
+		if (hibernation > 0) {
+			final long quiet = (now - lastActive);
+			if (quiet >= hibernation) {
+				hibernate();
+				delay = Math.min(delay, hibernation);
+			} else
+				delay = Math.min(delay, (hibernation - quiet));
+		}
+		watchdog = timer.schedule(this::dispatchInspection, delay, TimeUnit.NANOSECONDS);
+		if (!(open))
+			watchdog.cancel();
+	}
+	
+	private void dispatchInspection() {
+		if (!(open))
+			return;
+		if (inspector == null) {
+			inspect();
+			return;
+		}
+		try {
+			inspector.execute(this::inspect);
+		} catch (RejectedExecutionException _) {}
+	}
+	
+	public void hibernate() {
+		if (!(open) || raw)
+			return;
+		hibernatedSince = lastActive;
+		hibernating = true;
+		cipher.hibernate();
+		channel.hibernate();
+	}
+	
+	public boolean isHibernating() {
+		return (hibernating && (lastActive == hibernatedSince));
+	}
+	
+	public int getPendingTasks() {
+		return ((executor == null) ? 0 : executor.getPendingTasks());
+	}
+	
+	public void answerHeartbeat(final int channel) throws IOException {
+		if (channel == HEARTBEAT_PING)
+			protocol_write(NetX.SignalModifier.SIGNAL_HEARTBEAT, HEARTBEAT_PONG, EMPTY, 0, 0);
+	}
+	
+	public long getLastRead() {
+		return lastRead;
+	}
+	
+	public long getLastWrite() {
+		return lastWrite;
 	}
 	
 	public void setNetworkThread(final Thread networkThread) {
 		this.networkThread = networkThread;
 	}
 	
+	public void setExecutor(final Executor executor) {
+		this.executor = ((executor == null) ? null : new SerialExecutor(executor));
+	}
+	
+	public void execute(final Runnable task) {
+		if (executor == null) {
+			task.run();
+			return;
+		}
+		executor.execute(() -> {
+			task.run();
+			relieve();
+		});
+	}
+	
+	public void dispatch(final Runnable task) {
+		execute(task);
+		if ((executor == null) || (executor.getPendingTasks() < NetX.NETWORK_DISPATCH_BACKLOG))
+			return;
+		channel.pauseReading();
+		paused = true;
+		relieve();
+	}
+	
+	private void relieve() {
+		if (!(paused) || (executor.getPendingTasks() > (NetX.NETWORK_DISPATCH_BACKLOG >> 1)))
+			return;
+		paused = false;
+		channel.resumeReading();
+	}
+	
 	public void write(final NetX.SignalModifier modifier, final byte[] buffer) throws IOException, IllegalBlockSizeException, BadPaddingException {
-		final byte[] encrypted = cipher.encode(buffer);
-		protocol_write(modifier, encrypted);
+		write(modifier, 0, buffer);
+	}
+	
+	public void write(final NetX.SignalModifier modifier, final int channel, final byte[] buffer) throws IOException, IllegalBlockSizeException, BadPaddingException {
+		write(modifier, channel, buffer, 0, buffer.length);
+	}
+	
+	public void write(final NetX.SignalModifier modifier, final int channel, final byte[] buffer, final int offset, final int count) throws IOException, IllegalBlockSizeException, BadPaddingException {
+		final BufferPool pool = this.channel.getBufferPool();
+		final byte[] encrypted;
+		final int length;
+		synchronized (cipher) {
+			encrypted = pool.acquire(cipher.getEncodeSize(count));
+			try {
+				length = cipher.encode(buffer, offset, count, encrypted);
+			} catch (IllegalBlockSizeException | BadPaddingException e) {
+				pool.release(encrypted);
+				throw e;
+			}
+		}
+		try {
+			protocol_write(modifier, channel, encrypted, 0, length);
+		} finally {
+			pool.release(encrypted);
+		}
+	}
+	
+	public void transfer(final NetX.SignalModifier modifier, final int channel, final byte[] prefix, final FileRegion region) throws IOException {
+		if (!(open)) {
+			region.release();
+			throw new ConnectionException("Unable to write, handler closed");
+		}
+		if (algorithm.isEncrypted()) {
+			region.release();
+			throw new ConnectionException("Unable to transfer file region, connection is encrypted");
+		}
+		lastWrite = System.nanoTime();
+		lastActive = lastWrite;
+		this.channel.write(modifier, channel, prefix, region);
+	}
+	
+	public boolean isEncrypted() {
+		return algorithm.isEncrypted();
+	}
+	
+	public void writeReference(final NetX.SignalModifier modifier, final int channel, final Object reference) throws IOException {
+		if (!(open))
+			throw new ConnectionException("Unable to write, handler closed");
+		lastWrite = System.nanoTime();
+		lastActive = lastWrite;
+		this.channel.writeReference(modifier, channel, reference);
+	}
+	
+	public boolean isByReference() {
+		return channel.isByReference();
+	}
+	
+	public void write(final SharedFrame frame) throws IOException {
+		if (!(open))
+			throw new ConnectionException("Unable to write, handler closed");
+		lastWrite = System.nanoTime();
+		lastActive = lastWrite;
+		channel.write(frame);
 	}
 	
 	public void protocol_write(final NetX.SignalModifier modifier, final byte[] buffer) throws IOException {
+		protocol_write(modifier, buffer, 0, buffer.length);
+	}
+	
+	public void protocol_write(final NetX.SignalModifier modifier, final byte[] buffer, final int offset, final int length) throws IOException {
+		protocol_write(modifier, 0, buffer, offset, length);
+	}
+	
+	public void protocol_write(final NetX.SignalModifier modifier, final int channel, final byte[] buffer, final int offset, final int length) throws IOException {
 		if (!(open))
 			throw new ConnectionException("Unable to write, handler closed");
-		writer.write(modifier, buffer);
+		lastWrite = System.nanoTime();
+		if (modifier != NetX.SignalModifier.SIGNAL_HEARTBEAT)
+			lastActive = lastWrite;
+		this.channel.write(modifier, channel, buffer, offset, length);
 	}
 	
 	public NetX.SignalHolder read() throws IOException, IllegalBlockSizeException, BadPaddingException {
-		final NetX.SignalHolder holder = protocol_read();
+		return decode(protocol_read());
+	}
+	
+	public NetX.SignalHolder decode(final NetX.SignalHolder holder) throws IllegalBlockSizeException, BadPaddingException {
 		//: if (!(SignalModifier.isType(holder.getSignalModifier())))
 		//: 	throw new ConnectionException("Unable to read type from buffer (Invalid Signal Modifier)");
-		final byte[] buffer = holder.getBuffer();
-		return new NetX.SignalHolder(holder.getSignalModifier(), cipher.decode(buffer));
+		lastRead = System.nanoTime();
+		if (NetX.SignalModifier.isHeartbeat(holder.getSignalModifier()))
+			return holder;
+		lastActive = lastRead;
+		if (holder.getReference() != null)
+			return holder;
+		if (NetX.SignalModifier.isGroup(holder.getSignalModifier()))
+			return decodeGroup(holder);
+		final BufferPool pool = channel.getBufferPool();
+		final byte[] output = pool.acquire(cipher.getDecodeSize(holder.getLength()));
+		try {
+			final int length = cipher.decode(holder.getBuffer(), 0, holder.getLength(), output);
+			return new NetX.SignalHolder(holder.getSignalModifier(), holder.getChannel(), output, length, pool);
+		} catch (IllegalBlockSizeException | BadPaddingException e) {
+			pool.release(output);
+			throw e;
+		} finally {
+			holder.release();
+		}
+	}
+	
+	private NetX.SignalHolder decodeGroup(final NetX.SignalHolder holder) throws IllegalBlockSizeException, BadPaddingException {
+		try {
+			if (holder.getLength() < GroupCipher.HEADER_LENGTH)
+				throw new IllegalBlockSizeException("Group frame too short to hold header: " + holder.getLength());
+			final ByteBuffer header = ByteBuffer.wrap(holder.getBuffer(), 0, GroupCipher.HEADER_LENGTH);
+			final int group = header.getInt();
+			final int epoch = header.getInt();
+			final GroupCipher current = groups.get(group);
+			final GroupCipher groupCipher = ((current == null) ? null : current.find(epoch));
+			if (groupCipher == null)
+				throw new ConnectionException("No key installed for group " + group + " (epoch " + epoch + ")");
+			final int length = (holder.getLength() - GroupCipher.HEADER_LENGTH);
+			final BufferPool pool = channel.getBufferPool();
+			final byte[] output = pool.acquire(groupCipher.getDecodeSize(length));
+			try {
+				final int decoded = groupCipher.decode(holder.getBuffer(), GroupCipher.HEADER_LENGTH, length, output);
+				return new NetX.SignalHolder(NetX.SignalModifier.SIGNAL_TYPE.getModifier(), holder.getChannel(), output, decoded, pool);
+			} catch (IllegalBlockSizeException | BadPaddingException e) {
+				pool.release(output);
+				throw e;
+			}
+		} finally {
+			holder.release();
+		}
+	}
+	
+	public void installGroupKey(final byte[] buffer, final int length) throws InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException {
+		if (length < GroupCipher.HEADER_LENGTH)
+			throw new ConnectionException("Group key frame too short to hold header: " + length);
+		if (length == GroupCipher.HEADER_LENGTH) {
+			final GroupCipher removed = groups.remove(ByteBuffer.wrap(buffer, 0, length).getInt());
+			if (removed != null)
+				removed.close();
+			return;
+		}
+		final GroupCipher groupCipher = GroupCipher.parse(algorithm, buffer, length);
+		groupCipher.setPrevious(groups.put(groupCipher.getGroup(), groupCipher));
+	}
+	
+	public int getGroups() {
+		return groups.size();
+	}
+	
+	public StreamOutput openStream(final String name, final long size, final int channel, final int chunkSize) throws IOException {
+		if (!(open))
+			throw new ConnectionException("Unable to open stream, handler closed");
+		final int id = streamIds.incrementAndGet();
+		final StreamOutput stream = new StreamOutput(this, id, channel, chunkSize);
+		final byte[] encodedName = name.getBytes(StandardCharsets.UTF_8);
+		final ByteBuffer buffer = ByteBuffer.allocate(StreamOutput.HEADER_LENGTH + Long.BYTES + encodedName.length);
+		buffer.putInt(id).put(StreamOutput.OPERATION_OPEN).putLong(size).put(encodedName);
+		outputStreams.put(id, stream);
+		try {
+			writeStream(channel, buffer.array(), 0, buffer.capacity());
+		} catch (IOException e) {
+			outputStreams.remove(id);
+			throw e;
+		}
+		return stream;
+	}
+	
+	public StreamInput receiveStream(final byte[] buffer, final int length, final int channel, final int window) throws IOException {
+		if (length < StreamOutput.HEADER_LENGTH)
+			throw new ConnectionException("Stream frame too short to hold header: " + length);
+		final ByteBuffer header = ByteBuffer.wrap(buffer, 0, length);
+		final int id = header.getInt();
+		final byte operation = header.get();
+		if (operation == StreamOutput.OPERATION_OPEN) {
+			if (inputStreams.size() >= NetX.NETWORK_MAX_STREAMS) {
+				writeStreamControl(channel, id, StreamOutput.OPERATION_CANCEL, 0);
+				return null;
+			}
+			final long size = header.getLong();
+			final String name = new String(buffer, header.position(), header.remaining(), StandardCharsets.UTF_8);
+			final StreamInput stream = new StreamInput(this, this.channel.getBufferPool(), id, channel, name, size, window);
+			if (inputStreams.putIfAbsent(id, stream) != null)
+				throw new ConnectionException("Stream with id " + id + " is already open");
+			writeStreamControl(channel, id, StreamOutput.OPERATION_CREDIT, window);
+			return stream;
+		}
+		if (operation == StreamOutput.OPERATION_DATA) {
+			final StreamInput stream = inputStreams.get(id);
+			if ((stream != null) && !(stream.offer(buffer, StreamOutput.HEADER_LENGTH, length - StreamOutput.HEADER_LENGTH))) {
+				inputStreams.remove(id);
+				stream.fail("Stream " + id + " exceeded its flow control window of " + window + " bytes");
+				writeStreamControl(channel, id, StreamOutput.OPERATION_CANCEL, 0);
+			}
+		} else if (operation == StreamOutput.OPERATION_END) {
+			final StreamInput stream = inputStreams.remove(id);
+			if (stream != null)
+				stream.end();
+		} else if (operation == StreamOutput.OPERATION_RESET) {
+			final StreamInput stream = inputStreams.remove(id);
+			if (stream != null)
+				stream.fail("Stream " + id + " was reset by the sender");
+		} else if (operation == StreamOutput.OPERATION_CREDIT) {
+			final StreamOutput stream = outputStreams.get(id);
+			if (stream != null)
+				stream.grant(header.getInt());
+		} else if (operation == StreamOutput.OPERATION_CANCEL) {
+			final StreamOutput stream = outputStreams.remove(id);
+			if (stream != null)
+				stream.fail("Stream " + id + " was cancelled by the receiver");
+		} else
+			throw new ConnectionException("Unknown stream operation " + operation + " for stream " + id);
+		return null;
+	}
+	
+	void writeStream(final int channel, final byte[] buffer, final int offset, final int length) throws IOException {
+		try {
+			write(NetX.SignalModifier.SIGNAL_STREAM, channel, buffer, offset, length);
+		} catch (IllegalBlockSizeException | BadPaddingException e) {
+			throw new IOException("Unable to encrypt stream frame: " + e.getLocalizedMessage(), e);
+		}
+	}
+	
+	void writeStreamControl(final int channel, final int id, final byte operation, final int value) throws IOException {
+		final byte[] buffer = new byte[StreamOutput.HEADER_LENGTH + Integer.BYTES];
+		ByteBuffer.wrap(buffer).putInt(id).put(operation).putInt(value);
+		writeStream(channel, buffer, 0, ((operation == StreamOutput.OPERATION_CREDIT) ? buffer.length : StreamOutput.HEADER_LENGTH));
+	}
+	
+	void releaseStream(final StreamOutput stream) {
+		outputStreams.remove(stream.getId(), stream);
+	}
+	
+	void releaseStream(final StreamInput stream) {
+		inputStreams.remove(stream.getId(), stream);
+	}
+	
+	private void closeStreams(final String reason) {
+		for (final StreamOutput stream : outputStreams.values())
+			stream.fail(reason);
+		outputStreams.clear();
+		for (final StreamInput stream : inputStreams.values())
+			stream.fail(reason);
+		inputStreams.clear();
+	}
+	
+	public int getOpenStreams() {
+		return (outputStreams.size() + inputStreams.size());
 	}
 	
 	public NetX.SignalHolder protocol_read() throws IOException {
 		if (!(open))
 			throw new ConnectionException("Unable to read, handler closed");
-		return reader.read();
+		return channel.read();
 	}
 	
 	public boolean hasAwaitConsumers() {
@@ -121,11 +543,44 @@ public final class ConnectionHandler {
 	}
 	
 	public Consumer<?> popAwaitConsumer() {
-		return awaitConsumers.pop();
+		return awaitConsumers.poll();
 	}
 	
 	public void pushAwaitConsumer(final Consumer<?> awaitConsumer) {
-		awaitConsumers.push(awaitConsumer);
+		awaitConsumers.add(awaitConsumer);
+	}
+	
+	public boolean removeAwaitConsumer(final Consumer<?> awaitConsumer) {
+		return awaitConsumers.remove(awaitConsumer);
+	}
+	
+	public void registerPendingRequest(final UUID request, final Consumer<Response> consumer) {
+		if (pendingRequests.putIfAbsent(request, consumer) != null)
+			throw new ConnectionException("Request with UUID '" + request + "' is already pending");
+	}
+	
+	public boolean completePendingRequest(final Response response) {
+		final Consumer<Response> consumer = pendingRequests.remove(response.getUUID());
+		if (consumer == null)
+			return false;
+		consumer.accept(response);
+		return true;
+	}
+	
+	public boolean removePendingRequest(final UUID request) {
+		return (pendingRequests.remove(request) != null);
+	}
+	
+	public int getPendingRequests() {
+		return pendingRequests.size();
+	}
+	
+	public int getQueueDepth() {
+		return channel.getQueueDepth();
+	}
+	
+	public long getDroppedFrames() {
+		return channel.getDroppedFrames();
 	}
 	
 	public InetAddress getHost() {
@@ -1,19 +1,44 @@
 package me.nulldoubt.netx.binaries.connection;
 
-public final class ConnectionThreadFactory {
+import me.nulldoubt.netx.NetX;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class ConnectionThreadFactory implements ThreadFactory {
 	
 	private static final ThreadGroup GROUP;
 	
 	private static final String PREFIX;
 	private static final String SUFFIX;
 	
-	private static long THREADS;
+	private static final AtomicLong THREADS;
 	
 	static {
 		GROUP = new ThreadGroup("NetX");
 		PREFIX = "NetX-";
 		SUFFIX = "-Thread#";
-		THREADS = 1;
+		THREADS = new AtomicLong(1);
+	}
+	
+	private NetX.ThreadMode mode;
+	
+	public ConnectionThreadFactory() {
+		this(NetX.ThreadMode.THREAD_PLATFORM);
+	}
+	
+	public ConnectionThreadFactory(final NetX.ThreadMode mode) {
+		this.mode = mode;
+	}
+	
+	@Override
+	public Thread newThread(final Runnable runnable) {
+		return create("Worker", runnable);
 	}
 	
 	public Thread create(final Runnable runnable) {
@@ -21,15 +46,33 @@ public final class ConnectionThreadFactory {
 	}
 	
 	public Thread create(final String name, final Runnable runnable) {
-		final Thread thread = new Thread(GROUP, runnable, (PREFIX + name + SUFFIX + Long.toHexString(THREADS)));
-		THREADS++;
-		return thread;
+		final String threadName = (PREFIX + name + SUFFIX + Long.toHexString(THREADS.getAndIncrement()));
+		if (mode == NetX.ThreadMode.THREAD_VIRTUAL)
+			return Thread.ofVirtual().name(threadName).unstarted(runnable);
+		return new Thread(GROUP, runnable, threadName);
 	}
 	
 	public Thread create(final String name, final Runnable runnable, final int priority) {
 		final Thread thread = create(name, runnable);
-		thread.setPriority(priority);
+		if (!(thread.isVirtual()))
+			thread.setPriority(priority);
 		return thread;
 	}
 	
+	public ExecutorService createExecutor(final NetX.ExecutionMode execution, final int threads, final int capacity) {
+		return switch (execution) {
+			case EXECUTION_INLINE -> null;
+			case EXECUTION_POOL -> new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacity), this, new ThreadPoolExecutor.CallerRunsPolicy());
+			case EXECUTION_VIRTUAL -> Executors.newThreadPerTaskExecutor(new ConnectionThreadFactory(NetX.ThreadMode.THREAD_VIRTUAL));
+		};
+	}
+	
+	public NetX.ThreadMode getMode() {
+		return mode;
+	}
+	
+	public void setMode(final NetX.ThreadMode mode) {
+		this.mode = mode;
+	}
+	
 }
@@ -0,0 +1,105 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public final class EventLoop implements Runnable {
+	
+	private static final int READ_BUFFER_SIZE;
+	
+	static {
+		READ_BUFFER_SIZE = 64 * 1024;
+	}
+	
+	private final Selector selector;
+	private final Queue<SelectorConnectionChannel> registrations;
+	private final ByteBuffer readBuffer;
+	private final PrintStream errorStream;
+	
+	private volatile boolean open;
+	private volatile Thread thread;
+	
+	public EventLoop(final PrintStream errorStream) throws IOException {
+		this.errorStream = errorStream;
+		selector = Selector.open();
+		registrations = new ConcurrentLinkedQueue<>();
+		readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+		open = true;
+	}
+	
+	public boolean isOpen() {
+		return open;
+	}
+	
+	void register(final SelectorConnectionChannel channel) {
+		registrations.add(channel);
+		if (open)
+			selector.wakeup();
+		else
+			abandonRegistrations();
+	}
+	
+	void wakeup() {
+		selector.wakeup();
+	}
+	
+	boolean inLoop() {
+		return (Thread.currentThread() == thread);
+	}
+	
+	@Override
+	public void run() {
+		thread = Thread.currentThread();
+		while (open) {
+			try {
+				selector.select();
+			} catch (IOException e) {
+				errorStream.println("An error occurred while selecting, closing event loop (Internal): " + e.getLocalizedMessage());
+				open = false;
+				for (final SelectionKey key : new ArrayList<>(selector.keys()))
+					((SelectorConnectionChannel) key.attachment()).terminate();
+				break;
+			}
+			SelectorConnectionChannel registration;
+			while ((registration = registrations.poll()) != null)
+				registration.bind(selector);
+			final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+			while (iterator.hasNext()) {
+				final SelectionKey key = iterator.next();
+				iterator.remove();
+				final SelectorConnectionChannel channel = (SelectorConnectionChannel) key.attachment();
+				if (key.isValid() && key.isWritable())
+					channel.handleWrite();
+				if (key.isValid() && key.isReadable())
+					channel.handleRead(readBuffer);
+			}
+		}
+		abandonRegistrations();
+		try {
+			selector.close();
+		} catch (IOException e) {
+			errorStream.println("An error occurred while closing selector (Internal): " + e.getLocalizedMessage());
+		}
+	}
+	
+	private void abandonRegistrations() {
+		SelectorConnectionChannel registration;
+		while ((registration = registrations.poll()) != null)
+			registration.terminate();
+	}
+	
+	public void close() {
+		if (!(open))
+			return;
+		open = false;
+		selector.wakeup();
+	}
+	
+}
@@ -0,0 +1,54 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class EventLoopGroup {
+	
+	private final EventLoop[] loops;
+	private final Thread[] threads;
+	private final AtomicInteger index;
+	
+	public EventLoopGroup(final int size, final PrintStream errorStream) throws IOException {
+		if (size < 1)
+			throw new IllegalArgumentException("Group has to contain at least one event loop");
+		loops = new EventLoop[size];
+		threads = new Thread[size];
+		index = new AtomicInteger();
+		for (int i = 0; i < size; i++)
+			loops[i] = new EventLoop(errorStream);
+	}
+	
+	public void open() {
+		final ConnectionThreadFactory threadFactory = new ConnectionThreadFactory(NetX.ThreadMode.THREAD_PLATFORM);
+		for (int i = 0; i < loops.length; i++) {
+			threads[i] = threadFactory.create("EventLoop", loops[i], Thread.MAX_PRIORITY);
+			threads[i].start();
+		}
+	}
+	
+	public EventLoop next() {
+		return loops[Math.floorMod(index.getAndIncrement(), loops.length)];
+	}
+	
+	public void close() {
+		for (final EventLoop loop : loops)
+			loop.close();
+		for (final Thread thread : threads) {
+			try {
+				if (thread != null)
+					thread.join(5);
+			} catch (InterruptedException e) {
+				thread.interrupt();
+			}
+		}
+	}
+	
+	public int size() {
+		return loops.length;
+	}
+	
+}
@@ -0,0 +1,61 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class FileRegion {
+	
+	private final FileChannel file;
+	private final long position;
+	private final int count;
+	private final Runnable releaser;
+	private final AtomicBoolean released;
+	
+	public FileRegion(final FileChannel file, final long position, final int count) {
+		this(file, position, count, null);
+	}
+	
+	public FileRegion(final FileChannel file, final long position, final int count, final Runnable releaser) {
+		this.file = file;
+		this.position = position;
+		this.count = count;
+		this.releaser = releaser;
+		released = new AtomicBoolean();
+	}
+	
+	public long transferTo(final long offset, final long length, final WritableByteChannel target) throws IOException {
+		final long transferred = file.transferTo((position + offset), length, target);
+		if ((transferred == 0) && ((position + offset) >= file.size()))
+			throw new EOFException("File ended before region at " + position + " (" + count + " bytes) was transferred");
+		return transferred;
+	}
+	
+	public void read(final byte[] buffer, final int offset) throws IOException {
+		final ByteBuffer target = ByteBuffer.wrap(buffer, offset, count);
+		while (target.hasRemaining())
+			if (file.read(target, (position + (target.position() - offset))) == -1)
+				throw new EOFException("File ended before region at " + position + " (" + count + " bytes) was read");
+	}
+	
+	public void release() {
+		if (released.compareAndSet(false, true) && (releaser != null))
+			releaser.run();
+	}
+	
+	public FileChannel getFile() {
+		return file;
+	}
+	
+	public long getPosition() {
+		return position;
+	}
+	
+	public int getCount() {
+		return count;
+	}
+	
+}
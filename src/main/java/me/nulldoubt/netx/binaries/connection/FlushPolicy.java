@@ -0,0 +1,40 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public final class FlushPolicy {
+	
+	public static final FlushPolicy DEFAULT;
+	
+	static {
+		DEFAULT = new FlushPolicy(8192, 0L, TimeUnit.NANOSECONDS, null);
+	}
+	
+	private final int capacity;
+	private final long linger;
+	private final ScheduledExecutorService scheduler;
+	
+	public FlushPolicy(final int capacity, final long linger, final TimeUnit timeUnit, final ScheduledExecutorService scheduler) {
+		this.capacity = capacity;
+		this.linger = timeUnit.toNanos(linger);
+		this.scheduler = scheduler;
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	public long getLinger() {
+		return linger;
+	}
+	
+	public ScheduledExecutorService getScheduler() {
+		return scheduler;
+	}
+	
+	public boolean isLingering() {
+		return ((linger > 0) && (scheduler != null));
+	}
+	
+}
@@ -0,0 +1,88 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+public final class Fragment {
+	
+	private final NetX.SignalHolder holder;
+	private final int offset;
+	private final int length;
+	private final boolean last;
+	private final int inline;
+	
+	private ByteBuffer header;
+	private ByteBuffer payload;
+	private long transferred;
+	
+	public Fragment(final NetX.SignalHolder holder, final int offset, final int length, final boolean last) {
+		this.holder = holder;
+		this.offset = offset;
+		this.length = length;
+		this.last = last;
+		inline = ((holder.getRegion() == null) ? length : Math.max(0, (Math.min((offset + length), holder.getBuffer().length) - offset)));
+		transferred = 0;
+	}
+	
+	public ByteBuffer getHeader() {
+		if (header == null)
+			header = ByteBuffer.allocate(FrameDecoder.HEADER_LENGTH)
+					.putInt(length)
+					.put(holder.getSignalModifier())
+					.put(getFlags())
+					.putShort((short) holder.getChannel())
+					.flip();
+		return header;
+	}
+	
+	public ByteBuffer getPayload() {
+		if (payload == null)
+			payload = ByteBuffer.wrap(holder.getBuffer(), Math.min(offset, holder.getBuffer().length), inline);
+		return payload;
+	}
+	
+	public boolean isRegion() {
+		return (inline < length);
+	}
+	
+	public long transfer(final WritableByteChannel target) throws IOException {
+		final long remaining = ((length - inline) - transferred);
+		if (remaining <= 0)
+			return 0;
+		final long count = holder.getRegion().transferTo((Math.max(0, (offset - holder.getBuffer().length)) + transferred), remaining, target);
+		transferred += count;
+		return count;
+	}
+	
+	public boolean isWritten() {
+		return ((header != null) && (payload != null) && !(header.hasRemaining()) && !(payload.hasRemaining()) && (transferred == (length - inline)));
+	}
+	
+	public boolean isStarted() {
+		return ((header != null) && (header.position() > 0));
+	}
+	
+	public NetX.SignalHolder getHolder() {
+		return holder;
+	}
+	
+	public byte getFlags() {
+		return (last ? 0 : FrameDecoder.FLAG_MORE);
+	}
+	
+	public int getOffset() {
+		return offset;
+	}
+	
+	public int getLength() {
+		return length;
+	}
+	
+	public boolean isLast() {
+		return last;
+	}
+	
+}
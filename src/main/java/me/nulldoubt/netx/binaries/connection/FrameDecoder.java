@@ -0,0 +1,83 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+public final class FrameDecoder {
+	
+	static final int HEADER_LENGTH;
+	static final byte FLAG_MORE;
+	
+	static {
+		HEADER_LENGTH = (Integer.BYTES + Byte.BYTES + Byte.BYTES + Short.BYTES);
+		FLAG_MORE = 1;
+	}
+	
+	private final ByteBuffer header;
+	private final BufferPool pool;
+	private final int maxFrameSize;
+	private final ChannelAssembler assembler;
+	
+	private byte signalModifier;
+	private byte flags;
+	private int channel;
+	private byte[] payload;
+	private int length;
+	private int position;
+	
+	public FrameDecoder(final BufferPool pool, final int maxFrameSize) {
+		header = ByteBuffer.allocate(HEADER_LENGTH);
+		this.pool = pool;
+		this.maxFrameSize = maxFrameSize;
+		assembler = new ChannelAssembler(pool, maxFrameSize);
+	}
+	
+	public void decode(final ByteBuffer buffer, final Consumer<NetX.SignalHolder> consumer) throws IOException {
+		while (true) {
+			if (payload == null) {
+				while (header.hasRemaining() && buffer.hasRemaining())
+					header.put(buffer.get());
+				if (header.hasRemaining())
+					return;
+				header.flip();
+				length = header.getInt();
+				signalModifier = header.get();
+				flags = header.get();
+				channel = Short.toUnsignedInt(header.getShort());
+				header.clear();
+				checkLength(length, maxFrameSize);
+				payload = pool.acquire(length);
+				position = 0;
+			}
+			final int count = Math.min(buffer.remaining(), (length - position));
+			buffer.get(payload, position, count);
+			position += count;
+			if (position < length)
+				return;
+			final byte[] frame = payload;
+			payload = null;
+			final NetX.SignalHolder holder = assembler.accept(signalModifier, flags, channel, frame, length);
+			if (holder != null)
+				consumer.accept(holder);
+		}
+	}
+	
+	public void release() {
+		assembler.release();
+		if (payload == null)
+			return;
+		pool.release(payload);
+		payload = null;
+	}
+	
+	static void checkLength(final int length, final int maxFrameSize) throws IOException {
+		if (length < 0)
+			throw new IOException("Received frame with negative length: " + length);
+		if (length > maxFrameSize)
+			throw new IOException("Received frame exceeding maximum size: " + length + " > " + maxFrameSize);
+	}
+	
+}
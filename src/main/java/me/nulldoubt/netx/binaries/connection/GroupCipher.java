@@ -0,0 +1,113 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+public final class GroupCipher {
+	
+	public static final int HEADER_LENGTH;
+	public static final int KEY_LENGTH;
+	
+	static {
+		HEADER_LENGTH = (Integer.BYTES + Integer.BYTES);
+		KEY_LENGTH = 32;
+	}
+	
+	private final int group;
+	private final int epoch;
+	private final byte[] key;
+	private final ConnectionCipher cipher;
+	
+	private GroupCipher previous;
+	
+	public GroupCipher(final NetX.CipherAlgorithm algorithm, final int group, final int epoch, final byte[] key, final boolean sender) throws InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException {
+		this.group = group;
+		this.epoch = epoch;
+		this.key = key;
+		cipher = new ConnectionCipher(algorithm);
+		cipher.open(new SecretKeySpec(key, algorithm.getKeyAlgorithm()), !(sender));
+	}
+	
+	public static GroupCipher generate(final NetX.CipherAlgorithm algorithm, final int group, final int epoch, final SecureRandom random) throws InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException {
+		final byte[] key = new byte[KEY_LENGTH];
+		random.nextBytes(key);
+		return new GroupCipher(algorithm, group, epoch, key, true);
+	}
+	
+	public static GroupCipher parse(final NetX.CipherAlgorithm algorithm, final byte[] buffer, final int length) throws InvalidKeyException, NoSuchAlgorithmException, NoSuchPaddingException {
+		final ByteBuffer header = ByteBuffer.wrap(buffer, 0, HEADER_LENGTH);
+		return new GroupCipher(algorithm, header.getInt(), header.getInt(), Arrays.copyOfRange(buffer, HEADER_LENGTH, length), false);
+	}
+	
+	public SharedFrame encode(final byte[] buffer) throws IllegalBlockSizeException, BadPaddingException {
+		return encode(buffer, 0);
+	}
+	
+	public synchronized SharedFrame encode(final byte[] buffer, final int channel) throws IllegalBlockSizeException, BadPaddingException {
+		final byte[] output = new byte[HEADER_LENGTH + cipher.getEncodeSize(buffer.length)];
+		ByteBuffer.wrap(output).putInt(group).putInt(epoch);
+		final int length = cipher.encode(buffer, 0, buffer.length, output, HEADER_LENGTH);
+		return new SharedFrame(NetX.SignalModifier.SIGNAL_GROUP, channel, output, (HEADER_LENGTH + length));
+	}
+	
+	public synchronized int decode(final byte[] buffer, final int offset, final int length, final byte[] output) throws IllegalBlockSizeException, BadPaddingException {
+		return cipher.decode(buffer, offset, length, output);
+	}
+	
+	public int getDecodeSize(final int length) {
+		return cipher.getDecodeSize(length);
+	}
+	
+	public GroupCipher find(final int epoch) {
+		if (this.epoch == epoch)
+			return this;
+		final GroupCipher previous = this.previous;
+		if ((previous != null) && (previous.epoch == epoch))
+			return previous;
+		return null;
+	}
+	
+	public void setPrevious(final GroupCipher previous) {
+		if (previous != null) {
+			final GroupCipher expired = previous.previous;
+			previous.previous = null;
+			if (expired != null)
+				expired.close();
+		}
+		this.previous = previous;
+	}
+	
+	public synchronized void close() {
+		cipher.close();
+		final GroupCipher previous = this.previous;
+		this.previous = null;
+		if (previous != null)
+			previous.close();
+	}
+	
+	public byte[] getKeyFrame() {
+		return ByteBuffer.allocate(HEADER_LENGTH + key.length).putInt(group).putInt(epoch).put(key).array();
+	}
+	
+	public byte[] getRevokeFrame() {
+		return ByteBuffer.allocate(HEADER_LENGTH).putInt(group).putInt(epoch).array();
+	}
+	
+	public int getGroup() {
+		return group;
+	}
+	
+	public int getEpoch() {
+		return epoch;
+	}
+	
+}
@@ -0,0 +1,225 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public final class LocalConnectionChannel extends ConnectionChannel {
+	
+	private static final int SPIN_LIMIT;
+	private static final long PARK_NANOS;
+	
+	static {
+		SPIN_LIMIT = ((Runtime.getRuntime().availableProcessors() > 1) ? 512 : 0);
+		PARK_NANOS = 50_000;
+	}
+	
+	private final boolean byReference;
+	private final ConcurrentLinkedQueue<NetX.SignalHolder> inbound;
+	private final AtomicInteger depth;
+	private final AtomicLong dropped;
+	
+	private LocalConnectionChannel peer;
+	private volatile Thread reader;
+	private volatile boolean closed;
+	private volatile boolean ended;
+	
+	private LocalConnectionChannel(final boolean byReference) {
+		this.byReference = byReference;
+		inbound = new ConcurrentLinkedQueue<>();
+		depth = new AtomicInteger();
+		dropped = new AtomicLong();
+		closed = false;
+		ended = false;
+	}
+	
+	static LocalConnectionChannel[] pair(final boolean byReference) {
+		final LocalConnectionChannel first = new LocalConnectionChannel(byReference);
+		final LocalConnectionChannel second = new LocalConnectionChannel(byReference);
+		first.peer = second;
+		second.peer = first;
+		return new LocalConnectionChannel[] {first, second};
+	}
+	
+	@Override
+	public void open() throws IOException {
+		if (closed)
+			throw new ClosedChannelException();
+	}
+	
+	@Override
+	public void write(final NetX.SignalModifier modifier, final int channel, final byte[] buffer, final int offset, final int length) throws IOException {
+		final BufferPool pool = getBufferPool();
+		final byte[] copy = pool.acquire(length);
+		System.arraycopy(buffer, offset, copy, 0, length);
+		offer(new NetX.SignalHolder(modifier.getModifier(), channel, copy, length, pool));
+	}
+	
+	@Override
+	public void write(final SharedFrame frame) throws IOException {
+		offer(new NetX.SignalHolder(frame.getSignalModifier().getModifier(), frame.getChannel(), frame.getBuffer(), frame.getLength(), null));
+	}
+	
+	@Override
+	public void write(final NetX.SignalModifier modifier, final int channel, final byte[] prefix, final FileRegion region) throws IOException {
+		final BufferPool pool = getBufferPool();
+		final int length = (prefix.length + region.getCount());
+		final byte[] buffer = pool.acquire(length);
+		try {
+			System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+			region.read(buffer, prefix.length);
+		} catch (IOException e) {
+			pool.release(buffer);
+			throw e;
+		} finally {
+			region.release();
+		}
+		offer(new NetX.SignalHolder(modifier.getModifier(), channel, buffer, length, pool));
+	}
+	
+	@Override
+	public void writeReference(final NetX.SignalModifier modifier, final int channel, final Object reference) throws IOException {
+		if (!(byReference)) {
+			super.writeReference(modifier, channel, reference);
+			return;
+		}
+		offer(new NetX.SignalHolder(modifier.getModifier(), channel, reference));
+	}
+	
+	@Override
+	public boolean isByReference() {
+		return byReference;
+	}
+	
+	private void offer(final NetX.SignalHolder frame) throws IOException {
+		try {
+			while ((getOutboundCapacity() > 0) && (peer.depth.get() >= getOutboundCapacity())) {
+				ensureWritable();
+				switch (getOverflowPolicy()) {
+					case OVERFLOW_BLOCK -> {
+						LockSupport.parkNanos(this, PARK_NANOS);
+						if (Thread.currentThread().isInterrupted())
+							throw new InterruptedIOException("Interrupted while waiting for local peer to consume frames");
+					}
+					case OVERFLOW_DROP_OLDEST -> {
+						final NetX.SignalHolder oldest = peer.inbound.poll();
+						dropped.incrementAndGet();
+						if (oldest == null) {
+							frame.release();
+							return;
+						}
+						peer.depth.decrementAndGet();
+						oldest.release();
+					}
+					case OVERFLOW_DROP_NEWEST -> {
+						dropped.incrementAndGet();
+						frame.release();
+						return;
+					}
+					case OVERFLOW_DISCONNECT -> {
+						dropped.incrementAndGet();
+						close();
+						throw new OutboundQueue.OverflowException(getOutboundCapacity());
+					}
+				}
+			}
+			ensureWritable();
+		} catch (IOException e) {
+			frame.release();
+			throw e;
+		}
+		peer.depth.incrementAndGet();
+		peer.inbound.add(frame);
+		final Thread waiting = peer.reader;
+		if (waiting != null)
+			LockSupport.unpark(waiting);
+		if (peer.closed)
+			peer.clear();
+	}
+	
+	private void ensureWritable() throws IOException {
+		if (closed)
+			throw new ClosedChannelException();
+		if (peer.closed)
+			throw new EOFException("Local peer closed the connection");
+	}
+	
+	@Override
+	public NetX.SignalHolder read() throws IOException {
+		NetX.SignalHolder holder;
+		int spins = 0;
+		while ((holder = inbound.poll()) == null) {
+			if (closed)
+				throw new ClosedChannelException();
+			if (ended)
+				throw new EOFException("Local peer closed the connection");
+			if (spins < SPIN_LIMIT) {
+				spins++;
+				Thread.onSpinWait();
+				continue;
+			}
+			reader = Thread.currentThread();
+			if (inbound.isEmpty() && !(closed) && !(ended))
+				LockSupport.park(this);
+			reader = null;
+			if (Thread.currentThread().isInterrupted())
+				throw new InterruptedIOException("Interrupted while waiting for local frames");
+		}
+		depth.decrementAndGet();
+		return holder;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+		closed = true;
+		clear();
+		wake();
+		peer.ended = true;
+		peer.wake();
+	}
+	
+	private void clear() {
+		NetX.SignalHolder holder;
+		while ((holder = inbound.poll()) != null) {
+			depth.decrementAndGet();
+			holder.release();
+		}
+	}
+	
+	private void wake() {
+		final Thread waiting = reader;
+		if (waiting != null)
+			LockSupport.unpark(waiting);
+	}
+	
+	@Override
+	public int getQueueDepth() {
+		return peer.depth.get();
+	}
+	
+	@Override
+	public long getDroppedFrames() {
+		return dropped.get();
+	}
+	
+	@Override
+	public InetAddress getHost() {
+		return InetAddress.getLoopbackAddress();
+	}
+	
+	@Override
+	public int getPort() {
+		return 0;
+	}
+	
+}
@@ -0,0 +1,100 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.BindException;
+import java.net.ConnectException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public final class LocalServerChannel implements Closeable {
+	
+	private static final Map<String, LocalServerChannel> BOUND;
+	private static final LocalConnectionChannel CLOSED;
+	
+	static {
+		BOUND = new ConcurrentHashMap<>();
+		CLOSED = LocalConnectionChannel.pair(false)[0];
+	}
+	
+	private final String name;
+	private final boolean byReference;
+	private final BlockingQueue<LocalConnectionChannel> pending;
+	
+	private volatile boolean closed;
+	
+	private LocalServerChannel(final String name, final boolean byReference) {
+		this.name = name;
+		this.byReference = byReference;
+		pending = new LinkedBlockingQueue<>();
+		closed = false;
+	}
+	
+	public static LocalServerChannel bind(final String name, final boolean byReference) throws IOException {
+		final LocalServerChannel server = new LocalServerChannel(name, byReference);
+		if (BOUND.putIfAbsent(name, server) != null)
+			throw new BindException("Local name '" + name + "' is already bound");
+		return server;
+	}
+	
+	public static LocalConnectionChannel connect(final String name) throws IOException {
+		final LocalServerChannel server = BOUND.get(name);
+		if ((server == null) || server.closed)
+			throw new ConnectException("No local server bound to '" + name + "'");
+		final LocalConnectionChannel[] pair = LocalConnectionChannel.pair(server.byReference);
+		server.pending.add(pair[1]);
+		if (server.closed)
+			pair[1].close();
+		return pair[0];
+	}
+	
+	public LocalConnectionChannel accept() throws IOException {
+		if (closed)
+			throw new ClosedChannelException();
+		final LocalConnectionChannel channel;
+		try {
+			channel = pending.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ClosedByInterruptException();
+		}
+		if (channel == CLOSED) {
+			pending.add(CLOSED);
+			throw new ClosedChannelException();
+		}
+		return channel;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+		closed = true;
+		BOUND.remove(name, this);
+		LocalConnectionChannel channel;
+		while ((channel = pending.poll()) != null)
+			channel.close();
+		pending.add(CLOSED);
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public boolean isByReference() {
+		return byReference;
+	}
+	
+	public boolean isOpen() {
+		return !(closed);
+	}
+	
+	public static boolean isBound(final String name) {
+		return BOUND.containsKey(name);
+	}
+	
+}
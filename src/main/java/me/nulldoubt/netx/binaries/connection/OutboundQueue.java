@@ -0,0 +1,249 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class OutboundQueue {
+	
+	private final ChannelQueue frames;
+	private final int capacity;
+	private final NetX.OverflowPolicy policy;
+	private final int fragmentSize;
+	
+	private final ReentrantLock lock;
+	private final Condition notFull;
+	private final Condition drained;
+	
+	private long dropped;
+	private IOException failure;
+	private boolean closed;
+	private boolean suspended;
+	private boolean draining;
+	
+	public OutboundQueue(final int capacity, final NetX.OverflowPolicy policy) {
+		this(capacity, policy, NetX.NETWORK_FRAGMENT_SIZE);
+	}
+	
+	public OutboundQueue(final int capacity, final NetX.OverflowPolicy policy, final int fragmentSize) {
+		frames = new ChannelQueue();
+		this.capacity = capacity;
+		this.policy = policy;
+		this.fragmentSize = Math.max(1, fragmentSize);
+		lock = new ReentrantLock();
+		notFull = lock.newCondition();
+		drained = lock.newCondition();
+		dropped = 0;
+		closed = false;
+		suspended = false;
+		draining = false;
+	}
+	
+	public boolean offer(final NetX.SignalHolder frame) throws IOException {
+		return offer(frame, null);
+	}
+	
+	public boolean offer(final NetX.SignalHolder frame, final Runnable schedule) throws IOException {
+		lock.lock();
+		try {
+			while (true) {
+				if (failure != null)
+					throw failure;
+				if (closed)
+					throw new ClosedChannelException();
+				if (frames.size() < capacity)
+					break;
+				switch (policy) {
+					case OVERFLOW_BLOCK -> {
+						try {
+							notFull.await();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							throw new InterruptedIOException("Interrupted while waiting for outbound queue space");
+						}
+					}
+					case OVERFLOW_DROP_OLDEST -> {
+						final NetX.SignalHolder oldest = frames.dropOldest();
+						if (oldest == null) {
+							dropped++;
+							return false;
+						}
+						oldest.release();
+						dropped++;
+					}
+					case OVERFLOW_DROP_NEWEST -> {
+						dropped++;
+						return false;
+					}
+					case OVERFLOW_DISCONNECT -> {
+						dropped++;
+						throw new OverflowException(capacity);
+					}
+				}
+			}
+			frames.add(frame);
+			suspended = false;
+			if (!(draining)) {
+				draining = true;
+				if (schedule != null)
+					schedule.run();
+			}
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public boolean take(final List<Fragment> batch) {
+		lock.lock();
+		try {
+			if ((failure != null) || frames.isEmpty()) {
+				draining = false;
+				drained.signalAll();
+				return false;
+			}
+			final int budget = (fragmentSize * ChannelQueue.BATCH_FRAGMENTS);
+			int bytes = 0;
+			Fragment fragment;
+			while ((bytes < budget) && ((fragment = frames.next(fragmentSize)) != null)) {
+				batch.add(fragment);
+				bytes += fragment.getLength();
+			}
+			notFull.signalAll();
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public boolean suspend() {
+		lock.lock();
+		try {
+			if (!(frames.isEmpty()) || closed || (failure != null))
+				return false;
+			suspended = true;
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public boolean isSuspended() {
+		lock.lock();
+		try {
+			return (suspended && !(draining));
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public void fail(final IOException failure) {
+		lock.lock();
+		try {
+			if (this.failure == null)
+				this.failure = failure;
+			draining = false;
+			drained.signalAll();
+			clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public boolean awaitDrained(final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+		lock.lock();
+		try {
+			long remaining = timeUnit.toNanos(timeout);
+			while (draining) {
+				if (remaining <= 0)
+					return false;
+				remaining = drained.awaitNanos(remaining);
+			}
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public boolean isDraining() {
+		lock.lock();
+		try {
+			return draining;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public void clear() {
+		lock.lock();
+		try {
+			frames.clear();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public void clearPending() {
+		lock.lock();
+		try {
+			frames.clearPending();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public int getDepth() {
+		lock.lock();
+		try {
+			return frames.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public long getDropped() {
+		lock.lock();
+		try {
+			return dropped;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	public NetX.OverflowPolicy getPolicy() {
+		return policy;
+	}
+	
+	public static final class OverflowException extends IOException {
+		
+		private static final long serialVersionUID = 4127950946815318231L;
+		
+		public OverflowException(final int capacity) {
+			super("Outbound queue overflowed its capacity of " + capacity + " frames");
+		}
+		
+	}
+	
+}
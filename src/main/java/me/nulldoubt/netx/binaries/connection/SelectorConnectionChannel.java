@@ -0,0 +1,412 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import me.nulldoubt.netx.exceptions.ConnectionException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class SelectorConnectionChannel extends ConnectionChannel {
+	
+	private final SocketChannel channel;
+	private final InetAddress host;
+	private final int port;
+	
+	private final ChannelQueue outbound;
+	private final ArrayDeque<Fragment> ready;
+	private final AtomicInteger waiting;
+	private int readyBytes;
+	private FrameDecoder decoder;
+	private ByteBuffer[] gather;
+	
+	private BufferReader reader;
+	private BufferWriter writer;
+	
+	private volatile EventLoop loop;
+	private SelectionKey key;
+	private ConnectionHandler handler;
+	private SignalListener listener;
+	
+	private boolean writable;
+	private boolean scheduled;
+	private boolean closed;
+	private boolean hibernating;
+	private volatile boolean paused;
+	private long dropped;
+	
+	public SelectorConnectionChannel(final SocketChannel channel) {
+		this.channel = channel;
+		this.host = hostOf(channel);
+		this.port = portOf(channel);
+		outbound = new ChannelQueue();
+		ready = new ArrayDeque<>();
+		readyBytes = 0;
+		waiting = new AtomicInteger();
+		gather = new ByteBuffer[16];
+		writable = false;
+		scheduled = false;
+		closed = false;
+	}
+	
+	@Override
+	public void open() throws IOException {
+		if (channel.supportedOptions().contains(StandardSocketOptions.TCP_NODELAY))
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+		writer = new BufferWriter(Channels.newOutputStream(channel), channel, getFlushPolicy(), getFragmentSize());
+		reader = new BufferReader(Channels.newInputStream(channel), getBufferPool(), getMaxFrameSize());
+		decoder = new FrameDecoder(getBufferPool(), getMaxFrameSize());
+	}
+	
+	@Override
+	public void register(final EventLoop loop, final ConnectionHandler handler, final SignalListener listener) throws IOException {
+		if (this.loop != null)
+			throw new ConnectionException("Unable to register channel, it's already registered");
+		this.handler = handler;
+		this.listener = listener;
+		synchronized (outbound) {
+			writer.flush();
+			channel.configureBlocking(false);
+			this.loop = loop;
+		}
+		loop.register(this);
+	}
+	
+	void bind(final Selector selector) {
+		synchronized (outbound) {
+			try {
+				key = channel.register(selector, interest(!(outbound.isEmpty() && ready.isEmpty())), this);
+			} catch (ClosedChannelException e) {
+				terminate();
+			}
+		}
+	}
+	
+	void handleRead(final ByteBuffer buffer) {
+		try {
+			buffer.clear();
+			final int read = channel.read(buffer);
+			if (read == -1) {
+				decoder.release();
+				terminate();
+				return;
+			}
+			buffer.flip();
+			decoder.decode(buffer, (holder) -> listener.onSignal(handler, holder));
+		} catch (IOException e) {
+			decoder.release();
+			terminate();
+		}
+	}
+	
+	void handleWrite() {
+		synchronized (outbound) {
+			try {
+				drain();
+			} catch (IOException e) {
+				terminate();
+			}
+		}
+	}
+	
+	@Override
+	public void write(final NetX.SignalModifier modifier, final int channel, final byte[] buffer, final int offset, final int length) throws IOException {
+		if (loop == null) {
+			writer.write(modifier, channel, buffer, offset, length);
+			return;
+		}
+		final BufferPool pool = getBufferPool();
+		final byte[] copy = pool.acquire(length);
+		System.arraycopy(buffer, offset, copy, 0, length);
+		enqueue(new NetX.SignalHolder(modifier.getModifier(), channel, copy, length, pool));
+	}
+	
+	@Override
+	public void write(final SharedFrame frame) throws IOException {
+		if (loop == null) {
+			writer.write(frame.getSignalModifier(), frame.getChannel(), frame.getBuffer(), 0, frame.getLength());
+			return;
+		}
+		enqueue(new NetX.SignalHolder(frame.getSignalModifier().getModifier(), frame.getChannel(), frame.getBuffer(), frame.getLength(), null));
+	}
+	
+	@Override
+	public void write(final NetX.SignalModifier modifier, final int channel, final byte[] prefix, final FileRegion region) throws IOException {
+		final NetX.SignalHolder holder = new NetX.SignalHolder(modifier.getModifier(), channel, prefix, region);
+		if (loop == null) {
+			try {
+				writer.write(holder);
+			} finally {
+				holder.release();
+			}
+			return;
+		}
+		enqueue(holder);
+	}
+	
+	private void enqueue(final NetX.SignalHolder frame) throws IOException {
+		waiting.incrementAndGet();
+		boolean overflow = false;
+		synchronized (outbound) {
+			waiting.decrementAndGet();
+			if (closed) {
+				frame.release();
+				throw new ClosedChannelException();
+			}
+			hibernating = false;
+			final boolean offered;
+			try {
+				offered = offer(frame);
+			} catch (IOException e) {
+				frame.release();
+				throw e;
+			}
+			if (!(offered)) {
+				frame.release();
+				if (getOverflowPolicy() != NetX.OverflowPolicy.OVERFLOW_DISCONNECT)
+					return;
+				overflow = true;
+			} else {
+				if (writable || (waiting.get() > 0))
+					return;
+				if (getFlushPolicy().isLingering())
+					schedule();
+				else
+					drain();
+			}
+		}
+		if (overflow) {
+			terminate();
+			throw new OutboundQueue.OverflowException(getOutboundCapacity());
+		}
+	}
+	
+	private boolean offer(final NetX.SignalHolder frame) throws IOException {
+		while ((getOutboundCapacity() > 0) && (outbound.size() >= getOutboundCapacity())) {
+			if (!(writable)) {
+				drain();
+				if (outbound.size() < getOutboundCapacity())
+					break;
+			}
+			switch (getOverflowPolicy()) {
+				case OVERFLOW_BLOCK -> {
+					if (loop.inLoop()) {
+						outbound.add(frame);
+						return true;
+					}
+					try {
+						outbound.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("Interrupted while waiting for outbound queue space");
+					}
+					if (closed)
+						throw new ClosedChannelException();
+				}
+				case OVERFLOW_DROP_OLDEST -> {
+					dropped++;
+					final NetX.SignalHolder oldest = outbound.dropOldest();
+					if (oldest == null)
+						return false;
+					oldest.release();
+				}
+				case OVERFLOW_DROP_NEWEST, OVERFLOW_DISCONNECT -> {
+					dropped++;
+					return false;
+				}
+			}
+		}
+		outbound.add(frame);
+		return true;
+	}
+	
+	private void schedule() throws IOException {
+		if (scheduled)
+			return;
+		try {
+			getFlushPolicy().getScheduler().schedule(this::linger, getFlushPolicy().getLinger(), TimeUnit.NANOSECONDS);
+			scheduled = true;
+		} catch (RejectedExecutionException e) {
+			drain();
+		}
+	}
+	
+	private void linger() {
+		synchronized (outbound) {
+			scheduled = false;
+			if (writable || closed)
+				return;
+			try {
+				drain();
+			} catch (IOException e) {
+				terminate();
+			}
+		}
+	}
+	
+	private void drain() throws IOException {
+		final int fragmentSize = getFragmentSize();
+		final int budget = (fragmentSize * ChannelQueue.BATCH_FRAGMENTS);
+		while (true) {
+			Fragment fragment;
+			while ((readyBytes < budget) && ((fragment = outbound.next(fragmentSize)) != null)) {
+				ready.add(fragment);
+				readyBytes += fragment.getLength();
+			}
+			if (ready.isEmpty())
+				break;
+			final int buffers = (ready.size() << 1);
+			if (gather.length < buffers)
+				gather = new ByteBuffer[Math.max(buffers, (gather.length << 1))];
+			int index = 0;
+			Fragment region = null;
+			for (final Fragment pending : ready) {
+				gather[index++] = pending.getHeader();
+				gather[index++] = pending.getPayload();
+				if (pending.isRegion()) {
+					region = pending;
+					break;
+				}
+			}
+			long written = channel.write(gather, 0, index);
+			if ((region != null) && !(region.getHeader().hasRemaining()) && !(region.getPayload().hasRemaining()))
+				written += region.transfer(channel);
+			while (!(ready.isEmpty()) && ready.peek().isWritten()) {
+				final Fragment done = ready.poll();
+				readyBytes -= done.getLength();
+				if (done.isLast())
+					done.getHolder().release();
+			}
+			if (written == 0)
+				break;
+		}
+		outbound.notifyAll();
+		final boolean pending = !(outbound.isEmpty() && ready.isEmpty());
+		if (pending == writable)
+			return;
+		writable = pending;
+		if (key == null)
+			return;
+		key.interestOps(interest(pending));
+		if (pending)
+			loop.wakeup();
+	}
+	
+	private int interest(final boolean pending) {
+		return ((paused ? 0 : SelectionKey.OP_READ) | (pending ? SelectionKey.OP_WRITE : 0));
+	}
+	
+	@Override
+	public void pauseReading() {
+		setPaused(true);
+	}
+	
+	@Override
+	public void resumeReading() {
+		setPaused(false);
+	}
+	
+	private void setPaused(final boolean paused) {
+		if (this.paused == paused)
+			return;
+		synchronized (outbound) {
+			if (this.paused == paused)
+				return;
+			this.paused = paused;
+			if ((key == null) || !(key.isValid()))
+				return;
+			key.interestOps(interest(writable));
+			if (!(paused))
+				loop.wakeup();
+		}
+	}
+	
+	@Override
+	public void hibernate() {
+		synchronized (outbound) {
+			if ((loop == null) || !(outbound.isEmpty()) || !(ready.isEmpty()))
+				return;
+			writer = null;
+			reader = null;
+			if (gather.length > 16)
+				gather = new ByteBuffer[16];
+			hibernating = true;
+		}
+	}
+	
+	@Override
+	public boolean isHibernating() {
+		synchronized (outbound) {
+			return hibernating;
+		}
+	}
+	
+	@Override
+	public NetX.SignalHolder read() throws IOException {
+		if (loop != null)
+			throw new ConnectionException("Unable to read, channel is driven by an event loop");
+		return reader.read();
+	}
+	
+	void terminate() {
+		try {
+			close();
+		} catch (IOException _) {}
+		if (listener != null)
+			listener.onClose(handler);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		synchronized (outbound) {
+			if (closed)
+				return;
+			closed = true;
+			outbound.clear();
+			for (final Fragment fragment : ready)
+				fragment.getHolder().release();
+			ready.clear();
+			readyBytes = 0;
+			outbound.notifyAll();
+			if (key != null)
+				key.cancel();
+		}
+		channel.close();
+	}
+	
+	@Override
+	public int getQueueDepth() {
+		synchronized (outbound) {
+			return outbound.size();
+		}
+	}
+	
+	@Override
+	public long getDroppedFrames() {
+		synchronized (outbound) {
+			return dropped;
+		}
+	}
+	
+	@Override
+	public InetAddress getHost() {
+		return host;
+	}
+	
+	@Override
+	public int getPort() {
+		return port;
+	}
+	
+}
@@ -0,0 +1,66 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class SerialExecutor implements Executor {
+	
+	private static final int BATCH;
+	
+	static {
+		BATCH = 64;
+	}
+	
+	private final Executor executor;
+	private final Queue<Runnable> tasks;
+	private final AtomicBoolean running;
+	private final AtomicInteger pending;
+	
+	public SerialExecutor(final Executor executor) {
+		this.executor = executor;
+		tasks = new ConcurrentLinkedQueue<>();
+		running = new AtomicBoolean(false);
+		pending = new AtomicInteger();
+	}
+	
+	@Override
+	public void execute(final Runnable task) {
+		pending.incrementAndGet();
+		tasks.add(task);
+		schedule();
+	}
+	
+	private void schedule() {
+		if (tasks.isEmpty() || !(running.compareAndSet(false, true)))
+			return;
+		try {
+			executor.execute(this::drain);
+		} catch (RejectedExecutionException e) {
+			running.set(false);
+			throw e;
+		}
+	}
+	
+	private void drain() {
+		try {
+			Runnable task;
+			int executed = 0;
+			while ((executed++ < BATCH) && ((task = tasks.poll()) != null)) {
+				pending.decrementAndGet();
+				task.run();
+			}
+		} finally {
+			running.set(false);
+			schedule();
+		}
+	}
+	
+	public int getPendingTasks() {
+		return pending.get();
+	}
+	
+}
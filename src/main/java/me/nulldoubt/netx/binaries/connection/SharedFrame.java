@@ -0,0 +1,39 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+public final class SharedFrame {
+	
+	private final NetX.SignalModifier modifier;
+	private final int channel;
+	private final byte[] buffer;
+	private final int length;
+	
+	public SharedFrame(final NetX.SignalModifier modifier, final byte[] buffer, final int length) {
+		this(modifier, 0, buffer, length);
+	}
+	
+	public SharedFrame(final NetX.SignalModifier modifier, final int channel, final byte[] buffer, final int length) {
+		this.modifier = modifier;
+		this.channel = channel;
+		this.buffer = buffer;
+		this.length = length;
+	}
+	
+	public NetX.SignalModifier getSignalModifier() {
+		return modifier;
+	}
+	
+	public int getChannel() {
+		return channel;
+	}
+	
+	public byte[] getBuffer() {
+		return buffer;
+	}
+	
+	public int getLength() {
+		return length;
+	}
+	
+}
@@ -0,0 +1,276 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.foreign.Arena;
+import java.net.InetAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+public final class SharedMemoryConnectionChannel extends ConnectionChannel {
+	
+	private static final int SPIN_LIMIT;
+	private static final int YIELD_LIMIT;
+	private static final long MAX_PARK_NANOS;
+	
+	static {
+		SPIN_LIMIT = ((Runtime.getRuntime().availableProcessors() > 1) ? 1024 : 0);
+		YIELD_LIMIT = 16;
+		MAX_PARK_NANOS = 1_000_000;
+	}
+	
+	private final SocketChannel doorbell;
+	private final Path path;
+	private final Arena arena;
+	private final SharedRing inbound;
+	private final SharedRing outbound;
+	private final ByteBuffer bell;
+	private final ByteBuffer wake;
+	
+	private ChannelAssembler assembler;
+	private volatile boolean closed;
+	private volatile boolean ended;
+	
+	private SharedMemoryConnectionChannel(final SocketChannel doorbell, final Path path, final Arena arena, final ByteBuffer buffer, final int capacity, final boolean initiator) {
+		this.doorbell = doorbell;
+		this.path = path;
+		this.arena = arena;
+		final int size = SharedRing.size(capacity);
+		final SharedRing first = new SharedRing(buffer.slice(0, size), capacity);
+		final SharedRing second = new SharedRing(buffer.slice(size, size), capacity);
+		inbound = (initiator ? first : second);
+		outbound = (initiator ? second : first);
+		bell = ByteBuffer.allocate(1);
+		wake = ByteBuffer.allocate(64);
+		closed = false;
+		ended = false;
+	}
+	
+	static SharedMemoryConnectionChannel accept(final SocketChannel doorbell, final Path directory, final int capacity) throws IOException {
+		final Path path = Files.createTempFile(directory, "netx-", ".ring");
+		final Arena arena = Arena.ofShared();
+		try {
+			final ByteBuffer buffer = map(path, capacity, arena);
+			final byte[] name = path.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8);
+			final ByteBuffer descriptor = ByteBuffer.allocate((Integer.BYTES << 1) + name.length).putInt(capacity).putInt(name.length).put(name).flip();
+			while (descriptor.hasRemaining())
+				doorbell.write(descriptor);
+			return new SharedMemoryConnectionChannel(doorbell, path, arena, buffer, capacity, false);
+		} catch (IOException e) {
+			unmap(arena);
+			Files.deleteIfExists(path);
+			doorbell.close();
+			throw e;
+		}
+	}
+	
+	public static SharedMemoryConnectionChannel connect(final Path socketPath) throws IOException {
+		final SocketChannel doorbell = SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+		final Arena arena = Arena.ofShared();
+		try {
+			final ByteBuffer header = readFully(doorbell, ByteBuffer.allocate(Integer.BYTES << 1));
+			final int capacity = header.getInt();
+			final int length = header.getInt();
+			if ((capacity <= 0) || (Integer.bitCount(capacity) != 1) || (length <= 0) || (length > 4096))
+				throw new IOException("Received invalid shared memory descriptor");
+			final Path path = Path.of(new String(readFully(doorbell, ByteBuffer.allocate(length)).array(), StandardCharsets.UTF_8));
+			final ByteBuffer buffer = map(path, capacity, arena);
+			Files.deleteIfExists(path);
+			return new SharedMemoryConnectionChannel(doorbell, path, arena, buffer, capacity, true);
+		} catch (IOException e) {
+			unmap(arena);
+			doorbell.close();
+			throw e;
+		}
+	}
+	
+	private static ByteBuffer map(final Path path, final int capacity, final Arena arena) throws IOException {
+		try (final FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			return file.map(FileChannel.MapMode.READ_WRITE, 0, ((long) SharedRing.size(capacity) << 1), arena).asByteBuffer();
+		}
+	}
+	
+	private static void unmap(final Arena arena) {
+		while (arena.scope().isAlive()) {
+			try {
+				arena.close();
+			} catch (IllegalStateException e) {
+				Thread.onSpinWait();
+			}
+		}
+	}
+	
+	private static ByteBuffer readFully(final SocketChannel channel, final ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining())
+			if (channel.read(buffer) == -1)
+				throw new EOFException("Shared memory peer closed during setup");
+		return buffer.flip();
+	}
+	
+	@Override
+	public void open() throws IOException {
+		if (closed)
+			throw new ClosedChannelException();
+		assembler = new ChannelAssembler(getBufferPool(), getMaxFrameSize());
+	}
+	
+	@Override
+	public synchronized void write(final NetX.SignalModifier modifier, final int channel, final byte[] buffer, final int offset, final int length) throws IOException {
+		final int fragment = Math.max(1, Math.min(getFragmentSize(), outbound.getMaxPayload()));
+		int written = 0;
+		try {
+			do {
+				final int count = Math.min(fragment, (length - written));
+				final boolean last = ((written + count) == length);
+				offer(modifier.getModifier(), (last ? 0 : FrameDecoder.FLAG_MORE), channel, buffer, (offset + written), count);
+				written += count;
+			} while (written < length);
+			if (outbound.signal())
+				ring();
+		} catch (IllegalStateException e) {
+			throw unmapped(e);
+		}
+	}
+	
+	private void offer(final byte signalModifier, final byte flags, final int channel, final byte[] buffer, final int offset, final int length) throws IOException {
+		int attempts = 0;
+		long park = 1_000;
+		while (!(outbound.offer(signalModifier, flags, channel, buffer, offset, length))) {
+			ensureWritable();
+			if ((attempts == 0) && outbound.signal())
+				ring();
+			if (attempts < SPIN_LIMIT)
+				Thread.onSpinWait();
+			else if (attempts < (SPIN_LIMIT + YIELD_LIMIT))
+				Thread.yield();
+			else {
+				LockSupport.parkNanos(this, park);
+				park = Math.min(MAX_PARK_NANOS, (park << 1));
+				if (Thread.currentThread().isInterrupted())
+					throw new InterruptedIOException("Interrupted while waiting for shared memory ring space");
+			}
+			attempts++;
+		}
+	}
+	
+	private void ensureWritable() throws IOException {
+		if (closed)
+			throw new ClosedChannelException();
+		if (ended || outbound.isClosed())
+			throw new EOFException("Shared memory peer closed the connection");
+	}
+	
+	private void ring() throws IOException {
+		synchronized (bell) {
+			bell.clear();
+			doorbell.write(bell);
+		}
+	}
+	
+	@Override
+	public NetX.SignalHolder read() throws IOException {
+		try {
+			while (true) {
+				final int length = await();
+				FrameDecoder.checkLength(length, getMaxFrameSize());
+				final byte signalModifier = inbound.peekSignalModifier();
+				final byte flags = inbound.peekFlags();
+				final int channel = inbound.peekChannel();
+				final byte[] buffer = getBufferPool().acquire(length);
+				inbound.poll(buffer, length);
+				final NetX.SignalHolder holder = assembler.accept(signalModifier, flags, channel, buffer, length);
+				if (holder != null)
+					return holder;
+			}
+		} catch (IllegalStateException e) {
+			throw unmapped(e);
+		}
+	}
+	
+	private IOException unmapped(final IllegalStateException e) {
+		if (!(closed))
+			throw e;
+		return new ClosedChannelException();
+	}
+	
+	private int await() throws IOException {
+		int attempts = 0;
+		int length;
+		while ((length = inbound.peekLength()) == -1) {
+			if (closed)
+				throw new ClosedChannelException();
+			if (ended || inbound.isClosed())
+				throw new EOFException("Shared memory peer closed the connection");
+			if (attempts < SPIN_LIMIT)
+				Thread.onSpinWait();
+			else if (attempts < (SPIN_LIMIT + YIELD_LIMIT))
+				Thread.yield();
+			else {
+				inbound.await();
+				if (inbound.isEmpty() && !(inbound.isClosed())) {
+					wake.clear();
+					if (doorbell.read(wake) == -1)
+						ended = true;
+				}
+				inbound.resume();
+				attempts = 0;
+				continue;
+			}
+			attempts++;
+		}
+		return length;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+		closed = true;
+		inbound.close();
+		outbound.close();
+		try {
+			doorbell.close();
+		} finally {
+			if (assembler != null)
+				assembler.release();
+			unmap(arena);
+			Files.deleteIfExists(path);
+		}
+	}
+	
+	@Override
+	public int getQueueDepth() {
+		return 0;
+	}
+	
+	@Override
+	public long getDroppedFrames() {
+		return 0;
+	}
+	
+	@Override
+	public InetAddress getHost() {
+		return InetAddress.getLoopbackAddress();
+	}
+	
+	@Override
+	public int getPort() {
+		return 0;
+	}
+	
+	public int getRingCapacity() {
+		return inbound.getCapacity();
+	}
+	
+}
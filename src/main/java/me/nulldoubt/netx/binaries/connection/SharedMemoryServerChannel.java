@@ -0,0 +1,76 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class SharedMemoryServerChannel implements Closeable {
+	
+	private static final int MIN_CAPACITY;
+	
+	static {
+		MIN_CAPACITY = 4096;
+	}
+	
+	private final ServerSocketChannel channel;
+	private final Path socketPath;
+	private final Path directory;
+	private final int capacity;
+	
+	private SharedMemoryServerChannel(final ServerSocketChannel channel, final Path socketPath, final int capacity) {
+		this.channel = channel;
+		this.socketPath = socketPath;
+		final Path parent = socketPath.toAbsolutePath().getParent();
+		directory = ((parent == null) ? Path.of(System.getProperty("java.io.tmpdir")) : parent);
+		this.capacity = capacity;
+	}
+	
+	public static SharedMemoryServerChannel bind(final Path socketPath, final int capacity) throws IOException {
+		Files.deleteIfExists(socketPath);
+		final ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			channel.bind(UnixDomainSocketAddress.of(socketPath));
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		return new SharedMemoryServerChannel(channel, socketPath, capacityOf(capacity));
+	}
+	
+	public SharedMemoryConnectionChannel accept() throws IOException {
+		return SharedMemoryConnectionChannel.accept(channel.accept(), directory, capacity);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			channel.close();
+		} finally {
+			Files.deleteIfExists(socketPath);
+		}
+	}
+	
+	private static int capacityOf(final int capacity) {
+		if (capacity <= MIN_CAPACITY)
+			return MIN_CAPACITY;
+		final int rounded = Integer.highestOneBit(capacity);
+		return ((rounded == capacity) ? capacity : (rounded << 1));
+	}
+	
+	public Path getSocketPath() {
+		return socketPath;
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	public boolean isOpen() {
+		return channel.isOpen();
+	}
+	
+}
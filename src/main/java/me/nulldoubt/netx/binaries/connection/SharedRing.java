@@ -0,0 +1,143 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+final class SharedRing {
+	
+	static final int HEADER_LENGTH;
+	
+	private static final int TAIL_OFFSET;
+	private static final int HEAD_OFFSET;
+	private static final int WAITING_OFFSET;
+	private static final int CLOSED_OFFSET;
+	private static final int ALIGNMENT;
+	private static final int PADDING;
+	
+	private static final VarHandle LONGS;
+	private static final VarHandle INTS;
+	
+	static {
+		HEADER_LENGTH = 192;
+		TAIL_OFFSET = 0;
+		HEAD_OFFSET = 64;
+		WAITING_OFFSET = 128;
+		CLOSED_OFFSET = 136;
+		ALIGNMENT = 8;
+		PADDING = -1;
+		LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+		INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+	}
+	
+	private final ByteBuffer buffer;
+	private final int capacity;
+	private final int mask;
+	
+	private long tail;
+	private long head;
+	
+	SharedRing(final ByteBuffer buffer, final int capacity) {
+		this.buffer = buffer;
+		this.capacity = capacity;
+		mask = (capacity - 1);
+		tail = (long) LONGS.getVolatile(buffer, TAIL_OFFSET);
+		head = (long) LONGS.getVolatile(buffer, HEAD_OFFSET);
+	}
+	
+	static int size(final int capacity) {
+		return (HEADER_LENGTH + capacity);
+	}
+	
+	int getMaxPayload() {
+		return ((capacity >> 1) - FrameDecoder.HEADER_LENGTH);
+	}
+	
+	boolean offer(final byte signalModifier, final byte flags, final int channel, final byte[] source, final int offset, final int length) {
+		final int record = align(FrameDecoder.HEADER_LENGTH + length);
+		final int index = (int) (tail & mask);
+		final int contiguous = (capacity - index);
+		final int required = ((record <= contiguous) ? record : (contiguous + record));
+		if (((tail + required) - (long) LONGS.getAcquire(buffer, HEAD_OFFSET)) > capacity)
+			return false;
+		int position = index;
+		if (record > contiguous) {
+			buffer.putInt(HEADER_LENGTH + index, PADDING);
+			tail += contiguous;
+			position = 0;
+		}
+		buffer.putInt(HEADER_LENGTH + position, length)
+				.put(HEADER_LENGTH + position + 4, signalModifier)
+				.put(HEADER_LENGTH + position + 5, flags)
+				.putShort(HEADER_LENGTH + position + 6, (short) channel)
+				.put(HEADER_LENGTH + position + FrameDecoder.HEADER_LENGTH, source, offset, length);
+		tail += record;
+		LONGS.setVolatile(buffer, TAIL_OFFSET, tail);
+		return true;
+	}
+	
+	boolean isEmpty() {
+		return (head == (long) LONGS.getVolatile(buffer, TAIL_OFFSET));
+	}
+	
+	int peekLength() {
+		while (!(isEmpty())) {
+			final int index = (int) (head & mask);
+			final int length = buffer.getInt(HEADER_LENGTH + index);
+			if (length != PADDING)
+				return length;
+			head += (capacity - index);
+			LONGS.setRelease(buffer, HEAD_OFFSET, head);
+		}
+		return -1;
+	}
+	
+	byte peekSignalModifier() {
+		return buffer.get(HEADER_LENGTH + (int) (head & mask) + 4);
+	}
+	
+	byte peekFlags() {
+		return buffer.get(HEADER_LENGTH + (int) (head & mask) + 5);
+	}
+	
+	int peekChannel() {
+		return Short.toUnsignedInt(buffer.getShort(HEADER_LENGTH + (int) (head & mask) + 6));
+	}
+	
+	void poll(final byte[] destination, final int length) {
+		final int index = (int) (head & mask);
+		buffer.get(HEADER_LENGTH + index + FrameDecoder.HEADER_LENGTH, destination, 0, length);
+		head += align(FrameDecoder.HEADER_LENGTH + length);
+		LONGS.setRelease(buffer, HEAD_OFFSET, head);
+	}
+	
+	void await() {
+		INTS.setVolatile(buffer, WAITING_OFFSET, 1);
+	}
+	
+	void resume() {
+		INTS.setVolatile(buffer, WAITING_OFFSET, 0);
+	}
+	
+	boolean signal() {
+		return (((int) INTS.getVolatile(buffer, WAITING_OFFSET) == 1) && INTS.compareAndSet(buffer, WAITING_OFFSET, 1, 0));
+	}
+	
+	void close() {
+		INTS.setVolatile(buffer, CLOSED_OFFSET, 1);
+	}
+	
+	boolean isClosed() {
+		return ((int) INTS.getVolatile(buffer, CLOSED_OFFSET) == 1);
+	}
+	
+	int getCapacity() {
+		return capacity;
+	}
+	
+	private static int align(final int length) {
+		return ((length + (ALIGNMENT - 1)) & -ALIGNMENT);
+	}
+	
+}
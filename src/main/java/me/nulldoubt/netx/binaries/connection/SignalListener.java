@@ -0,0 +1,11 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+public interface SignalListener {
+	
+	public void onSignal(final ConnectionHandler handler, final NetX.SignalHolder holder);
+	
+	public void onClose(final ConnectionHandler handler);
+	
+}
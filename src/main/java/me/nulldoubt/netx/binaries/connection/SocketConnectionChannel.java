@@ -0,0 +1,207 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public final class SocketConnectionChannel extends ConnectionChannel {
+	
+	private static final long CLOSE_TIMEOUT;
+	private static final ExecutorService DRAINERS;
+	
+	static {
+		CLOSE_TIMEOUT = 100;
+		DRAINERS = Executors.newThreadPerTaskExecutor(new ConnectionThreadFactory(NetX.ThreadMode.THREAD_VIRTUAL));
+	}
+	
+	private final Socket socket;
+	private final SocketChannel channel;
+	private final InetAddress host;
+	private final int port;
+	
+	private BufferReader reader;
+	private BufferWriter writer;
+	
+	private OutboundQueue queue;
+	
+	public SocketConnectionChannel(final Socket socket) {
+		this.socket = socket;
+		channel = socket.getChannel();
+		host = socket.getInetAddress();
+		port = socket.getPort();
+	}
+	
+	public SocketConnectionChannel(final SocketChannel channel) {
+		socket = null;
+		this.channel = channel;
+		host = hostOf(channel);
+		port = portOf(channel);
+	}
+	
+	@Override
+	public void open() throws IOException {
+		if (socket != null) {
+			socket.setTcpNoDelay(true);
+			writer = new BufferWriter(socket.getOutputStream(), channel, getFlushPolicy(), getFragmentSize());
+			reader = new BufferReader(socket.getInputStream(), getBufferPool(), getMaxFrameSize());
+		} else {
+			if (channel.supportedOptions().contains(StandardSocketOptions.TCP_NODELAY))
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			writer = new BufferWriter(Channels.newOutputStream(channel), channel, getFlushPolicy(), getFragmentSize());
+			reader = new BufferReader(Channels.newInputStream(channel), getBufferPool(), getMaxFrameSize());
+		}
+		writer.getOutputStream().flush();
+		if (getOutboundCapacity() > 0)
+			queue = new OutboundQueue(getOutboundCapacity(), getOverflowPolicy(), getFragmentSize());
+	}
+	
+	@Override
+	public void write(final NetX.SignalModifier modifier, final int channel, final byte[] buffer, final int offset, final int length) throws IOException {
+		if (queue == null) {
+			writer.write(modifier, channel, buffer, offset, length);
+			return;
+		}
+		final BufferPool pool = getBufferPool();
+		final byte[] copy = pool.acquire(length);
+		System.arraycopy(buffer, offset, copy, 0, length);
+		enqueue(new NetX.SignalHolder(modifier.getModifier(), channel, copy, length, pool));
+	}
+	
+	@Override
+	public void write(final SharedFrame frame) throws IOException {
+		if (queue == null) {
+			writer.write(frame.getSignalModifier(), frame.getChannel(), frame.getBuffer(), 0, frame.getLength());
+			return;
+		}
+		enqueue(new NetX.SignalHolder(frame.getSignalModifier().getModifier(), frame.getChannel(), frame.getBuffer(), frame.getLength(), null));
+	}
+	
+	@Override
+	public void write(final NetX.SignalModifier modifier, final int channel, final byte[] prefix, final FileRegion region) throws IOException {
+		final NetX.SignalHolder holder = new NetX.SignalHolder(modifier.getModifier(), channel, prefix, region);
+		if (queue == null) {
+			try {
+				writer.write(holder);
+			} finally {
+				holder.release();
+			}
+			return;
+		}
+		enqueue(holder);
+	}
+	
+	private void enqueue(final NetX.SignalHolder frame) throws IOException {
+		try {
+			if (!(queue.offer(frame, this::schedule)))
+				frame.release();
+		} catch (OutboundQueue.OverflowException e) {
+			frame.release();
+			closeSocket();
+			throw e;
+		} catch (IOException e) {
+			frame.release();
+			throw e;
+		}
+	}
+	
+	private void schedule() {
+		try {
+			DRAINERS.execute(this::drain);
+		} catch (RejectedExecutionException e) {
+			queue.fail(new IOException("Unable to schedule outbound drainer"));
+		}
+	}
+	
+	private void drain() {
+		final List<Fragment> batch = new ArrayList<>();
+		try {
+			while (queue.take(batch)) {
+				try {
+					writer.write(batch);
+				} finally {
+					for (final Fragment fragment : batch)
+						if (fragment.isLast())
+							fragment.getHolder().release();
+					batch.clear();
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			queue.fail((e instanceof IOException exception) ? exception : new IOException(e));
+			try {
+				closeSocket();
+			} catch (IOException _) {}
+		}
+	}
+	
+	@Override
+	public NetX.SignalHolder read() throws IOException {
+		return reader.read();
+	}
+	
+	@Override
+	public void hibernate() {
+		if ((queue != null) && !(queue.suspend()))
+			return;
+		writer.release();
+	}
+	
+	@Override
+	public boolean isHibernating() {
+		return ((queue != null) && queue.isSuspended());
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if (queue != null) {
+			queue.close();
+			try {
+				queue.awaitDrained(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			queue.clearPending();
+		}
+		reader.close();
+		writer.close();
+		closeSocket();
+	}
+	
+	private void closeSocket() throws IOException {
+		if (socket != null)
+			socket.close();
+		else
+			channel.close();
+	}
+	
+	@Override
+	public int getQueueDepth() {
+		return ((queue == null) ? 0 : queue.getDepth());
+	}
+	
+	@Override
+	public long getDroppedFrames() {
+		return ((queue == null) ? 0 : queue.getDropped());
+	}
+	
+	@Override
+	public InetAddress getHost() {
+		return host;
+	}
+	
+	@Override
+	public int getPort() {
+		return port;
+	}
+	
+}
@@ -0,0 +1,189 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+
+public final class StreamInput extends InputStream implements ReadableByteChannel {
+	
+	private final ConnectionHandler handler;
+	private final BufferPool pool;
+	private final int id;
+	private final int channel;
+	private final String name;
+	private final long size;
+	private final int window;
+	private final ArrayDeque<NetX.SignalHolder> chunks;
+	
+	private int position;
+	private int buffered;
+	private int consumed;
+	private long read;
+	private boolean ended;
+	private boolean closed;
+	private String failure;
+	
+	StreamInput(final ConnectionHandler handler, final BufferPool pool, final int id, final int channel, final String name, final long size, final int window) {
+		this.handler = handler;
+		this.pool = pool;
+		this.id = id;
+		this.channel = channel;
+		this.name = name;
+		this.size = size;
+		this.window = window;
+		chunks = new ArrayDeque<>();
+		position = 0;
+		buffered = 0;
+		consumed = 0;
+		read = 0;
+		ended = false;
+		closed = false;
+	}
+	
+	synchronized boolean offer(final byte[] buffer, final int offset, final int length) {
+		if (closed || ended || (failure != null))
+			return true;
+		if ((buffered + length) > window)
+			return false;
+		if (length == 0)
+			return true;
+		final byte[] chunk = pool.acquire(length);
+		System.arraycopy(buffer, offset, chunk, 0, length);
+		chunks.add(new NetX.SignalHolder(NetX.SignalModifier.SIGNAL_STREAM.getModifier(), channel, chunk, length, pool));
+		buffered += length;
+		notifyAll();
+		return true;
+	}
+	
+	synchronized void end() {
+		ended = true;
+		notifyAll();
+	}
+	
+	synchronized void fail(final String failure) {
+		if (!(ended) && (this.failure == null))
+			this.failure = failure;
+		notifyAll();
+	}
+	
+	@Override
+	public int read() throws IOException {
+		final byte[] single = new byte[1];
+		return ((read(single, 0, 1) == -1) ? -1 : (single[0] & 0xFF));
+	}
+	
+	@Override
+	public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+		if (length == 0)
+			return 0;
+		return read(ByteBuffer.wrap(buffer, offset, length));
+	}
+	
+	@Override
+	public int read(final ByteBuffer destination) throws IOException {
+		if (!(destination.hasRemaining()))
+			return 0;
+		int count = 0;
+		int credit = 0;
+		synchronized (this) {
+			try {
+				while (chunks.isEmpty() && !(ended) && !(closed) && (failure == null))
+					wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for stream data");
+			}
+			if (closed)
+				throw new IOException("Stream " + id + " is closed");
+			if (chunks.isEmpty()) {
+				if (failure != null)
+					throw new IOException(failure);
+				return -1;
+			}
+			while (!(chunks.isEmpty()) && destination.hasRemaining()) {
+				final NetX.SignalHolder chunk = chunks.peek();
+				final int length = Math.min(destination.remaining(), chunk.getLength() - position);
+				destination.put(chunk.getBuffer(), position, length);
+				position += length;
+				count += length;
+				if (position == chunk.getLength()) {
+					chunks.poll().release();
+					position = 0;
+				}
+			}
+			buffered -= count;
+			consumed += count;
+			read += count;
+			if (!(ended) && (consumed >= (window >> 1))) {
+				credit = consumed;
+				consumed = 0;
+			}
+		}
+		if (credit > 0) {
+			try {
+				handler.writeStreamControl(channel, id, StreamOutput.OPERATION_CREDIT, credit);
+			} catch (IOException e) {
+				fail("Unable to grant stream credit: " + e.getLocalizedMessage());
+			}
+		}
+		return count;
+	}
+	
+	@Override
+	public synchronized int available() {
+		return buffered;
+	}
+	
+	@Override
+	public void close() {
+		final boolean cancel;
+		synchronized (this) {
+			if (closed)
+				return;
+			closed = true;
+			cancel = (!(ended) && (failure == null));
+			for (final NetX.SignalHolder chunk : chunks)
+				chunk.release();
+			chunks.clear();
+			buffered = 0;
+			notifyAll();
+		}
+		if (!(cancel))
+			return;
+		handler.releaseStream(this);
+		try {
+			handler.writeStreamControl(channel, id, StreamOutput.OPERATION_CANCEL, 0);
+		} catch (IOException _) {}
+	}
+	
+	@Override
+	public synchronized boolean isOpen() {
+		return !(closed);
+	}
+	
+	public int getId() {
+		return id;
+	}
+	
+	public int getChannel() {
+		return channel;
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public long getSize() {
+		return size;
+	}
+	
+	public synchronized long getRead() {
+		return read;
+	}
+	
+}
@@ -0,0 +1,259 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+public final class StreamOutput extends OutputStream {
+	
+	static final int HEADER_LENGTH;
+	static final byte OPERATION_OPEN;
+	static final byte OPERATION_DATA;
+	static final byte OPERATION_END;
+	static final byte OPERATION_RESET;
+	static final byte OPERATION_CREDIT;
+	static final byte OPERATION_CANCEL;
+	
+	static {
+		HEADER_LENGTH = (Integer.BYTES + Byte.BYTES);
+		OPERATION_OPEN = 1;
+		OPERATION_DATA = 2;
+		OPERATION_END = 3;
+		OPERATION_RESET = 4;
+		OPERATION_CREDIT = 5;
+		OPERATION_CANCEL = 6;
+	}
+	
+	private final ConnectionHandler handler;
+	private final int id;
+	private final int channel;
+	private final byte[] chunk;
+	
+	private int position;
+	private long credit;
+	private long written;
+	private boolean closed;
+	private String failure;
+	private int regions;
+	
+	StreamOutput(final ConnectionHandler handler, final int id, final int channel, final int chunkSize) {
+		this.handler = handler;
+		this.id = id;
+		this.channel = channel;
+		chunk = new byte[HEADER_LENGTH + chunkSize];
+		position = HEADER_LENGTH;
+		credit = 0;
+		written = 0;
+		closed = false;
+		regions = 0;
+	}
+	
+	@Override
+	public void write(final int b) throws IOException {
+		ensureOpen();
+		chunk[position++] = (byte) b;
+		if (position == chunk.length)
+			flushChunk();
+	}
+	
+	@Override
+	public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+		ensureOpen();
+		int copied = 0;
+		while (copied < length) {
+			final int count = Math.min(length - copied, chunk.length - position);
+			System.arraycopy(buffer, offset + copied, chunk, position, count);
+			position += count;
+			copied += count;
+			if (position == chunk.length)
+				flushChunk();
+		}
+	}
+	
+	public long transferFrom(final InputStream input) throws IOException {
+		ensureOpen();
+		final long start = written + (position - HEADER_LENGTH);
+		int read;
+		while ((read = input.read(chunk, position, chunk.length - position)) != -1) {
+			position += read;
+			if (position == chunk.length)
+				flushChunk();
+		}
+		return (written + (position - HEADER_LENGTH) - start);
+	}
+	
+	public long transferFrom(final ReadableByteChannel input) throws IOException {
+		if (input instanceof FileChannel file)
+			return transferFrom(file);
+		ensureOpen();
+		final long start = written + (position - HEADER_LENGTH);
+		final ByteBuffer buffer = ByteBuffer.wrap(chunk);
+		int read;
+		while ((read = input.read(buffer.limit(chunk.length).position(position))) != -1) {
+			position += read;
+			if (position == chunk.length)
+				flushChunk();
+		}
+		return (written + (position - HEADER_LENGTH) - start);
+	}
+	
+	public long transferFrom(final FileChannel file) throws IOException {
+		final long transferred = transferFrom(file, file.position(), (file.size() - file.position()));
+		file.position(file.position() + transferred);
+		return transferred;
+	}
+	
+	public long transferFrom(final FileChannel file, final long position, final long count) throws IOException {
+		ensureOpen();
+		final long length = Math.max(0, Math.min(count, (file.size() - position)));
+		if (handler.isEncrypted()) {
+			final ByteBuffer buffer = ByteBuffer.wrap(chunk);
+			long transferred = 0;
+			while (transferred < length) {
+				buffer.limit((int) Math.min(chunk.length, (this.position + (length - transferred)))).position(this.position);
+				final int read = file.read(buffer, (position + transferred));
+				if (read == -1)
+					break;
+				this.position += read;
+				transferred += read;
+				if (this.position == chunk.length)
+					flushChunk();
+			}
+			return transferred;
+		}
+		flush();
+		long transferred = 0;
+		while (transferred < length) {
+			final int size = awaitCredit((int) Math.min((chunk.length - HEADER_LENGTH), (length - transferred)));
+			final byte[] prefix = ByteBuffer.allocate(HEADER_LENGTH).putInt(id).put(OPERATION_DATA).array();
+			synchronized (this) {
+				regions++;
+			}
+			handler.transfer(NetX.SignalModifier.SIGNAL_STREAM, channel, prefix, new FileRegion(file, (position + transferred), size, this::released));
+			transferred += size;
+			written += size;
+		}
+		awaitRegions();
+		return transferred;
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		if (position > HEADER_LENGTH)
+			flushChunk();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+		try {
+			flush();
+			handler.writeStreamControl(channel, id, OPERATION_END, 0);
+		} finally {
+			closed = true;
+			handler.releaseStream(this);
+		}
+	}
+	
+	public void abort() {
+		if (closed)
+			return;
+		closed = true;
+		handler.releaseStream(this);
+		try {
+			handler.writeStreamControl(channel, id, OPERATION_RESET, 0);
+		} catch (IOException _) {}
+	}
+	
+	private void flushChunk() throws IOException {
+		int offset = HEADER_LENGTH;
+		while (offset < position) {
+			final int count = awaitCredit(position - offset);
+			final int start = (offset - HEADER_LENGTH);
+			ByteBuffer.wrap(chunk, start, HEADER_LENGTH).putInt(id).put(OPERATION_DATA);
+			handler.writeStream(channel, chunk, start, HEADER_LENGTH + count);
+			offset += count;
+			written += count;
+		}
+		position = HEADER_LENGTH;
+	}
+	
+	private synchronized int awaitCredit(final int length) throws IOException {
+		try {
+			while ((credit <= 0) && (failure == null))
+				wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for stream credit");
+		}
+		if (failure != null)
+			throw new IOException(failure);
+		final int count = (int) Math.min(length, credit);
+		credit -= count;
+		return count;
+	}
+	
+	private synchronized void released() {
+		regions--;
+		notifyAll();
+	}
+	
+	private synchronized void awaitRegions() throws IOException {
+		try {
+			while (regions > 0)
+				wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for file regions to be written");
+		}
+		if (failure != null)
+			throw new IOException(failure);
+	}
+	
+	synchronized void grant(final int credit) {
+		this.credit += credit;
+		notifyAll();
+	}
+	
+	synchronized void fail(final String failure) {
+		if (this.failure == null)
+			this.failure = failure;
+		notifyAll();
+	}
+	
+	private void ensureOpen() throws IOException {
+		if (closed)
+			throw new IOException("Stream " + id + " is closed");
+		final String failure;
+		synchronized (this) {
+			failure = this.failure;
+		}
+		if (failure != null)
+			throw new IOException(failure);
+	}
+	
+	public int getId() {
+		return id;
+	}
+	
+	public int getChannel() {
+		return channel;
+	}
+	
+	public long getWritten() {
+		return written;
+	}
+	
+	public synchronized long getCredit() {
+		return credit;
+	}
+	
+}
@@ -0,0 +1,237 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public final class TimingWheel implements Runnable {
+	
+	private static final int STATE_PENDING;
+	private static final int STATE_CANCELLED;
+	private static final int STATE_EXPIRED;
+	private static final int TRANSFER_LIMIT;
+	
+	private static final VarHandle STATE;
+	
+	static {
+		STATE_PENDING = 0;
+		STATE_CANCELLED = 1;
+		STATE_EXPIRED = 2;
+		TRANSFER_LIMIT = 100_000;
+		try {
+			STATE = MethodHandles.lookup().findVarHandle(Timeout.class, "state", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	private final long tickDuration;
+	private final Timeout[] buckets;
+	private final Timeout[] tails;
+	private final int mask;
+	private final Queue<Timeout> scheduled;
+	private final Queue<Timeout> cancelled;
+	private final AtomicInteger pending;
+	private final PrintStream errorStream;
+	private final long start;
+	
+	private long tick;
+	private volatile boolean open;
+	private volatile Thread thread;
+	
+	public TimingWheel(final long tickDuration, final TimeUnit timeUnit, final int ticksPerWheel, final PrintStream errorStream) {
+		if (tickDuration < 1)
+			throw new IllegalArgumentException("Tick duration has to be at least 1");
+		if (ticksPerWheel < 1)
+			throw new IllegalArgumentException("Wheel has to contain at least one tick");
+		this.tickDuration = Math.max(1, timeUnit.toNanos(tickDuration));
+		buckets = new Timeout[Integer.highestOneBit(Math.max(1, (ticksPerWheel - 1))) << 1];
+		tails = new Timeout[buckets.length];
+		mask = (buckets.length - 1);
+		scheduled = new ConcurrentLinkedQueue<>();
+		cancelled = new ConcurrentLinkedQueue<>();
+		pending = new AtomicInteger();
+		this.errorStream = errorStream;
+		start = System.nanoTime();
+		tick = 0;
+		open = true;
+	}
+	
+	public void open(final ConnectionThreadFactory threadFactory) {
+		threadFactory.create("Timer", this, Thread.MAX_PRIORITY).start();
+	}
+	
+	public Timeout schedule(final Runnable task, final long delay, final TimeUnit timeUnit) {
+		final Timeout timeout = new Timeout(this, task, (System.nanoTime() - start) + Math.max(0, timeUnit.toNanos(delay)));
+		pending.incrementAndGet();
+		scheduled.add(timeout);
+		if (!(open) && scheduled.remove(timeout))
+			timeout.expire();
+		return timeout;
+	}
+	
+	@Override
+	public void run() {
+		thread = Thread.currentThread();
+		while (open) {
+			final long deadline = awaitTick();
+			if (!(open))
+				break;
+			removeCancelled();
+			transferScheduled();
+			expire(buckets[(int) (tick & mask)], deadline);
+			tick++;
+		}
+		removeCancelled();
+		for (int i = 0; i < buckets.length; i++) {
+			Timeout timeout;
+			while ((timeout = buckets[i]) != null) {
+				unlink(timeout);
+				timeout.expire();
+			}
+		}
+		Timeout timeout;
+		while ((timeout = scheduled.poll()) != null)
+			timeout.expire();
+	}
+	
+	private long awaitTick() {
+		final long deadline = (tickDuration * (tick + 1));
+		long remaining;
+		while (open && ((remaining = (deadline - (System.nanoTime() - start))) > 0)) {
+			LockSupport.parkNanos(this, remaining);
+			Thread.interrupted();
+		}
+		return deadline;
+	}
+	
+	private void removeCancelled() {
+		Timeout timeout;
+		while ((timeout = cancelled.poll()) != null)
+			if (timeout.bucket != -1)
+				unlink(timeout);
+	}
+	
+	private void transferScheduled() {
+		Timeout timeout;
+		for (int i = 0; (i < TRANSFER_LIMIT) && ((timeout = scheduled.poll()) != null); i++) {
+			if (timeout.state != STATE_PENDING)
+				continue;
+			final long ticks = Math.max((timeout.deadline / tickDuration), tick);
+			timeout.rounds = ((ticks - tick) / buckets.length);
+			link(timeout, (int) (ticks & mask));
+		}
+	}
+	
+	private void expire(Timeout timeout, final long deadline) {
+		while (timeout != null) {
+			final Timeout next = timeout.next;
+			if (timeout.state != STATE_PENDING)
+				unlink(timeout);
+			else if ((timeout.rounds <= 0) && (timeout.deadline <= deadline)) {
+				unlink(timeout);
+				timeout.expire();
+			} else
+				timeout.rounds--;
+			timeout = next;
+		}
+	}
+	
+	private void link(final Timeout timeout, final int bucket) {
+		timeout.bucket = bucket;
+		timeout.previous = tails[bucket];
+		if (timeout.previous != null)
+			timeout.previous.next = timeout;
+		else
+			buckets[bucket] = timeout;
+		tails[bucket] = timeout;
+	}
+	
+	private void unlink(final Timeout timeout) {
+		if (timeout.previous != null)
+			timeout.previous.next = timeout.next;
+		else
+			buckets[timeout.bucket] = timeout.next;
+		if (timeout.next != null)
+			timeout.next.previous = timeout.previous;
+		else
+			tails[timeout.bucket] = timeout.previous;
+		timeout.previous = null;
+		timeout.next = null;
+		timeout.bucket = -1;
+	}
+	
+	public void close() {
+		open = false;
+		final Thread worker = thread;
+		if (worker != null)
+			LockSupport.unpark(worker);
+	}
+	
+	public boolean isOpen() {
+		return open;
+	}
+	
+	public int size() {
+		return pending.get();
+	}
+	
+	public long getTickDuration() {
+		return tickDuration;
+	}
+	
+	public static final class Timeout {
+		
+		private final TimingWheel wheel;
+		private final Runnable task;
+		private final long deadline;
+		
+		private volatile int state;
+		private long rounds;
+		private int bucket;
+		private Timeout previous;
+		private Timeout next;
+		
+		private Timeout(final TimingWheel wheel, final Runnable task, final long deadline) {
+			this.wheel = wheel;
+			this.task = task;
+			this.deadline = deadline;
+			state = STATE_PENDING;
+			bucket = -1;
+		}
+		
+		public boolean cancel() {
+			if (!(STATE.compareAndSet(this, STATE_PENDING, STATE_CANCELLED)))
+				return false;
+			wheel.pending.decrementAndGet();
+			wheel.cancelled.add(this);
+			return true;
+		}
+		
+		private void expire() {
+			if (!(STATE.compareAndSet(this, STATE_PENDING, STATE_EXPIRED)))
+				return;
+			wheel.pending.decrementAndGet();
+			try {
+				task.run();
+			} catch (Throwable t) {
+				wheel.errorStream.println("An error occurred while expiring timeout (Internal): " + t.getLocalizedMessage());
+			}
+		}
+		
+		public boolean isCancelled() {
+			return (state == STATE_CANCELLED);
+		}
+		
+		public boolean isExpired() {
+			return (state == STATE_EXPIRED);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,12 @@
+package me.nulldoubt.netx.binaries.model;
+
+import me.nulldoubt.netx.binaries.connection.StreamInput;
+
+import java.util.UUID;
+
+@FunctionalInterface
+public interface StreamReceivedListener {
+	
+	public void onStreamReceived(final StreamInput stream, final UUID sender);
+	
+}
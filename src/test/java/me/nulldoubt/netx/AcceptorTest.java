@@ -0,0 +1,118 @@
+package me.nulldoubt.netx;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AcceptorTest {
+	
+	private static final int ACCEPTORS = 4;
+	private static final int CLIENTS = 128;
+	
+	private final Set<UUID> connected = ConcurrentHashMap.newKeySet();
+	private final List<Client<String>> clients = new ArrayList<>();
+	private Set<Thread> before;
+	private Server<String> server;
+	
+	@BeforeEach
+	void snapshot() {
+		before = threads();
+	}
+	
+	@AfterEach
+	void close() throws IOException {
+		synchronized (clients) {
+			for (final Client<String> client : clients)
+				client.close();
+		}
+		if (server != null)
+			server.close();
+	}
+	
+	@Test
+	void sharedListenerAcceptsAStorm() throws Exception {
+		open(false);
+		assertEquals(ACCEPTORS, started("Server"));
+		storm();
+	}
+	
+	@Test
+	void reusePortListenersAcceptAStorm() throws Exception {
+		open(true);
+		assertEquals(ACCEPTORS, started("Server"));
+		storm();
+	}
+	
+	@Test
+	void closeStopsEveryAcceptorAndFreesThePort() throws Exception {
+		open(true);
+		final int port = server.getLocalPort();
+		server.close();
+		server = null;
+		await(() -> (started("Server") == 0));
+		assertEquals(0, started("Server"));
+		try (final ServerSocket socket = new ServerSocket()) {
+			socket.bind(new InetSocketAddress(port));
+			assertEquals(port, socket.getLocalPort());
+		}
+	}
+	
+	private void open(final boolean reusePort) throws IOException {
+		server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).acceptors(ACCEPTORS).reusePort(reusePort).handshakeConcurrency(CLIENTS).onClientConnect(connected::add).onPacketReceived((packet, sender) -> server.send(sender, packet)).build();
+		server.open();
+	}
+	
+	private void storm() throws Exception {
+		final List<Future<Client<String>>> futures = new ArrayList<>();
+		try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < CLIENTS; i++)
+				futures.add(executor.submit(() -> {
+					final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).build();
+					synchronized (clients) {
+						clients.add(client);
+					}
+					client.open();
+					return client;
+				}));
+			final Set<UUID> uuids = new HashSet<>();
+			for (final Future<Client<String>> future : futures) {
+				final Client<String> client = future.get(10, TimeUnit.SECONDS);
+				assertTrue(client.isOpen());
+				assertTrue(uuids.add(client.getUUID()));
+			}
+		}
+		await(() -> ((server.getConnectedClients() >= CLIENTS) && (connected.size() >= CLIENTS)));
+		assertEquals(CLIENTS, server.getConnectedClients());
+		assertEquals(CLIENTS, connected.size());
+		assertEquals("ping", clients.get(CLIENTS - 1).sendAsync("ping", 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+	}
+	
+	private long started(final String name) {
+		final Set<Thread> threads = threads();
+		threads.removeAll(before);
+		return threads.stream().filter((thread) -> thread.getName().startsWith("NetX-" + name + "-")).count();
+	}
+	
+	private static Set<Thread> threads() {
+		return new HashSet<>(Thread.getAllStackTraces().keySet());
+	}
+	
+}
@@ -0,0 +1,130 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.ErrorResponse;
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntSupplier;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncApiTest {
+	
+	private static final int OUTSTANDING = 1000;
+	
+	private CountDownLatch release;
+	private Server<String> server;
+	private Client<String> client;
+	private UUID uuid;
+	
+	@BeforeEach
+	void open() throws Exception {
+		release = new CountDownLatch(0);
+		final CompletableFuture<UUID> connected = new CompletableFuture<>();
+		server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).execution(NetX.ExecutionMode.EXECUTION_VIRTUAL).onClientConnect(connected::complete).onPacketReceived((packet, sender) -> {
+			if (packet.startsWith("echo:"))
+				server.send(sender, packet.substring(5));
+		}).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException _) {
+					Thread.currentThread().interrupt();
+				}
+				return new Pong(request, (((Ping) request).getValue() * 2));
+			}
+		}).build();
+		server.open();
+		client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				return new Pong(request, -((Ping) request).getValue());
+			}
+		}).build();
+		client.open();
+		uuid = connected.get(5, TimeUnit.SECONDS);
+	}
+	
+	@AfterEach
+	void close() throws IOException {
+		release.countDown();
+		client.close();
+		server.close();
+	}
+	
+	@Test
+	void oneThreadDrivesManyOutstandingRequests() throws Exception {
+		release = new CountDownLatch(1);
+		final List<CompletableFuture<Response>> futures = new ArrayList<>();
+		for (int i = 0; i < OUTSTANDING; i++)
+			futures.add(client.requestAsync(new Ping(i), 10, TimeUnit.SECONDS));
+		assertEquals(OUTSTANDING, client.getPendingRequests());
+		assertEquals(OUTSTANDING, client.getPendingTimeouts());
+		assertTrue(futures.stream().noneMatch(CompletableFuture::isDone));
+		release.countDown();
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+		for (int i = 0; i < OUTSTANDING; i++)
+			assertEquals((i * 2), assertInstanceOf(Pong.class, futures.get(i).get()).getValue());
+		settle(client::getPendingRequests);
+		settle(client::getPendingTimeouts);
+	}
+	
+	@Test
+	void requestTimeoutsCompleteWithAnErrorAndReleaseTheirSlot() throws Exception {
+		release = new CountDownLatch(1);
+		final CompletableFuture<Response> future = client.requestAsync(new Ping(1), 50, TimeUnit.MILLISECONDS);
+		assertTrue(assertInstanceOf(ErrorResponse.class, future.get(5, TimeUnit.SECONDS)).getError().contains("timed out"));
+		settle(client::getPendingRequests);
+		settle(client::getPendingTimeouts);
+		release.countDown();
+		assertEquals(4, assertInstanceOf(Pong.class, client.requestAsync(new Ping(2), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS)).getValue());
+	}
+	
+	@Test
+	void sendAsyncCompletesWithTheNextPacket() throws Exception {
+		assertEquals("pong", client.sendAsync("echo:pong", 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+		final CompletableFuture<String> awaited = server.awaitAsync(uuid, 5, TimeUnit.SECONDS);
+		client.send("hello");
+		assertEquals("hello", awaited.get(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void expiredAwaitsDoNotConsumeLaterPackets() throws Exception {
+		final CompletableFuture<String> expired = client.awaitAsync(20, TimeUnit.MILLISECONDS);
+		final ExecutionException failure = assertThrows(ExecutionException.class, () -> expired.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(TimeoutException.class, failure.getCause());
+		final CompletableFuture<String> next = client.awaitAsync(5, TimeUnit.SECONDS);
+		server.send(uuid, "late");
+		assertEquals("late", next.get(5, TimeUnit.SECONDS));
+		assertFalse(expired.isCancelled());
+	}
+	
+	@Test
+	void serverRequestsTheClientAsynchronously() throws Exception {
+		final Response response = server.requestAsync(uuid, new Ping(21), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+		assertEquals(-21, assertInstanceOf(Pong.class, response).getValue());
+		settle(() -> server.getPendingRequests(uuid));
+	}
+	
+	private static void settle(final IntSupplier counter) throws InterruptedException {
+		await(() -> (counter.getAsInt() == 0));
+		assertEquals(0, counter.getAsInt());
+	}
+	
+}
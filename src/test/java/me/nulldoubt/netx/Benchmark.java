@@ -0,0 +1,172 @@
+package me.nulldoubt.netx;
+
+import com.sun.management.ThreadMXBean;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public final class Benchmark {
+	
+	private static final MemoryMXBean MEMORY;
+	private static final ThreadMXBean THREADS;
+	private static final Path STATUS;
+	
+	static {
+		MEMORY = ManagementFactory.getMemoryMXBean();
+		THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		STATUS = Path.of("/proc/self/status");
+	}
+	
+	private final String title;
+	private final String[] columns;
+	private final List<String[]> rows;
+	
+	public Benchmark(final String title, final String... columns) {
+		this.title = title;
+		this.columns = columns;
+		rows = new ArrayList<>();
+	}
+	
+	public Benchmark row(final Object... cells) {
+		if (cells.length != columns.length)
+			throw new IllegalArgumentException("Expected " + columns.length + " cells but got " + cells.length);
+		final String[] row = new String[cells.length];
+		for (int i = 0; i < cells.length; i++)
+			row[i] = format(cells[i]);
+		rows.add(row);
+		return this;
+	}
+	
+	public void print() {
+		final int[] widths = new int[columns.length];
+		for (int i = 0; i < columns.length; i++)
+			widths[i] = columns[i].length();
+		for (final String[] row : rows)
+			for (int i = 0; i < row.length; i++)
+				widths[i] = Math.max(widths[i], row[i].length());
+		final StringBuilder builder = new StringBuilder().append(System.lineSeparator()).append("== ").append(title).append(" ==").append(System.lineSeparator());
+		line(builder, columns, widths);
+		for (final String[] row : rows)
+			line(builder, row, widths);
+		System.out.print(builder);
+		System.out.flush();
+	}
+	
+	private static void line(final StringBuilder builder, final String[] cells, final int[] widths) {
+		for (int i = 0; i < cells.length; i++) {
+			if (i > 0)
+				builder.append("  ");
+			builder.append(String.format(Locale.ROOT, (((i == 0) ? "%-" : "%") + widths[i] + "s"), cells[i]));
+		}
+		builder.append(System.lineSeparator());
+	}
+	
+	private static String format(final Object cell) {
+		if ((cell instanceof Double) || (cell instanceof Float))
+			return String.format(Locale.ROOT, "%,.1f", ((Number) cell).doubleValue());
+		if ((cell instanceof Long) || (cell instanceof Integer))
+			return String.format(Locale.ROOT, "%,d", ((Number) cell).longValue());
+		return String.valueOf(cell);
+	}
+	
+	public static Measurement measure(final int warmups, final int runs, final Trial trial) throws Exception {
+		for (int i = 0; i < warmups; i++)
+			trial.run();
+		final long[] nanos = new long[runs];
+		long units = 0;
+		for (int i = 0; i < runs; i++) {
+			final long start = System.nanoTime();
+			units = trial.run();
+			nanos[i] = (System.nanoTime() - start);
+		}
+		Arrays.sort(nanos);
+		return new Measurement(units, nanos[runs / 2]);
+	}
+	
+	public static long[] sample(final int warmups, final int samples, final Trial trial) throws Exception {
+		for (int i = 0; i < warmups; i++)
+			trial.run();
+		final long[] nanos = new long[samples];
+		for (int i = 0; i < samples; i++) {
+			final long start = System.nanoTime();
+			trial.run();
+			nanos[i] = (System.nanoTime() - start);
+		}
+		Arrays.sort(nanos);
+		return nanos;
+	}
+	
+	public static double percentile(final long[] sorted, final double percentile) {
+		return (sorted[Math.min((sorted.length - 1), (int) Math.ceil((percentile / 100.0) * sorted.length) - 1)] / 1000.0);
+	}
+	
+	public static long usedHeap() throws InterruptedException {
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < 4; i++) {
+			System.gc();
+			Thread.sleep(50);
+			used = Math.min(used, MEMORY.getHeapMemoryUsage().getUsed());
+		}
+		return used;
+	}
+	
+	public static long allocatedBytes() {
+		return THREADS.getCurrentThreadAllocatedBytes();
+	}
+	
+	public static long residentMemory() {
+		try {
+			for (final String line : Files.readAllLines(STATUS))
+				if (line.startsWith("VmRSS:"))
+					return (Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024);
+		} catch (IOException | NumberFormatException _) {}
+		return -1;
+	}
+	
+	@FunctionalInterface
+	public interface Trial {
+		
+		long run() throws Exception;
+		
+	}
+	
+	public static final class Measurement {
+		
+		private final long units;
+		private final long nanos;
+		
+		private Measurement(final long units, final long nanos) {
+			this.units = units;
+			this.nanos = nanos;
+		}
+		
+		public long getUnits() {
+			return units;
+		}
+		
+		public long getNanos() {
+			return nanos;
+		}
+		
+		public double getRate() {
+			return ((units * 1_000_000_000.0) / Math.max(1, nanos));
+		}
+		
+		public double getMegabytesPerSecond() {
+			return (getRate() / (1024.0 * 1024.0));
+		}
+		
+		public double getMicrosPerUnit() {
+			return ((nanos / 1000.0) / Math.max(1, units));
+		}
+		
+	}
+	
+}
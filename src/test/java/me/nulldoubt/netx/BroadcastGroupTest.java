@@ -0,0 +1,114 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.Broadcast;
+import me.nulldoubt.netx.binaries.BroadcastGroup;
+import me.nulldoubt.netx.binaries.connection.GroupCipher;
+import me.nulldoubt.netx.binaries.connection.SharedFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.BadPaddingException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastGroupTest {
+	
+	private static final int MEMBERS = 4;
+	
+	private Server<String> server;
+	private List<UUID> uuids;
+	private Map<UUID, BlockingQueue<String>> inboxes;
+	private List<Client<String>> clients;
+	
+	@BeforeEach
+	void open() throws Exception {
+		uuids = new CopyOnWriteArrayList<>();
+		inboxes = new ConcurrentHashMap<>();
+		clients = new ArrayList<>();
+		server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).onClientConnect(uuids::add).build();
+		server.open();
+		for (int i = 0; i < MEMBERS; i++) {
+			final BlockingQueue<String> inbox = new LinkedBlockingQueue<>();
+			final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).onPacketReceived((packet, sender) -> inbox.add(packet)).build();
+			client.open();
+			clients.add(client);
+			while (uuids.size() <= i)
+				Thread.onSpinWait();
+			inboxes.put(uuids.get(i), inbox);
+		}
+	}
+	
+	@AfterEach
+	void close() throws IOException {
+		for (final Client<String> client : clients)
+			client.close();
+		server.close();
+	}
+	
+	@Test
+	void encryptsOnceAndDeliversToEveryMember() throws Exception {
+		final BroadcastGroup group = server.createGroup();
+		for (final UUID uuid : uuids)
+			assertTrue(server.join(group, uuid));
+		assertFalse(server.join(group, uuids.getFirst()));
+		final Broadcast broadcast = server.broadcast(group, "hello").join(5, TimeUnit.SECONDS);
+		assertEquals(MEMBERS, broadcast.getDelivered().size());
+		for (final UUID uuid : uuids)
+			assertEquals("hello", inboxes.get(uuid).poll(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void leaveRevokesAndRotatesBeforeTheNextSend() throws Exception {
+		final BroadcastGroup group = server.createGroup();
+		for (final UUID uuid : uuids)
+			server.join(group, uuid);
+		final UUID departed = uuids.getFirst();
+		assertTrue(server.leave(group, departed));
+		assertFalse(server.leave(group, departed));
+		assertTrue(group.isStale());
+		assertEquals(0, group.getEpoch());
+		server.broadcast(group, "after").join(5, TimeUnit.SECONDS);
+		assertEquals(1, group.getEpoch());
+		assertFalse(group.isStale());
+		for (final UUID uuid : uuids.subList(1, MEMBERS))
+			assertEquals("after", inboxes.get(uuid).poll(5, TimeUnit.SECONDS));
+		assertNull(inboxes.get(departed).poll(100, TimeUnit.MILLISECONDS));
+	}
+	
+	@Test
+	void disconnectsRotateOnceAndLockOutKickedMembers() throws Exception {
+		final BroadcastGroup group = server.createGroup();
+		for (final UUID uuid : uuids)
+			server.join(group, uuid);
+		final byte[] leaked = group.getCipher().getKeyFrame();
+		final GroupCipher kicked = GroupCipher.parse(NetX.CipherAlgorithm.CIPHER_AES_GCM, leaked, leaked.length);
+		server.kick(uuids.get(0));
+		server.kick(uuids.get(1));
+		assertEquals((MEMBERS - 2), group.size());
+		assertEquals(0, group.getEpoch());
+		final Broadcast broadcast = server.broadcast(group, "rotated").join(5, TimeUnit.SECONDS);
+		assertEquals((MEMBERS - 2), broadcast.getDelivered().size());
+		assertEquals(1, group.getEpoch());
+		for (final UUID uuid : uuids.subList(2, MEMBERS))
+			assertEquals("rotated", inboxes.get(uuid).poll(5, TimeUnit.SECONDS));
+		final SharedFrame frame = group.getCipher().encode("secret".getBytes());
+		final int length = (frame.getLength() - GroupCipher.HEADER_LENGTH);
+		assertNull(kicked.find(group.getEpoch()));
+		assertThrows(BadPaddingException.class, () -> kicked.decode(frame.getBuffer(), GroupCipher.HEADER_LENGTH, length, new byte[frame.getLength()]));
+		kicked.close();
+	}
+	
+}
@@ -0,0 +1,120 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.Broadcast;
+import me.nulldoubt.netx.binaries.connection.OutboundQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastTest {
+	
+	private static final int CLIENTS = 256;
+	private static final int CHUNK = 64;
+	
+	private final CountDownLatch entered = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final AtomicInteger received = new AtomicInteger();
+	private final List<Client<String>> clients = new ArrayList<>();
+	private Server<String> server;
+	
+	@AfterEach
+	void close() throws IOException {
+		release.countDown();
+		for (final Client<String> client : clients)
+			client.close();
+		if (server != null)
+			server.close();
+	}
+	
+	@Test
+	void deliversToEveryClient() throws Exception {
+		open("broadcast-all", 0, NetX.OverflowPolicy.OVERFLOW_BLOCK);
+		for (int i = 0; i < CLIENTS; i++)
+			connect("broadcast-all", false);
+		awaitConnected();
+		final Broadcast broadcast = server.broadcast("hello").join(5, TimeUnit.SECONDS);
+		assertEquals(CLIENTS, broadcast.getRecipients());
+		assertEquals(CLIENTS, broadcast.getDelivered().size());
+		assertTrue(broadcast.getFailures().isEmpty());
+		awaitReceived(CLIENTS);
+	}
+	
+	@Test
+	void slowClientOnlyStallsItsOwnChunk() throws Exception {
+		open("broadcast-slow", 1, NetX.OverflowPolicy.OVERFLOW_BLOCK);
+		final Client<String> slow = connect("broadcast-slow", true);
+		for (int i = 1; i < CLIENTS; i++)
+			connect("broadcast-slow", false);
+		awaitConnected();
+		server.broadcast("first").join(5, TimeUnit.SECONDS);
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+		server.broadcast("second").join(5, TimeUnit.SECONDS);
+		final Broadcast stalled = server.broadcast("third");
+		await(() -> (stalled.getDelivered().size() >= (CLIENTS - CHUNK)));
+		assertTrue(stalled.getDelivered().size() >= (CLIENTS - CHUNK));
+		assertFalse(stalled.isDone());
+		assertFalse(stalled.isDelivered(slow.getUUID()));
+		release.countDown();
+		assertEquals(CLIENTS, stalled.join(5, TimeUnit.SECONDS).getDelivered().size());
+	}
+	
+	@Test
+	void reportsPerClientFailures() throws Exception {
+		open("broadcast-failures", 1, NetX.OverflowPolicy.OVERFLOW_DISCONNECT);
+		final Client<String> slow = connect("broadcast-failures", true);
+		for (int i = 1; i < CLIENTS; i++)
+			connect("broadcast-failures", false);
+		awaitConnected();
+		Broadcast broadcast;
+		int attempts = 0;
+		do {
+			broadcast = server.broadcast("packet-" + attempts).join(5, TimeUnit.SECONDS);
+		} while (broadcast.getFailures().isEmpty() && (++attempts < 8));
+		assertEquals(1, broadcast.getFailures().size());
+		assertInstanceOf(OutboundQueue.OverflowException.class, broadcast.getFailure(slow.getUUID()));
+		assertEquals((CLIENTS - 1), broadcast.getDelivered().size());
+		assertTrue(broadcast.isDone());
+	}
+	
+	private void open(final String name, final int outboundCapacity, final NetX.OverflowPolicy policy) throws IOException {
+		server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).localName(name).broadcastThreads(CLIENTS / CHUNK).outboundCapacity(outboundCapacity).overflowPolicy(policy).build();
+		server.open();
+	}
+	
+	private Client<String> connect(final String name, final boolean slow) throws IOException {
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).localName(name).onPacketReceived((packet, sender) -> {
+			received.incrementAndGet();
+			if (slow) {
+				entered.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException _) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}).build();
+		client.open();
+		clients.add(client);
+		return client;
+	}
+	
+	private void awaitConnected() throws InterruptedException {
+		await(() -> (server.getConnectedClients() >= CLIENTS));
+		assertEquals(CLIENTS, server.getConnectedClients());
+	}
+	
+	private void awaitReceived(final int expected) throws InterruptedException {
+		await(() -> (received.get() >= expected));
+		assertEquals(expected, received.get());
+	}
+	
+}
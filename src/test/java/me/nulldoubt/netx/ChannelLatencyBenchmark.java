@@ -0,0 +1,87 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.Response;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.net.InetAddress;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class ChannelLatencyBenchmark {
+	
+	private static final int BULK = (16 * 1024 * 1024);
+	private static final int WINDOW = 4;
+	private static final int SAMPLES = 100;
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.TransportMode.class, names = {"TRANSPORT_BLOCKING", "TRANSPORT_SELECTOR"})
+	void smallRequestLatencyBehindBulkTransfer(final NetX.TransportMode transport) throws Exception {
+		final Benchmark report = new Benchmark("Head-of-line blocking: small request round trip while " + (BULK / (1024 * 1024)) + " MB messages stream on the same connection", "transport", "bulk traffic", "p50 us", "p99 us", "max us", "bulk MB/s");
+		run(report, transport, "none", false, false);
+		run(report, transport, "same channel", true, false);
+		run(report, transport, "separate channel", true, true);
+		report.print();
+	}
+	
+	private static void run(final Benchmark report, final NetX.TransportMode transport, final String name, final boolean bulk, final boolean separate) throws Exception {
+		final AtomicLong received = new AtomicLong();
+		final Semaphore window = new Semaphore(WINDOW);
+		final Server<byte[]> server = ServerBuilder.buffer().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).port(EPHEMERAL_PORT).maxFrameSize(BULK * 2).transport(transport).channel(Ping.class, (separate ? 1 : 0)).onPacketReceived((packet, sender) -> {
+			received.addAndGet(packet.length);
+			window.release();
+		}).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				return new Pong(request);
+			}
+		}).build();
+		server.open();
+		final Client<byte[]> client = ClientBuilder.buffer().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).maxFrameSize(BULK * 2).channel(Ping.class, (separate ? 1 : 0)).build();
+		final AtomicBoolean running = new AtomicBoolean(true);
+		Thread sender = null;
+		try {
+			client.open();
+			if (bulk)
+				sender = Thread.ofPlatform().daemon().start(() -> {
+					final byte[] payload = new byte[BULK];
+					try {
+						while (running.get()) {
+							window.acquire();
+							if (running.get())
+								client.send(payload);
+						}
+					} catch (InterruptedException _) {}
+				});
+			if (bulk)
+				await(() -> (received.get() >= (2L * BULK)), 30, TimeUnit.SECONDS);
+			final long bytes = received.get();
+			final long start = System.nanoTime();
+			final long[] samples = Benchmark.sample(10, SAMPLES, () -> {
+				assertInstanceOf(Pong.class, client.requestAsync(new Ping(), 10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS));
+				return 1;
+			});
+			final double megabytes = (((received.get() - bytes) / (1024.0 * 1024.0)) / ((System.nanoTime() - start) / 1_000_000_000.0));
+			if (bulk)
+				assertTrue(received.get() > bytes);
+			report.row(transport, name, Benchmark.percentile(samples, 50), Benchmark.percentile(samples, 99), Benchmark.percentile(samples, 100), megabytes);
+		} finally {
+			running.set(false);
+			window.release(WINDOW);
+			client.close();
+			server.close();
+			if (sender != null)
+				sender.join(5000);
+		}
+	}
+	
+}
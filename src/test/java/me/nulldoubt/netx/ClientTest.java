@@ -0,0 +1,210 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.ErrorResponse;
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.Response;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientTest {
+	
+	@Test
+	void duplicateRequestCompletesExceptionally() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).port(EPHEMERAL_PORT).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException _) {
+					Thread.currentThread().interrupt();
+				}
+				return new Pong(request);
+			}
+		}).build();
+		server.open();
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).build();
+		try {
+			client.open();
+			final Ping ping = new Ping();
+			final CompletableFuture<Response> first = client.requestAsync(ping, 5, TimeUnit.SECONDS);
+			final CompletableFuture<Response> second = assertDoesNotThrow(() -> client.requestAsync(ping, 5, TimeUnit.SECONDS));
+			assertTrue(second.isCompletedExceptionally());
+			assertThrows(ExecutionException.class, second::get);
+			release.countDown();
+			assertInstanceOf(Pong.class, first.get(5, TimeUnit.SECONDS));
+		} finally {
+			release.countDown();
+			client.close();
+			server.close();
+		}
+	}
+	
+	@Test
+	void failedExchangeReleasesItsRequestUUID() throws Exception {
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).port(EPHEMERAL_PORT).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				return new Pong(request);
+			}
+		}).build();
+		server.open();
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).build();
+		try {
+			client.open();
+			final Ping ping = new Ping();
+			final Response failed = client.requestAfter(() -> {
+				throw new IllegalStateException("write aborted");
+			}, ping, 5, TimeUnit.SECONDS);
+			assertInstanceOf(ErrorResponse.class, failed);
+			assertEquals(0, client.getPendingRequests());
+			assertInstanceOf(Pong.class, client.request(ping, 5, TimeUnit.SECONDS));
+		} finally {
+			client.close();
+			server.close();
+		}
+	}
+	
+	@Test
+	void listenerExceptionsDoNotStopTheReadLoop() throws Exception {
+		final CompletableFuture<UUID> connected = new CompletableFuture<>();
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).port(EPHEMERAL_PORT).onClientConnect(connected::complete).build();
+		server.open();
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).onPacketReceived((packet, sender) -> {
+			throw new IllegalStateException(packet);
+		}).build();
+		try {
+			client.open();
+			final UUID uuid = connected.get(5, TimeUnit.SECONDS);
+			for (int i = 0; i < 3; i++) {
+				final CompletableFuture<String> received = client.awaitAsync(5, TimeUnit.SECONDS);
+				server.send(uuid, ("packet-" + i));
+				assertEquals(("packet-" + i), received.get(5, TimeUnit.SECONDS));
+			}
+			assertTrue(client.isOpen());
+		} finally {
+			client.close();
+			server.close();
+		}
+	}
+	
+	@Test
+	void pipelinesRequestsFromManyThreadsOnOneConnection() throws Exception {
+		final int threads = 8;
+		final int requests = 25;
+		final CountDownLatch release = new CountDownLatch(1);
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).execution(NetX.ExecutionMode.EXECUTION_VIRTUAL).requestHandler(new RequestHandler(2) {
+			@Override
+			public Response handle(final Request request) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException _) {
+					Thread.currentThread().interrupt();
+				}
+				return new Echo(request, ((Numbered) request).value);
+			}
+		}).build();
+		server.open();
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).build();
+		try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			client.open();
+			final List<CompletableFuture<Void>> callers = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				final int offset = (i * requests);
+				callers.add(CompletableFuture.runAsync(() -> {
+					final List<CompletableFuture<Response>> responses = new ArrayList<>();
+					for (int j = 0; j < requests; j++)
+						responses.add(client.requestAsync(new Numbered(offset + j), 5, TimeUnit.SECONDS));
+					for (int j = 0; j < requests; j++)
+						assertEquals((offset + j), assertInstanceOf(Echo.class, responses.get(j).join()).value);
+				}, executor));
+			}
+			await(() -> (client.getPendingRequests() >= (threads * requests)));
+			assertEquals((threads * requests), client.getPendingRequests());
+			release.countDown();
+			for (final CompletableFuture<Void> caller : callers)
+				caller.get(5, TimeUnit.SECONDS);
+			assertEquals(0, client.getPendingRequests());
+		} finally {
+			release.countDown();
+			client.close();
+			server.close();
+		}
+	}
+	
+	@Test
+	void failedOpenLeavesNoThreadsAndCanBeRetried() throws Exception {
+		final long timers = timerThreads();
+		final Client<String> client;
+		try (final Socket closed = new Socket()) {
+			closed.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), EPHEMERAL_PORT));
+			client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(closed.getLocalPort()).linger(100, TimeUnit.MICROSECONDS).heartbeat(1, TimeUnit.SECONDS).build();
+			assertThrows(ConnectException.class, client::open);
+			assertFalse(client.isOpen());
+			assertEquals(timers, timerThreads());
+			client.close();
+			assertThrows(ConnectException.class, client::open);
+			assertEquals(timers, timerThreads());
+		}
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				return new Pong(request);
+			}
+		}).build();
+		server.open();
+		try {
+			client.setPort(server.getLocalPort());
+			client.open();
+			assertTrue(client.isOpen());
+			assertInstanceOf(Pong.class, client.request(new Ping(), 5, TimeUnit.SECONDS));
+		} finally {
+			client.close();
+			server.close();
+		}
+	}
+	
+	private static long timerThreads() {
+		return Thread.getAllStackTraces().keySet().stream().filter((thread) -> thread.getName().startsWith("NetX-Timer")).count();
+	}
+	
+	static final class Numbered extends Request {
+		
+		private final int value;
+		
+		Numbered(final int value) {
+			super(2);
+			this.value = value;
+		}
+		
+	}
+	
+	static final class Echo extends Response {
+		
+		private final int value;
+		
+		Echo(final Request request, final int value) {
+			super(request);
+			this.value = value;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,147 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.connection.StreamOutput;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileTransferTest {
+	
+	private static final int WINDOW = 65536;
+	private static final int CHUNK = 8192;
+	private static final int SIZE = ((WINDOW * 24) + 321);
+	
+	@TempDir
+	Path directory;
+	
+	private final CompletableFuture<String> name = new CompletableFuture<>();
+	private final CompletableFuture<byte[]> received = new CompletableFuture<>();
+	private final CompletableFuture<UUID> connected = new CompletableFuture<>();
+	private final BlockingQueue<byte[]> streams = new LinkedBlockingQueue<>();
+	private Server<String> server;
+	private Client<String> client;
+	
+	@AfterEach
+	void close() throws IOException {
+		if (client != null)
+			client.close();
+		if (server != null)
+			server.close();
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.TransportMode.class, names = {"TRANSPORT_BLOCKING", "TRANSPORT_SELECTOR"})
+	void sendsPlaintextFilesZeroCopy(final NetX.TransportMode transport) throws Exception {
+		open(NetX.CipherAlgorithm.CIPHER_NONE, transport);
+		final byte[] payload = payload(SIZE);
+		assertEquals(SIZE, client.sendFile(write("plain.bin", payload)));
+		assertEquals("plain.bin", name.get(5, TimeUnit.SECONDS));
+		assertArrayEquals(payload, received.get(10, TimeUnit.SECONDS));
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.TransportMode.class, names = {"TRANSPORT_BLOCKING", "TRANSPORT_SELECTOR"})
+	void encryptedFilesFallBackToChunkedCopies(final NetX.TransportMode transport) throws Exception {
+		open(NetX.CipherAlgorithm.CIPHER_AES_GCM, transport);
+		final byte[] payload = payload(SIZE);
+		assertEquals(SIZE, client.sendFile("renamed.bin", write("sealed.bin", payload)));
+		assertEquals("renamed.bin", name.get(5, TimeUnit.SECONDS));
+		assertArrayEquals(payload, received.get(10, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void serverSendsFilesToClients() throws Exception {
+		open(NetX.CipherAlgorithm.CIPHER_NONE, NetX.TransportMode.TRANSPORT_SELECTOR);
+		final byte[] payload = payload(SIZE);
+		assertEquals(SIZE, server.sendFile(connected.get(5, TimeUnit.SECONDS), write("down.bin", payload)));
+		assertEquals("down.bin", name.get(5, TimeUnit.SECONDS));
+		assertArrayEquals(payload, received.get(10, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void serverSendsConsecutiveFilesWithoutCorruptingFrames() throws Exception {
+		open(NetX.CipherAlgorithm.CIPHER_NONE, NetX.TransportMode.TRANSPORT_SELECTOR);
+		final UUID uuid = connected.get(5, TimeUnit.SECONDS);
+		for (int i = 0; i < 8; i++) {
+			final byte[] payload = payload(SIZE + i);
+			assertEquals(payload.length, server.sendFile(uuid, write("down-" + i + ".bin", payload)));
+			assertArrayEquals(payload, streams.poll(10, TimeUnit.SECONDS));
+		}
+	}
+	
+	@Test
+	void transfersOnlyTheRequestedRange() throws Exception {
+		open(NetX.CipherAlgorithm.CIPHER_NONE, NetX.TransportMode.TRANSPORT_BLOCKING);
+		final byte[] payload = payload(SIZE);
+		final int position = (CHUNK + 17);
+		final int count = (WINDOW * 3);
+		try (final FileChannel file = FileChannel.open(write("range.bin", payload), StandardOpenOption.READ)) {
+			final StreamOutput output = client.openStream("range.bin", count);
+			assertEquals(count, output.transferFrom(file, position, count));
+			output.close();
+			assertEquals(0, file.position());
+		}
+		assertArrayEquals(Arrays.copyOfRange(payload, position, (position + count)), received.get(10, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void emptyFilesEndTheStreamImmediately() throws Exception {
+		open(NetX.CipherAlgorithm.CIPHER_NONE, NetX.TransportMode.TRANSPORT_BLOCKING);
+		assertEquals(0, client.sendFile(write("empty.bin", new byte[0])));
+		assertEquals(0, received.get(5, TimeUnit.SECONDS).length);
+	}
+	
+	private void open(final NetX.CipherAlgorithm algorithm, final NetX.TransportMode transport) throws Exception {
+		server = ServerBuilder.string().algorithm(algorithm).port(EPHEMERAL_PORT).transport(transport).streamWindow(WINDOW).onClientConnect(connected::complete).onStreamReceived((stream, sender) -> {
+			name.complete(stream.getName());
+			try {
+				received.complete(stream.readAllBytes());
+			} catch (IOException e) {
+				received.completeExceptionally(e);
+			}
+		}).build();
+		server.open();
+		client = ClientBuilder.string().algorithm(algorithm).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).streamChunkSize(CHUNK).onStreamReceived((stream, sender) -> {
+			name.complete(stream.getName());
+			try {
+				final byte[] bytes = stream.readAllBytes();
+				streams.add(bytes);
+				received.complete(bytes);
+			} catch (IOException e) {
+				received.completeExceptionally(e);
+			}
+		}).build();
+		client.open();
+		connected.get(5, TimeUnit.SECONDS);
+	}
+	
+	private Path write(final String name, final byte[] payload) throws IOException {
+		return Files.write(directory.resolve(name), payload);
+	}
+	
+	private static byte[] payload(final int size) {
+		final byte[] payload = new byte[size];
+		new Random(size).nextBytes(payload);
+		return payload;
+	}
+	
+}
@@ -0,0 +1,64 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.Response;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+final class Fixtures {
+	
+	static final int EPHEMERAL_PORT = 0;
+	
+	private Fixtures() {}
+	
+	static boolean await(final BooleanSupplier condition) throws InterruptedException {
+		return await(condition, 5, TimeUnit.SECONDS);
+	}
+	
+	static boolean await(final BooleanSupplier condition, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+		final long deadline = (System.nanoTime() + timeUnit.toNanos(timeout));
+		while (!(condition.getAsBoolean()) && (System.nanoTime() < deadline))
+			Thread.sleep(1);
+		return condition.getAsBoolean();
+	}
+	
+	static final class Ping extends Request {
+		
+		private final int value;
+		
+		Ping() {
+			this(0);
+		}
+		
+		Ping(final int value) {
+			super(1);
+			this.value = value;
+		}
+		
+		int getValue() {
+			return value;
+		}
+		
+	}
+	
+	static final class Pong extends Response {
+		
+		private final int value;
+		
+		Pong(final Request request) {
+			this(request, 0);
+		}
+		
+		Pong(final Request request, final int value) {
+			super(request);
+			this.value = value;
+		}
+		
+		int getValue() {
+			return value;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,175 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.Response;
+import me.nulldoubt.netx.binaries.model.PacketReceivedListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandlerExecutionTest {
+	
+	private static final int REQUESTS = 200;
+	
+	@ParameterizedTest
+	@EnumSource(NetX.ExecutionMode.class)
+	void runsHandlersOnTheConfiguredExecutor(final NetX.ExecutionMode execution) throws Exception {
+		final CompletableFuture<Thread> handled = new CompletableFuture<>();
+		final CompletableFuture<Thread> received = new CompletableFuture<>();
+		final Server<String> server = server(execution, (request) -> {
+			handled.complete(Thread.currentThread());
+			return new Pong(request, 0);
+		}, (packet, sender) -> received.complete(Thread.currentThread()));
+		final Client<String> client = client(server);
+		try {
+			client.send("probe");
+			client.requestAsync(new Ping(0), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			final Thread reader = received.get(5, TimeUnit.SECONDS);
+			final Thread worker = handled.get(5, TimeUnit.SECONDS);
+			switch (execution) {
+				case EXECUTION_INLINE -> assertSame(reader, worker);
+				case EXECUTION_POOL -> {
+					assertNotSame(reader, worker);
+					assertFalse(worker.isVirtual());
+					assertTrue(worker.getName().startsWith("NetX-Worker-"));
+				}
+				case EXECUTION_VIRTUAL -> {
+					assertNotSame(reader, worker);
+					assertTrue(worker.isVirtual());
+				}
+			}
+		} finally {
+			client.close();
+			server.close();
+		}
+	}
+	
+	@Test
+	void slowHandlersDoNotStallTheReadLoop() throws Exception {
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final BlockingQueue<String> packets = new LinkedBlockingQueue<>();
+		final CompletableFuture<UUID> connected = new CompletableFuture<>();
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).execution(NetX.ExecutionMode.EXECUTION_POOL).handlerThreads(2).onClientConnect(connected::complete).onPacketReceived((packet, sender) -> packets.add(packet)).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				entered.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException _) {
+					Thread.currentThread().interrupt();
+				}
+				return new Pong(request, 1);
+			}
+		}).build();
+		server.open();
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				return new Pong(request, 2);
+			}
+		}).build();
+		try {
+			client.open();
+			final UUID uuid = connected.get(5, TimeUnit.SECONDS);
+			final CompletableFuture<Response> slow = client.requestAsync(new Ping(0), 5, TimeUnit.SECONDS);
+			assertTrue(entered.await(5, TimeUnit.SECONDS));
+			client.send("while-blocked");
+			assertEquals("while-blocked", packets.poll(5, TimeUnit.SECONDS));
+			final Response reverse = server.requestAsync(uuid, new Ping(0), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			assertEquals(2, assertInstanceOf(Pong.class, reverse).getValue());
+			assertFalse(slow.isDone());
+			release.countDown();
+			assertEquals(1, assertInstanceOf(Pong.class, slow.get(5, TimeUnit.SECONDS)).getValue());
+		} finally {
+			release.countDown();
+			client.close();
+			server.close();
+		}
+	}
+	
+	@Test
+	void keepsPerConnectionOrderOnAPool() throws Exception {
+		final List<Integer> handled = new CopyOnWriteArrayList<>();
+		final Server<String> server = server(NetX.ExecutionMode.EXECUTION_POOL, (request) -> {
+			handled.add(((Ping) request).getValue());
+			return new Pong(request, ((Ping) request).getValue());
+		}, (packet, sender) -> {});
+		final Client<String> client = client(server);
+		try {
+			final List<CompletableFuture<Response>> responses = new ArrayList<>();
+			for (int i = 0; i < REQUESTS; i++)
+				responses.add(client.requestAsync(new Ping(i), 5, TimeUnit.SECONDS));
+			for (final CompletableFuture<Response> response : responses)
+				response.get(5, TimeUnit.SECONDS);
+			final List<Integer> expected = new ArrayList<>();
+			for (int i = 0; i < REQUESTS; i++)
+				expected.add(i);
+			assertEquals(expected, handled);
+		} finally {
+			client.close();
+			server.close();
+		}
+	}
+	
+	@Test
+	void runsDifferentConnectionsConcurrently() throws Exception {
+		final CountDownLatch entered = new CountDownLatch(2);
+		final Server<String> server = server(NetX.ExecutionMode.EXECUTION_POOL, (request) -> {
+			entered.countDown();
+			try {
+				entered.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException _) {
+				Thread.currentThread().interrupt();
+			}
+			return new Pong(request, (int) entered.getCount());
+		}, (packet, sender) -> {});
+		final Client<String> first = client(server);
+		final Client<String> second = client(server);
+		try {
+			final CompletableFuture<Response> a = first.requestAsync(new Ping(1), 5, TimeUnit.SECONDS);
+			final CompletableFuture<Response> b = second.requestAsync(new Ping(2), 5, TimeUnit.SECONDS);
+			assertEquals(0, assertInstanceOf(Pong.class, a.get(5, TimeUnit.SECONDS)).getValue());
+			assertEquals(0, assertInstanceOf(Pong.class, b.get(5, TimeUnit.SECONDS)).getValue());
+		} finally {
+			first.close();
+			second.close();
+			server.close();
+		}
+	}
+	
+	private static Server<String> server(final NetX.ExecutionMode execution, final Function<Request, Response> handler, final PacketReceivedListener<String> listener) throws IOException {
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).execution(execution).handlerThreads(4).onPacketReceived(listener).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				return handler.apply(request);
+			}
+		}).build();
+		server.open();
+		return server;
+	}
+	
+	private static Client<String> client(final Server<String> server) throws IOException {
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).build();
+		client.open();
+		return client;
+	}
+	
+}
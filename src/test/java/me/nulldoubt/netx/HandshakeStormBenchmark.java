@@ -0,0 +1,121 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.connection.CipherPool;
+import me.nulldoubt.netx.binaries.connection.ConnectionCipher;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.KeyGenerator;
+import java.net.InetAddress;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class HandshakeStormBenchmark {
+	
+	private static final int SETUPS = 20_000;
+	private static final int RUNS = 7;
+	private static final int CONNECTIONS = 400;
+	private static final int IN_FLIGHT = 32;
+	
+	@Test
+	void cipherSetupsWithAndWithoutPool() throws Exception {
+		final Benchmark report = new Benchmark("Cipher setup: " + SETUPS + " connection ciphers opened, used for one frame and closed", "algorithm", "pool", "threads", "setups/s", "getInstance/setup", "speedup");
+		for (final NetX.CipherAlgorithm algorithm : new NetX.CipherAlgorithm[] {NetX.CipherAlgorithm.CIPHER_AES, NetX.CipherAlgorithm.CIPHER_AES_GCM}) {
+			for (final int threads : new int[] {1, IN_FLIGHT}) {
+				final double cold = setups(report, algorithm, new CipherPool(algorithm, 0), "none (original)", threads, 0);
+				final CipherPool pool = new CipherPool(algorithm, (IN_FLIGHT * 2));
+				pool.warm(IN_FLIGHT * 2);
+				setups(report, algorithm, pool, "warmed", threads, cold);
+			}
+		}
+		report.print();
+	}
+	
+	@Test
+	void reconnectStormAgainstServer() throws Exception {
+		final Benchmark report = new Benchmark("Handshake storm: " + CONNECTIONS + " clients connecting and disconnecting, " + IN_FLIGHT + " at a time", "algorithm", "handshakes/s", "ciphers created during storm");
+		for (final NetX.CipherAlgorithm algorithm : new NetX.CipherAlgorithm[] {NetX.CipherAlgorithm.CIPHER_AES, NetX.CipherAlgorithm.CIPHER_AES_GCM}) {
+			storm(algorithm, CONNECTIONS / 4);
+			final CipherPool pool = CipherPool.of(algorithm);
+			final long created = pool.getCreatedCiphers();
+			final double rate = storm(algorithm, CONNECTIONS);
+			report.row(algorithm, rate, (pool.getCreatedCiphers() - created));
+		}
+		report.print();
+	}
+	
+	private static double setups(final Benchmark report, final NetX.CipherAlgorithm algorithm, final CipherPool pool, final String name, final int threads, final double baseline) throws Exception {
+		final KeyGenerator generator = KeyGenerator.getInstance(algorithm.getKeyAlgorithm());
+		final Key[] keys = new Key[SETUPS];
+		for (int i = 0; i < SETUPS; i++)
+			keys[i] = generator.generateKey();
+		final byte[] payload = new byte[64];
+		final Benchmark.Trial trial = () -> {
+			final AtomicInteger remaining = new AtomicInteger(SETUPS);
+			final List<Future<?>> workers = new ArrayList<>();
+			try (final ExecutorService executor = Executors.newFixedThreadPool(threads, Thread.ofVirtual().factory())) {
+				for (int i = 0; i < threads; i++)
+					workers.add(executor.submit(() -> {
+						final byte[] output = new byte[128];
+						int index;
+						while ((index = remaining.decrementAndGet()) >= 0) {
+							final ConnectionCipher cipher = new ConnectionCipher(algorithm, pool);
+							cipher.open(keys[index], false);
+							cipher.encode(payload, 0, payload.length, output);
+							cipher.close();
+						}
+						return null;
+					}));
+				for (final Future<?> future : workers)
+					future.get();
+			}
+			return SETUPS;
+		};
+		for (int i = 0; i < 2; i++)
+			trial.run();
+		final long created = pool.getCreatedCiphers();
+		final Benchmark.Measurement measurement = Benchmark.measure(0, RUNS, trial);
+		final double perSetup = ((double) (pool.getCreatedCiphers() - created) / ((long) SETUPS * RUNS));
+		report.row(algorithm, name, threads, measurement.getRate(), perSetup, ((baseline > 0) ? String.format(Locale.ROOT, "%.1fx", (measurement.getRate() / baseline)) : "1.0x"));
+		return measurement.getRate();
+	}
+	
+	private static double storm(final NetX.CipherAlgorithm algorithm, final int connections) throws Exception {
+		final Server<String> server = ServerBuilder.string().algorithm(algorithm).port(EPHEMERAL_PORT).handshakeConcurrency(IN_FLIGHT).handshakeTimeout(30, TimeUnit.SECONDS).build();
+		server.open();
+		try {
+			final AtomicInteger remaining = new AtomicInteger(connections);
+			final List<Future<?>> workers = new ArrayList<>();
+			final long start = System.nanoTime();
+			try (final ExecutorService executor = Executors.newFixedThreadPool(IN_FLIGHT, Thread.ofVirtual().factory())) {
+				for (int i = 0; i < IN_FLIGHT; i++)
+					workers.add(executor.submit(() -> {
+						while (remaining.getAndDecrement() > 0) {
+							final Client<String> client = ClientBuilder.string().algorithm(algorithm).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).build();
+							client.open();
+							assertTrue(client.isOpen());
+							client.close();
+						}
+						return null;
+					}));
+				for (final Future<?> future : workers)
+					future.get(60, TimeUnit.SECONDS);
+			}
+			return ((connections * 1_000_000_000.0) / (System.nanoTime() - start));
+		} finally {
+			server.close();
+		}
+	}
+	
+}
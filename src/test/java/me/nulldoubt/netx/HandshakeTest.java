@@ -0,0 +1,112 @@
+package me.nulldoubt.netx;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandshakeTest {
+	
+	private final List<Socket> sockets = new ArrayList<>();
+	private final List<Client<String>> clients = new ArrayList<>();
+	private Server<String> server;
+	
+	@AfterEach
+	void close() throws IOException {
+		for (final Socket socket : sockets)
+			socket.close();
+		for (final Client<String> client : clients)
+			client.close();
+		server.close();
+	}
+	
+	@Test
+	void silentPeersAreDroppedAfterTheTimeout() throws Exception {
+		open(200, 4);
+		final Socket silent = stall();
+		awaitCount(server::getPendingHandshakes, 1);
+		silent.setSoTimeout(5000);
+		final long start = System.nanoTime();
+		silent.getInputStream().readAllBytes();
+		final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue((elapsed >= 100) && (elapsed < 5000));
+		awaitCount(server::getPendingHandshakes, 0);
+		assertEquals(0, server.getConnectedClients());
+	}
+	
+	@Test
+	void silentPeersDoNotDelayOtherClients() throws Exception {
+		open(10_000, 8);
+		for (int i = 0; i < 3; i++)
+			stall();
+		awaitCount(server::getPendingHandshakes, 3);
+		final long start = System.nanoTime();
+		final Client<String> client = connect();
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+		assertEquals("ping", client.sendAsync("ping", 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+		awaitCount(server::getConnectedClients, 1);
+		assertEquals(3, server.getPendingHandshakes());
+	}
+	
+	@Test
+	void concurrencyLimitQueuesExcessHandshakes() throws Exception {
+		open(500, 2);
+		stall();
+		stall();
+		awaitCount(server::getPendingHandshakes, 2);
+		final long start = System.nanoTime();
+		final CompletableFuture<Client<String>> queued = CompletableFuture.supplyAsync(() -> {
+			try {
+				return connect();
+			} catch (IOException e) {
+				throw new AssertionError(e);
+			}
+		});
+		int peak = 0;
+		while (!(queued.isDone()) && (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000)) {
+			peak = Math.max(peak, server.getPendingHandshakes());
+			Thread.sleep(1);
+		}
+		final Client<String> client = queued.get(5, TimeUnit.SECONDS);
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 300);
+		assertTrue(peak <= 2);
+		assertTrue(client.isOpen());
+		awaitCount(server::getConnectedClients, 1);
+	}
+	
+	private void open(final long timeout, final int concurrency) throws IOException {
+		server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).handshakeTimeout(timeout, TimeUnit.MILLISECONDS).handshakeConcurrency(concurrency).onPacketReceived((packet, sender) -> server.send(sender, packet)).build();
+		server.open();
+	}
+	
+	private Socket stall() throws IOException {
+		final Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+		sockets.add(socket);
+		return socket;
+	}
+	
+	private Client<String> connect() throws IOException {
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).build();
+		synchronized (clients) {
+			clients.add(client);
+		}
+		client.open();
+		return client;
+	}
+	
+	private static void awaitCount(final IntSupplier counter, final int expected) throws InterruptedException {
+		await(() -> (counter.getAsInt() == expected));
+		assertEquals(expected, counter.getAsInt());
+	}
+	
+}
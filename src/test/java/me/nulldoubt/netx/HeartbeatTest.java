@@ -0,0 +1,121 @@
+package me.nulldoubt.netx;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeartbeatTest {
+	
+	private static final long HEARTBEAT = 100;
+	private static final long IDLE_TIMEOUT = 400;
+	
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+	private final BlockingQueue<UUID> disconnected = new LinkedBlockingQueue<>();
+	private final CompletableFuture<UUID> connected = new CompletableFuture<>();
+	private Server<String> server;
+	private Client<String> client;
+	
+	@AfterEach
+	void close() throws IOException {
+		release.countDown();
+		if (client != null)
+			client.close();
+		if (server != null)
+			server.close();
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.TransportMode.class, names = {"TRANSPORT_BLOCKING", "TRANSPORT_SELECTOR"})
+	void silentClientsAreKicked(final NetX.TransportMode transport) throws Exception {
+		open(transport, 0, IDLE_TIMEOUT);
+		final UUID uuid = connect(0, 0).getUUID();
+		final long start = System.nanoTime();
+		assertEquals(uuid, disconnected.poll(5, TimeUnit.SECONDS));
+		final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(elapsed >= (IDLE_TIMEOUT / 2));
+		assertEquals(0, server.getConnectedClients());
+		awaitClosed();
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.TransportMode.class, names = {"TRANSPORT_BLOCKING", "TRANSPORT_SELECTOR"})
+	void clientHeartbeatsKeepQuietConnectionsOpen(final NetX.TransportMode transport) throws Exception {
+		open(transport, 0, IDLE_TIMEOUT);
+		connect(HEARTBEAT, 0);
+		assertNull(disconnected.poll((IDLE_TIMEOUT * 3), TimeUnit.MILLISECONDS));
+		assertEquals(1, server.getConnectedClients());
+		assertTrue(client.isOpen());
+		assertTrue(received.isEmpty());
+		assertEquals("ping", client.sendAsync("ping", 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void serverHeartbeatsAreAnsweredByTheClient() throws Exception {
+		open(NetX.TransportMode.TRANSPORT_BLOCKING, HEARTBEAT, IDLE_TIMEOUT);
+		connect(0, IDLE_TIMEOUT);
+		assertNull(disconnected.poll((IDLE_TIMEOUT * 3), TimeUnit.MILLISECONDS));
+		assertEquals(1, server.getConnectedClients());
+		assertTrue(client.isOpen());
+	}
+	
+	@Test
+	void stalledPeersAreKickedDespiteHeartbeats() throws Exception {
+		open(NetX.TransportMode.TRANSPORT_BLOCKING, HEARTBEAT, IDLE_TIMEOUT);
+		final UUID uuid = connect(0, 0).getUUID();
+		server.send(connected.get(5, TimeUnit.SECONDS), "stall");
+		assertEquals(uuid, disconnected.poll(5, TimeUnit.SECONDS));
+		assertEquals(0, server.getConnectedClients());
+	}
+	
+	@Test
+	void clientsCloseWhenTheServerGoesQuiet() throws Exception {
+		open(NetX.TransportMode.TRANSPORT_BLOCKING, 0, 0);
+		connect(0, IDLE_TIMEOUT);
+		awaitClosed();
+	}
+	
+	private void open(final NetX.TransportMode transport, final long heartbeat, final long idleTimeout) throws IOException {
+		server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).transport(transport).heartbeat(heartbeat, TimeUnit.MILLISECONDS).idleTimeout(idleTimeout, TimeUnit.MILLISECONDS).onClientConnect(connected::complete).onClientDisconnect(disconnected::add).onPacketReceived((packet, sender) -> {
+			if (packet.equals("ping"))
+				server.send(sender, packet);
+			else
+				received.add(packet);
+		}).build();
+		server.open();
+	}
+	
+	private Client<String> connect(final long heartbeat, final long idleTimeout) throws Exception {
+		client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).execution(NetX.ExecutionMode.EXECUTION_INLINE).heartbeat(heartbeat, TimeUnit.MILLISECONDS).idleTimeout(idleTimeout, TimeUnit.MILLISECONDS).onPacketReceived((packet, sender) -> {
+			if (packet.equals("stall")) {
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException _) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}).build();
+		client.open();
+		connected.get(5, TimeUnit.SECONDS);
+		return client;
+	}
+	
+	private void awaitClosed() throws InterruptedException {
+		await(() -> !(client.isOpen()));
+		assertFalse(client.isOpen());
+	}
+	
+}
@@ -0,0 +1,109 @@
+package me.nulldoubt.netx;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class HibernationBenchmark {
+	
+	private static final int CONNECTIONS = 1000;
+	private static final int IN_FLIGHT = 32;
+	private static final long HIBERNATION = 5000;
+	
+	private Server<String> server;
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.TransportMode.class, names = {"TRANSPORT_BLOCKING", "TRANSPORT_SELECTOR"})
+	void serverMemoryPerConnectionWhileActiveHibernatedAndWoken(final NetX.TransportMode transport) throws Exception {
+		final Benchmark report = new Benchmark("Hibernation: server cost of " + CONNECTIONS + " AES-GCM connections, clients in a separate JVM", "transport", "state", "heap KB/conn", "platform threads/conn", "hibernating");
+		server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).transport(transport).hibernation(HIBERNATION, TimeUnit.MILLISECONDS).handshakeConcurrency(IN_FLIGHT).handshakeTimeout(30, TimeUnit.SECONDS).onPacketReceived((packet, sender) -> server.send(sender, packet)).build();
+		server.open();
+		final Process fleet = new ProcessBuilder(ProcessHandle.current().info().command().orElse("java"), "--enable-preview", "-cp", System.getProperty("java.class.path"), Fleet.class.getName(), String.valueOf(server.getLocalPort()), String.valueOf(CONNECTIONS)).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+		try (final BufferedReader input = new BufferedReader(new InputStreamReader(fleet.getInputStream())); final PrintStream output = new PrintStream(fleet.getOutputStream(), true)) {
+			final long heap = Benchmark.usedHeap();
+			final int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+			assertEquals("ready", input.readLine());
+			assertTrue(await(() -> (server.getConnectedClients() == CONNECTIONS), 30, TimeUnit.SECONDS));
+			touch(input, output);
+			row(report, transport, "active", heap, threads);
+			assertEquals(0, server.getHibernatingClients());
+			assertTrue(await(() -> (server.getHibernatingClients() == CONNECTIONS), (HIBERNATION * 4), TimeUnit.MILLISECONDS));
+			row(report, transport, "hibernated", heap, threads);
+			touch(input, output);
+			row(report, transport, "woken", heap, threads);
+			assertEquals(0, server.getHibernatingClients());
+			output.println("exit");
+			assertTrue(fleet.waitFor(30, TimeUnit.SECONDS));
+		} finally {
+			fleet.destroyForcibly();
+			server.close();
+		}
+		report.print();
+	}
+	
+	private static void touch(final BufferedReader input, final PrintStream output) throws IOException {
+		output.println("touch");
+		assertEquals("touched", input.readLine());
+	}
+	
+	private void row(final Benchmark report, final NetX.TransportMode transport, final String state, final long heap, final int threads) throws InterruptedException {
+		final double heapPerConnection = ((Benchmark.usedHeap() - heap) / (1024.0 * CONNECTIONS));
+		final double threadsPerConnection = ((double) (ManagementFactory.getThreadMXBean().getThreadCount() - threads) / CONNECTIONS);
+		report.row(transport, state, heapPerConnection, threadsPerConnection, server.getHibernatingClients());
+	}
+	
+	static final class Fleet {
+		
+		public static void main(final String[] args) throws Exception {
+			final int port = Integer.parseInt(args[0]);
+			final int connections = Integer.parseInt(args[1]);
+			final AtomicLong echoes = new AtomicLong();
+			final List<Client<String>> clients = new ArrayList<>();
+			final List<Future<Client<String>>> futures = new ArrayList<>();
+			try (final ExecutorService executor = Executors.newFixedThreadPool(IN_FLIGHT, Thread.ofVirtual().factory())) {
+				for (int i = 0; i < connections; i++)
+					futures.add(executor.submit(() -> {
+						final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(port).threadMode(NetX.ThreadMode.THREAD_VIRTUAL).onPacketReceived((packet, sender) -> echoes.incrementAndGet()).build();
+						client.open();
+						return client;
+					}));
+				for (final Future<Client<String>> future : futures)
+					clients.add(future.get(30, TimeUnit.SECONDS));
+			}
+			System.out.println("ready");
+			final BufferedReader input = new BufferedReader(new InputStreamReader(System.in));
+			String command;
+			while (((command = input.readLine()) != null) && command.equals("touch")) {
+				final long expected = (echoes.get() + connections);
+				for (final Client<String> client : clients)
+					client.send("touch");
+				if (!(await(() -> (echoes.get() >= expected), 30, TimeUnit.SECONDS)))
+					throw new IllegalStateException("Only " + (echoes.get() - expected + connections) + " of " + connections + " echoes arrived");
+				System.out.println("touched");
+			}
+			for (final Client<String> client : clients)
+				client.close();
+			System.exit(0);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,115 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HibernationTest {
+	
+	private static final long HIBERNATION = 150;
+	private static final int CLIENTS = 8;
+	
+	private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+	private final BlockingQueue<UUID> disconnected = new LinkedBlockingQueue<>();
+	private final List<Client<String>> clients = new ArrayList<>();
+	private Server<String> server;
+	
+	@AfterEach
+	void close() throws IOException {
+		for (final Client<String> client : clients)
+			client.close();
+		if (server != null)
+			server.close();
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.TransportMode.class, names = {"TRANSPORT_BLOCKING", "TRANSPORT_SELECTOR"})
+	void idleConnectionsHibernateAndWakeOnTraffic(final NetX.TransportMode transport) throws Exception {
+		open(transport, NetX.CipherAlgorithm.CIPHER_AES_GCM);
+		for (int i = 0; i < CLIENTS; i++)
+			connect(0);
+		assertTrue(await(() -> (server.getHibernatingClients() == CLIENTS)));
+		for (final Client<String> client : clients)
+			assertTrue(server.isHibernating(client.getUUID()));
+		final Client<String> woken = clients.get(0);
+		assertEquals("ping", woken.sendAsync("ping", 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+		assertFalse(server.isHibernating(woken.getUUID()));
+		assertEquals((CLIENTS - 1), server.getHibernatingClients());
+		final Response response = woken.requestAsync(new Ping(41), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+		assertEquals(42, assertInstanceOf(Pong.class, response).getValue());
+		assertTrue(await(() -> server.isHibernating(woken.getUUID())));
+		assertEquals("again", woken.sendAsync("again", 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+		assertEquals(CLIENTS, server.getConnectedClients());
+		assertTrue(disconnected.isEmpty());
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.CipherAlgorithm.class, names = {"CIPHER_AES", "CIPHER_AES_GCM"})
+	void serverWritesRestoreHibernatingConnections(final NetX.CipherAlgorithm algorithm) throws Exception {
+		open(NetX.TransportMode.TRANSPORT_BLOCKING, algorithm);
+		final BlockingQueue<String> inbox = new LinkedBlockingQueue<>();
+		final Client<String> client = ClientBuilder.string().algorithm(algorithm).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).onPacketReceived((packet, sender) -> inbox.add(packet)).build();
+		clients.add(client);
+		client.open();
+		assertTrue(await(() -> (server.getConnectedClients() == 1)));
+		assertTrue(await(() -> server.isHibernating(client.getUUID())));
+		for (int i = 0; i < 3; i++) {
+			server.send(client.getUUID(), "wake-" + i);
+			assertEquals("wake-" + i, inbox.poll(5, TimeUnit.SECONDS));
+		}
+		client.send("reply");
+		assertEquals("reply", received.poll(5, TimeUnit.SECONDS));
+		assertFalse(server.isHibernating(client.getUUID()));
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.TransportMode.class, names = {"TRANSPORT_BLOCKING", "TRANSPORT_SELECTOR"})
+	void heartbeatsDoNotKeepConnectionsAwake(final NetX.TransportMode transport) throws Exception {
+		open(transport, NetX.CipherAlgorithm.CIPHER_AES_GCM);
+		final Client<String> client = connect(HIBERNATION / 5);
+		assertTrue(await(() -> server.isHibernating(client.getUUID())));
+		Thread.sleep(HIBERNATION * 2);
+		assertTrue(server.isHibernating(client.getUUID()));
+		assertEquals("ping", client.sendAsync("ping", 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+		assertTrue(disconnected.isEmpty());
+	}
+	
+	private void open(final NetX.TransportMode transport, final NetX.CipherAlgorithm algorithm) throws IOException {
+		server = ServerBuilder.string().algorithm(algorithm).port(EPHEMERAL_PORT).transport(transport).hibernation(HIBERNATION, TimeUnit.MILLISECONDS).onClientDisconnect(disconnected::add).onPacketReceived((packet, sender) -> {
+			if (packet.equals("reply"))
+				received.add(packet);
+			else
+				server.send(sender, packet);
+		}).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				return new Pong(request, (((Ping) request).getValue() + 1));
+			}
+		}).build();
+		server.open();
+	}
+	
+	private Client<String> connect(final long heartbeat) throws IOException, InterruptedException {
+		final Client<String> client = ClientBuilder.string().algorithm(server.getAlgorithm()).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).heartbeat(heartbeat, TimeUnit.MILLISECONDS).build();
+		clients.add(client);
+		client.open();
+		assertTrue(await(() -> (server.getConnectedClients() == clients.size())));
+		return client;
+	}
+	
+}
@@ -0,0 +1,131 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.Response;
+import me.nulldoubt.netx.binaries.connection.LocalServerChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.BindException;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTransportTest {
+	
+	private static final int PACKETS = 1000;
+	
+	private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+	private final BlockingQueue<UUID> disconnected = new LinkedBlockingQueue<>();
+	private final List<Client<String>> clients = new ArrayList<>();
+	private Server<String> server;
+	
+	@AfterEach
+	void close() throws IOException {
+		for (final Client<String> client : clients)
+			client.close();
+		if (server != null)
+			server.close();
+	}
+	
+	@Test
+	void byReferencePassesTheSameInstance() throws Exception {
+		open("local-reference", true);
+		final Client<String> client = connect("local-reference");
+		final String packet = new String("shared".toCharArray());
+		client.send(packet);
+		assertSame(packet, received.poll(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void byValueCopiesThePacket() throws Exception {
+		open("local-value", false);
+		final Client<String> client = connect("local-value");
+		final String packet = new String("copied".toCharArray());
+		client.send(packet);
+		final String copy = received.poll(5, TimeUnit.SECONDS);
+		assertEquals(packet, copy);
+		assertNotSame(packet, copy);
+	}
+	
+	@Test
+	void keepsPacketOrderAndServesRequests() throws Exception {
+		open("local-order", true);
+		final Client<String> client = connect("local-order");
+		for (int i = 0; i < PACKETS; i++)
+			client.send(Integer.toString(i));
+		for (int i = 0; i < PACKETS; i++)
+			assertEquals(Integer.toString(i), received.poll(5, TimeUnit.SECONDS));
+		final Response response = client.requestAsync(new Ping(20), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+		assertEquals(21, assertInstanceOf(Pong.class, response).getValue());
+		assertEquals("echo", client.sendAsync("echo", 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void connectsSeveralClientsByName() throws Exception {
+		open("local-many", true);
+		final Client<String> first = connect("local-many");
+		final Client<String> second = connect("local-many");
+		await(() -> (server.getConnectedClients() >= 2));
+		assertEquals(2, server.getConnectedClients());
+		assertNotEquals(first.getUUID(), second.getUUID());
+		first.close();
+		assertEquals(first.getUUID(), disconnected.poll(5, TimeUnit.SECONDS));
+		assertTrue(second.isOpen());
+	}
+	
+	@Test
+	void namesAreExclusiveUntilClosed() throws Exception {
+		assertThrows(ConnectException.class, () -> ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).localName("local-exclusive").build().open());
+		open("local-exclusive", false);
+		assertTrue(LocalServerChannel.isBound("local-exclusive"));
+		assertThrows(BindException.class, () -> LocalServerChannel.bind("local-exclusive", false));
+		server.close();
+		assertFalse(LocalServerChannel.isBound("local-exclusive"));
+		server = null;
+		open("local-exclusive", false);
+		connect("local-exclusive");
+	}
+	
+	@Test
+	void serverCloseEndsLocalClients() throws Exception {
+		open("local-closed", true);
+		final Client<String> client = connect("local-closed");
+		server.close();
+		server = null;
+		await(() -> !(client.isOpen()));
+		assertFalse(client.isOpen());
+	}
+	
+	private void open(final String name, final boolean byReference) throws IOException {
+		server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).localName(name).byReference(byReference).onClientDisconnect(disconnected::add).onPacketReceived((packet, sender) -> {
+			if (packet.equals("echo"))
+				server.send(sender, packet);
+			else
+				received.add(packet);
+		}).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				return new Pong(request, (((Ping) request).getValue() + 1));
+			}
+		}).build();
+		server.open();
+	}
+	
+	private Client<String> connect(final String name) throws IOException {
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).localName(name).build();
+		client.open();
+		clients.add(client);
+		return client;
+	}
+	
+}
@@ -0,0 +1,144 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelectorTransportTest {
+	
+	private static final int EVENT_LOOPS = 2;
+	private static final int CLIENTS = 32;
+	private static final int PACKETS = 20;
+	
+	private Set<Thread> before;
+	private Map<UUID, AtomicInteger> received;
+	private BlockingQueue<UUID> disconnected;
+	private Server<String> server;
+	private List<Client<String>> clients;
+	
+	@BeforeEach
+	void open() throws IOException {
+		before = threads();
+		received = new ConcurrentHashMap<>();
+		disconnected = new LinkedBlockingQueue<>();
+		clients = new ArrayList<>();
+		server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).transport(NetX.TransportMode.TRANSPORT_SELECTOR).eventLoops(EVENT_LOOPS)
+				.onPacketReceived((packet, sender) -> received.computeIfAbsent(sender, (uuid) -> new AtomicInteger()).incrementAndGet())
+				.onClientDisconnect(disconnected::add)
+				.requestHandler(new RequestHandler(1) {
+					@Override
+					public Response handle(final Request request) {
+						return new Pong(request, (((Ping) request).getValue() + 1));
+					}
+				}).build();
+		server.open();
+	}
+	
+	@AfterEach
+	void close() throws IOException {
+		for (final Client<String> client : clients)
+			client.close();
+		server.close();
+	}
+	
+	@Test
+	void servesManyClientsFromAFixedSetOfEventLoops() throws Exception {
+		final CountDownLatch done = new CountDownLatch(CLIENTS);
+		final List<CompletableFuture<Void>> senders = new ArrayList<>();
+		for (int i = 0; i < CLIENTS; i++) {
+			final Client<String> client = connect();
+			final int offset = (i * PACKETS);
+			senders.add(CompletableFuture.runAsync(() -> {
+				for (int j = 0; j < PACKETS; j++) {
+					client.send("packet-" + j);
+					try {
+						final Response response = client.requestAsync(new Ping(offset + j), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+						assertEquals((offset + j + 1), assertInstanceOf(Pong.class, response).getValue());
+					} catch (Exception e) {
+						throw new AssertionError(e);
+					}
+				}
+				done.countDown();
+			}));
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		for (final CompletableFuture<Void> sender : senders)
+			sender.get();
+		await(() -> (total() >= (CLIENTS * PACKETS)));
+		assertEquals(CLIENTS, received.size());
+		for (final AtomicInteger count : received.values())
+			assertEquals(PACKETS, count.get());
+		assertEquals(CLIENTS, server.getConnectedClients());
+		assertEquals(EVENT_LOOPS, started("EventLoop"));
+		assertEquals(0, started("Handler"));
+	}
+	
+	@Test
+	void reassemblesFramesSplitAcrossReads() throws Exception {
+		final String payload = "x".repeat(1 << 20);
+		final Client<String> client = connect();
+		client.send(payload);
+		client.send("after");
+		await(() -> (total() >= 2));
+		assertEquals(2, total());
+		final Response response = client.requestAsync(new Ping(41), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+		assertEquals(42, assertInstanceOf(Pong.class, response).getValue());
+	}
+	
+	@Test
+	void detectsDisconnectsWithoutAReadThread() throws Exception {
+		final Client<String> first = connect();
+		final Client<String> second = connect();
+		second.send("hello");
+		await(() -> (server.getConnectedClients() >= 2));
+		first.close();
+		assertNotNull(disconnected.poll(5, TimeUnit.SECONDS));
+		assertEquals(1, server.getConnectedClients());
+		final Response response = second.requestAsync(new Ping(1), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+		assertEquals(2, assertInstanceOf(Pong.class, response).getValue());
+	}
+	
+	private Client<String> connect() throws IOException {
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).build();
+		client.open();
+		clients.add(client);
+		return client;
+	}
+	
+	private int total() {
+		return received.values().stream().mapToInt(AtomicInteger::get).sum();
+	}
+	
+	private long started(final String name) {
+		final Set<Thread> threads = threads();
+		threads.removeAll(before);
+		return threads.stream().filter((thread) -> thread.getName().startsWith("NetX-" + name + "-")).count();
+	}
+	
+	private static Set<Thread> threads() {
+		return new HashSet<>(Thread.getAllStackTraces().keySet());
+	}
+	
+}
@@ -0,0 +1,72 @@
+package me.nulldoubt.netx;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTest {
+	
+	private static final int PACKETS = 500;
+	
+	@Test
+	void failedBindLeavesServerClosedWithoutThreads() throws IOException {
+		try (final ServerSocket occupied = new ServerSocket(0, 50, InetAddress.getByName("0.0.0.0"))) {
+			final int port = occupied.getLocalPort();
+			final Set<Thread> before = threads();
+			final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).port(port).acceptors(2).build();
+			assertThrows(IOException.class, server::open);
+			assertFalse(server.isOpen());
+			final Set<Thread> started = threads();
+			started.removeAll(before);
+			assertTrue(started.isEmpty());
+			occupied.close();
+			server.open();
+			assertTrue(server.isOpen());
+			server.close();
+		}
+	}
+	
+	@Test
+	void expiringAwaitsDoNotSwallowPackets() throws Exception {
+		final AtomicInteger received = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(PACKETS);
+		final CompletableFuture<UUID> connected = new CompletableFuture<>();
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).port(EPHEMERAL_PORT).onClientConnect(connected::complete).onPacketReceived((packet, sender) -> {
+			received.incrementAndGet();
+			done.countDown();
+		}).build();
+		server.open();
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).build();
+		try {
+			client.open();
+			final UUID uuid = connected.get(5, TimeUnit.SECONDS);
+			for (int i = 0; i < PACKETS; i++) {
+				server.awaitAsync(uuid, 1, TimeUnit.MILLISECONDS);
+				client.send(String.valueOf(i));
+			}
+			assertTrue(done.await(5, TimeUnit.SECONDS));
+			assertEquals(PACKETS, received.get());
+		} finally {
+			client.close();
+			server.close();
+		}
+	}
+	
+	private static Set<Thread> threads() {
+		return Thread.getAllStackTraces().keySet().stream().filter((thread) -> thread.getName().startsWith("NetX")).collect(Collectors.toCollection(HashSet::new));
+	}
+	
+}
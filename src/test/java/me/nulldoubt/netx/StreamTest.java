@@ -0,0 +1,166 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.connection.StreamOutput;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamTest {
+	
+	private static final int WINDOW = 65536;
+	private static final int CHUNK = 8192;
+	
+	private Server<String> server;
+	private Client<String> client;
+	
+	@BeforeEach
+	void open() throws IOException {
+		server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).streamWindow(WINDOW).build();
+		server.open();
+		client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).streamChunkSize(CHUNK).build();
+		client.open();
+	}
+	
+	@AfterEach
+	void close() throws IOException {
+		client.close();
+		server.close();
+	}
+	
+	@Test
+	void deliversPayloadsLargerThanTheWindow() throws Exception {
+		final byte[] payload = new byte[(WINDOW * 16) + 123];
+		new Random(17).nextBytes(payload);
+		final CompletableFuture<byte[]> received = new CompletableFuture<>();
+		final CompletableFuture<String> name = new CompletableFuture<>();
+		server.onStreamReceived((stream, sender) -> {
+			name.complete(stream.getName());
+			try {
+				received.complete(stream.readAllBytes());
+			} catch (IOException e) {
+				received.completeExceptionally(e);
+			}
+		});
+		assertEquals(payload.length, client.stream("payload", new ByteArrayInputStream(payload)));
+		assertEquals("payload", name.get(5, TimeUnit.SECONDS));
+		assertArrayEquals(payload, received.get(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void senderWaitsForCreditWhileTheReceiverIsIdle() throws Exception {
+		final CountDownLatch drain = new CountDownLatch(1);
+		final CompletableFuture<Long> received = new CompletableFuture<>();
+		server.onStreamReceived((stream, sender) -> {
+			try {
+				drain.await(5, TimeUnit.SECONDS);
+				received.complete((long) stream.readAllBytes().length);
+			} catch (IOException | InterruptedException e) {
+				received.completeExceptionally(e);
+			}
+		});
+		final StreamOutput output = client.openStream("credit", (WINDOW * 4));
+		final CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+			try {
+				output.write(new byte[WINDOW * 4]);
+				output.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		await(() -> (output.getWritten() >= WINDOW));
+		Thread.sleep(100);
+		assertEquals(WINDOW, output.getWritten());
+		assertEquals(0, output.getCredit());
+		assertFalse(writer.isDone());
+		drain.countDown();
+		writer.get(5, TimeUnit.SECONDS);
+		assertEquals((WINDOW * 4), received.get(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void abortResetsTheReceiver() throws Exception {
+		final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+		server.onStreamReceived((stream, sender) -> failure.complete(assertThrows(IOException.class, stream::readAllBytes)));
+		final StreamOutput output = client.openStream("aborted");
+		output.write(new byte[CHUNK * 2]);
+		output.abort();
+		assertTrue(failure.get(5, TimeUnit.SECONDS).getMessage().contains("reset"));
+		assertThrows(IOException.class, () -> output.write(1));
+	}
+	
+	@Test
+	void receiverCloseCancelsTheSender() throws Exception {
+		server.onStreamReceived((stream, sender) -> stream.close());
+		final StreamOutput output = client.openStream("cancelled");
+		final IOException failure = assertThrows(IOException.class, () -> {
+			for (int i = 0; i < 64; i++)
+				output.write(new byte[WINDOW]);
+		});
+		assertTrue(failure.getMessage().contains("cancelled"));
+	}
+	
+	@Test
+	void listenersRunOnVirtualThreads() throws Exception {
+		final CompletableFuture<Thread> listener = new CompletableFuture<>();
+		server.onStreamReceived((stream, sender) -> {
+			try {
+				stream.readAllBytes();
+			} catch (IOException _) {}
+			listener.complete(Thread.currentThread());
+		});
+		try (final StreamOutput output = client.openStream("probe")) {
+			output.write(1);
+		}
+		final Thread thread = listener.get(5, TimeUnit.SECONDS);
+		assertTrue(thread.isVirtual());
+		assertEquals(NetX.ThreadMode.THREAD_PLATFORM, server.getThreadMode());
+	}
+	
+	@Test
+	void cancelsStreamsBeyondTheLimit() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch opened = new CountDownLatch(NetX.NETWORK_MAX_STREAMS);
+		server.onStreamReceived((stream, sender) -> {
+			opened.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException _) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		final List<StreamOutput> outputs = new ArrayList<>();
+		try {
+			for (int i = 0; i < NetX.NETWORK_MAX_STREAMS; i++) {
+				final StreamOutput output = client.openStream("stream-" + i);
+				outputs.add(output);
+				output.write(i);
+				output.flush();
+			}
+			assertTrue(opened.await(5, TimeUnit.SECONDS));
+			final StreamOutput rejected = client.openStream("rejected");
+			assertThrows(IOException.class, () -> {
+				rejected.write(0);
+				rejected.flush();
+			});
+		} finally {
+			release.countDown();
+			for (final StreamOutput output : outputs)
+				output.abort();
+		}
+	}
+	
+}
@@ -0,0 +1,69 @@
+package me.nulldoubt.netx;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class ThreadModeBenchmark {
+	
+	private static final int WARMUP = 100;
+	private static final int CONNECTIONS = 1000;
+	private static final int IN_FLIGHT = 32;
+	
+	@Test
+	void connectionsPerSecondAndMemoryPerConnection() throws Exception {
+		final Benchmark report = new Benchmark("Thread mode: " + CONNECTIONS + " blocking connections, server and clients in one JVM", "mode", "conn/s", "heap KB/conn", "rss KB/conn", "platform threads/conn");
+		for (final NetX.ThreadMode mode : NetX.ThreadMode.values())
+			run(mode, WARMUP, null);
+		for (final NetX.ThreadMode mode : NetX.ThreadMode.values())
+			run(mode, CONNECTIONS, report);
+		report.print();
+	}
+	
+	private static void run(final NetX.ThreadMode mode, final int connections, final Benchmark report) throws Exception {
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).port(EPHEMERAL_PORT).threadMode(mode).handshakeConcurrency(IN_FLIGHT).handshakeTimeout(30, TimeUnit.SECONDS).build();
+		server.open();
+		final List<Client<String>> clients = new ArrayList<>();
+		try {
+			final long heap = Benchmark.usedHeap();
+			final long resident = Benchmark.residentMemory();
+			final int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+			final long start = System.nanoTime();
+			final List<Future<Client<String>>> futures = new ArrayList<>();
+			try (final ExecutorService executor = Executors.newFixedThreadPool(IN_FLIGHT, Thread.ofVirtual().factory())) {
+				for (int i = 0; i < connections; i++)
+					futures.add(executor.submit(() -> {
+						final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).threadMode(mode).build();
+						client.open();
+						return client;
+					}));
+				for (final Future<Client<String>> future : futures)
+					clients.add(future.get(30, TimeUnit.SECONDS));
+			}
+			await(() -> (server.getConnectedClients() >= connections), 30, TimeUnit.SECONDS);
+			final long elapsed = (System.nanoTime() - start);
+			assertEquals(connections, server.getConnectedClients());
+			if (report == null)
+				return;
+			final double perConnection = (1024.0 * connections);
+			report.row(mode, ((connections * 1_000_000_000.0) / elapsed), ((Benchmark.usedHeap() - heap) / perConnection), ((Benchmark.residentMemory() - resident) / perConnection), ((double) (ManagementFactory.getThreadMXBean().getThreadCount() - threads) / connections));
+		} finally {
+			for (final Client<String> client : clients)
+				client.close();
+			server.close();
+		}
+	}
+	
+}
@@ -0,0 +1,62 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.Response;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class UnixSocketBenchmark {
+	
+	private static final int WARMUP = 2000;
+	private static final int SAMPLES = 20_000;
+	
+	@TempDir
+	Path directory;
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.TransportMode.class, names = {"TRANSPORT_BLOCKING", "TRANSPORT_SELECTOR"})
+	void requestLatencyAgainstLoopbackTcp(final NetX.TransportMode transport) throws Exception {
+		final Benchmark report = new Benchmark("Request round trip: " + SAMPLES + " sequential requests, no cipher", "transport", "endpoint", "p50 us", "p99 us", "p99.9 us", "requests/s");
+		run(report, transport, null);
+		run(report, transport, directory.resolve("netx.sock"));
+		report.print();
+	}
+	
+	private static void run(final Benchmark report, final NetX.TransportMode transport, final Path path) throws Exception {
+		final ServerBuilder<String> serverBuilder = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).transport(transport).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				return new Pong(request);
+			}
+		});
+		final Server<String> server = ((path == null) ? serverBuilder.port(EPHEMERAL_PORT) : serverBuilder.socketPath(path)).build();
+		server.open();
+		final ClientBuilder<String> clientBuilder = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).transport(transport);
+		final Client<String> client = ((path == null) ? clientBuilder.host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()) : clientBuilder.socketPath(path)).build();
+		try {
+			client.open();
+			final long[] samples = Benchmark.sample(WARMUP, SAMPLES, () -> {
+				assertInstanceOf(Pong.class, client.requestAsync(new Ping(), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+				return 1;
+			});
+			final double rate = ((SAMPLES * 1_000_000_000.0) / Arrays.stream(samples).sum());
+			report.row(transport, ((path == null) ? "loopback TCP" : "Unix socket"), Benchmark.percentile(samples, 50), Benchmark.percentile(samples, 99), Benchmark.percentile(samples, 99.9), rate);
+		} finally {
+			client.close();
+			server.close();
+		}
+	}
+	
+}
@@ -0,0 +1,48 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.RequestHandler;
+import me.nulldoubt.netx.binaries.Response;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnixSocketTest {
+	
+	@TempDir
+	Path directory;
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.TransportMode.class, names = {"TRANSPORT_BLOCKING", "TRANSPORT_SELECTOR"})
+	void exchangesRequestsOverSocketPath(final NetX.TransportMode transport) throws Exception {
+		final Path path = directory.resolve("netx.sock");
+		Files.createFile(path);
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).socketPath(path).transport(transport).requestHandler(new RequestHandler(1) {
+			@Override
+			public Response handle(final Request request) {
+				return new Pong(request, (((Ping) request).getValue() * 2));
+			}
+		}).build();
+		server.open();
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_AES_GCM).socketPath(path).transport(transport).build();
+		try {
+			client.open();
+			for (int i = 0; i < 100; i++) {
+				final Response response = client.requestAsync(new Ping(i), 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+				assertEquals((i * 2), assertInstanceOf(Pong.class, response).getValue());
+			}
+		} finally {
+			client.close();
+			server.close();
+		}
+		assertFalse(Files.exists(path));
+	}
+	
+}
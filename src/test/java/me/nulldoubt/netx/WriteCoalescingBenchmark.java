@@ -0,0 +1,174 @@
+package me.nulldoubt.netx;
+
+import me.nulldoubt.netx.binaries.connection.BufferWriter;
+import me.nulldoubt.netx.binaries.connection.FlushPolicy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static me.nulldoubt.netx.Fixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class WriteCoalescingBenchmark {
+	
+	private static final int PAYLOAD = 64;
+	private static final int FRAMES = 200_000;
+	private static final int PACKETS = 50_000;
+	private static final long LINGER = 100;
+	
+	@Test
+	void framesPerSecondOverLoopback() throws Exception {
+		final Benchmark report = new Benchmark("Frame writer: " + FRAMES + " frames of " + PAYLOAD + " bytes over loopback TCP", "writer", "threads", "frames/s", "MB/s", "speedup");
+		final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		try {
+			for (final int threads : new int[] {1, 4}) {
+				final double legacy = frames(report, "per-frame flush (original)", threads, null);
+				frames(report, "BufferWriter, no linger", threads, new FlushPolicy(8192, 0L, TimeUnit.NANOSECONDS, null), legacy);
+				frames(report, "BufferWriter, " + LINGER + " us linger", threads, new FlushPolicy(8192, LINGER, TimeUnit.MICROSECONDS, scheduler), legacy);
+			}
+		} finally {
+			scheduler.shutdownNow();
+		}
+		report.print();
+	}
+	
+	@Test
+	void packetsPerSecondEndToEnd() throws Exception {
+		final Benchmark report = new Benchmark("End to end: " + PACKETS + " packets of " + PAYLOAD + " characters, client to server, no cipher", "transport", "client linger", "packets/s");
+		for (final NetX.TransportMode transport : new NetX.TransportMode[] {NetX.TransportMode.TRANSPORT_BLOCKING, NetX.TransportMode.TRANSPORT_SELECTOR})
+			for (final long linger : new long[] {0, LINGER})
+				report.row(transport, (linger + " us"), packets(transport, linger));
+		report.print();
+	}
+	
+	private static double frames(final Benchmark report, final String name, final int threads, final FlushPolicy policy) throws Exception {
+		return frames(report, name, threads, policy, 0);
+	}
+	
+	private static double frames(final Benchmark report, final String name, final int threads, final FlushPolicy policy, final double baseline) throws Exception {
+		try (final ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress()); final Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort()); final Socket peer = server.accept()) {
+			socket.setTcpNoDelay(true);
+			final AtomicLong received = new AtomicLong();
+			final Thread reader = Thread.ofPlatform().daemon().start(() -> {
+				final byte[] buffer = new byte[65536];
+				try (final InputStream input = peer.getInputStream()) {
+					int read;
+					while ((read = input.read(buffer)) != -1)
+						received.addAndGet(read);
+				} catch (IOException _) {}
+			});
+			final byte[] payload = new byte[PAYLOAD];
+			final long frameSize;
+			final FrameSink sink;
+			if (policy == null) {
+				final DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+				frameSize = (Integer.BYTES + 1 + PAYLOAD);
+				sink = new FrameSink() {
+					@Override
+					public void write() throws IOException {
+						synchronized (output) {
+							output.writeInt(payload.length);
+							output.writeByte(NetX.SignalModifier.SIGNAL_TYPE.getModifier());
+							output.write(payload, 0, payload.length);
+							output.flush();
+						}
+					}
+					
+					@Override
+					public void flush() {}
+				};
+			} else {
+				final ByteArrayOutputStream probe = new ByteArrayOutputStream();
+				final BufferWriter sizing = new BufferWriter(probe);
+				sizing.write(NetX.SignalModifier.SIGNAL_TYPE, payload);
+				frameSize = probe.size();
+				final BufferWriter writer = new BufferWriter(socket.getOutputStream(), policy);
+				sink = new FrameSink() {
+					@Override
+					public void write() throws IOException {
+						writer.write(NetX.SignalModifier.SIGNAL_TYPE, payload);
+					}
+					
+					@Override
+					public void flush() throws IOException {
+						writer.flush();
+					}
+				};
+			}
+			final Benchmark.Measurement measurement = Benchmark.measure(1, 3, () -> {
+				final long target = (received.get() + (frameSize * FRAMES));
+				final AtomicInteger remaining = new AtomicInteger(FRAMES);
+				final List<Future<?>> writers = new ArrayList<>();
+				try (final ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+					for (int i = 0; i < threads; i++)
+						writers.add(executor.submit(() -> {
+							while (remaining.getAndDecrement() > 0)
+								sink.write();
+							return null;
+						}));
+					for (final Future<?> future : writers)
+						future.get();
+				}
+				sink.flush();
+				final long deadline = (System.nanoTime() + TimeUnit.SECONDS.toNanos(30));
+				while ((received.get() < target) && (System.nanoTime() < deadline))
+					Thread.onSpinWait();
+				assertEquals(target, received.get());
+				return FRAMES;
+			});
+			socket.shutdownOutput();
+			reader.join(5000);
+			report.row(name, threads, measurement.getRate(), ((measurement.getRate() * frameSize) / (1024.0 * 1024.0)), ((baseline > 0) ? String.format(Locale.ROOT, "%.1fx", (measurement.getRate() / baseline)) : "1.0x"));
+			return measurement.getRate();
+		}
+	}
+	
+	private static double packets(final NetX.TransportMode transport, final long linger) throws Exception {
+		final AtomicInteger received = new AtomicInteger();
+		final Server<String> server = ServerBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).port(EPHEMERAL_PORT).transport(transport).onPacketReceived((packet, sender) -> received.incrementAndGet()).build();
+		server.open();
+		final Client<String> client = ClientBuilder.string().algorithm(NetX.CipherAlgorithm.CIPHER_NONE).host(InetAddress.getLoopbackAddress()).port(server.getLocalPort()).linger(linger, TimeUnit.MICROSECONDS).build();
+		try {
+			client.open();
+			final String packet = "x".repeat(PAYLOAD);
+			return Benchmark.measure(1, 3, () -> {
+				final int target = (received.get() + PACKETS);
+				for (int i = 0; i < PACKETS; i++)
+					client.send(packet);
+				await(() -> (received.get() >= target), 30, TimeUnit.SECONDS);
+				assertEquals(target, received.get());
+				return PACKETS;
+			}).getRate();
+		} finally {
+			client.close();
+			server.close();
+		}
+	}
+	
+	private interface FrameSink {
+		
+		void write() throws IOException;
+		
+		void flush() throws IOException;
+		
+	}
+	
+}
@@ -0,0 +1,98 @@
+package me.nulldoubt.netx.binaries.codecs;
+
+import me.nulldoubt.netx.Benchmark;
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.compilers.RequestCompiler;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class CodecBenchmark {
+	
+	private static final int MESSAGES = 200_000;
+	
+	@Test
+	void requestRoundTripsAgainstSerialization() throws Exception {
+		final Benchmark report = new Benchmark("Codec: " + MESSAGES + " small requests through RequestCompiler, decompile then compile", "format", "bytes/msg", "round trips/s", "alloc B/msg", "speedup");
+		final RequestCompiler serial = new RequestCompiler();
+		final RequestCompiler codec = new RequestCompiler();
+		CodecBenchmark_QuoteCodec.register(codec.getRegistry());
+		final Quote quote = new Quote("NETX", 1_700_000_000_000L, 101.25, 300);
+		quote.setSender(UUID.randomUUID());
+		final double baseline = run(report, "Java serialization (type id 0)", serial, quote, 0);
+		run(report, "generated codec", codec, quote, baseline);
+		report.print();
+	}
+	
+	private static double run(final Benchmark report, final String name, final RequestCompiler compiler, final Quote quote, final double baseline) throws Exception {
+		final int size = compiler.decompile(quote).length;
+		final Quote decoded = assertInstanceOf(Quote.class, compiler.compile(compiler.decompile(quote)));
+		assertEquals(quote.getUUID(), decoded.getUUID());
+		assertEquals(quote.getSymbol(), decoded.getSymbol());
+		assertEquals(quote.getPrice(), decoded.getPrice());
+		final Benchmark.Trial trial = () -> {
+			long quantity = 0;
+			for (int i = 0; i < MESSAGES; i++)
+				quantity += ((Quote) compiler.compile(compiler.decompile(quote))).getQuantity();
+			assertEquals(((long) MESSAGES * quote.getQuantity()), quantity);
+			return MESSAGES;
+		};
+		final Benchmark.Measurement measurement = Benchmark.measure(2, 5, trial);
+		final long allocated = Benchmark.allocatedBytes();
+		trial.run();
+		final double perMessage = ((double) (Benchmark.allocatedBytes() - allocated) / MESSAGES);
+		report.row(name, size, measurement.getRate(), perMessage, ((baseline > 0) ? String.format(Locale.ROOT, "%.1fx", (measurement.getRate() / baseline)) : "1.0x"));
+		return measurement.getRate();
+	}
+	
+	@GenerateCodec(5)
+	static final class Quote extends Request {
+		
+		@java.io.Serial
+		private static final long serialVersionUID = 1L;
+		
+		private final String symbol;
+		private final long timestamp;
+		private final double price;
+		private final int quantity;
+		
+		Quote(final String symbol, final long timestamp, final double price, final int quantity) {
+			super(1);
+			this.symbol = symbol;
+			this.timestamp = timestamp;
+			this.price = price;
+			this.quantity = quantity;
+		}
+		
+		Quote(final Request header, final String symbol, final long timestamp, final double price, final int quantity) {
+			super(header);
+			this.symbol = symbol;
+			this.timestamp = timestamp;
+			this.price = price;
+			this.quantity = quantity;
+		}
+		
+		String getSymbol() {
+			return symbol;
+		}
+		
+		long getTimestamp() {
+			return timestamp;
+		}
+		
+		double getPrice() {
+			return price;
+		}
+		
+		int getQuantity() {
+			return quantity;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,121 @@
+package me.nulldoubt.netx.binaries.codecs;
+
+import me.nulldoubt.netx.exceptions.CompilationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodecInputTest {
+	
+	@Test
+	void roundTripsEveryPrimitive() {
+		final UUID uuid = UUID.randomUUID();
+		final byte[] bytes = new CodecOutput(4)
+				.writeBoolean(true)
+				.writeByte((byte) -7)
+				.writeShort((short) -12345)
+				.writeChar('\u20AC')
+				.writeInt(Integer.MIN_VALUE)
+				.writeLong(Long.MAX_VALUE)
+				.writeFloat(1.5F)
+				.writeDouble(-0.25D)
+				.writeVarInt(-1)
+				.writeVarInt(300)
+				.writeVarLong(Long.MIN_VALUE)
+				.writeString("h\u00E9llo")
+				.writeString(null)
+				.writeBytes(new byte[] {1, 2, 3})
+				.writeBytes(null)
+				.writeUUID(uuid)
+				.writeUUID(null)
+				.toByteArray();
+		final CodecInput input = new CodecInput(bytes);
+		assertTrue(input.readBoolean());
+		assertEquals(-7, input.readByte());
+		assertEquals(-12345, input.readShort());
+		assertEquals('\u20AC', input.readChar());
+		assertEquals(Integer.MIN_VALUE, input.readInt());
+		assertEquals(Long.MAX_VALUE, input.readLong());
+		assertEquals(1.5F, input.readFloat());
+		assertEquals(-0.25D, input.readDouble());
+		assertEquals(-1, input.readVarInt());
+		assertEquals(300, input.readVarInt());
+		assertEquals(Long.MIN_VALUE, input.readVarLong());
+		assertEquals("h\u00E9llo", input.readString());
+		assertNull(input.readString());
+		assertArrayEquals(new byte[] {1, 2, 3}, input.readBytes());
+		assertNull(input.readBytes());
+		assertEquals(uuid, input.readUUID());
+		assertNull(input.readUUID());
+		assertEquals(0, input.remaining());
+		assertEquals(bytes.length, input.position());
+	}
+	
+	@Test
+	void rejectsReadsPastTheEnd() {
+		final CodecInput input = new CodecInput(new byte[] {1, 2, 3});
+		assertThrows(CompilationException.class, input::readInt);
+		assertEquals(0, input.position());
+		assertEquals(0x0102, input.readShort());
+		assertThrows(CompilationException.class, input::readShort);
+		assertEquals(3, input.readByte());
+		assertThrows(CompilationException.class, input::readByte);
+	}
+	
+	@Test
+	void respectsOffsetAndLength() {
+		final byte[] bytes = new CodecOutput().writeInt(1).writeInt(2).writeInt(3).toByteArray();
+		final CodecInput input = new CodecInput(bytes, Integer.BYTES, Integer.BYTES);
+		assertEquals(Integer.BYTES, input.position());
+		assertEquals(Integer.BYTES, input.remaining());
+		assertEquals(2, input.readInt());
+		assertThrows(CompilationException.class, input::readInt);
+	}
+	
+	@Test
+	void rejectsWindowOutsideTheBuffer() {
+		assertThrows(IndexOutOfBoundsException.class, () -> new CodecInput(new byte[4], 2, 4));
+		assertThrows(IndexOutOfBoundsException.class, () -> new CodecInput(new byte[4], -1, 2));
+	}
+	
+	@Test
+	void rejectsTruncatedStringsAndBytes() {
+		final byte[] string = new CodecOutput().writeString("truncated").toByteArray();
+		assertThrows(CompilationException.class, () -> new CodecInput(Arrays.copyOf(string, string.length - 1)).readString());
+		final byte[] bytes = new CodecOutput().writeBytes(new byte[16]).toByteArray();
+		assertThrows(CompilationException.class, () -> new CodecInput(bytes, 0, bytes.length - 1).readBytes());
+	}
+	
+	@Test
+	void rejectsNegativeAndOversizedLengths() {
+		assertThrows(CompilationException.class, () -> new CodecInput(new CodecOutput().writeVarInt(-5).toByteArray()).readString());
+		assertThrows(CompilationException.class, () -> new CodecInput(new CodecOutput().writeVarInt(-5).toByteArray()).readBytes());
+		assertThrows(CompilationException.class, () -> new CodecInput(new CodecOutput().writeVarInt(Integer.MIN_VALUE).toByteArray()).readBytes());
+		assertThrows(CompilationException.class, () -> new CodecInput(new CodecOutput().writeVarInt(Integer.MAX_VALUE).writeByte((byte) 1).toByteArray()).readString());
+	}
+	
+	@Test
+	void boundsElementCountsAndOrdinals() {
+		assertEquals(-1, new CodecInput(new CodecOutput().writeVarInt(0).toByteArray()).readLength());
+		assertEquals(2, new CodecInput(new CodecOutput().writeVarInt(3).writeShort((short) 0).toByteArray()).readLength());
+		assertThrows(CompilationException.class, () -> new CodecInput(new CodecOutput().writeVarInt(3).writeByte((byte) 0).toByteArray()).readLength());
+		assertThrows(CompilationException.class, () -> new CodecInput(new CodecOutput().writeVarInt(-5).toByteArray()).readLength());
+		assertEquals(-1, new CodecInput(new CodecOutput().writeVarInt(0).toByteArray()).readOrdinal(2));
+		assertEquals(1, new CodecInput(new CodecOutput().writeVarInt(2).toByteArray()).readOrdinal(2));
+		assertThrows(CompilationException.class, () -> new CodecInput(new CodecOutput().writeVarInt(3).toByteArray()).readOrdinal(2));
+		assertThrows(CompilationException.class, () -> new CodecInput(new CodecOutput().writeVarInt(-5).toByteArray()).readOrdinal(2));
+	}
+	
+	@Test
+	void rejectsMalformedVariableLengthIntegers() {
+		final byte[] overlong = new byte[11];
+		Arrays.fill(overlong, (byte) 0x80);
+		assertThrows(CompilationException.class, () -> new CodecInput(overlong).readVarInt());
+		assertThrows(CompilationException.class, () -> new CodecInput(overlong).readVarLong());
+		assertThrows(CompilationException.class, () -> new CodecInput(new byte[] {(byte) 0x80, (byte) 0x80}).readVarInt());
+	}
+	
+}
@@ -0,0 +1,221 @@
+package me.nulldoubt.netx.binaries.codecs;
+
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.Response;
+import me.nulldoubt.netx.binaries.compilers.RequestCompiler;
+import me.nulldoubt.netx.binaries.compilers.ResponseCompiler;
+import me.nulldoubt.netx.binaries.model.SerialObject;
+import me.nulldoubt.netx.exceptions.CompilationException;
+import me.nulldoubt.netx.processor.CodecProcessor;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodecProcessorTest {
+	
+	@Test
+	void roundTripsRecords() {
+		final Point point = new Point(3, -4, "origin", List.of(Shade.LIGHT, Shade.DARK), new byte[] {1, 2});
+		final CodecOutput output = new CodecOutput();
+		CodecProcessorTest_PointCodec.INSTANCE.encode(point, output);
+		final Point decoded = CodecProcessorTest_PointCodec.INSTANCE.decode(new CodecInput(output.toByteArray()));
+		assertEquals(point.x(), decoded.x());
+		assertEquals(point.y(), decoded.y());
+		assertEquals(point.label(), decoded.label());
+		assertEquals(point.shades(), decoded.shades());
+		assertArrayEquals(point.data(), decoded.data());
+		assertEquals(1, CodecProcessorTest_PointCodec.TYPE_ID);
+	}
+	
+	@Test
+	void restoresInheritedSerialObjectState() {
+		final Greeting greeting = new Greeting("hello", 5);
+		final CodecOutput output = new CodecOutput();
+		CodecProcessorTest_GreetingCodec.INSTANCE.encode(greeting, output);
+		final Greeting decoded = CodecProcessorTest_GreetingCodec.INSTANCE.decode(new CodecInput(output.toByteArray()));
+		assertEquals("hello", decoded.getHeader());
+		assertEquals(5, decoded.getCount());
+	}
+	
+	@Test
+	void restoresRequestAndResponseHeaders() {
+		final RequestCompiler requests = new RequestCompiler();
+		final ResponseCompiler responses = new ResponseCompiler();
+		CodecProcessorTest_PingCodec.register(requests.getRegistry());
+		CodecProcessorTest_PongCodec.register(responses.getRegistry());
+		final Ping ping = new Ping("marco");
+		final UUID sender = UUID.randomUUID();
+		ping.setSender(sender);
+		final Request request = requests.compile(requests.decompile(ping));
+		final Ping decoded = assertInstanceOf(Ping.class, request);
+		assertEquals(ping.getUUID(), decoded.getUUID());
+		assertEquals(ping.getRequestId(), decoded.getRequestId());
+		assertEquals(sender, decoded.getSender());
+		assertEquals("marco", decoded.getMessage());
+		final Response response = responses.compile(responses.decompile(new Pong(decoded, "polo")));
+		final Pong pong = assertInstanceOf(Pong.class, response);
+		assertEquals(ping.getUUID(), pong.getUUID());
+		assertEquals(ping.getRequestId(), pong.getResponseId());
+		assertEquals(sender, pong.getSender());
+		assertEquals("polo", pong.getReply());
+	}
+	
+	@Test
+	void rejectsElementCountsBeyondTheFrame() {
+		final byte[] frame = hostile(new CodecOutput().writeVarInt(Integer.MAX_VALUE));
+		assertThrows(CompilationException.class, () -> CodecProcessorTest_PointCodec.INSTANCE.decode(new CodecInput(frame)));
+	}
+	
+	@Test
+	void rejectsOutOfRangeEnumOrdinals() {
+		final byte[] frame = hostile(new CodecOutput().writeVarInt(2).writeVarInt(Shade.values().length + 1).writeVarInt(0));
+		assertThrows(CompilationException.class, () -> CodecProcessorTest_PointCodec.INSTANCE.decode(new CodecInput(frame)));
+	}
+	
+	@Test
+	void rejectsNonPositiveTypeIds() throws IOException {
+		final List<String> errors = process("Zero", "@GenerateCodec(0) public record Zero(int value) {}");
+		assertTrue(errors.stream().anyMatch((error) -> error.contains("has to be positive")), errors::toString);
+	}
+	
+	@Test
+	void rejectsDuplicateTypeIds() throws IOException {
+		final List<String> errors = process("Twins", "public class Twins { @GenerateCodec(9) public record First(int value) {} @GenerateCodec(9) public record Second(int value) {} }");
+		assertTrue(errors.stream().anyMatch((error) -> error.contains("already used by")), errors::toString);
+	}
+	
+	@Test
+	void rejectsInheritedStateWithoutConstructor() throws IOException {
+		final List<String> errors = process("Lossy", "public class Lossy extends me.nulldoubt.netx.binaries.model.SerialObject { private final int count; public Lossy(final int count) { super(\"fixed\"); this.count = count; } public int getCount() { return count; } }", "@GenerateCodec(11) ");
+		assertTrue(errors.stream().anyMatch((error) -> error.contains("inherited fields")), errors::toString);
+	}
+	
+	private static byte[] hostile(final CodecOutput shades) {
+		final CodecOutput output = new CodecOutput();
+		CodecProcessorTest_PointCodec.INSTANCE.encode(new Point(3, -4, "origin", null, null), output);
+		final byte[] prefix = output.toByteArray();
+		final byte[] suffix = shades.toByteArray();
+		final byte[] frame = Arrays.copyOf(prefix, (prefix.length - 2 + suffix.length));
+		System.arraycopy(suffix, 0, frame, (prefix.length - 2), suffix.length);
+		return frame;
+	}
+	
+	private static List<String> process(final String name, final String body) throws IOException {
+		return process(name, body, "");
+	}
+	
+	private static List<String> process(final String name, final String body, final String annotation) throws IOException {
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		final Path output = Files.createTempDirectory("codecs");
+		try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+			fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+			fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(output.toFile()));
+			final String source = ("package sample; import me.nulldoubt.netx.binaries.codecs.GenerateCodec; " + annotation + body);
+			final JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///sample/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+				
+				@Override
+				public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+					return source;
+				}
+				
+			};
+			final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, List.of("-classpath", System.getProperty("java.class.path"), "-proc:only"), null, List.of(file));
+			task.setProcessors(List.of(new CodecProcessor()));
+			task.call();
+		}
+		final List<String> errors = new ArrayList<>();
+		for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR)
+				errors.add(diagnostic.getMessage(null));
+		return errors;
+	}
+	
+	enum Shade {
+		LIGHT,
+		DARK
+	}
+	
+	@GenerateCodec(1)
+	record Point(int x, int y, String label, List<Shade> shades, byte[] data) {}
+	
+	@GenerateCodec(2)
+	static final class Greeting extends SerialObject {
+		
+		@java.io.Serial
+		private static final long serialVersionUID = 1L;
+		
+		private final int count;
+		
+		Greeting(final String header, final int count) {
+			super(header);
+			this.count = count;
+		}
+		
+		int getCount() {
+			return count;
+		}
+		
+	}
+	
+	@GenerateCodec(3)
+	static final class Ping extends Request {
+		
+		@java.io.Serial
+		private static final long serialVersionUID = 1L;
+		
+		private final String message;
+		
+		Ping(final String message) {
+			super(7);
+			this.message = message;
+		}
+		
+		Ping(final Request header, final String message) {
+			super(header);
+			this.message = message;
+		}
+		
+		String getMessage() {
+			return message;
+		}
+		
+	}
+	
+	@GenerateCodec(4)
+	static final class Pong extends Response {
+		
+		@java.io.Serial
+		private static final long serialVersionUID = 1L;
+		
+		private final String reply;
+		
+		Pong(final Request header, final String reply) {
+			super(header);
+			this.reply = reply;
+		}
+		
+		String getReply() {
+			return reply;
+		}
+		
+	}
+	
+}
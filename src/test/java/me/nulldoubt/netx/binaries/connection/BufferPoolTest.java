@@ -0,0 +1,79 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferPoolTest {
+	
+	@Test
+	void roundsUpToPowerOfTwoSizeClasses() {
+		final BufferPool pool = new BufferPool(4096, 4);
+		assertEquals(64, pool.acquire(1).length);
+		assertEquals(64, pool.acquire(64).length);
+		assertEquals(128, pool.acquire(65).length);
+		assertEquals(4096, pool.acquire(3000).length);
+		assertEquals(0, pool.acquire(0).length);
+		assertEquals(4096, pool.getMaxPooledSize());
+	}
+	
+	@Test
+	void reusesReleasedBuffers() {
+		final BufferPool pool = new BufferPool(4096, 4);
+		final byte[] buffer = pool.acquire(100);
+		pool.release(buffer);
+		assertEquals(1, pool.getPooledBuffers());
+		assertEquals(128, pool.getPooledBytes());
+		assertSame(buffer, pool.acquire(120));
+		assertEquals(0, pool.getPooledBuffers());
+	}
+	
+	@Test
+	void holderReturnsItsBufferOnce() throws Exception {
+		final BufferPool pool = new BufferPool(4096, 64);
+		for (int i = 0; i < 100; i++) {
+			final NetX.SignalHolder holder = new NetX.SignalHolder(NetX.SignalModifier.SIGNAL_TYPE.getModifier(), pool.acquire(100), 100, pool);
+			final CountDownLatch start = new CountDownLatch(1);
+			final Thread[] releasers = new Thread[4];
+			for (int j = 0; j < releasers.length; j++) {
+				releasers[j] = new Thread(() -> {
+					try {
+						start.await();
+					} catch (InterruptedException _) {}
+					holder.release();
+				});
+				releasers[j].start();
+			}
+			start.countDown();
+			for (final Thread releaser : releasers)
+				releaser.join();
+			assertEquals(1, pool.getPooledBuffers());
+			assertFalse(holder.isPooled());
+		}
+	}
+	
+	@Test
+	void neverPoolsOversizedOrForeignBuffers() {
+		final BufferPool pool = new BufferPool(4096, 4);
+		final byte[] oversized = pool.acquire(5000);
+		assertEquals(5000, oversized.length);
+		pool.release(oversized);
+		pool.release(new byte[100]);
+		pool.release(null);
+		assertEquals(0, pool.getPooledBuffers());
+	}
+	
+	@Test
+	void boundsEachSizeClassByCapacity() {
+		final BufferPool pool = new BufferPool(4096, 2);
+		for (int i = 0; i < 5; i++)
+			pool.release(new byte[256]);
+		pool.release(new byte[512]);
+		assertEquals(3, pool.getPooledBuffers());
+		assertEquals((2 * 256) + 512, pool.getPooledBytes());
+	}
+	
+}
@@ -0,0 +1,52 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferReaderTest {
+	
+	@Test
+	void readsFramesWrittenByBufferWriter() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final BufferWriter writer = new BufferWriter(output);
+		writer.write(NetX.SignalModifier.SIGNAL_TYPE, new byte[] {1, 2, 3});
+		writer.flush();
+		final BufferReader reader = new BufferReader(new ByteArrayInputStream(output.toByteArray()), new BufferPool(1024, 4), 1024);
+		final NetX.SignalHolder holder = reader.read();
+		assertEquals(NetX.SignalModifier.SIGNAL_TYPE.getModifier(), holder.getSignalModifier());
+		assertEquals(3, holder.getLength());
+		assertEquals(3, holder.getBuffer()[2]);
+		holder.release();
+	}
+	
+	@Test
+	void rejectsNegativeLength() {
+		final BufferReader reader = new BufferReader(new ByteArrayInputStream(header(-1)), new BufferPool(1024, 4), 1024);
+		assertThrows(IOException.class, reader::read);
+	}
+	
+	@Test
+	void rejectsOversizedLength() {
+		final BufferReader reader = new BufferReader(new ByteArrayInputStream(header(1025)), new BufferPool(1024, 4), 1024);
+		final IOException exception = assertThrows(IOException.class, reader::read);
+		assertTrue(exception.getMessage().contains("exceeding maximum size"));
+	}
+	
+	@Test
+	void decoderRejectsOversizedLength() {
+		final FrameDecoder decoder = new FrameDecoder(new BufferPool(1024, 4), 1024);
+		assertThrows(IOException.class, () -> decoder.decode(ByteBuffer.wrap(header(Integer.MAX_VALUE)), _ -> fail()));
+	}
+	
+	private static byte[] header(final int length) {
+		return ByteBuffer.allocate(FrameDecoder.HEADER_LENGTH).putInt(length).put(NetX.SignalModifier.SIGNAL_TYPE.getModifier()).put((byte) 0).putShort((short) 0).array();
+	}
+	
+}
@@ -0,0 +1,150 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferWriterTest {
+	
+	@Test
+	void flushesEachFrameWithoutLinger() throws IOException {
+		final CountingStream output = new CountingStream();
+		final BufferWriter writer = new BufferWriter(output, new FlushPolicy(256, 0L, TimeUnit.NANOSECONDS, null));
+		for (int i = 0; i < 3; i++)
+			writer.write(NetX.SignalModifier.SIGNAL_TYPE, new byte[] {(byte) i});
+		assertEquals(3, output.writes);
+		assertEquals(3, output.flushes);
+		assertEquals(List.of(0, 1, 2), decode(output.toByteArray()));
+	}
+	
+	@Test
+	void coalescesFramesWithinLinger() throws Exception {
+		final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		try {
+			final CountingStream output = new CountingStream();
+			final BufferWriter writer = new BufferWriter(output, new FlushPolicy(256, 100L, TimeUnit.MILLISECONDS, scheduler));
+			for (int i = 0; i < 5; i++)
+				writer.write(NetX.SignalModifier.SIGNAL_TYPE, new byte[] {(byte) i});
+			assertEquals(0, output.writes);
+			assertFalse(writer.release());
+			assertTrue(output.flushed.await(5, TimeUnit.SECONDS));
+			assertEquals(1, output.writes);
+			assertEquals(1, output.flushes);
+			assertEquals(List.of(0, 1, 2, 3, 4), decode(output.toByteArray()));
+			assertTrue(writer.release());
+		} finally {
+			scheduler.shutdownNow();
+		}
+	}
+	
+	@Test
+	void coalescesWritersQueuedBehindAFlush() throws Exception {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch unblock = new CountDownLatch(1);
+		final CountingStream output = new CountingStream() {
+			@Override
+			public synchronized void write(final byte[] bytes, final int offset, final int length) {
+				super.write(bytes, offset, length);
+				if (writes == 1) {
+					blocked.countDown();
+					try {
+						unblock.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException _) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		};
+		final BufferWriter writer = new BufferWriter(output, new FlushPolicy(256, 0L, TimeUnit.NANOSECONDS, null));
+		final Thread first = Thread.ofPlatform().start(() -> write(writer, 0));
+		assertTrue(blocked.await(5, TimeUnit.SECONDS));
+		final List<Thread> queued = new ArrayList<>();
+		for (int i = 1; i <= 4; i++) {
+			final int value = i;
+			queued.add(Thread.ofPlatform().start(() -> write(writer, value)));
+		}
+		for (final Thread thread : queued)
+			while (thread.getState() != Thread.State.WAITING)
+				Thread.onSpinWait();
+		unblock.countDown();
+		first.join(5000);
+		for (final Thread thread : queued)
+			thread.join(5000);
+		assertEquals(2, output.writes);
+		assertEquals(2, output.flushes);
+		assertEquals(5, decode(output.toByteArray()).size());
+	}
+	
+	@Test
+	void bypassesBufferForLargePayloads() throws IOException {
+		final CountingStream output = new CountingStream();
+		final BufferWriter writer = new BufferWriter(output, new FlushPolicy(64, 0L, TimeUnit.NANOSECONDS, null), 1024);
+		final byte[] payload = new byte[512];
+		payload[511] = 42;
+		writer.write(NetX.SignalModifier.SIGNAL_TYPE, payload);
+		assertEquals(2, output.writes);
+		assertEquals((FrameDecoder.HEADER_LENGTH + payload.length), output.size());
+		final FrameDecoder decoder = new FrameDecoder(new BufferPool(1024, 4), 1024);
+		final List<NetX.SignalHolder> holders = new ArrayList<>();
+		decoder.decode(ByteBuffer.wrap(output.toByteArray()), holders::add);
+		assertEquals(1, holders.size());
+		assertEquals(payload.length, holders.get(0).getLength());
+		assertEquals(42, holders.get(0).getBuffer()[511]);
+	}
+	
+	@Test
+	void releasesIdleBufferAndRestoresOnWrite() throws IOException {
+		final CountingStream output = new CountingStream();
+		final BufferWriter writer = new BufferWriter(output);
+		assertTrue(writer.release());
+		writer.write(NetX.SignalModifier.SIGNAL_TYPE, new byte[] {7});
+		assertEquals(List.of(7), decode(output.toByteArray()));
+	}
+	
+	private static void write(final BufferWriter writer, final int value) {
+		try {
+			writer.write(NetX.SignalModifier.SIGNAL_TYPE, new byte[] {(byte) value});
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	private static List<Integer> decode(final byte[] stream) throws IOException {
+		final FrameDecoder decoder = new FrameDecoder(new BufferPool(1024, 4), 1024);
+		final List<Integer> values = new ArrayList<>();
+		decoder.decode(ByteBuffer.wrap(stream), (holder) -> values.add((int) holder.getBuffer()[0]));
+		return values;
+	}
+	
+	private static class CountingStream extends ByteArrayOutputStream {
+		
+		protected final CountDownLatch flushed = new CountDownLatch(1);
+		protected int writes;
+		protected int flushes;
+		
+		@Override
+		public synchronized void write(final byte[] bytes, final int offset, final int length) {
+			writes++;
+			super.write(bytes, offset, length);
+		}
+		
+		@Override
+		public void flush() {
+			flushes++;
+			flushed.countDown();
+		}
+		
+	}
+	
+}
@@ -0,0 +1,102 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelAssemblerTest {
+	
+	private static final byte TYPE = NetX.SignalModifier.SIGNAL_TYPE.getModifier();
+	private static final byte REQUEST = NetX.SignalModifier.SIGNAL_REQUEST.getModifier();
+	
+	@Test
+	void reassemblesInterleavedChannels() throws IOException {
+		final ChannelAssembler assembler = new ChannelAssembler(new BufferPool(1024, 4), 1024);
+		assertNull(assembler.accept(TYPE, FrameDecoder.FLAG_MORE, 1, new byte[] {1, 2}, 2));
+		assertNull(assembler.accept(TYPE, FrameDecoder.FLAG_MORE, 2, new byte[] {7}, 1));
+		assertEquals(2, assembler.getPartials());
+		assertEquals(3, assembler.getReassemblySize());
+		final NetX.SignalHolder first = assembler.accept(TYPE, (byte) 0, 1, new byte[] {3}, 1);
+		assertEquals(1, first.getChannel());
+		assertArrayEquals(new byte[] {1, 2, 3}, slice(first));
+		final NetX.SignalHolder second = assembler.accept(TYPE, (byte) 0, 2, new byte[] {8, 9}, 2);
+		assertArrayEquals(new byte[] {7, 8, 9}, slice(second));
+		assertEquals(0, assembler.getPartials());
+		assertEquals(0, assembler.getReassemblySize());
+	}
+	
+	@Test
+	void passesUnfragmentedFramesThrough() throws IOException {
+		final ChannelAssembler assembler = new ChannelAssembler(new BufferPool(1024, 4), 1024);
+		final byte[] buffer = {4, 5};
+		assertSame(buffer, assembler.accept(TYPE, (byte) 0, 0, buffer, 2).getBuffer());
+	}
+	
+	@Test
+	void rejectsMismatchedSignalModifier() throws IOException {
+		final ChannelAssembler assembler = new ChannelAssembler(new BufferPool(1024, 4), 1024);
+		assembler.accept(TYPE, FrameDecoder.FLAG_MORE, 1, new byte[] {1}, 1);
+		assertThrows(IOException.class, () -> assembler.accept(REQUEST, (byte) 0, 1, new byte[] {2}, 1));
+		assertEquals(0, assembler.getPartials());
+	}
+	
+	@Test
+	void rejectsFragmentedFrameAboveMaximumSize() throws IOException {
+		final ChannelAssembler assembler = new ChannelAssembler(new BufferPool(1024, 4), 4);
+		assembler.accept(TYPE, FrameDecoder.FLAG_MORE, 1, new byte[3], 3);
+		assertThrows(IOException.class, () -> assembler.accept(TYPE, (byte) 0, 1, new byte[2], 2));
+	}
+	
+	@Test
+	void limitsOpenPartials() throws IOException {
+		final ChannelAssembler assembler = new ChannelAssembler(new BufferPool(1024, 4), 1024, 2, 1024);
+		assembler.accept(TYPE, FrameDecoder.FLAG_MORE, 1, new byte[1], 1);
+		assembler.accept(TYPE, FrameDecoder.FLAG_MORE, 2, new byte[1], 1);
+		assertThrows(IOException.class, () -> assembler.accept(TYPE, FrameDecoder.FLAG_MORE, 3, new byte[1], 1));
+		assertEquals(0, assembler.getPartials());
+		assertEquals(0, assembler.getReassemblySize());
+	}
+	
+	@Test
+	void limitsTotalReassemblySize() throws IOException {
+		final ChannelAssembler assembler = new ChannelAssembler(new BufferPool(1024, 4), 16, 8, 24);
+		assembler.accept(TYPE, FrameDecoder.FLAG_MORE, 1, new byte[12], 12);
+		assembler.accept(TYPE, FrameDecoder.FLAG_MORE, 2, new byte[12], 12);
+		assertThrows(IOException.class, () -> assembler.accept(TYPE, FrameDecoder.FLAG_MORE, 3, new byte[1], 1));
+		assertEquals(0, assembler.getPartials());
+	}
+	
+	@Test
+	void decodesFragmentsWrittenByBufferWriter() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final BufferWriter writer = new BufferWriter(output, FlushPolicy.DEFAULT, 4);
+		final byte[] payload = new byte[10];
+		for (int i = 0; i < payload.length; i++)
+			payload[i] = (byte) i;
+		writer.write(NetX.SignalModifier.SIGNAL_TYPE, 3, payload, 0, payload.length);
+		writer.flush();
+		final byte[] stream = output.toByteArray();
+		assertEquals(((3 * FrameDecoder.HEADER_LENGTH) + payload.length), stream.length);
+		final FrameDecoder decoder = new FrameDecoder(new BufferPool(1024, 4), 1024);
+		final List<NetX.SignalHolder> holders = new ArrayList<>();
+		for (final byte b : stream)
+			decoder.decode(ByteBuffer.wrap(new byte[] {b}), holders::add);
+		assertEquals(1, holders.size());
+		assertEquals(3, holders.get(0).getChannel());
+		assertArrayEquals(payload, slice(holders.get(0)));
+	}
+	
+	private static byte[] slice(final NetX.SignalHolder holder) {
+		final byte[] bytes = new byte[holder.getLength()];
+		System.arraycopy(holder.getBuffer(), 0, bytes, 0, bytes.length);
+		return bytes;
+	}
+	
+}
@@ -0,0 +1,112 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.Benchmark;
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import java.nio.ByteBuffer;
+import java.security.Key;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class CipherBenchmark {
+	
+	private static final int[] PAYLOADS = {256, 16384};
+	private static final int VOLUME = (32 * 1024 * 1024);
+	
+	@Test
+	void roundTripThroughputAndAllocation() throws Exception {
+		final Benchmark report = new Benchmark("Cipher: encode and decode " + (VOLUME / (1024 * 1024)) + " MB per run, one thread", "path", "payload", "MB/s", "alloc B/frame", "speedup");
+		for (final int payload : PAYLOADS) {
+			final double legacy = run(report, "AES, Cipher.doFinal(byte[]) (original)", payload, legacy(payload), 0);
+			for (final NetX.CipherAlgorithm algorithm : new NetX.CipherAlgorithm[] {NetX.CipherAlgorithm.CIPHER_AES, NetX.CipherAlgorithm.CIPHER_AES_GCM}) {
+				final String name = ((algorithm == NetX.CipherAlgorithm.CIPHER_AES) ? "AES" : "AES-GCM");
+				run(report, name + ", encode(byte[])", payload, allocating(algorithm, payload), legacy);
+				run(report, name + ", encode into reused arrays", payload, arrays(algorithm, payload), legacy);
+				run(report, name + ", encode into direct buffers", payload, buffers(algorithm, payload), legacy);
+			}
+		}
+		report.print();
+	}
+	
+	private static double run(final Benchmark report, final String name, final int payload, final Frame frame, final double baseline) throws Exception {
+		final int frames = (VOLUME / payload);
+		final Benchmark.Trial trial = () -> {
+			for (int i = 0; i < frames; i++)
+				frame.roundTrip();
+			return ((long) frames * payload);
+		};
+		final Benchmark.Measurement measurement = Benchmark.measure(2, 5, trial);
+		final long allocated = Benchmark.allocatedBytes();
+		trial.run();
+		final double perFrame = ((double) (Benchmark.allocatedBytes() - allocated) / frames);
+		report.row(name, payload, measurement.getMegabytesPerSecond(), perFrame, ((baseline > 0) ? String.format(Locale.ROOT, "%.1fx", (measurement.getMegabytesPerSecond() / baseline)) : "1.0x"));
+		return measurement.getMegabytesPerSecond();
+	}
+	
+	private static Frame legacy(final int payload) throws Exception {
+		final Key key = KeyGenerator.getInstance("AES").generateKey();
+		final Cipher encoder = Cipher.getInstance("AES");
+		final Cipher decoder = Cipher.getInstance("AES");
+		encoder.init(Cipher.ENCRYPT_MODE, key);
+		decoder.init(Cipher.DECRYPT_MODE, key);
+		final byte[] input = new byte[payload];
+		return () -> check(decoder.doFinal(encoder.doFinal(input)).length, payload);
+	}
+	
+	private static Frame allocating(final NetX.CipherAlgorithm algorithm, final int payload) throws Exception {
+		final ConnectionCipher[] pair = pair(algorithm);
+		final byte[] input = new byte[payload];
+		return () -> check(pair[1].decode(pair[0].encode(input)).length, payload);
+	}
+	
+	private static Frame arrays(final NetX.CipherAlgorithm algorithm, final int payload) throws Exception {
+		final ConnectionCipher[] pair = pair(algorithm);
+		final byte[] input = new byte[payload];
+		final byte[] encoded = new byte[pair[0].getEncodeSize(payload)];
+		final byte[] decoded = new byte[pair[1].getDecodeSize(encoded.length)];
+		return () -> check(pair[1].decode(encoded, 0, pair[0].encode(input, 0, payload, encoded), decoded), payload);
+	}
+	
+	private static Frame buffers(final NetX.CipherAlgorithm algorithm, final int payload) throws Exception {
+		final ConnectionCipher[] pair = pair(algorithm);
+		final ByteBuffer input = ByteBuffer.allocateDirect(payload);
+		final ByteBuffer encoded = ByteBuffer.allocateDirect(pair[0].getEncodeSize(payload));
+		final ByteBuffer decoded = ByteBuffer.allocateDirect(pair[1].getDecodeSize(encoded.capacity()));
+		return () -> {
+			input.clear();
+			encoded.clear();
+			decoded.clear();
+			pair[0].encode(input, encoded);
+			check(pair[1].decode(encoded.flip(), decoded), payload);
+		};
+	}
+	
+	private static ConnectionCipher[] pair(final NetX.CipherAlgorithm algorithm) throws Exception {
+		final Key key = KeyGenerator.getInstance(algorithm.getKeyAlgorithm()).generateKey();
+		final CipherPool pool = new CipherPool(algorithm, 4);
+		final ConnectionCipher initiator = new ConnectionCipher(algorithm, pool);
+		final ConnectionCipher responder = new ConnectionCipher(algorithm, pool);
+		initiator.open(key, true);
+		responder.open(key, false);
+		return new ConnectionCipher[] {initiator, responder};
+	}
+	
+	private static void check(final int decoded, final int payload) {
+		if (decoded != payload)
+			fail("Decoded " + decoded + " bytes but encoded " + payload);
+	}
+	
+	@FunctionalInterface
+	private interface Frame {
+		
+		void roundTrip() throws Exception;
+		
+	}
+	
+}
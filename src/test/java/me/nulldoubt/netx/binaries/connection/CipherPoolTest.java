@@ -0,0 +1,73 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import java.security.Key;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CipherPoolTest {
+	
+	@Test
+	void warmsUpToCapacity() throws Exception {
+		final CipherPool pool = new CipherPool(NetX.CipherAlgorithm.CIPHER_AES, 4);
+		assertEquals(3, pool.warm(3));
+		assertEquals(3, pool.getPooledCiphers());
+		assertEquals(1, pool.warm(10));
+		assertEquals(4, pool.getPooledCiphers());
+		assertEquals(0, pool.warm(10));
+		assertEquals(4, pool.getCreatedCiphers());
+	}
+	
+	@Test
+	void reusesWarmedCiphers() throws Exception {
+		final CipherPool pool = new CipherPool(NetX.CipherAlgorithm.CIPHER_AES, 4);
+		pool.warm(2);
+		final Cipher first = pool.acquire();
+		final Cipher second = pool.acquire();
+		assertNotSame(first, second);
+		assertEquals(0, pool.getPooledCiphers());
+		assertEquals(2, pool.getCreatedCiphers());
+		pool.acquire();
+		assertEquals(3, pool.getCreatedCiphers());
+	}
+	
+	@Test
+	void dropsReleasesBeyondCapacity() throws Exception {
+		final CipherPool pool = new CipherPool(NetX.CipherAlgorithm.CIPHER_AES, 1);
+		final Cipher first = pool.acquire();
+		final Cipher second = pool.acquire();
+		pool.release(first);
+		pool.release(second);
+		pool.release(null);
+		assertEquals(1, pool.getPooledCiphers());
+		assertSame(first, pool.acquire());
+	}
+	
+	@Test
+	void skipsUnencryptedAlgorithms() throws Exception {
+		final CipherPool pool = new CipherPool(NetX.CipherAlgorithm.CIPHER_NONE, 4);
+		assertEquals(0, pool.warm(4));
+		assertEquals(0, pool.getCreatedCiphers());
+	}
+	
+	@Test
+	void connectionsReturnCiphersOnClose() throws Exception {
+		final CipherPool pool = new CipherPool(NetX.CipherAlgorithm.CIPHER_AES, 8);
+		pool.warm(2);
+		final Key key = KeyGenerator.getInstance("AES").generateKey();
+		for (int i = 0; i < 100; i++) {
+			final ConnectionCipher cipher = new ConnectionCipher(NetX.CipherAlgorithm.CIPHER_AES, pool);
+			cipher.open(key, true);
+			assertEquals(0, pool.getPooledCiphers());
+			cipher.close();
+			cipher.close();
+			assertEquals(2, pool.getPooledCiphers());
+		}
+		assertEquals(2, pool.getCreatedCiphers());
+	}
+	
+}
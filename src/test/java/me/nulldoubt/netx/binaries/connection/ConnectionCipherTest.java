@@ -0,0 +1,147 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import me.nulldoubt.netx.exceptions.ConnectionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.KeyGenerator;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionCipherTest {
+	
+	private static final byte[] PAYLOAD = "the quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.CipherAlgorithm.class, names = {"CIPHER_AES", "CIPHER_AES_GCM", "CIPHER_NONE"})
+	void roundTripsArraysAtOffsets(final NetX.CipherAlgorithm algorithm) throws Exception {
+		final ConnectionCipher[] pair = pair(algorithm);
+		final byte[] input = new byte[PAYLOAD.length + 8];
+		System.arraycopy(PAYLOAD, 0, input, 4, PAYLOAD.length);
+		final byte[] encoded = new byte[3 + pair[0].getEncodeSize(PAYLOAD.length)];
+		final int length = pair[0].encode(input, 4, PAYLOAD.length, encoded, 3);
+		assertEquals(pair[0].getEncodeSize(PAYLOAD.length), length);
+		final byte[] decoded = new byte[pair[1].getDecodeSize(length)];
+		final int count = pair[1].decode(encoded, 3, length, decoded);
+		assertArrayEquals(PAYLOAD, Arrays.copyOf(decoded, count));
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = NetX.CipherAlgorithm.class, names = {"CIPHER_AES", "CIPHER_AES_GCM", "CIPHER_NONE"})
+	void roundTripsDirectByteBuffers(final NetX.CipherAlgorithm algorithm) throws Exception {
+		final ConnectionCipher[] pair = pair(algorithm);
+		final ByteBuffer input = ByteBuffer.allocateDirect(PAYLOAD.length).put(PAYLOAD).flip();
+		final ByteBuffer encoded = ByteBuffer.allocateDirect(pair[0].getEncodeSize(PAYLOAD.length));
+		final int length = pair[0].encode(input, encoded);
+		assertEquals(encoded.position(), length);
+		encoded.flip();
+		final ByteBuffer decoded = ByteBuffer.allocateDirect(pair[1].getDecodeSize(length));
+		final int count = pair[1].decode(encoded, decoded);
+		final byte[] output = new byte[count];
+		decoded.flip().get(output);
+		assertArrayEquals(PAYLOAD, output);
+	}
+	
+	@Test
+	void authenticatedFramesUseDistinctNoncesPerDirection() throws Exception {
+		final ConnectionCipher[] pair = pair(NetX.CipherAlgorithm.CIPHER_AES_GCM);
+		final byte[] first = pair[0].encode(PAYLOAD);
+		final byte[] second = pair[0].encode(PAYLOAD);
+		final byte[] reply = pair[1].encode(PAYLOAD);
+		assertFalse(Arrays.equals(first, second));
+		assertFalse(Arrays.equals(first, reply));
+		assertArrayEquals(PAYLOAD, pair[1].decode(first));
+		assertArrayEquals(PAYLOAD, pair[1].decode(second));
+		assertArrayEquals(PAYLOAD, pair[0].decode(reply));
+	}
+	
+	@Test
+	void rejectsReplayedAuthenticatedFrames() throws Exception {
+		final ConnectionCipher[] pair = pair(NetX.CipherAlgorithm.CIPHER_AES_GCM);
+		final byte[] first = pair[0].encode(PAYLOAD);
+		final byte[] second = pair[0].encode(PAYLOAD);
+		assertArrayEquals(PAYLOAD, pair[1].decode(first));
+		assertThrows(BadPaddingException.class, () -> pair[1].decode(first));
+		assertArrayEquals(PAYLOAD, pair[1].decode(second));
+		assertThrows(BadPaddingException.class, () -> pair[1].decode(first));
+		assertThrows(BadPaddingException.class, () -> pair[1].decode(second));
+		final ByteBuffer replayed = ByteBuffer.allocateDirect(second.length).put(second).flip();
+		assertThrows(BadPaddingException.class, () -> pair[1].decode(replayed, ByteBuffer.allocateDirect(PAYLOAD.length)));
+	}
+	
+	@Test
+	void acceptsInterleavedFramesOnlyOnce() throws Exception {
+		final ConnectionCipher[] pair = pair(NetX.CipherAlgorithm.CIPHER_AES_GCM);
+		final byte[] delayed = pair[0].encode(PAYLOAD);
+		final byte[] overtaking = pair[0].encode(PAYLOAD);
+		assertArrayEquals(PAYLOAD, pair[1].decode(overtaking));
+		assertArrayEquals(PAYLOAD, pair[1].decode(delayed));
+		assertThrows(BadPaddingException.class, () -> pair[1].decode(delayed));
+	}
+	
+	@Test
+	void rejectsFramesBehindTheReplayWindow() throws Exception {
+		final ConnectionCipher[] pair = pair(NetX.CipherAlgorithm.CIPHER_AES_GCM);
+		final byte[] stale = pair[0].encode(PAYLOAD);
+		byte[] latest = null;
+		for (int i = 0; i < 2048; i++)
+			latest = pair[0].encode(PAYLOAD);
+		assertArrayEquals(PAYLOAD, pair[1].decode(latest));
+		assertThrows(BadPaddingException.class, () -> pair[1].decode(stale));
+	}
+	
+	@Test
+	void forgedCountersDoNotAdvanceTheReplayWindow() throws Exception {
+		final ConnectionCipher[] pair = pair(NetX.CipherAlgorithm.CIPHER_AES_GCM);
+		final byte[] first = pair[0].encode(PAYLOAD);
+		final byte[] forged = first.clone();
+		forged[0] = 0x7F;
+		assertThrows(BadPaddingException.class, () -> pair[1].decode(forged));
+		assertArrayEquals(PAYLOAD, pair[1].decode(first));
+	}
+	
+	@Test
+	void rejectsTamperedAuthenticatedFrames() throws Exception {
+		final ConnectionCipher[] pair = pair(NetX.CipherAlgorithm.CIPHER_AES_GCM);
+		final byte[] encoded = pair[0].encode(PAYLOAD);
+		encoded[encoded.length / 2] ^= 1;
+		assertThrows(BadPaddingException.class, () -> pair[1].decode(encoded));
+		assertThrows(BadPaddingException.class, () -> pair[0].decode(pair[0].encode(PAYLOAD)));
+	}
+	
+	@Test
+	void survivesHibernation() throws Exception {
+		final ConnectionCipher[] pair = pair(NetX.CipherAlgorithm.CIPHER_AES);
+		pair[0].hibernate();
+		assertTrue(pair[0].isHibernating());
+		assertArrayEquals(PAYLOAD, pair[1].decode(pair[0].encode(PAYLOAD)));
+		assertFalse(pair[0].isHibernating());
+	}
+	
+	@Test
+	void rejectsUseAfterClose() throws Exception {
+		final ConnectionCipher[] pair = pair(NetX.CipherAlgorithm.CIPHER_AES_GCM);
+		pair[0].close();
+		assertFalse(pair[0].isOpen());
+		assertThrows(ConnectionException.class, () -> pair[0].encode(PAYLOAD));
+		assertThrows(ConnectionException.class, () -> pair[0].decode(new byte[32]));
+	}
+	
+	private static ConnectionCipher[] pair(final NetX.CipherAlgorithm algorithm) throws Exception {
+		final Key key = (algorithm.isEncrypted() ? KeyGenerator.getInstance(algorithm.getKeyAlgorithm()).generateKey() : null);
+		final CipherPool pool = new CipherPool(algorithm, 4);
+		final ConnectionCipher initiator = new ConnectionCipher(algorithm, pool);
+		final ConnectionCipher responder = new ConnectionCipher(algorithm, pool);
+		initiator.open(key, true);
+		responder.open(key, false);
+		return new ConnectionCipher[] {initiator, responder};
+	}
+	
+}
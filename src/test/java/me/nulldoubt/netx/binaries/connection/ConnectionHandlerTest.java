@@ -0,0 +1,123 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import me.nulldoubt.netx.binaries.Request;
+import me.nulldoubt.netx.binaries.Response;
+import me.nulldoubt.netx.exceptions.ConnectionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionHandlerTest {
+	
+	private static final int REQUESTS = 2000;
+	private static final int THREADS = 8;
+	
+	@Test
+	void completesConcurrentResponsesOutOfOrder() throws Exception {
+		final ConnectionHandler handler = handler();
+		final Map<UUID, Response> completed = new ConcurrentHashMap<>();
+		final List<Ping> requests = new ArrayList<>();
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final CountDownLatch registered = new CountDownLatch(REQUESTS);
+			for (int i = 0; i < REQUESTS; i++) {
+				final Ping ping = new Ping(i);
+				requests.add(ping);
+				executor.execute(() -> {
+					handler.registerPendingRequest(ping.getUUID(), (response) -> assertNull(completed.put(ping.getUUID(), response)));
+					registered.countDown();
+				});
+			}
+			assertTrue(registered.await(5, TimeUnit.SECONDS));
+			assertEquals(REQUESTS, handler.getPendingRequests());
+			final List<Pong> responses = new ArrayList<>();
+			for (final Ping ping : requests)
+				responses.add(new Pong(ping, ping.value));
+			Collections.shuffle(responses, new Random(3));
+			final List<Future<?>> completions = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				final List<Pong> slice = responses.subList(((i * REQUESTS) / THREADS), (((i + 1) * REQUESTS) / THREADS));
+				completions.add(executor.submit(() -> {
+					for (final Pong pong : slice)
+						assertTrue(handler.completePendingRequest(pong));
+				}));
+			}
+			for (final Future<?> completion : completions)
+				completion.get(5, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(0, handler.getPendingRequests());
+		assertEquals(REQUESTS, completed.size());
+		for (final Ping ping : requests)
+			assertEquals(ping.value, ((Pong) completed.get(ping.getUUID())).value);
+	}
+	
+	@Test
+	void rejectsDuplicateAndUnknownResponses() {
+		final ConnectionHandler handler = handler();
+		final Ping ping = new Ping(1);
+		final List<Response> completed = new ArrayList<>();
+		handler.registerPendingRequest(ping.getUUID(), completed::add);
+		assertThrows(ConnectionException.class, () -> handler.registerPendingRequest(ping.getUUID(), completed::add));
+		assertFalse(handler.completePendingRequest(new Pong(new Ping(2), 2)));
+		assertTrue(handler.completePendingRequest(new Pong(ping, 1)));
+		assertFalse(handler.completePendingRequest(new Pong(ping, 1)));
+		assertEquals(1, completed.size());
+	}
+	
+	@Test
+	void removedRequestsIgnoreLateResponses() {
+		final ConnectionHandler handler = handler();
+		final Ping ping = new Ping(1);
+		final List<Response> completed = new ArrayList<>();
+		handler.registerPendingRequest(ping.getUUID(), completed::add);
+		assertTrue(handler.removePendingRequest(ping.getUUID()));
+		assertFalse(handler.removePendingRequest(ping.getUUID()));
+		assertFalse(handler.completePendingRequest(new Pong(ping, 1)));
+		assertTrue(completed.isEmpty());
+		handler.registerPendingRequest(ping.getUUID(), completed::add);
+		assertEquals(1, handler.getPendingRequests());
+	}
+	
+	private static ConnectionHandler handler() {
+		return new ConnectionHandler(NetX.CipherAlgorithm.CIPHER_NONE, LocalConnectionChannel.pair(false)[0]);
+	}
+	
+	static final class Ping extends Request {
+		
+		private final int value;
+		
+		Ping(final int value) {
+			super(1);
+			this.value = value;
+		}
+		
+	}
+	
+	static final class Pong extends Response {
+		
+		private final int value;
+		
+		Pong(final Request request, final int value) {
+			super(request);
+			this.value = value;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,68 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionThreadFactoryTest {
+	
+	@Test
+	void createsPlatformThreadsByDefault() {
+		final ConnectionThreadFactory factory = new ConnectionThreadFactory();
+		final Thread thread = factory.create("Handler", () -> {}, Thread.MAX_PRIORITY);
+		assertFalse(thread.isVirtual());
+		assertEquals("NetX", thread.getThreadGroup().getName());
+		assertEquals(Thread.MAX_PRIORITY, thread.getPriority());
+		assertTrue(thread.getName().startsWith("NetX-Handler-Thread#"));
+	}
+	
+	@Test
+	void createsVirtualThreadsInVirtualMode() throws Exception {
+		final ConnectionThreadFactory factory = new ConnectionThreadFactory(NetX.ThreadMode.THREAD_VIRTUAL);
+		final Thread[] current = new Thread[1];
+		final Thread thread = factory.create("Handler", () -> current[0] = Thread.currentThread(), Thread.MAX_PRIORITY);
+		assertTrue(thread.isVirtual());
+		assertTrue(thread.getName().startsWith("NetX-Handler-Thread#"));
+		thread.start();
+		thread.join(5000);
+		assertSame(thread, current[0]);
+	}
+	
+	@Test
+	void namesAreUnique() {
+		final ConnectionThreadFactory factory = new ConnectionThreadFactory(NetX.ThreadMode.THREAD_VIRTUAL);
+		assertNotEquals(factory.newThread(() -> {}).getName(), factory.newThread(() -> {}).getName());
+	}
+	
+	@Test
+	void switchesModeForNewThreads() {
+		final ConnectionThreadFactory factory = new ConnectionThreadFactory();
+		assertFalse(factory.create(() -> {}).isVirtual());
+		factory.setMode(NetX.ThreadMode.THREAD_VIRTUAL);
+		assertEquals(NetX.ThreadMode.THREAD_VIRTUAL, factory.getMode());
+		assertTrue(factory.create(() -> {}).isVirtual());
+	}
+	
+	@Test
+	void createsExecutorsPerExecutionMode() throws Exception {
+		final ConnectionThreadFactory factory = new ConnectionThreadFactory();
+		assertNull(factory.createExecutor(NetX.ExecutionMode.EXECUTION_INLINE, 1, 1));
+		final ExecutorService virtual = factory.createExecutor(NetX.ExecutionMode.EXECUTION_VIRTUAL, 1, 1);
+		final ExecutorService pool = factory.createExecutor(NetX.ExecutionMode.EXECUTION_POOL, 1, 1);
+		try {
+			final Future<Boolean> onVirtual = virtual.submit(() -> Thread.currentThread().isVirtual());
+			final Future<Boolean> onPool = pool.submit(() -> Thread.currentThread().isVirtual());
+			assertTrue(onVirtual.get(5, TimeUnit.SECONDS));
+			assertFalse(onPool.get(5, TimeUnit.SECONDS));
+		} finally {
+			virtual.shutdownNow();
+			pool.shutdownNow();
+		}
+	}
+	
+}
@@ -0,0 +1,83 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileRegionTest {
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	void transfersFromItsOffsetWithinTheFile() throws Exception {
+		final byte[] content = content(4096);
+		try (final FileChannel file = open(content)) {
+			final FileRegion region = new FileRegion(file, 100, 1000);
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			final WritableByteChannel target = Channels.newChannel(output);
+			long transferred = region.transferTo(0, 400, target);
+			while (transferred < region.getCount())
+				transferred += region.transferTo(transferred, (region.getCount() - transferred), target);
+			assertEquals(1000, transferred);
+			assertArrayEquals(Arrays.copyOfRange(content, 100, 1100), output.toByteArray());
+			assertEquals(0, file.position());
+		}
+	}
+	
+	@Test
+	void readsIntoAFrameBuffer() throws Exception {
+		final byte[] content = content(4096);
+		try (final FileChannel file = open(content)) {
+			final byte[] buffer = new byte[5 + 512];
+			new FileRegion(file, 2048, 512).read(buffer, 5);
+			assertArrayEquals(Arrays.copyOfRange(content, 2048, 2560), Arrays.copyOfRange(buffer, 5, buffer.length));
+		}
+	}
+	
+	@Test
+	void truncatedFilesFailInsteadOfSpinning() throws Exception {
+		try (final FileChannel file = open(content(1024))) {
+			final FileRegion region = new FileRegion(file, 512, 1024);
+			assertThrows(EOFException.class, () -> region.read(new byte[1024], 0));
+			final WritableByteChannel target = Channels.newChannel(new ByteArrayOutputStream());
+			assertEquals(512, region.transferTo(0, 1024, target));
+			assertThrows(EOFException.class, () -> region.transferTo(512, 512, target));
+		}
+	}
+	
+	@Test
+	void releasesOnce() throws Exception {
+		final AtomicInteger released = new AtomicInteger();
+		try (final FileChannel file = open(content(16))) {
+			final FileRegion region = new FileRegion(file, 0, 16, released::incrementAndGet);
+			region.release();
+			region.release();
+			assertEquals(1, released.get());
+		}
+	}
+	
+	private FileChannel open(final byte[] content) throws Exception {
+		return FileChannel.open(Files.write(directory.resolve("region.bin"), content), StandardOpenOption.READ);
+	}
+	
+	private static byte[] content(final int size) {
+		final byte[] content = new byte[size];
+		for (int i = 0; i < size; i++)
+			content[i] = (byte) (i * 31);
+		return content;
+	}
+	
+}
@@ -0,0 +1,58 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCipherTest {
+	
+	private static final NetX.CipherAlgorithm ALGORITHM = NetX.CipherAlgorithm.CIPHER_AES;
+	
+	@Test
+	void receiversDecodeWithDistributedKey() throws Exception {
+		final GroupCipher sender = GroupCipher.generate(ALGORITHM, 1, 0, new SecureRandom());
+		final byte[] key = sender.getKeyFrame();
+		final GroupCipher receiver = GroupCipher.parse(ALGORITHM, key, key.length);
+		assertEquals(1, receiver.getGroup());
+		final byte[] payload = "broadcast".getBytes();
+		final SharedFrame frame = sender.encode(payload);
+		final int length = (frame.getLength() - GroupCipher.HEADER_LENGTH);
+		final byte[] output = new byte[receiver.getDecodeSize(length)];
+		final int decoded = receiver.decode(frame.getBuffer(), GroupCipher.HEADER_LENGTH, length, output);
+		assertArrayEquals(payload, Arrays.copyOf(output, decoded));
+		sender.close();
+		receiver.close();
+	}
+	
+	@Test
+	void keepsOnlyTheDirectlyPreviousEpoch() throws Exception {
+		final SecureRandom random = new SecureRandom();
+		final GroupCipher first = GroupCipher.generate(ALGORITHM, 1, 0, random);
+		final GroupCipher second = GroupCipher.generate(ALGORITHM, 1, 1, random);
+		final GroupCipher third = GroupCipher.generate(ALGORITHM, 1, 2, random);
+		second.setPrevious(first);
+		third.setPrevious(second);
+		assertSame(third, third.find(2));
+		assertSame(second, third.find(1));
+		assertNull(third.find(0));
+		assertThrows(RuntimeException.class, () -> first.encode(new byte[1]));
+		third.close();
+		assertThrows(RuntimeException.class, () -> second.encode(new byte[1]));
+	}
+	
+	@Test
+	void closeReturnsCiphersToThePool() throws Exception {
+		final CipherPool pool = CipherPool.of(ALGORITHM);
+		final GroupCipher cipher = GroupCipher.generate(ALGORITHM, 1, 0, new SecureRandom());
+		cipher.encode(new byte[16]);
+		final int pooled = pool.getPooledCiphers();
+		cipher.close();
+		assertTrue(pool.getPooledCiphers() > pooled);
+		assertThrows(RuntimeException.class, () -> cipher.encode(new byte[1]));
+	}
+	
+}
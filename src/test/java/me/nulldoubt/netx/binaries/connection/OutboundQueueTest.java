@@ -0,0 +1,197 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundQueueTest {
+	
+	@Test
+	void dropsNewestWhenFull() throws Exception {
+		final OutboundQueue queue = new OutboundQueue(2, NetX.OverflowPolicy.OVERFLOW_DROP_NEWEST);
+		assertTrue(queue.offer(frame(1)));
+		assertTrue(queue.offer(frame(2)));
+		assertFalse(queue.offer(frame(3)));
+		assertEquals(1, queue.getDropped());
+		assertEquals(List.of(1, 2), drain(queue));
+	}
+	
+	@Test
+	void dropsOldestWhenFull() throws Exception {
+		final OutboundQueue queue = new OutboundQueue(2, NetX.OverflowPolicy.OVERFLOW_DROP_OLDEST);
+		queue.offer(frame(1));
+		queue.offer(frame(2));
+		assertTrue(queue.offer(frame(3)));
+		assertEquals(1, queue.getDropped());
+		assertEquals(List.of(2, 3), drain(queue));
+	}
+	
+	@Test
+	void disconnectsWhenFull() throws Exception {
+		final OutboundQueue queue = new OutboundQueue(1, NetX.OverflowPolicy.OVERFLOW_DISCONNECT);
+		queue.offer(frame(1));
+		assertThrows(OutboundQueue.OverflowException.class, () -> queue.offer(frame(2)));
+	}
+	
+	@Test
+	void blocksUntilSpaceIsAvailable() throws Exception {
+		final OutboundQueue queue = new OutboundQueue(1, NetX.OverflowPolicy.OVERFLOW_BLOCK);
+		queue.offer(frame(1));
+		final CountDownLatch offered = new CountDownLatch(1);
+		final Thread producer = new Thread(() -> {
+			try {
+				queue.offer(frame(2));
+				offered.countDown();
+			} catch (IOException _) {}
+		});
+		producer.start();
+		assertFalse(offered.await(100, TimeUnit.MILLISECONDS));
+		assertEquals(List.of(1), drain(queue));
+		assertTrue(offered.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(2), drain(queue));
+	}
+	
+	@Test
+	void rejectsOffersAfterClose() {
+		final OutboundQueue queue = new OutboundQueue(1, NetX.OverflowPolicy.OVERFLOW_BLOCK);
+		queue.close();
+		assertThrows(IOException.class, () -> queue.offer(frame(1)));
+	}
+	
+	@Test
+	void suspendsOnlyWhenEmpty() throws Exception {
+		final OutboundQueue queue = new OutboundQueue(4, NetX.OverflowPolicy.OVERFLOW_BLOCK);
+		queue.offer(frame(1));
+		assertFalse(queue.suspend());
+		drain(queue);
+		assertTrue(queue.suspend());
+		assertFalse(queue.take(new ArrayList<>()));
+		assertTrue(queue.isSuspended());
+	}
+	
+	@Test
+	void offerResumesSuspendedQueueOnce() throws Exception {
+		final OutboundQueue queue = new OutboundQueue(4, NetX.OverflowPolicy.OVERFLOW_BLOCK);
+		final AtomicInteger resumed = new AtomicInteger();
+		queue.suspend();
+		assertFalse(queue.take(new ArrayList<>()));
+		queue.offer(frame(1), resumed::incrementAndGet);
+		queue.offer(frame(2), resumed::incrementAndGet);
+		assertEquals(1, resumed.get());
+		assertFalse(queue.isSuspended());
+		assertEquals(List.of(1, 2), drain(queue));
+	}
+	
+	@Test
+	void offerKeepsLiveDrainerWhenSuspendRaces() throws Exception {
+		final OutboundQueue queue = new OutboundQueue(4, NetX.OverflowPolicy.OVERFLOW_BLOCK);
+		final AtomicInteger resumed = new AtomicInteger();
+		queue.offer(frame(1), resumed::incrementAndGet);
+		assertEquals(List.of(1), drain(queue));
+		assertTrue(queue.suspend());
+		queue.offer(frame(2), resumed::incrementAndGet);
+		assertEquals(1, resumed.get());
+		assertEquals(List.of(2), drain(queue));
+	}
+	
+	@Test
+	void neverLosesFramesAcrossSuspension() throws Exception {
+		final OutboundQueue queue = new OutboundQueue(64, NetX.OverflowPolicy.OVERFLOW_BLOCK);
+		final AtomicInteger received = new AtomicInteger();
+		final Runnable drainer = () -> {
+			final List<Fragment> batch = new ArrayList<>();
+			while (queue.take(batch)) {
+				for (final Fragment fragment : batch)
+					if (fragment.isLast())
+						received.incrementAndGet();
+				batch.clear();
+			}
+		};
+		final Thread first = new Thread(drainer);
+		first.start();
+		final int frames = 20_000;
+		for (int i = 0; i < frames; i++) {
+			queue.suspend();
+			queue.offer(frame(i), () -> new Thread(drainer).start());
+		}
+		final long deadline = (System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+		while ((received.get() < frames) && (System.nanoTime() < deadline))
+			Thread.sleep(1);
+		assertEquals(frames, received.get());
+		queue.close();
+	}
+	
+	@Test
+	void schedulesDrainerOnlyWhilePending() throws Exception {
+		final OutboundQueue queue = new OutboundQueue(4, NetX.OverflowPolicy.OVERFLOW_BLOCK);
+		final AtomicInteger scheduled = new AtomicInteger();
+		assertFalse(queue.isDraining());
+		queue.offer(frame(1), scheduled::incrementAndGet);
+		queue.offer(frame(2), scheduled::incrementAndGet);
+		assertEquals(1, scheduled.get());
+		assertTrue(queue.isDraining());
+		assertFalse(queue.awaitDrained(10, TimeUnit.MILLISECONDS));
+		assertEquals(List.of(1, 2), drain(queue));
+		assertFalse(queue.take(new ArrayList<>()));
+		assertFalse(queue.isDraining());
+		assertTrue(queue.awaitDrained(0, TimeUnit.MILLISECONDS));
+		queue.offer(frame(3), scheduled::incrementAndGet);
+		assertEquals(2, scheduled.get());
+	}
+	
+	@Test
+	void failureReleasesTheDrainer() throws Exception {
+		final OutboundQueue queue = new OutboundQueue(4, NetX.OverflowPolicy.OVERFLOW_BLOCK);
+		queue.offer(frame(1), () -> {});
+		queue.fail(new IOException("broken pipe"));
+		assertFalse(queue.isDraining());
+		assertEquals(0, queue.getDepth());
+		assertThrows(IOException.class, () -> queue.offer(frame(2)));
+	}
+	
+	@Test
+	void clearPendingLeavesPartlySentFramesToTheDrainer() throws Exception {
+		final BufferPool pool = new BufferPool(4096, 8);
+		final OutboundQueue queue = new OutboundQueue(4, NetX.OverflowPolicy.OVERFLOW_BLOCK, 64);
+		final NetX.SignalHolder large = new NetX.SignalHolder(NetX.SignalModifier.SIGNAL_TYPE.getModifier(), 0, pool.acquire(1024), 1024, pool);
+		final NetX.SignalHolder queued = new NetX.SignalHolder(NetX.SignalModifier.SIGNAL_TYPE.getModifier(), 0, pool.acquire(64), 64, pool);
+		queue.offer(large, () -> {});
+		queue.offer(queued, () -> {});
+		final List<Fragment> batch = new ArrayList<>();
+		assertTrue(queue.take(batch));
+		assertFalse(batch.getLast().isLast());
+		queue.close();
+		queue.clearPending();
+		assertEquals(1, pool.getPooledBuffers());
+		assertEquals(64, pool.getPooledBytes());
+		assertEquals(1, queue.getDepth());
+		assertTrue(queue.isDraining());
+		queue.fail(new IOException("closed"));
+		assertEquals(2, pool.getPooledBuffers());
+		assertEquals(0, queue.getDepth());
+	}
+	
+	private static NetX.SignalHolder frame(final int value) {
+		return new NetX.SignalHolder(NetX.SignalModifier.SIGNAL_TYPE.getModifier(), new byte[] {(byte) value});
+	}
+	
+	private static List<Integer> drain(final OutboundQueue queue) {
+		final List<Integer> values = new ArrayList<>();
+		if (queue.getDepth() == 0)
+			return values;
+		final List<Fragment> batch = new ArrayList<>();
+		queue.take(batch);
+		for (final Fragment fragment : batch)
+			values.add((int) fragment.getHolder().getBuffer()[fragment.getOffset()]);
+		return values;
+	}
+	
+}
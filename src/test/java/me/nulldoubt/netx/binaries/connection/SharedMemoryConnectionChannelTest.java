@@ -0,0 +1,156 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedMemoryConnectionChannelTest {
+	
+	private static final int CAPACITY = 4096;
+	
+	@TempDir
+	Path directory;
+	
+	private SharedMemoryServerChannel server;
+	private SharedMemoryConnectionChannel accepted;
+	private SharedMemoryConnectionChannel connected;
+	
+	@BeforeEach
+	void open() throws Exception {
+		server = SharedMemoryServerChannel.bind(directory.resolve("ring.sock"), CAPACITY);
+		final CompletableFuture<SharedMemoryConnectionChannel> acceptor = CompletableFuture.supplyAsync(() -> {
+			try {
+				return server.accept();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		connected = SharedMemoryConnectionChannel.connect(server.getSocketPath());
+		accepted = acceptor.get(5, TimeUnit.SECONDS);
+		connected.open();
+		accepted.open();
+	}
+	
+	@AfterEach
+	void close() throws IOException {
+		connected.close();
+		accepted.close();
+		server.close();
+	}
+	
+	@Test
+	void deliversFramesLargerThanTheRingInOrder() throws Exception {
+		final Random random = new Random(21);
+		final byte[][] frames = new byte[64][];
+		for (int i = 0; i < frames.length; i++) {
+			frames[i] = new byte[random.nextInt(CAPACITY * 4) + 1];
+			random.nextBytes(frames[i]);
+		}
+		final CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+			try {
+				for (final byte[] frame : frames)
+					connected.write(NetX.SignalModifier.SIGNAL_TYPE, frame);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		for (final byte[] frame : frames)
+			assertArrayEquals(frame, read(accepted));
+		writer.get(5, TimeUnit.SECONDS);
+	}
+	
+	@Test
+	void parkedReaderWakesOnTheDoorbell() throws Exception {
+		final CompletableFuture<byte[]> reader = CompletableFuture.supplyAsync(() -> {
+			try {
+				return read(accepted);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		Thread.sleep(200);
+		assertFalse(reader.isDone());
+		connected.write(NetX.SignalModifier.SIGNAL_TYPE, new byte[] {4, 2});
+		assertArrayEquals(new byte[] {4, 2}, reader.get(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void peerCloseEndsTheReader() throws Exception {
+		final CompletableFuture<Throwable> reader = CompletableFuture.supplyAsync(() -> assertThrows(EOFException.class, () -> read(accepted)));
+		Thread.sleep(100);
+		connected.close();
+		assertNotNull(reader.get(5, TimeUnit.SECONDS));
+		assertThrows(EOFException.class, () -> accepted.write(NetX.SignalModifier.SIGNAL_TYPE, new byte[CAPACITY]));
+	}
+	
+	@Test
+	void closeUnmapsTheRingUnderABlockedReader() throws Exception {
+		final CompletableFuture<Throwable> reader = CompletableFuture.supplyAsync(() -> assertThrows(ClosedChannelException.class, () -> read(accepted)));
+		Thread.sleep(100);
+		accepted.close();
+		assertNotNull(reader.get(5, TimeUnit.SECONDS));
+		assertThrows(ClosedChannelException.class, () -> read(accepted));
+		assertThrows(ClosedChannelException.class, () -> accepted.write(NetX.SignalModifier.SIGNAL_TYPE, new byte[1]));
+		try (final Stream<Path> files = Files.list(directory)) {
+			assertTrue(files.noneMatch(path -> path.toString().endsWith(".ring")));
+		}
+	}
+	
+	@Test
+	void crashedPeerEndsTheReaderThroughTheDoorbell() throws Exception {
+		final Path socketPath = directory.resolve("crashed.sock");
+		final Path ring = directory.resolve("crashed.ring");
+		try (final ServerSocketChannel listener = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+			listener.bind(UnixDomainSocketAddress.of(socketPath));
+			final CompletableFuture<SharedMemoryConnectionChannel> client = CompletableFuture.supplyAsync(() -> {
+				try {
+					return SharedMemoryConnectionChannel.connect(socketPath);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			Files.createFile(ring);
+			try (final SocketChannel peer = listener.accept()) {
+				final byte[] name = ring.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8);
+				final ByteBuffer descriptor = ByteBuffer.allocate((Integer.BYTES << 1) + name.length).putInt(CAPACITY).putInt(name.length).put(name).flip();
+				while (descriptor.hasRemaining())
+					peer.write(descriptor);
+				final SharedMemoryConnectionChannel channel = client.get(5, TimeUnit.SECONDS);
+				channel.open();
+				final CompletableFuture<Throwable> reader = CompletableFuture.supplyAsync(() -> assertThrows(EOFException.class, () -> read(channel)));
+				Thread.sleep(100);
+				peer.close();
+				assertNotNull(reader.get(5, TimeUnit.SECONDS));
+				channel.close();
+			}
+		}
+	}
+	
+	private static byte[] read(final SharedMemoryConnectionChannel channel) throws IOException {
+		final NetX.SignalHolder holder = channel.read();
+		return Arrays.copyOf(holder.getBuffer(), holder.getLength());
+	}
+	
+}
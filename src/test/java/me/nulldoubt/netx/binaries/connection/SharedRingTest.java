@@ -0,0 +1,116 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedRingTest {
+	
+	private static final int CAPACITY = 256;
+	private static final byte SIGNAL = 3;
+	
+	@Test
+	void wrapsAroundThroughPadding() {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(SharedRing.size(CAPACITY));
+		final SharedRing producer = new SharedRing(buffer, CAPACITY);
+		final SharedRing consumer = new SharedRing(buffer, CAPACITY);
+		for (int i = 0; i < 3; i++)
+			assertTrue(producer.offer(SIGNAL, (byte) 0, i, payload(56, i), 0, 56));
+		for (int i = 0; i < 3; i++)
+			assertArrayEquals(payload(56, i), poll(consumer, i));
+		assertTrue(consumer.isEmpty());
+		final byte[] wrapped = payload(80, 9);
+		assertTrue(producer.offer(SIGNAL, FrameDecoder.FLAG_MORE, 7, wrapped, 0, wrapped.length));
+		assertEquals(-1, buffer.getInt(SharedRing.HEADER_LENGTH + 192));
+		assertEquals(wrapped.length, consumer.peekLength());
+		assertEquals(FrameDecoder.FLAG_MORE, consumer.peekFlags());
+		assertArrayEquals(wrapped, poll(consumer, 7));
+		assertTrue(consumer.isEmpty());
+		assertEquals(-1, consumer.peekLength());
+	}
+	
+	@Test
+	void rejectsOffersUntilTheConsumerFreesSpace() {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(SharedRing.size(CAPACITY));
+		final SharedRing producer = new SharedRing(buffer, CAPACITY);
+		final SharedRing consumer = new SharedRing(buffer, CAPACITY);
+		int offered = 0;
+		while (producer.offer(SIGNAL, (byte) 0, 0, payload(24, offered), 0, 24))
+			offered++;
+		assertEquals((CAPACITY / 32), offered);
+		assertFalse(producer.offer(SIGNAL, (byte) 0, 0, new byte[1], 0, 1));
+		assertArrayEquals(payload(24, 0), poll(consumer, 0));
+		assertTrue(producer.offer(SIGNAL, (byte) 0, 0, payload(24, offered), 0, 24));
+		for (int i = 1; i <= offered; i++)
+			assertArrayEquals(payload(24, i), poll(consumer, 0));
+		assertTrue(consumer.isEmpty());
+	}
+	
+	@Test
+	void paddingCountsAgainstFreeSpace() {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(SharedRing.size(CAPACITY));
+		final SharedRing producer = new SharedRing(buffer, CAPACITY);
+		final SharedRing consumer = new SharedRing(buffer, CAPACITY);
+		assertTrue(producer.offer(SIGNAL, (byte) 0, 0, payload(96, 1), 0, 96));
+		assertTrue(producer.offer(SIGNAL, (byte) 0, 0, payload(96, 2), 0, 96));
+		assertArrayEquals(payload(96, 1), poll(consumer, 0));
+		assertFalse(producer.offer(SIGNAL, (byte) 0, 0, payload(120, 3), 0, 120));
+		assertArrayEquals(payload(96, 2), poll(consumer, 0));
+		assertTrue(producer.offer(SIGNAL, (byte) 0, 0, payload(120, 3), 0, 120));
+		assertEquals(-1, buffer.getInt(SharedRing.HEADER_LENGTH + 208));
+		assertArrayEquals(payload(120, 3), poll(consumer, 0));
+	}
+	
+	@Test
+	void doorbellRingsOncePerWait() {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(SharedRing.size(CAPACITY));
+		final SharedRing producer = new SharedRing(buffer, CAPACITY);
+		final SharedRing consumer = new SharedRing(buffer, CAPACITY);
+		assertFalse(producer.signal());
+		consumer.await();
+		assertTrue(producer.signal());
+		assertFalse(producer.signal());
+		consumer.await();
+		consumer.resume();
+		assertFalse(producer.signal());
+	}
+	
+	@Test
+	void attachesToExistingStateAndSeesPeerClose() {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(SharedRing.size(CAPACITY));
+		final SharedRing producer = new SharedRing(buffer, CAPACITY);
+		assertTrue(producer.offer(SIGNAL, (byte) 0, 4, payload(16, 5), 0, 16));
+		final SharedRing consumer = new SharedRing(buffer, CAPACITY);
+		assertFalse(consumer.isClosed());
+		producer.close();
+		assertTrue(consumer.isClosed());
+		assertArrayEquals(payload(16, 5), poll(consumer, 4));
+	}
+	
+	@Test
+	void capsPayloadsAtHalfTheRing() {
+		final SharedRing ring = new SharedRing(ByteBuffer.allocateDirect(SharedRing.size(CAPACITY)), CAPACITY);
+		assertEquals(((CAPACITY / 2) - FrameDecoder.HEADER_LENGTH), ring.getMaxPayload());
+		assertEquals(CAPACITY, ring.getCapacity());
+	}
+	
+	private static byte[] poll(final SharedRing ring, final int channel) {
+		final int length = ring.peekLength();
+		assertNotEquals(-1, length);
+		assertEquals(SIGNAL, ring.peekSignalModifier());
+		assertEquals(channel, ring.peekChannel());
+		final byte[] buffer = new byte[length];
+		ring.poll(buffer, length);
+		return buffer;
+	}
+	
+	private static byte[] payload(final int length, final int seed) {
+		final byte[] payload = new byte[length];
+		for (int i = 0; i < length; i++)
+			payload[i] = (byte) (seed + i);
+		return payload;
+	}
+	
+}
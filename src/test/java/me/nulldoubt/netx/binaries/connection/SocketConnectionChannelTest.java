@@ -0,0 +1,61 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import me.nulldoubt.netx.NetX;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocketConnectionChannelTest {
+	
+	@Test
+	void closeDuringLargeSendKeepsTheInFlightBufferOutOfThePool() throws Exception {
+		final int length = (256 * 1024);
+		final BufferPool pool = new BufferPool(length, 8);
+		final byte[] payload = new byte[length];
+		for (int i = 0; i < length; i++)
+			payload[i] = (byte) i;
+		try (final ServerSocketChannel server = ServerSocketChannel.open()) {
+			server.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+			server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+			final SocketChannel client = SocketChannel.open();
+			client.setOption(StandardSocketOptions.SO_SNDBUF, 4096);
+			client.connect(server.getLocalAddress());
+			try (final SocketChannel peer = server.accept()) {
+				final SocketConnectionChannel channel = new SocketConnectionChannel(client);
+				channel.setBufferPool(pool);
+				channel.setOutboundCapacity(4);
+				channel.open();
+				channel.write(NetX.SignalModifier.SIGNAL_TYPE, 0, payload, 0, length);
+				channel.write(NetX.SignalModifier.SIGNAL_TYPE, 0, new byte[64], 0, 64);
+				final InputStream input = peer.socket().getInputStream();
+				final byte[] header = input.readNBytes(FrameDecoder.HEADER_LENGTH);
+				assertEquals(FrameDecoder.HEADER_LENGTH, header.length);
+				assertEquals(2, channel.getQueueDepth());
+				channel.close();
+				final long deadline = (System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+				while ((pool.getPooledBuffers() < 2) && (System.nanoTime() < deadline))
+					Thread.sleep(1);
+				assertEquals(2, pool.getPooledBuffers());
+				assertEquals((length + 64), pool.getPooledBytes());
+				final ByteArrayOutputStream received = new ByteArrayOutputStream();
+				try {
+					input.transferTo(received);
+				} catch (IOException _) {}
+				final byte[] bytes = received.toByteArray();
+				for (int i = 0; i < Math.min(bytes.length, NetX.NETWORK_FRAGMENT_SIZE); i++)
+					assertEquals(payload[i], bytes[i]);
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,113 @@
+package me.nulldoubt.netx.binaries.connection;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+	
+	private TimingWheel wheel;
+	
+	@BeforeEach
+	void open() {
+		wheel = new TimingWheel(5, TimeUnit.MILLISECONDS, 8, System.err);
+		wheel.open(new ConnectionThreadFactory());
+	}
+	
+	@AfterEach
+	void close() {
+		wheel.close();
+	}
+	
+	@Test
+	void expiresAfterDelay() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final long started = System.nanoTime();
+		final TimingWheel.Timeout timeout = wheel.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+		assertEquals(1, wheel.size());
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) >= 45);
+		assertTrue(timeout.isExpired());
+		assertEquals(0, wheel.size());
+	}
+	
+	@Test
+	void expiresInDeadlineOrderAcrossRounds() throws Exception {
+		final List<Integer> order = new CopyOnWriteArrayList<>();
+		final CountDownLatch latch = new CountDownLatch(3);
+		wheel.schedule(() -> {
+			order.add(3);
+			latch.countDown();
+		}, 150, TimeUnit.MILLISECONDS);
+		wheel.schedule(() -> {
+			order.add(1);
+			latch.countDown();
+		}, 10, TimeUnit.MILLISECONDS);
+		wheel.schedule(() -> {
+			order.add(2);
+			latch.countDown();
+		}, 60, TimeUnit.MILLISECONDS);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(1, 2, 3), order);
+	}
+	
+	@Test
+	void cancelledTimeoutNeverRuns() throws Exception {
+		final CountDownLatch fired = new CountDownLatch(1);
+		final CountDownLatch marker = new CountDownLatch(1);
+		final TimingWheel.Timeout timeout = wheel.schedule(fired::countDown, 20, TimeUnit.MILLISECONDS);
+		assertTrue(timeout.cancel());
+		assertFalse(timeout.cancel());
+		assertEquals(0, wheel.size());
+		wheel.schedule(marker::countDown, 60, TimeUnit.MILLISECONDS);
+		assertTrue(marker.await(5, TimeUnit.SECONDS));
+		assertEquals(1, fired.getCount());
+		assertTrue(timeout.isCancelled());
+		assertFalse(timeout.isExpired());
+	}
+	
+	@Test
+	void closeExpiresOutstandingTimeouts() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(2);
+		final TimingWheel.Timeout first = wheel.schedule(latch::countDown, 1, TimeUnit.HOURS);
+		final TimingWheel.Timeout second = wheel.schedule(latch::countDown, 1, TimeUnit.DAYS);
+		assertEquals(2, wheel.size());
+		wheel.close();
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(first.isExpired());
+		assertTrue(second.isExpired());
+		assertEquals(0, wheel.size());
+	}
+	
+	@Test
+	void scheduleAfterCloseExpiresImmediately() {
+		wheel.close();
+		final TimingWheel.Timeout timeout = wheel.schedule(() -> {}, 1, TimeUnit.HOURS);
+		assertTrue(timeout.isExpired());
+		assertEquals(0, wheel.size());
+	}
+	
+	@Test
+	void failingTaskDoesNotStopTheWheel() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		wheel.schedule(() -> {
+			throw new IllegalStateException("boom");
+		}, 5, TimeUnit.MILLISECONDS);
+		wheel.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void rejectsInvalidConfiguration() {
+		assertThrows(IllegalArgumentException.class, () -> new TimingWheel(0, TimeUnit.MILLISECONDS, 8, System.err));
+		assertThrows(IllegalArgumentException.class, () -> new TimingWheel(5, TimeUnit.MILLISECONDS, 0, System.err));
+	}
+	
+}